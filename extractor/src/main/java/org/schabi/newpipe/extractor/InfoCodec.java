@@ -0,0 +1,1333 @@
+package org.schabi.newpipe.extractor;
+
+import org.schabi.newpipe.extractor.channel.ChannelInfo;
+import org.schabi.newpipe.extractor.channel.ChannelInfoItem;
+import org.schabi.newpipe.extractor.comments.CommentsInfoItem;
+import org.schabi.newpipe.extractor.exceptions.ParsingException;
+import org.schabi.newpipe.extractor.linkhandler.ListLinkHandler;
+import org.schabi.newpipe.extractor.linkhandler.ReadyChannelTabListLinkHandler;
+import org.schabi.newpipe.extractor.localization.DateWrapper;
+import org.schabi.newpipe.extractor.playlist.PlaylistInfo;
+import org.schabi.newpipe.extractor.playlist.PlaylistInfoItem;
+import org.schabi.newpipe.extractor.services.youtube.ItagItem;
+import org.schabi.newpipe.extractor.stream.AudioStream;
+import org.schabi.newpipe.extractor.stream.AudioTrackType;
+import org.schabi.newpipe.extractor.stream.DeliveryMethod;
+import org.schabi.newpipe.extractor.stream.Description;
+import org.schabi.newpipe.extractor.stream.Frameset;
+import org.schabi.newpipe.extractor.stream.Stream;
+import org.schabi.newpipe.extractor.stream.StreamExtractor;
+import org.schabi.newpipe.extractor.stream.StreamInfo;
+import org.schabi.newpipe.extractor.stream.StreamInfoItem;
+import org.schabi.newpipe.extractor.stream.StreamSegment;
+import org.schabi.newpipe.extractor.stream.StreamType;
+import org.schabi.newpipe.extractor.stream.SubtitlesStream;
+import org.schabi.newpipe.extractor.stream.VideoStream;
+
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.net.URL;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * A compact binary codec for {@link StreamInfo}s, {@link PlaylistInfo}s, {@link ChannelInfo}s
+ * and {@link InfoItem}s, such as {@link StreamInfoItem}s and {@link CommentsInfoItem}s.
+ *
+ * <p>
+ * It is meant to move extraction results between processes or to store them, and produces much
+ * smaller outputs than Java serialization, in less time:
+ * </p>
+ * <ul>
+ *     <li>numbers are written as variable-length integers, with a zigzag encoding for signed
+ *     ones;</li>
+ *     <li>each distinct string (and enum constant name) is written once per encoded object, and
+ *     then referenced by its index in a table of strings;</li>
+ *     <li>each distinct list of {@link Image}s, such as the avatars of an uploader repeated in all
+ *     its streams, is written once per encoded object, and then referenced by its index; decoded
+ *     lists of {@link Image}s are unmodifiable and may be shared by several objects.</li>
+ * </ul>
+ *
+ * <p>
+ * Encoded objects start with the {@link #FORMAT_VERSION version} of the format they are written
+ * with. Only the classes listed above, {@link ListLinkHandler}s and {@link MetaInfo}s can be
+ * encoded: subclasses of these classes are rejected, except
+ * {@link ReadyChannelTabListLinkHandler}s which are written as plain {@link ListLinkHandler}s, so
+ * decoded channel tabs are fetched again. Java serialization is never used, so decoding untrusted
+ * data can only create these classes.
+ * </p>
+ *
+ * <p>
+ * The errors of {@link Info}s are written as the names of their classes, their messages and their
+ * causes, and are decoded as {@link DecodedError}s.
+ * </p>
+ */
+public final class InfoCodec {
+
+    /**
+     * The version of the format written by this codec.
+     */
+    public static final int FORMAT_VERSION = 2;
+
+    private static final int TAG_STREAM_INFO = 1;
+    private static final int TAG_PLAYLIST_INFO = 2;
+    private static final int TAG_CHANNEL_INFO = 3;
+    private static final int TAG_STREAM_INFO_ITEM = 4;
+    private static final int TAG_PLAYLIST_INFO_ITEM = 5;
+    private static final int TAG_CHANNEL_INFO_ITEM = 6;
+    private static final int TAG_COMMENTS_INFO_ITEM = 7;
+    private static final int TAG_LIST_LINK_HANDLER = 8;
+
+    // Markers used before nullable values and tables entries
+    private static final int NULL = 0;
+    private static final int NEW_ENTRY = 1;
+    private static final int FIRST_REFERENCE = 2;
+
+    // Longer cause chains, which may also be cyclic, are truncated
+    private static final int MAX_ERROR_CAUSES = 16;
+
+    private InfoCodec() {
+    }
+
+    /**
+     * An error of an {@link Info} decoded by {@link InfoCodec}.
+     *
+     * <p>
+     * It has the message and the cause of the original error, but no stack trace. The name of the
+     * class of the original error is returned by {@link #getErrorClassName()} and used in
+     * {@link #toString()}.
+     * </p>
+     */
+    public static final class DecodedError extends Exception {
+        private static final long serialVersionUID = 1L;
+
+        @Nonnull
+        private final String errorClassName;
+
+        DecodedError(@Nonnull final String errorClassName,
+                     @Nullable final String message,
+                     @Nullable final DecodedError cause) {
+            super(message, cause, false, false);
+            this.errorClassName = errorClassName;
+        }
+
+        /**
+         * @return the name of the class of the original error
+         */
+        @Nonnull
+        public String getErrorClassName() {
+            return errorClassName;
+        }
+
+        @Override
+        public String toString() {
+            final String message = getLocalizedMessage();
+            return message == null ? errorClassName : errorClassName + ": " + message;
+        }
+    }
+
+    /**
+     * Encode the given {@link Info}.
+     *
+     * @param info the {@link Info} to encode
+     * @return the encoded {@link Info}
+     * @throws IOException if the {@link Info} or one of its objects is of an unsupported class
+     */
+    @Nonnull
+    public static byte[] encode(@Nonnull final Info info) throws IOException {
+        final Writer writer = new Writer();
+        writer.writeByte(FORMAT_VERSION);
+        writer.writeInfo(info);
+        return writer.toByteArray();
+    }
+
+    /**
+     * Encode the given {@link InfoItem}.
+     *
+     * @param infoItem the {@link InfoItem} to encode
+     * @return the encoded {@link InfoItem}
+     * @throws IOException if the {@link InfoItem} is of an unsupported class
+     */
+    @Nonnull
+    public static byte[] encode(@Nonnull final InfoItem infoItem) throws IOException {
+        final Writer writer = new Writer();
+        writer.writeByte(FORMAT_VERSION);
+        writer.writeInfoItem(infoItem);
+        return writer.toByteArray();
+    }
+
+    /**
+     * Decode an {@link Info} or an {@link InfoItem} encoded with this codec.
+     *
+     * @param data the encoded object
+     * @param type the expected type of the encoded object
+     * @param <T>  the expected type of the encoded object
+     * @return the decoded object
+     * @throws IOException if the data is malformed, has been written with an unsupported version
+     *                     of the format or does not contain an object of the expected type
+     */
+    @Nonnull
+    public static <T> T decode(@Nonnull final byte[] data, @Nonnull final Class<T> type)
+            throws IOException {
+        final Reader reader = new Reader(data);
+        final int version = reader.readByte();
+        if (version != FORMAT_VERSION) {
+            throw new IOException("Unsupported format version: " + version);
+        }
+
+        final Object value = reader.readTagged();
+        if (!reader.isAtEnd()) {
+            throw new IOException("Unexpected data after the encoded object");
+        }
+        if (!type.isInstance(value)) {
+            throw new IOException("Expected " + type.getName() + " but found "
+                    + (value == null ? "null" : value.getClass().getName()));
+        }
+        return type.cast(value);
+    }
+
+    private interface ValueWriter<T> {
+        void write(T value) throws IOException;
+    }
+
+    private interface ValueReader<T> {
+        T read() throws IOException;
+    }
+
+    private static final class Writer {
+        private final ByteArrayOutputStream out = new ByteArrayOutputStream(4096);
+        private final Map<String, Integer> strings = new HashMap<>();
+        private final Map<List<Image>, Integer> imageListsByIdentity = new IdentityHashMap<>();
+        private final Map<List<Object>, Integer> imageListsByContent = new HashMap<>();
+
+        @Nonnull
+        byte[] toByteArray() {
+            return out.toByteArray();
+        }
+
+        void writeByte(final int value) {
+            out.write(value);
+        }
+
+        void writeBoolean(final boolean value) {
+            out.write(value ? 1 : 0);
+        }
+
+        void writeUnsigned(final long value) {
+            long remaining = value;
+            while ((remaining & ~0x7FL) != 0) {
+                out.write((int) ((remaining & 0x7F) | 0x80));
+                remaining >>>= 7;
+            }
+            out.write((int) remaining);
+        }
+
+        void writeInt(final int value) {
+            writeUnsigned(Integer.toUnsignedLong((value << 1) ^ (value >> 31)));
+        }
+
+        void writeLong(final long value) {
+            writeUnsigned((value << 1) ^ (value >> 63));
+        }
+
+        void writeString(@Nullable final String value) {
+            if (value == null) {
+                writeUnsigned(NULL);
+                return;
+            }
+
+            final Integer index = strings.get(value);
+            if (index != null) {
+                writeUnsigned(FIRST_REFERENCE + (long) index);
+                return;
+            }
+
+            strings.put(value, strings.size());
+            final byte[] bytes = value.getBytes(UTF_8);
+            writeUnsigned(NEW_ENTRY);
+            writeUnsigned(bytes.length);
+            out.write(bytes, 0, bytes.length);
+        }
+
+        void writeEnum(@Nullable final Enum<?> value) {
+            writeString(value == null ? null : value.name());
+        }
+
+        void writeLocale(@Nullable final Locale locale) {
+            writeString(locale == null ? null : locale.toLanguageTag());
+        }
+
+        void writeBytes(@Nullable final byte[] bytes) {
+            if (bytes == null) {
+                writeUnsigned(NULL);
+                return;
+            }
+            writeUnsigned(bytes.length + 1L);
+            out.write(bytes, 0, bytes.length);
+        }
+
+        <T> void writeList(@Nullable final List<? extends T> list,
+                           @Nonnull final ValueWriter<T> valueWriter) throws IOException {
+            if (list == null) {
+                writeUnsigned(NULL);
+                return;
+            }
+            writeUnsigned(list.size() + 1L);
+            for (final T value : list) {
+                valueWriter.write(value);
+            }
+        }
+
+        void writeStrings(@Nullable final List<String> list) throws IOException {
+            writeList(list, this::writeString);
+        }
+
+        void writeImages(@Nullable final List<Image> images) {
+            if (images == null) {
+                writeUnsigned(NULL);
+                return;
+            }
+
+            Integer index = imageListsByIdentity.get(images);
+            final List<Object> content;
+            if (index == null) {
+                content = new ArrayList<>(images.size() * 4);
+                for (final Image image : images) {
+                    content.add(image.getUrl());
+                    content.add(image.getHeight());
+                    content.add(image.getWidth());
+                    content.add(image.getEstimatedResolutionLevel());
+                }
+                index = imageListsByContent.get(content);
+            } else {
+                content = null;
+            }
+
+            if (index != null) {
+                imageListsByIdentity.put(images, index);
+                writeUnsigned(FIRST_REFERENCE + (long) index);
+                return;
+            }
+
+            index = imageListsByContent.size();
+            imageListsByContent.put(content, index);
+            imageListsByIdentity.put(images, index);
+            writeUnsigned(NEW_ENTRY);
+            writeUnsigned(images.size());
+            for (final Image image : images) {
+                writeString(image.getUrl());
+                writeInt(image.getHeight());
+                writeInt(image.getWidth());
+                writeEnum(image.getEstimatedResolutionLevel());
+            }
+        }
+
+        void writeDate(@Nullable final DateWrapper date) {
+            writeBoolean(date != null);
+            if (date != null) {
+                final Instant instant = date.offsetDateTime().toInstant();
+                writeLong(instant.getEpochSecond());
+                writeInt(instant.getNano());
+                writeBoolean(date.isApproximation());
+            }
+        }
+
+        void writeDescription(@Nullable final Description description) {
+            writeBoolean(description != null);
+            if (description != null) {
+                writeString(description.getContent());
+                writeInt(description.getType());
+            }
+        }
+
+        void writePage(@Nullable final Page page) {
+            writeBoolean(page != null);
+            if (page == null) {
+                return;
+            }
+
+            writeString(page.getUrl());
+            writeString(page.getId());
+            final List<String> ids = page.getIds();
+            if (ids == null) {
+                writeUnsigned(NULL);
+            } else {
+                writeUnsigned(ids.size() + 1L);
+                ids.forEach(this::writeString);
+            }
+
+            final Map<String, String> cookies = page.getCookies();
+            if (cookies == null) {
+                writeUnsigned(NULL);
+            } else {
+                writeUnsigned(cookies.size() + 1L);
+                for (final Map.Entry<String, String> cookie : cookies.entrySet()) {
+                    writeString(cookie.getKey());
+                    writeString(cookie.getValue());
+                }
+            }
+            writeBytes(page.getBody());
+        }
+
+        void writeInfo(@Nonnull final Info info) throws IOException {
+            if (info.getClass() == StreamInfo.class) {
+                writeUnsigned(TAG_STREAM_INFO);
+                writeInfoBase(info);
+                writeStreamInfo((StreamInfo) info);
+            } else if (info.getClass() == PlaylistInfo.class) {
+                writeUnsigned(TAG_PLAYLIST_INFO);
+                writeInfoBase(info);
+                writePlaylistInfo((PlaylistInfo) info);
+            } else if (info.getClass() == ChannelInfo.class) {
+                writeUnsigned(TAG_CHANNEL_INFO);
+                writeInfoBase(info);
+                writeChannelInfo((ChannelInfo) info);
+            } else {
+                throw new IOException("Unsupported info class: " + info.getClass().getName());
+            }
+
+            writeList(info.getErrors(), this::writeError);
+        }
+
+        private void writeError(@Nonnull final Throwable error) {
+            Throwable current = error;
+            for (int i = 0; current != null && i < MAX_ERROR_CAUSES; i++) {
+                writeBoolean(true);
+                writeString(current instanceof DecodedError
+                        ? ((DecodedError) current).getErrorClassName()
+                        : current.getClass().getName());
+                writeString(current.getMessage());
+                current = current.getCause();
+            }
+            writeBoolean(false);
+        }
+
+        private void writeInfoBase(@Nonnull final Info info) {
+            writeInt(info.getServiceId());
+            writeString(info.getId());
+            writeString(info.getUrl());
+            writeString(info.getOriginalUrl());
+            writeString(info.getName());
+        }
+
+        private void writeStreamInfo(@Nonnull final StreamInfo info) throws IOException {
+            writeEnum(info.getStreamType());
+            writeInt(info.getAgeLimit());
+            writeImages(info.getThumbnails());
+            writeString(info.getTextualUploadDate());
+            writeDate(info.getUploadDate());
+            writeLong(info.getDuration());
+            writeDescription(info.getDescription());
+            writeLong(info.getViewCount());
+            writeLong(info.getLikeCount());
+            writeLong(info.getDislikeCount());
+
+            writeString(info.getUploaderName());
+            writeString(info.getUploaderUrl());
+            writeImages(info.getUploaderAvatars());
+            writeBoolean(info.isUploaderVerified());
+            writeLong(info.getUploaderSubscriberCount());
+            writeString(info.getSubChannelName());
+            writeString(info.getSubChannelUrl());
+            writeImages(info.getSubChannelAvatars());
+
+            writeList(info.getVideoStreams(), this::writeVideoStream);
+            writeList(info.getAudioStreams(), this::writeAudioStream);
+            writeList(info.getVideoOnlyStreams(), this::writeVideoStream);
+            writeString(info.getDashMpdUrl());
+            writeString(info.getHlsUrl());
+            writeList(info.getRelatedItems(), this::writeInfoItem);
+            writeLong(info.getStartPosition());
+            writeList(info.getSubtitles(), this::writeSubtitlesStream);
+
+            writeString(info.getHost());
+            writeEnum(info.getPrivacy());
+            writeString(info.getCategory());
+            writeString(info.getLicence());
+            writeString(info.getSupportInfo());
+            writeLocale(info.getLanguageInfo());
+            writeStrings(info.getTags());
+            writeList(info.getStreamSegments(), this::writeStreamSegment);
+            writeList(info.getMetaInfo(), this::writeMetaInfo);
+            writeBoolean(info.isShortFormContent());
+            writeList(info.getPreviewFrames(), this::writeFrameset);
+        }
+
+        private void writePlaylistInfo(@Nonnull final PlaylistInfo info) throws IOException {
+            writeStrings(info.getContentFilters());
+            writeString(info.getSortFilter());
+            writeList(info.getRelatedItems(), this::writeInfoItem);
+            writePage(info.getNextPage());
+
+            writeImages(info.getThumbnails());
+            writeImages(info.getBanners());
+            writeString(info.getUploaderUrl());
+            writeString(info.getUploaderName());
+            writeImages(info.getUploaderAvatars());
+            writeString(info.getSubChannelUrl());
+            writeString(info.getSubChannelName());
+            writeImages(info.getSubChannelAvatars());
+            writeLong(info.getStreamCount());
+            writeDescription(info.getDescription());
+            writeEnum(info.getPlaylistType());
+        }
+
+        private void writeChannelInfo(@Nonnull final ChannelInfo info) throws IOException {
+            writeString(info.getParentChannelName());
+            writeString(info.getParentChannelUrl());
+            writeImages(info.getParentChannelAvatars());
+            writeImages(info.getAvatars());
+            writeImages(info.getBanners());
+            writeString(info.getFeedUrl());
+            writeLong(info.getSubscriberCount());
+            writeString(info.getDescription());
+            final String[] donationLinks = info.getDonationLinks();
+            writeStrings(donationLinks == null ? null : List.of(donationLinks));
+            writeBoolean(info.isVerified());
+            writeList(info.getTabs(), this::writeListLinkHandler);
+            writeStrings(info.getTags());
+        }
+
+        private void writeListLinkHandler(@Nonnull final ListLinkHandler linkHandler)
+                throws IOException {
+            // The extractor builders of ReadyChannelTabListLinkHandlers can't be encoded
+            if (linkHandler.getClass() != ListLinkHandler.class
+                    && linkHandler.getClass() != ReadyChannelTabListLinkHandler.class) {
+                throw new IOException("Unsupported link handler class: "
+                        + linkHandler.getClass().getName());
+            }
+            writeUnsigned(TAG_LIST_LINK_HANDLER);
+            writeString(linkHandler.getOriginalUrl());
+            writeString(linkHandler.getUrl());
+            writeString(linkHandler.getId());
+            writeStrings(linkHandler.getContentFilters());
+            writeString(linkHandler.getSortFilter());
+        }
+
+        void writeInfoItem(@Nonnull final InfoItem item) throws IOException {
+            if (item.getClass() == StreamInfoItem.class) {
+                writeUnsigned(TAG_STREAM_INFO_ITEM);
+                writeInfoItemBase(item);
+                writeStreamInfoItem((StreamInfoItem) item);
+            } else if (item.getClass() == PlaylistInfoItem.class) {
+                writeUnsigned(TAG_PLAYLIST_INFO_ITEM);
+                writeInfoItemBase(item);
+                writePlaylistInfoItem((PlaylistInfoItem) item);
+            } else if (item.getClass() == ChannelInfoItem.class) {
+                writeUnsigned(TAG_CHANNEL_INFO_ITEM);
+                writeInfoItemBase(item);
+                writeChannelInfoItem((ChannelInfoItem) item);
+            } else if (item.getClass() == CommentsInfoItem.class) {
+                writeUnsigned(TAG_COMMENTS_INFO_ITEM);
+                writeInfoItemBase(item);
+                writeCommentsInfoItem((CommentsInfoItem) item);
+            } else {
+                throw new IOException("Unsupported info item class: "
+                        + item.getClass().getName());
+            }
+        }
+
+        private void writeInfoItemBase(@Nonnull final InfoItem item) {
+            writeInt(item.getServiceId());
+            writeString(item.getUrl());
+            writeString(item.getName());
+            writeImages(item.getThumbnails());
+        }
+
+        private void writeStreamInfoItem(@Nonnull final StreamInfoItem item) {
+            writeEnum(item.getStreamType());
+            writeString(item.getUploaderName());
+            writeString(item.getShortDescription());
+            writeString(item.getTextualUploadDate());
+            writeDate(item.getUploadDate());
+            writeLong(item.getViewCount());
+            writeLong(item.getDuration());
+            writeString(item.getUploaderUrl());
+            writeImages(item.getUploaderAvatars());
+            writeBoolean(item.isUploaderVerified());
+            writeBoolean(item.isShortFormContent());
+        }
+
+        private void writePlaylistInfoItem(@Nonnull final PlaylistInfoItem item) {
+            writeString(item.getUploaderName());
+            writeString(item.getUploaderUrl());
+            writeBoolean(item.isUploaderVerified());
+            writeLong(item.getStreamCount());
+            writeDescription(item.getDescription());
+            writeEnum(item.getPlaylistType());
+        }
+
+        private void writeChannelInfoItem(@Nonnull final ChannelInfoItem item) {
+            writeString(item.getDescription());
+            writeLong(item.getSubscriberCount());
+            writeLong(item.getStreamCount());
+            writeBoolean(item.isVerified());
+        }
+
+        private void writeCommentsInfoItem(@Nonnull final CommentsInfoItem item) {
+            writeString(item.getCommentId());
+            writeDescription(item.getCommentText());
+            writeString(item.getUploaderName());
+            writeImages(item.getUploaderAvatars());
+            writeString(item.getUploaderUrl());
+            writeBoolean(item.isUploaderVerified());
+            writeString(item.getTextualUploadDate());
+            writeDate(item.getUploadDate());
+            writeInt(item.getLikeCount());
+            writeString(item.getTextualLikeCount());
+            writeBoolean(item.isHeartedByUploader());
+            writeBoolean(item.isPinned());
+            writeInt(item.getStreamPosition());
+            writeInt(item.getReplyCount());
+            writePage(item.getReplies());
+            writeBoolean(item.isChannelOwner());
+            writeBoolean(item.hasCreatorReply());
+        }
+
+        private void writeStreamBase(@Nonnull final Stream stream) {
+            writeString(stream.getId());
+            writeString(stream.getContent());
+            writeBoolean(stream.isUrl());
+            writeEnum(stream.getFormat());
+            writeEnum(stream.getDeliveryMethod());
+            writeString(stream.getManifestUrl());
+        }
+
+        private void writeAudioStream(@Nonnull final AudioStream stream) {
+            writeStreamBase(stream);
+            writeInt(stream.getAverageBitrate());
+            writeString(stream.getAudioTrackId());
+            writeString(stream.getAudioTrackName());
+            writeLocale(stream.getAudioLocale());
+            writeEnum(stream.getAudioTrackType());
+            writeItagItem(stream.getItagItem());
+        }
+
+        private void writeVideoStream(@Nonnull final VideoStream stream) {
+            writeStreamBase(stream);
+            writeString(stream.getResolution());
+            writeBoolean(stream.isVideoOnly());
+            writeItagItem(stream.getItagItem());
+        }
+
+        private void writeSubtitlesStream(@Nonnull final SubtitlesStream stream) {
+            writeStreamBase(stream);
+            writeString(stream.getLanguageTag());
+            writeBoolean(stream.isAutoGenerated());
+        }
+
+        private void writeItagItem(@Nullable final ItagItem itagItem) {
+            writeBoolean(itagItem != null);
+            if (itagItem == null) {
+                return;
+            }
+
+            writeInt(itagItem.id);
+            writeEnum(itagItem.itagType);
+            writeEnum(itagItem.getMediaFormat());
+            writeInt(itagItem.getAverageBitrate());
+            writeInt(itagItem.getSampleRate());
+            writeInt(itagItem.getAudioChannels());
+            writeString(itagItem.getResolutionString());
+            writeInt(itagItem.getFps());
+            writeInt(itagItem.getBitrate());
+            writeInt(itagItem.getWidth());
+            writeInt(itagItem.getHeight());
+            writeInt(itagItem.getInitStart());
+            writeInt(itagItem.getInitEnd());
+            writeInt(itagItem.getIndexStart());
+            writeInt(itagItem.getIndexEnd());
+            writeString(itagItem.getQuality());
+            writeString(itagItem.getCodec());
+            writeInt(itagItem.getTargetDurationSec());
+            writeLong(itagItem.getApproxDurationMs());
+            writeLong(itagItem.getContentLength());
+            writeString(itagItem.getAudioTrackId());
+            writeString(itagItem.getAudioTrackName());
+            writeEnum(itagItem.getAudioTrackType());
+            writeLocale(itagItem.getAudioLocale());
+        }
+
+        private void writeStreamSegment(@Nonnull final StreamSegment segment) {
+            writeString(segment.getTitle());
+            writeInt(segment.getStartTimeSeconds());
+            writeString(segment.getChannelName());
+            writeString(segment.getUrl());
+            writeString(segment.getPreviewUrl());
+        }
+
+        private void writeMetaInfo(@Nonnull final MetaInfo metaInfo) throws IOException {
+            writeString(metaInfo.getTitle());
+            writeDescription(metaInfo.getContent());
+            writeList(metaInfo.getUrls(), url -> writeString(url.toString()));
+            writeStrings(metaInfo.getUrlTexts());
+        }
+
+        private void writeFrameset(@Nonnull final Frameset frameset) throws IOException {
+            writeStrings(frameset.getUrls());
+            writeInt(frameset.getFrameWidth());
+            writeInt(frameset.getFrameHeight());
+            writeInt(frameset.getTotalCount());
+            writeInt(frameset.getDurationPerFrame());
+            writeInt(frameset.getFramesPerPageX());
+            writeInt(frameset.getFramesPerPageY());
+        }
+    }
+
+    private static final class Reader {
+        @Nonnull
+        private final byte[] data;
+        private int position;
+        private final List<String> strings = new ArrayList<>();
+        private final List<List<Image>> imageLists = new ArrayList<>();
+
+        Reader(@Nonnull final byte[] data) {
+            this.data = data;
+        }
+
+        boolean isAtEnd() {
+            return position == data.length;
+        }
+
+        int readByte() throws IOException {
+            if (position >= data.length) {
+                throw new EOFException("Unexpected end of data");
+            }
+            return data[position++] & 0xFF;
+        }
+
+        boolean readBoolean() throws IOException {
+            return readByte() != 0;
+        }
+
+        long readUnsigned() throws IOException {
+            long value = 0;
+            for (int shift = 0; shift < 64; shift += 7) {
+                final int b = readByte();
+                value |= (long) (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return value;
+                }
+            }
+            throw new IOException("Malformed variable-length integer");
+        }
+
+        int readSize() throws IOException {
+            final long size = readUnsigned();
+            if (size > Integer.MAX_VALUE) {
+                throw new IOException("Invalid size: " + size);
+            }
+            return (int) size;
+        }
+
+        int readInt() throws IOException {
+            final int value = (int) readUnsigned();
+            return (value >>> 1) ^ -(value & 1);
+        }
+
+        long readLong() throws IOException {
+            final long value = readUnsigned();
+            return (value >>> 1) ^ -(value & 1);
+        }
+
+        @Nonnull
+        private byte[] readRaw(final int length) throws IOException {
+            if (length > data.length - position) {
+                throw new EOFException("Unexpected end of data");
+            }
+            final byte[] bytes = new byte[length];
+            System.arraycopy(data, position, bytes, 0, length);
+            position += length;
+            return bytes;
+        }
+
+        @Nullable
+        String readString() throws IOException {
+            final int marker = readSize();
+            if (marker == NULL) {
+                return null;
+            } else if (marker == NEW_ENTRY) {
+                final int length = readSize();
+                if (length > data.length - position) {
+                    throw new EOFException("Unexpected end of data");
+                }
+                final String value = new String(data, position, length, UTF_8);
+                position += length;
+                strings.add(value);
+                return value;
+            }
+
+            final int index = marker - FIRST_REFERENCE;
+            if (index >= strings.size()) {
+                throw new IOException("Invalid string reference: " + index);
+            }
+            return strings.get(index);
+        }
+
+        @Nullable
+        <E extends Enum<E>> E readEnum(@Nonnull final Class<E> enumClass) throws IOException {
+            final String name = readString();
+            if (name == null) {
+                return null;
+            }
+            try {
+                return Enum.valueOf(enumClass, name);
+            } catch (final IllegalArgumentException e) {
+                throw new IOException("Unknown " + enumClass.getSimpleName() + ": " + name, e);
+            }
+        }
+
+        @Nullable
+        Locale readLocale() throws IOException {
+            final String languageTag = readString();
+            return languageTag == null ? null : Locale.forLanguageTag(languageTag);
+        }
+
+        @Nullable
+        byte[] readBytes() throws IOException {
+            final int marker = readSize();
+            return marker == NULL ? null : readRaw(marker - 1);
+        }
+
+        @Nullable
+        <T> List<T> readList(@Nonnull final ValueReader<T> valueReader) throws IOException {
+            final int marker = readSize();
+            if (marker == NULL) {
+                return null;
+            }
+            final int size = marker - 1;
+            // Don't trust the size to allocate the list, as each value takes at least one byte
+            final List<T> list = new ArrayList<>(Math.min(size, data.length - position));
+            for (int i = 0; i < size; i++) {
+                list.add(valueReader.read());
+            }
+            return list;
+        }
+
+        @Nullable
+        List<String> readStrings() throws IOException {
+            return readList(this::readString);
+        }
+
+        @Nullable
+        List<Image> readImages() throws IOException {
+            final int marker = readSize();
+            if (marker == NULL) {
+                return null;
+            } else if (marker == NEW_ENTRY) {
+                final int size = readSize();
+                final List<Image> images = new ArrayList<>(Math.min(size, data.length - position));
+                for (int i = 0; i < size; i++) {
+                    final String url = readString();
+                    if (url == null) {
+                        throw new IOException("Missing image URL");
+                    }
+                    final int height = readInt();
+                    final int width = readInt();
+                    final Image.ResolutionLevel resolutionLevel =
+                            readEnum(Image.ResolutionLevel.class);
+                    if (resolutionLevel == null) {
+                        throw new IOException("Missing image resolution level");
+                    }
+                    images.add(new Image(url, height, width, resolutionLevel));
+                }
+                final List<Image> sharedImages = Collections.unmodifiableList(images);
+                imageLists.add(sharedImages);
+                return sharedImages;
+            }
+
+            final int index = marker - FIRST_REFERENCE;
+            if (index >= imageLists.size()) {
+                throw new IOException("Invalid image list reference: " + index);
+            }
+            return imageLists.get(index);
+        }
+
+        @Nonnull
+        List<Image> readNonNullImages() throws IOException {
+            final List<Image> images = readImages();
+            return images == null ? List.of() : images;
+        }
+
+        @Nullable
+        DateWrapper readDate() throws IOException {
+            if (!readBoolean()) {
+                return null;
+            }
+            final long epochSecond = readLong();
+            final int nanos = readInt();
+            return new DateWrapper(OffsetDateTime.ofInstant(
+                    Instant.ofEpochSecond(epochSecond, nanos), ZoneOffset.UTC), readBoolean());
+        }
+
+        @Nullable
+        Description readDescription() throws IOException {
+            if (!readBoolean()) {
+                return null;
+            }
+            final String content = readString();
+            return new Description(content, readInt());
+        }
+
+        @Nullable
+        Page readPage() throws IOException {
+            if (!readBoolean()) {
+                return null;
+            }
+
+            final String url = readString();
+            final String id = readString();
+            final List<String> ids = readStrings();
+
+            final int cookiesMarker = readSize();
+            Map<String, String> cookies = null;
+            if (cookiesMarker != NULL) {
+                cookies = new LinkedHashMap<>();
+                for (int i = 0; i < cookiesMarker - 1; i++) {
+                    final String key = readString();
+                    cookies.put(key, readString());
+                }
+            }
+            return new Page(url, id, ids, cookies, readBytes());
+        }
+
+        @Nullable
+        Object readTagged() throws IOException {
+            final int tag = readSize();
+            switch (tag) {
+                case TAG_STREAM_INFO:
+                    return readErrors(readStreamInfo());
+                case TAG_PLAYLIST_INFO:
+                    return readErrors(readPlaylistInfo());
+                case TAG_CHANNEL_INFO:
+                    return readErrors(readChannelInfo());
+                case TAG_STREAM_INFO_ITEM:
+                    return readStreamInfoItem();
+                case TAG_PLAYLIST_INFO_ITEM:
+                    return readPlaylistInfoItem();
+                case TAG_CHANNEL_INFO_ITEM:
+                    return readChannelInfoItem();
+                case TAG_COMMENTS_INFO_ITEM:
+                    return readCommentsInfoItem();
+                case TAG_LIST_LINK_HANDLER:
+                    return readListLinkHandler();
+                default:
+                    throw new IOException("Unknown tag: " + tag);
+            }
+        }
+
+        @Nonnull
+        private <T> T readTagged(@Nonnull final Class<T> type) throws IOException {
+            final Object value = readTagged();
+            if (!type.isInstance(value)) {
+                throw new IOException("Expected " + type.getName() + " but found "
+                        + (value == null ? "null" : value.getClass().getName()));
+            }
+            return type.cast(value);
+        }
+
+        @Nonnull
+        private Info readErrors(@Nonnull final Info info) throws IOException {
+            final List<DecodedError> errors = readList(this::readError);
+            if (errors != null) {
+                errors.forEach(info::addError);
+            }
+            return info;
+        }
+
+        @Nonnull
+        private DecodedError readError() throws IOException {
+            final List<String> classNamesAndMessages = new ArrayList<>();
+            while (readBoolean()) {
+                if (classNamesAndMessages.size() == MAX_ERROR_CAUSES * 2) {
+                    throw new IOException("Too many error causes");
+                }
+                classNamesAndMessages.add(readNonNullString("error class name"));
+                classNamesAndMessages.add(readString());
+            }
+            if (classNamesAndMessages.isEmpty()) {
+                throw new IOException("Missing error");
+            }
+
+            // Create the innermost cause first
+            DecodedError error = null;
+            for (int i = classNamesAndMessages.size() - 2; i >= 0; i -= 2) {
+                error = new DecodedError(classNamesAndMessages.get(i),
+                        classNamesAndMessages.get(i + 1), error);
+            }
+            return error;
+        }
+
+        @Nonnull
+        private StreamInfo readStreamInfo() throws IOException {
+            final int serviceId = readInt();
+            final String id = readString();
+            final String url = readString();
+            final String originalUrl = readString();
+            final String name = readString();
+            final StreamType streamType = readEnum(StreamType.class);
+            final StreamInfo info = new StreamInfo(serviceId, url, originalUrl, streamType, id,
+                    name, readInt());
+
+            info.setThumbnails(readNonNullImages());
+            info.setTextualUploadDate(readString());
+            info.setUploadDate(readDate());
+            info.setDuration(readLong());
+            info.setDescription(readDescription());
+            info.setViewCount(readLong());
+            info.setLikeCount(readLong());
+            info.setDislikeCount(readLong());
+
+            info.setUploaderName(readString());
+            info.setUploaderUrl(readString());
+            info.setUploaderAvatars(readNonNullImages());
+            info.setUploaderVerified(readBoolean());
+            info.setUploaderSubscriberCount(readLong());
+            info.setSubChannelName(readString());
+            info.setSubChannelUrl(readString());
+            info.setSubChannelAvatars(readNonNullImages());
+
+            info.setVideoStreams(readList(this::readVideoStream));
+            info.setAudioStreams(readList(this::readAudioStream));
+            info.setVideoOnlyStreams(readList(this::readVideoStream));
+            info.setDashMpdUrl(readString());
+            info.setHlsUrl(readString());
+            info.setRelatedItems(readList(() -> readTagged(InfoItem.class)));
+            info.setStartPosition(readLong());
+            info.setSubtitles(readList(this::readSubtitlesStream));
+
+            info.setHost(readString());
+            info.setPrivacy(readEnum(StreamExtractor.Privacy.class));
+            info.setCategory(readString());
+            info.setLicence(readString());
+            info.setSupportInfo(readString());
+            info.setLanguageInfo(readLocale());
+            info.setTags(readStrings());
+            info.setStreamSegments(readList(this::readStreamSegment));
+            info.setMetaInfo(readList(this::readMetaInfo));
+            info.setShortFormContent(readBoolean());
+            info.setPreviewFrames(readList(this::readFrameset));
+            return info;
+        }
+
+        @Nonnull
+        private PlaylistInfo readPlaylistInfo() throws IOException {
+            final int serviceId = readInt();
+            final String id = readString();
+            final String url = readString();
+            final String originalUrl = readString();
+            final String name = readString();
+            final List<String> contentFilters = readStrings();
+            final String sortFilter = readString();
+            final PlaylistInfo info;
+            try {
+                info = new PlaylistInfo(serviceId, new ListLinkHandler(originalUrl, url, id,
+                        contentFilters == null ? List.of() : contentFilters, sortFilter), name);
+            } catch (final ParsingException e) {
+                throw new IOException("Could not create playlist info", e);
+            }
+
+            info.setRelatedItems(readList(() -> readTagged(StreamInfoItem.class)));
+            info.setNextPage(readPage());
+
+            info.setThumbnails(readNonNullImages());
+            info.setBanners(readNonNullImages());
+            info.setUploaderUrl(readString());
+            info.setUploaderName(readString());
+            info.setUploaderAvatars(readNonNullImages());
+            info.setSubChannelUrl(readString());
+            info.setSubChannelName(readString());
+            info.setSubChannelAvatars(readNonNullImages());
+            info.setStreamCount(readLong());
+            info.setDescription(readDescription());
+            info.setPlaylistType(readEnum(PlaylistInfo.PlaylistType.class));
+            return info;
+        }
+
+        @Nonnull
+        private ChannelInfo readChannelInfo() throws IOException {
+            final int serviceId = readInt();
+            final String id = readString();
+            final String url = readString();
+            final String originalUrl = readString();
+            final ChannelInfo info = new ChannelInfo(serviceId, id, url, originalUrl, readString());
+
+            info.setParentChannelName(readString());
+            info.setParentChannelUrl(readString());
+            info.setParentChannelAvatars(readNonNullImages());
+            info.setAvatars(readNonNullImages());
+            info.setBanners(readNonNullImages());
+            info.setFeedUrl(readString());
+            info.setSubscriberCount(readLong());
+            info.setDescription(readString());
+            final List<String> donationLinks = readStrings();
+            info.setDonationLinks(donationLinks == null
+                    ? null : donationLinks.toArray(new String[0]));
+            info.setVerified(readBoolean());
+            final List<ListLinkHandler> tabs =
+                    readList(() -> readTagged(ListLinkHandler.class));
+            info.setTabs(tabs == null ? List.of() : tabs);
+            final List<String> tags = readStrings();
+            info.setTags(tags == null ? List.of() : tags);
+            return info;
+        }
+
+        @Nonnull
+        private ListLinkHandler readListLinkHandler() throws IOException {
+            final String originalUrl = readString();
+            final String url = readString();
+            final String id = readString();
+            final List<String> contentFilters = readStrings();
+            return new ListLinkHandler(originalUrl, url, id,
+                    contentFilters == null ? List.of() : contentFilters, readString());
+        }
+
+        @Nonnull
+        private StreamInfoItem readStreamInfoItem() throws IOException {
+            final int serviceId = readInt();
+            final String url = readString();
+            final String name = readString();
+            final List<Image> thumbnails = readNonNullImages();
+            final StreamInfoItem item = new StreamInfoItem(serviceId, url, name,
+                    readEnum(StreamType.class));
+            item.setThumbnails(thumbnails);
+
+            item.setUploaderName(readString());
+            item.setShortDescription(readString());
+            item.setTextualUploadDate(readString());
+            item.setUploadDate(readDate());
+            item.setViewCount(readLong());
+            item.setDuration(readLong());
+            item.setUploaderUrl(readString());
+            item.setUploaderAvatars(readNonNullImages());
+            item.setUploaderVerified(readBoolean());
+            item.setShortFormContent(readBoolean());
+            return item;
+        }
+
+        @Nonnull
+        private PlaylistInfoItem readPlaylistInfoItem() throws IOException {
+            final int serviceId = readInt();
+            final String url = readString();
+            final PlaylistInfoItem item = new PlaylistInfoItem(serviceId, url, readString());
+            item.setThumbnails(readNonNullImages());
+
+            item.setUploaderName(readString());
+            item.setUploaderUrl(readString());
+            item.setUploaderVerified(readBoolean());
+            item.setStreamCount(readLong());
+            item.setDescription(readDescription());
+            item.setPlaylistType(readEnum(PlaylistInfo.PlaylistType.class));
+            return item;
+        }
+
+        @Nonnull
+        private ChannelInfoItem readChannelInfoItem() throws IOException {
+            final int serviceId = readInt();
+            final String url = readString();
+            final ChannelInfoItem item = new ChannelInfoItem(serviceId, url, readString());
+            item.setThumbnails(readNonNullImages());
+
+            item.setDescription(readString());
+            item.setSubscriberCount(readLong());
+            item.setStreamCount(readLong());
+            item.setVerified(readBoolean());
+            return item;
+        }
+
+        @Nonnull
+        private CommentsInfoItem readCommentsInfoItem() throws IOException {
+            final int serviceId = readInt();
+            final String url = readString();
+            final CommentsInfoItem item = new CommentsInfoItem(serviceId, url, readString());
+            item.setThumbnails(readNonNullImages());
+
+            item.setCommentId(readString());
+            final Description commentText = readDescription();
+            item.setCommentText(commentText == null
+                    ? Description.EMPTY_DESCRIPTION : commentText);
+            item.setUploaderName(readString());
+            item.setUploaderAvatars(readNonNullImages());
+            item.setUploaderUrl(readString());
+            item.setUploaderVerified(readBoolean());
+            item.setTextualUploadDate(readString());
+            item.setUploadDate(readDate());
+            item.setLikeCount(readInt());
+            item.setTextualLikeCount(readString());
+            item.setHeartedByUploader(readBoolean());
+            item.setPinned(readBoolean());
+            item.setStreamPosition(readInt());
+            item.setReplyCount(readInt());
+            item.setReplies(readPage());
+            item.setChannelOwner(readBoolean());
+            item.setCreatorReply(readBoolean());
+            return item;
+        }
+
+        @Nonnull
+        private String readNonNullString(@Nonnull final String description) throws IOException {
+            final String value = readString();
+            if (value == null) {
+                throw new IOException("Missing " + description);
+            }
+            return value;
+        }
+
+        @Nonnull
+        private AudioStream readAudioStream() throws IOException {
+            final AudioStream.Builder builder = new AudioStream.Builder()
+                    .setId(readNonNullString("stream ID"));
+            final String content = readNonNullString("stream content");
+            return builder.setContent(content, readBoolean())
+                    .setMediaFormat(readEnum(MediaFormat.class))
+                    .setDeliveryMethod(readDeliveryMethod())
+                    .setManifestUrl(readString())
+                    .setAverageBitrate(readInt())
+                    .setAudioTrackId(readString())
+                    .setAudioTrackName(readString())
+                    .setAudioLocale(readLocale())
+                    .setAudioTrackType(readEnum(AudioTrackType.class))
+                    .setItagItem(readItagItem())
+                    .build();
+        }
+
+        @Nonnull
+        private VideoStream readVideoStream() throws IOException {
+            final VideoStream.Builder builder = new VideoStream.Builder()
+                    .setId(readNonNullString("stream ID"));
+            final String content = readNonNullString("stream content");
+            return builder.setContent(content, readBoolean())
+                    .setMediaFormat(readEnum(MediaFormat.class))
+                    .setDeliveryMethod(readDeliveryMethod())
+                    .setManifestUrl(readString())
+                    .setResolution(readNonNullString("resolution"))
+                    .setIsVideoOnly(readBoolean())
+                    .setItagItem(readItagItem())
+                    .build();
+        }
+
+        @Nonnull
+        private SubtitlesStream readSubtitlesStream() throws IOException {
+            final SubtitlesStream.Builder builder = new SubtitlesStream.Builder()
+                    .setId(readNonNullString("stream ID"));
+            final String content = readNonNullString("stream content");
+            try {
+                return builder.setContent(content, readBoolean())
+                        .setMediaFormat(readEnum(MediaFormat.class))
+                        .setDeliveryMethod(readDeliveryMethod())
+                        .setManifestUrl(readString())
+                        .setLanguageCode(readNonNullString("language code"))
+                        .setAutoGenerated(readBoolean())
+                        .build();
+            } catch (final ParsingException e) {
+                throw new IOException("Could not create subtitles stream", e);
+            }
+        }
+
+        @Nonnull
+        private DeliveryMethod readDeliveryMethod() throws IOException {
+            final DeliveryMethod deliveryMethod = readEnum(DeliveryMethod.class);
+            if (deliveryMethod == null) {
+                throw new IOException("Missing delivery method");
+            }
+            return deliveryMethod;
+        }
+
+        @Nullable
+        @SuppressWarnings("deprecation")
+        private ItagItem readItagItem() throws IOException {
+            if (!readBoolean()) {
+                return null;
+            }
+
+            final int id = readInt();
+            final ItagItem.ItagType itagType = readEnum(ItagItem.ItagType.class);
+            final MediaFormat mediaFormat = readEnum(MediaFormat.class);
+            final int averageBitrate = readInt();
+            final int sampleRate = readInt();
+            final int audioChannels = readInt();
+            final String resolution = readString();
+            final ItagItem itagItem = new ItagItem(id, itagType, mediaFormat, resolution,
+                    readInt());
+            itagItem.avgBitrate = averageBitrate;
+            itagItem.setSampleRate(sampleRate);
+            itagItem.setAudioChannels(audioChannels);
+            itagItem.setBitrate(readInt());
+            itagItem.setWidth(readInt());
+            itagItem.setHeight(readInt());
+            itagItem.setInitStart(readInt());
+            itagItem.setInitEnd(readInt());
+            itagItem.setIndexStart(readInt());
+            itagItem.setIndexEnd(readInt());
+            itagItem.setQuality(readString());
+            itagItem.setCodec(readString());
+            itagItem.setTargetDurationSec(readInt());
+            itagItem.setApproxDurationMs(readLong());
+            itagItem.setContentLength(readLong());
+            itagItem.setAudioTrackId(readString());
+            itagItem.setAudioTrackName(readString());
+            itagItem.setAudioTrackType(readEnum(AudioTrackType.class));
+            itagItem.setAudioLocale(readLocale());
+            return itagItem;
+        }
+
+        @Nonnull
+        private StreamSegment readStreamSegment() throws IOException {
+            final String title = readString();
+            final StreamSegment segment = new StreamSegment(title, readInt());
+            segment.setChannelName(readString());
+            segment.setUrl(readString());
+            segment.setPreviewUrl(readString());
+            return segment;
+        }
+
+        @Nonnull
+        private MetaInfo readMetaInfo() throws IOException {
+            final MetaInfo metaInfo = new MetaInfo();
+            final String title = readString();
+            if (title != null) {
+                metaInfo.setTitle(title);
+            }
+            final Description content = readDescription();
+            if (content != null) {
+                metaInfo.setContent(content);
+            }
+            final List<URL> urls = readList(() -> new URL(readNonNullString("URL")));
+            if (urls != null) {
+                metaInfo.setUrls(urls);
+            }
+            final List<String> urlTexts = readStrings();
+            if (urlTexts != null) {
+                metaInfo.setUrlTexts(urlTexts);
+            }
+            return metaInfo;
+        }
+
+        @Nonnull
+        private Frameset readFrameset() throws IOException {
+            final List<String> urls = readStrings();
+            final int frameWidth = readInt();
+            final int frameHeight = readInt();
+            final int totalCount = readInt();
+            final int durationPerFrame = readInt();
+            final int framesPerPageX = readInt();
+            return new Frameset(urls, frameWidth, frameHeight, totalCount, durationPerFrame,
+                    framesPerPageX, readInt());
+        }
+    }
+}
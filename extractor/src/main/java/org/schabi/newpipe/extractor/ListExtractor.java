@@ -2,10 +2,13 @@ package org.schabi.newpipe.extractor;
 
 import org.schabi.newpipe.extractor.exceptions.ExtractionException;
 import org.schabi.newpipe.extractor.linkhandler.ListLinkHandler;
+import org.schabi.newpipe.extractor.stream.StreamInfoItemField;
 
 import java.io.IOException;
 import java.util.Collections;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Set;
 
 import javax.annotation.Nonnull;
 
@@ -31,10 +34,38 @@ public abstract class ListExtractor<R extends InfoItem> extends Extractor {
      */
     public static final long ITEM_COUNT_MORE_THAN_100 = -3;
 
+    private Set<StreamInfoItemField> streamInfoItemFields = StreamInfoItemField.ALL;
+
     public ListExtractor(final StreamingService service, final ListLinkHandler linkHandler) {
         super(service, linkHandler);
     }
 
+    /**
+     * Select the optional fields of the {@link org.schabi.newpipe.extractor.stream.StreamInfoItem
+     * StreamInfoItem}s returned by this extractor which should be extracted.
+     *
+     * <p>
+     * Fields which are not selected are not extracted at all, which avoids the cost of
+     * extracting them for callers which don't need them, such as the parsing of upload dates.
+     * All fields are extracted by default.
+     * </p>
+     *
+     * @param fields the optional fields to extract
+     */
+    public void setStreamInfoItemFields(@Nonnull final Set<StreamInfoItemField> fields) {
+        this.streamInfoItemFields = fields.isEmpty()
+                ? Collections.emptySet() : Collections.unmodifiableSet(EnumSet.copyOf(fields));
+    }
+
+    /**
+     * @return the optional fields of stream items extracted by this extractor
+     * @see #setStreamInfoItemFields(Set)
+     */
+    @Nonnull
+    public Set<StreamInfoItemField> getStreamInfoItemFields() {
+        return streamInfoItemFields;
+    }
+
     /**
      * A {@link InfoItemsPage InfoItemsPage} corresponding to the initial page
      * where the items are from the initial request and the nextPage relative to it.
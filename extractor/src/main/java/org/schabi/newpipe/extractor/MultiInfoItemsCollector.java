@@ -6,11 +6,15 @@ import org.schabi.newpipe.extractor.exceptions.ParsingException;
 import org.schabi.newpipe.extractor.playlist.PlaylistInfoItemExtractor;
 import org.schabi.newpipe.extractor.playlist.PlaylistInfoItemsCollector;
 import org.schabi.newpipe.extractor.stream.StreamInfoItemExtractor;
+import org.schabi.newpipe.extractor.stream.StreamInfoItemField;
 import org.schabi.newpipe.extractor.stream.StreamInfoItemsCollector;
 
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Set;
+
+import javax.annotation.Nonnull;
 
 /*
  * Created by Christian Schabesberger on 12.02.17.
@@ -51,8 +55,19 @@ public class MultiInfoItemsCollector extends InfoItemsCollector<InfoItem, InfoIt
     private final PlaylistInfoItemsCollector playlistCollector;
 
     public MultiInfoItemsCollector(final int serviceId) {
+        this(serviceId, StreamInfoItemField.ALL);
+    }
+
+    /**
+     * Create a new collector extracting only the given optional fields of stream items.
+     *
+     * @param serviceId        the service id
+     * @param streamItemFields the optional fields of stream items to extract
+     */
+    public MultiInfoItemsCollector(final int serviceId,
+                                   @Nonnull final Set<StreamInfoItemField> streamItemFields) {
         super(serviceId);
-        streamCollector = new StreamInfoItemsCollector(serviceId);
+        streamCollector = new StreamInfoItemsCollector(serviceId, streamItemFields);
         userCollector = new ChannelInfoItemsCollector(serviceId);
         playlistCollector = new PlaylistInfoItemsCollector(serviceId);
     }
@@ -24,8 +24,17 @@ import org.schabi.newpipe.extractor.downloader.Downloader;
 import org.schabi.newpipe.extractor.exceptions.ExtractionException;
 import org.schabi.newpipe.extractor.localization.ContentCountry;
 import org.schabi.newpipe.extractor.localization.Localization;
+import org.schabi.newpipe.extractor.utils.ConcurrencyUtils;
 
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
@@ -37,6 +46,8 @@ public final class NewPipe {
     private static Downloader downloader;
     private static Localization preferredLocalization;
     private static ContentCountry preferredContentCountry;
+    @Nullable
+    private static volatile ExecutorService executor;
 
     private NewPipe() {
     }
@@ -60,6 +71,51 @@ public final class NewPipe {
         return downloader;
     }
 
+    /**
+     * Get the {@link ExecutorService} used by the extractor to run independent requests
+     * concurrently.
+     *
+     * <p>
+     * If no executor has been set with {@link #setExecutor(ExecutorService)}, a shared cached
+     * thread pool made of daemon threads is used.
+     * </p>
+     *
+     * @return the executor used to run concurrent extractor work
+     */
+    @Nonnull
+    public static ExecutorService getExecutor() {
+        final ExecutorService customExecutor = executor;
+        return customExecutor != null ? customExecutor : DefaultExecutorHolder.INSTANCE;
+    }
+
+    /**
+     * Set the {@link ExecutorService} used by the extractor to run independent requests
+     * concurrently.
+     *
+     * <p>
+     * The executor is not shut down by the extractor. Passing {@code null} restores the default
+     * executor.
+     * </p>
+     *
+     * @param newExecutor the executor to use, or {@code null} to use the default one
+     */
+    public static void setExecutor(@Nullable final ExecutorService newExecutor) {
+        executor = newExecutor;
+    }
+
+    private static final class DefaultExecutorHolder {
+        private static final AtomicInteger THREAD_COUNT = new AtomicInteger();
+        private static final ExecutorService INSTANCE = Executors.newCachedThreadPool(runnable -> {
+            final Thread thread = new Thread(runnable,
+                    "NewPipeExtractor-" + THREAD_COUNT.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        private DefaultExecutorHolder() {
+        }
+    }
+
     /*//////////////////////////////////////////////////////////////////////////
     // Utils
     //////////////////////////////////////////////////////////////////////////*/
@@ -85,12 +141,68 @@ public final class NewPipe {
     }
 
     public static StreamingService getServiceByUrl(final String url) throws ExtractionException {
-        for (final StreamingService service : ServiceList.all()) {
-            if (service.getLinkTypeByUrl(url) != StreamingService.LinkType.NONE) {
-                return service;
+        return ServiceUrlRouterHolder.INSTANCE.getServiceByUrl(url);
+    }
+
+    /**
+     * Initialize in the background the global state which is lazily initialized by the
+     * extractors of the given services, such as client versions, tokens or player files, so that
+     * the first extractions are not slowed down by this initialization.
+     *
+     * <p>
+     * The warm-up tasks of the services (see {@link StreamingService#getWarmUpTasks()}) are run
+     * concurrently on the {@link #getExecutor() executor of the extractor}. The returned future
+     * always completes normally once all tasks have finished, with a report of the components
+     * which have been initialized and of the ones which failed.
+     * </p>
+     *
+     * <p>
+     * {@link #init(Downloader)} must have been called before.
+     * </p>
+     *
+     * @param services the services to warm up, or none to warm up all services
+     * @return a future completed with the {@link WarmUpReport} once all tasks have finished
+     */
+    @Nonnull
+    public static CompletableFuture<WarmUpReport> warmUp(
+            @Nonnull final StreamingService... services) {
+        final List<StreamingService> servicesToWarmUp =
+                services.length == 0 ? getServices() : List.of(services);
+
+        final Map<String, CompletableFuture<Void>> components = new LinkedHashMap<>();
+        for (final StreamingService service : servicesToWarmUp) {
+            for (final Map.Entry<String, ConcurrencyUtils.ThrowingRunnable> task
+                    : service.getWarmUpTasks().entrySet()) {
+                components.put(service.getServiceInfo().getName() + "/" + task.getKey(),
+                        ConcurrencyUtils.supplyAsync(() -> {
+                            task.getValue().run();
+                            return null;
+                        }));
             }
         }
-        throw new ExtractionException("No service can handle the url = \"" + url + "\"");
+
+        return CompletableFuture.allOf(components.values().toArray(new CompletableFuture<?>[0]))
+                .handle((result, throwable) -> {
+                    final List<String> readyComponents = new ArrayList<>();
+                    final Map<String, Throwable> failedComponents = new LinkedHashMap<>();
+                    components.forEach((name, future) -> future.handle((ignored, error) -> {
+                        if (error == null) {
+                            readyComponents.add(name);
+                        } else {
+                            failedComponents.put(name, error instanceof CompletionException
+                                    && error.getCause() != null ? error.getCause() : error);
+                        }
+                        return null;
+                    }));
+                    return new WarmUpReport(readyComponents, failedComponents);
+                });
+    }
+
+    private static final class ServiceUrlRouterHolder {
+        private static final ServiceUrlRouter INSTANCE = new ServiceUrlRouter(ServiceList.all());
+
+        private ServiceUrlRouterHolder() {
+        }
     }
 
     /*//////////////////////////////////////////////////////////////////////////
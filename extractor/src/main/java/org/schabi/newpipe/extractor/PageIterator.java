@@ -0,0 +1,276 @@
+package org.schabi.newpipe.extractor;
+
+import org.schabi.newpipe.extractor.ListExtractor.InfoItemsPage;
+import org.schabi.newpipe.extractor.exceptions.ExtractionException;
+import org.schabi.newpipe.extractor.utils.ConcurrencyUtils;
+import org.schabi.newpipe.extractor.utils.ConcurrencyUtils.ThrowingFunction;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * Iterates over the pages of a list, fetching the next pages in the background while the
+ * current one is being consumed.
+ *
+ * <p>
+ * As soon as the {@link Page} pointing to the next page is known, the next page is requested on
+ * {@link NewPipe#getExecutor()}, until {@code readAhead} pages have been fetched (or are being
+ * fetched) without having been returned by {@link #next()}. Fetching then pauses until the caller
+ * consumes a page, so that a slow caller doesn't cause the whole list to be loaded in memory.
+ * </p>
+ *
+ * <p>
+ * Pages are fetched one after another, as each page needs the {@link Page} of the previous one.
+ * If fetching a page fails, its exception is thrown by {@link #next()} and the iteration stops.
+ * </p>
+ *
+ * <p>
+ * {@link #close()} should be called if the iteration is stopped before reaching the last page,
+ * to avoid fetching pages which will never be consumed.
+ * </p>
+ *
+ * @param <T> the info item type of the pages
+ */
+public final class PageIterator<T extends InfoItem> implements Closeable {
+    private final ThrowingFunction<Page, InfoItemsPage<T>> pageFetcher;
+    private final int readAhead;
+    private final Executor executor;
+
+    private final Object lock = new Object();
+    /**
+     * Pages fetched or being fetched, which have not been returned by {@link #next()} yet.
+     */
+    private final ArrayDeque<CompletableFuture<InfoItemsPage<T>>> pendingPages =
+            new ArrayDeque<>();
+    /**
+     * The page to fetch next, or {@code null} if the last page is being fetched, if there are
+     * no more pages or if fetching a page failed.
+     */
+    @Nullable
+    private Page nextPageToFetch;
+    private boolean closed = false;
+
+    /**
+     * Creates a new {@link PageIterator}.
+     *
+     * @param firstPage   the first page returned by {@link #next()}, from which following
+     *                    pages are fetched
+     * @param pageFetcher the function used to fetch a page, such as
+     *                    {@link ListExtractor#getPage(Page)}
+     * @param readAhead   the maximum number of pages fetched in advance, which must be greater
+     *                    than 0
+     * @param executor    the executor on which pages are fetched
+     */
+    public PageIterator(@Nonnull final InfoItemsPage<T> firstPage,
+                        @Nonnull final ThrowingFunction<Page, InfoItemsPage<T>> pageFetcher,
+                        final int readAhead,
+                        @Nonnull final Executor executor) {
+        if (readAhead <= 0) {
+            throw new IllegalArgumentException("readAhead must be greater than 0");
+        }
+        this.pageFetcher = pageFetcher;
+        this.readAhead = readAhead;
+        this.executor = executor;
+
+        synchronized (lock) {
+            pendingPages.add(CompletableFuture.completedFuture(firstPage));
+            nextPageToFetch = firstPage.hasNextPage() ? firstPage.getNextPage() : null;
+            fetchNextPageIfNeeded();
+        }
+    }
+
+    /**
+     * Creates a {@link PageIterator} over the pages of the given extractor, starting with its
+     * initial page.
+     *
+     * @param extractor a list extractor on which {@link Extractor#fetchPage()} was already called
+     * @param readAhead the maximum number of pages fetched in advance, which must be greater
+     *                  than 0
+     * @param <T>       the info item type of the pages
+     * @return a new {@link PageIterator}
+     */
+    @Nonnull
+    public static <T extends InfoItem> PageIterator<T> fromExtractor(
+            @Nonnull final ListExtractor<T> extractor,
+            final int readAhead) throws IOException, ExtractionException {
+        return new PageIterator<>(extractor.getInitialPage(), extractor::getPage, readAhead,
+                NewPipe.getExecutor());
+    }
+
+    /**
+     * Creates a {@link PageIterator} over the pages of the given info, starting with its related
+     * items.
+     *
+     * @param info        the info whose related items are the first page
+     * @param pageFetcher the function used to fetch the following pages, such as
+     *                    {@code page -> PlaylistInfo.getMoreItems(service, url, page)}
+     * @param readAhead   the maximum number of pages fetched in advance, which must be greater
+     *                    than 0
+     * @param <T>         the info item type of the pages
+     * @return a new {@link PageIterator}
+     */
+    @Nonnull
+    public static <T extends InfoItem> PageIterator<T> fromInfo(
+            @Nonnull final ListInfo<T> info,
+            @Nonnull final ThrowingFunction<Page, InfoItemsPage<T>> pageFetcher,
+            final int readAhead) {
+        final InfoItemsPage<T> firstPage = new InfoItemsPage<>(info.getRelatedItems(),
+                info.getNextPage(), Collections.emptyList());
+        return new PageIterator<>(firstPage, pageFetcher, readAhead, NewPipe.getExecutor());
+    }
+
+    /**
+     * @return whether {@link #next()} can return another page
+     */
+    public boolean hasNext() {
+        synchronized (lock) {
+            return !closed && (!pendingPages.isEmpty() || nextPageToFetch != null);
+        }
+    }
+
+    /**
+     * Get the next page, waiting for it to be fetched if needed.
+     *
+     * @return the next page
+     * @throws IOException            if fetching the page failed with an {@link IOException}
+     * @throws ExtractionException    if fetching the page failed with an
+     *                                {@link ExtractionException}
+     * @throws NoSuchElementException if there are no more pages or if this iterator is closed
+     */
+    @Nonnull
+    public InfoItemsPage<T> next() throws IOException, ExtractionException {
+        final CompletableFuture<InfoItemsPage<T>> page;
+        synchronized (lock) {
+            page = closed ? null : pendingPages.poll();
+            if (page == null) {
+                throw new NoSuchElementException("No more pages");
+            }
+            // A slot has been freed: continue fetching pages while this one is consumed
+            fetchNextPageIfNeeded();
+        }
+        return ConcurrencyUtils.await(page);
+    }
+
+    /**
+     * Get a sequential stream of the items of all the remaining pages, which fetches pages
+     * only when the items of the previous ones have been consumed (taking read-ahead into
+     * account). Closing the stream closes this iterator.
+     *
+     * <p>
+     * As streams cannot throw checked exceptions, errors while fetching a page are thrown as
+     * {@link CompletionException}s whose cause is the {@link IOException} or the
+     * {@link ExtractionException} thrown. Errors which happened while extracting single items of
+     * pages are ignored, use {@link #next()} to get them.
+     * </p>
+     *
+     * @return a lazily populated stream of the items of the remaining pages
+     */
+    @Nonnull
+    public Stream<T> items() {
+        final Iterator<T> itemIterator = new Iterator<>() {
+            private Iterator<T> currentPageItems = Collections.emptyIterator();
+
+            @Override
+            public boolean hasNext() {
+                while (!currentPageItems.hasNext()) {
+                    if (!PageIterator.this.hasNext()) {
+                        return false;
+                    }
+                    try {
+                        currentPageItems = PageIterator.this.next().getItems().iterator();
+                    } catch (final IOException | ExtractionException e) {
+                        throw new CompletionException(e);
+                    }
+                }
+                return true;
+            }
+
+            @Override
+            public T next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException("No more items");
+                }
+                return currentPageItems.next();
+            }
+        };
+
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(itemIterator,
+                        Spliterator.ORDERED | Spliterator.NONNULL), false)
+                .onClose(this::close);
+    }
+
+    /**
+     * Stop fetching pages. Pages already being fetched are discarded.
+     */
+    @Override
+    public void close() {
+        synchronized (lock) {
+            closed = true;
+            nextPageToFetch = null;
+            pendingPages.forEach(page -> page.cancel(false));
+            pendingPages.clear();
+        }
+    }
+
+    /**
+     * Start fetching the next page if it is known and if the read-ahead limit is not reached.
+     * Must be called while holding {@link #lock}.
+     */
+    private void fetchNextPageIfNeeded() {
+        if (closed || nextPageToFetch == null || pendingPages.size() >= readAhead) {
+            return;
+        }
+
+        final Page pageToFetch = nextPageToFetch;
+        nextPageToFetch = null;
+        final CompletableFuture<InfoItemsPage<T>> future = new CompletableFuture<>();
+        pendingPages.add(future);
+
+        try {
+            executor.execute(() -> fetchPage(pageToFetch, future));
+        } catch (final RuntimeException e) {
+            // The executor rejected the task: the error will be thrown when reaching the page
+            future.completeExceptionally(e);
+        }
+    }
+
+    private void fetchPage(@Nonnull final Page page,
+                           @Nonnull final CompletableFuture<InfoItemsPage<T>> future) {
+        InfoItemsPage<T> result = null;
+        Throwable error = null;
+        if (!future.isCancelled()) {
+            try {
+                result = pageFetcher.apply(page);
+            } catch (final Exception | Error e) {
+                error = e;
+            }
+        }
+
+        synchronized (lock) {
+            if (!closed && result != null && result.hasNextPage()) {
+                nextPageToFetch = result.getNextPage();
+                fetchNextPageIfNeeded();
+            }
+        }
+
+        if (error != null) {
+            future.completeExceptionally(error);
+        } else {
+            future.complete(result);
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package org.schabi.newpipe.extractor;
+
+import org.schabi.newpipe.extractor.exceptions.ExtractionException;
+import org.schabi.newpipe.extractor.utils.Utils;
+
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * Finds the service which can handle a URL, without running the link handler factories of
+ * services which cannot handle its host.
+ *
+ * <p>
+ * Services are still checked in the order of {@link ServiceList#all()}, so the returned service
+ * is always the same as the one returned by checking all services one after another. Services
+ * which don't declare the hosts they support with {@link StreamingService#getSupportedUrlHosts()}
+ * are checked for every URL.
+ * </p>
+ */
+final class ServiceUrlRouter {
+    private static final int MAX_CACHED_URLS = 128;
+
+    private final List<StreamingService> services;
+    /**
+     * Services to check for each declared host, in the order of {@link #services}.
+     */
+    private final Map<String, List<StreamingService>> servicesByHost;
+    /**
+     * Services to check for hosts which are not declared by any service.
+     */
+    private final List<StreamingService> anyHostServices;
+    private final Map<String, StreamingService> cache =
+            new LinkedHashMap<String, StreamingService>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(
+                        final Map.Entry<String, StreamingService> eldest) {
+                    return size() > MAX_CACHED_URLS;
+                }
+            };
+
+    ServiceUrlRouter(@Nonnull final List<StreamingService> services) {
+        this.services = List.copyOf(services);
+
+        final List<StreamingService> anyHost = new ArrayList<>();
+        final Map<String, List<StreamingService>> byHost = new HashMap<>();
+        for (final StreamingService service : this.services) {
+            final Set<String> hosts = service.getSupportedUrlHosts();
+            if (hosts.isEmpty()) {
+                anyHost.add(service);
+                // Services which can handle any host must be checked for all declared hosts too
+                byHost.values().forEach(candidates -> candidates.add(service));
+            } else {
+                for (final String host : hosts) {
+                    byHost.computeIfAbsent(host.toLowerCase(Locale.ROOT),
+                            h -> new ArrayList<>(anyHost)).add(service);
+                }
+            }
+        }
+
+        this.anyHostServices = Collections.unmodifiableList(anyHost);
+        final Map<String, List<StreamingService>> immutableByHost = new HashMap<>();
+        byHost.forEach((host, candidates) ->
+                immutableByHost.put(host, Collections.unmodifiableList(candidates)));
+        this.servicesByHost = Collections.unmodifiableMap(immutableByHost);
+    }
+
+    @Nonnull
+    StreamingService getServiceByUrl(final String url) throws ExtractionException {
+        synchronized (cache) {
+            final StreamingService cached = cache.get(url);
+            if (cached != null) {
+                return cached;
+            }
+        }
+
+        final String polishedUrl = Utils.followGoogleRedirectIfNeeded(url);
+        for (final StreamingService service : getCandidates(polishedUrl)) {
+            if (service.getLinkTypeByPolishedUrl(polishedUrl) != StreamingService.LinkType.NONE) {
+                synchronized (cache) {
+                    cache.put(url, service);
+                }
+                return service;
+            }
+        }
+        throw new ExtractionException("No service can handle the url = \"" + url + "\"");
+    }
+
+    @Nonnull
+    private List<StreamingService> getCandidates(@Nullable final String polishedUrl) {
+        final URL parsedUrl;
+        try {
+            parsedUrl = Utils.stringToURL(polishedUrl);
+        } catch (final MalformedURLException e) {
+            return services;
+        }
+
+        // Link handler factories may accept URLs with other schemes, such as vnd.youtube ones
+        if (!parsedUrl.getProtocol().equals("http") && !parsedUrl.getProtocol().equals("https")) {
+            return services;
+        }
+
+        return servicesByHost.getOrDefault(parsedUrl.getHost().toLowerCase(Locale.ROOT),
+                anyHostServices);
+    }
+}
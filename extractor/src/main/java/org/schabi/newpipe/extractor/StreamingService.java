@@ -22,11 +22,16 @@ import org.schabi.newpipe.extractor.search.SearchExtractor;
 import org.schabi.newpipe.extractor.stream.StreamExtractor;
 import org.schabi.newpipe.extractor.subscription.SubscriptionExtractor;
 import org.schabi.newpipe.extractor.suggestion.SuggestionExtractor;
+import org.schabi.newpipe.extractor.utils.ConcurrencyUtils;
 import org.schabi.newpipe.extractor.utils.Utils;
 
+import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 /*
  * Copyright (C) 2018 Christian Schabesberger <chris.schabesberger@mailbox.org>
@@ -92,6 +97,7 @@ public abstract class StreamingService {
 
     private final int serviceId;
     private final ServiceInfo serviceInfo;
+    private final Map<Localization, TimeAgoParser> timeAgoParsers = new ConcurrentHashMap<>();
 
     /**
      * Creates a new Streaming service.
@@ -320,8 +326,14 @@ public abstract class StreamingService {
      * @return the link type of url
      */
     public final LinkType getLinkTypeByUrl(final String url) throws ParsingException {
-        final String polishedUrl = Utils.followGoogleRedirectIfNeeded(url);
+        return getLinkTypeByPolishedUrl(Utils.followGoogleRedirectIfNeeded(url));
+    }
 
+    /**
+     * Same as {@link #getLinkTypeByUrl(String)}, for URLs on which
+     * {@link Utils#followGoogleRedirectIfNeeded(String)} has already been applied.
+     */
+    final LinkType getLinkTypeByPolishedUrl(final String polishedUrl) throws ParsingException {
         final LinkHandlerFactory sH = getStreamLHFactory();
         final LinkHandlerFactory cH = getChannelLHFactory();
         final LinkHandlerFactory pH = getPlaylistLHFactory();
@@ -337,6 +349,40 @@ public abstract class StreamingService {
         }
     }
 
+    /**
+     * Returns the hosts of the URLs that this service can handle.
+     *
+     * <p>
+     * This is used by {@link NewPipe#getServiceByUrl(String)} to skip this service without
+     * running its link handler factories on URLs of other hosts. So, if a host is not returned,
+     * none of the link handler factories of this service must accept URLs of this host.
+     * </p>
+     *
+     * @return the lowercase hosts of the URLs that this service can handle, or an empty set if
+     * this service can handle URLs of any host (which is the default)
+     */
+    @Nonnull
+    public Set<String> getSupportedUrlHosts() {
+        return Collections.emptySet();
+    }
+
+    /**
+     * Returns the tasks initializing the global state which is lazily initialized by the
+     * extractors of this service, such as client versions or tokens, by component name.
+     *
+     * <p>
+     * These tasks are run by {@link NewPipe#warmUp(StreamingService...)}, so that the first
+     * extraction doesn't have to initialize this state itself. Tasks can be run concurrently and
+     * must not do anything if the state they initialize is already initialized.
+     * </p>
+     *
+     * @return the warm-up tasks of this service by component name, which are none by default
+     */
+    @Nonnull
+    public Map<String, ConcurrencyUtils.ThrowingRunnable> getWarmUpTasks() {
+        return Collections.emptyMap();
+    }
+
     /*//////////////////////////////////////////////////////////////////////////
     // Localization
     //////////////////////////////////////////////////////////////////////////*/
@@ -407,11 +453,18 @@ public abstract class StreamingService {
      * <br><br>
      * Just like {@link #getLocalization()}, it will also try to fallback to a less specific
      * localization if the exact one is not available/supported.
+     * <br><br>
+     * Parsers are cached per localization: they parse dates relative to the time at which each
+     * date is parsed, so they can be shared between extractors.
      *
      * @throws IllegalArgumentException if the localization is not supported (parsing patterns are
      *                                  not present).
      */
     public TimeAgoParser getTimeAgoParser(final Localization localization) {
+        return timeAgoParsers.computeIfAbsent(localization, this::createTimeAgoParser);
+    }
+
+    private TimeAgoParser createTimeAgoParser(final Localization localization) {
         final TimeAgoParser targetParser = TimeAgoPatternsManager.getTimeAgoParserFor(localization);
 
         if (targetParser != null) {
@@ -0,0 +1,59 @@
+package org.schabi.newpipe.extractor;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import javax.annotation.Nonnull;
+
+/**
+ * The result of {@link NewPipe#warmUp(StreamingService...)}: the components which have been
+ * initialized and the ones which failed to be initialized.
+ *
+ * <p>
+ * Components are named with the name of their service and the name of their warm-up task, such
+ * as {@code YouTube/clientVersion} (see {@link StreamingService#getWarmUpTasks()}).
+ * </p>
+ */
+public final class WarmUpReport {
+    @Nonnull
+    private final List<String> readyComponents;
+    @Nonnull
+    private final Map<String, Throwable> failedComponents;
+
+    WarmUpReport(@Nonnull final List<String> readyComponents,
+                 @Nonnull final Map<String, Throwable> failedComponents) {
+        this.readyComponents = Collections.unmodifiableList(readyComponents);
+        this.failedComponents = Collections.unmodifiableMap(failedComponents);
+    }
+
+    /**
+     * @return the names of the components which have been initialized
+     */
+    @Nonnull
+    public List<String> getReadyComponents() {
+        return readyComponents;
+    }
+
+    /**
+     * @return the names of the components which could not be initialized, with the error which
+     * prevented their initialization
+     */
+    @Nonnull
+    public Map<String, Throwable> getFailedComponents() {
+        return failedComponents;
+    }
+
+    /**
+     * @return whether all components have been initialized
+     */
+    public boolean isReady() {
+        return failedComponents.isEmpty();
+    }
+
+    @Override
+    public String toString() {
+        return "WarmUpReport[ready=" + readyComponents
+                + ", failed=" + failedComponents.keySet() + "]";
+    }
+}
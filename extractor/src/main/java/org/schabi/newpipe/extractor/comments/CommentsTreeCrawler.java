@@ -0,0 +1,374 @@
+package org.schabi.newpipe.extractor.comments;
+
+import org.schabi.newpipe.extractor.ListExtractor.InfoItemsPage;
+import org.schabi.newpipe.extractor.NewPipe;
+import org.schabi.newpipe.extractor.Page;
+import org.schabi.newpipe.extractor.exceptions.ExtractionException;
+import org.schabi.newpipe.extractor.utils.ConcurrencyUtils.ThrowingFunction;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * Crawls a whole comment tree: all the pages of top-level comments and all their reply threads.
+ *
+ * <p>
+ * Top-level pages are fetched one after another on the calling thread, as each page needs the
+ * {@link Page} of the previous one. As soon as a comment with {@link CommentsInfoItem#getReplies()
+ * replies} is found, its reply thread is queued and expanded on the executor, with at most
+ * {@code maxParallelism} reply pages being fetched at the same time. The pages of a reply thread
+ * are fetched one after another too, but different threads are expanded concurrently.
+ * </p>
+ *
+ * <p>
+ * Comments are given to a {@link CommentListener} as soon as their page has been fetched, so that
+ * they don't have to be kept in memory. A comment is always given before its replies.
+ * </p>
+ *
+ * <p>
+ * The number of pages requested by a crawl, top-level and reply pages included, is limited by a
+ * budget. Once the budget is exhausted, the crawl stops and the reply threads not expanded yet
+ * are skipped. Errors while fetching a page are recorded in the {@link Result} and the crawl
+ * continues with other threads; if fetching a top-level page fails, the next top-level pages are
+ * skipped.
+ * </p>
+ */
+public final class CommentsTreeCrawler {
+
+    /**
+     * Receives the comments crawled.
+     *
+     * <p>
+     * Calls are never concurrent, so implementations don't need to be thread-safe, but they may
+     * happen on different threads. They should return quickly, as crawling threads wait for them.
+     * </p>
+     */
+    @FunctionalInterface
+    public interface CommentListener {
+        /**
+         * @param comment a comment crawled
+         * @param parent  the comment to which {@code comment} replies, or {@code null} if it is a
+         *                top-level comment
+         */
+        void onComment(@Nonnull CommentsInfoItem comment, @Nullable CommentsInfoItem parent);
+    }
+
+    /**
+     * The outcome of a crawl.
+     */
+    public static final class Result {
+        private final int commentCount;
+        private final int requestCount;
+        private final boolean budgetExhausted;
+        @Nonnull
+        private final List<Throwable> errors;
+
+        private Result(final int commentCount,
+                       final int requestCount,
+                       final boolean budgetExhausted,
+                       @Nonnull final List<Throwable> errors) {
+            this.commentCount = commentCount;
+            this.requestCount = requestCount;
+            this.budgetExhausted = budgetExhausted;
+            this.errors = Collections.unmodifiableList(errors);
+        }
+
+        /**
+         * @return the number of comments given to the listener
+         */
+        public int getCommentCount() {
+            return commentCount;
+        }
+
+        /**
+         * @return the number of pages requested, the first page excluded
+         */
+        public int getRequestCount() {
+            return requestCount;
+        }
+
+        /**
+         * @return whether the crawl was stopped because the request budget was exhausted, in
+         * which case some comments have not been crawled
+         */
+        public boolean isBudgetExhausted() {
+            return budgetExhausted;
+        }
+
+        /**
+         * @return the errors which happened while fetching pages or extracting comments
+         */
+        @Nonnull
+        public List<Throwable> getErrors() {
+            return errors;
+        }
+    }
+
+    /**
+     * A page of replies to fetch, with the comment to which they reply.
+     */
+    private static final class ReplyThread {
+        @Nonnull
+        private final CommentsInfoItem parent;
+        @Nonnull
+        private final Page page;
+
+        private ReplyThread(@Nonnull final CommentsInfoItem parent, @Nonnull final Page page) {
+            this.parent = parent;
+            this.page = page;
+        }
+    }
+
+    private final InfoItemsPage<CommentsInfoItem> firstPage;
+    private final ThrowingFunction<Page, InfoItemsPage<CommentsInfoItem>> pageFetcher;
+    private final int maxParallelism;
+    private final int maxRequests;
+    private final Executor executor;
+
+    private final Object lock = new Object();
+    private final ArrayDeque<ReplyThread> pendingThreads = new ArrayDeque<>();
+    private final List<Throwable> errors = new ArrayList<>();
+    private int activeWorkers;
+    private int requestCount;
+    private int commentCount;
+    private boolean budgetExhausted;
+    private boolean started;
+
+    /**
+     * Creates a new {@link CommentsTreeCrawler}.
+     *
+     * @param firstPage      the first page of top-level comments
+     * @param pageFetcher    the function used to fetch both top-level and reply pages, such as
+     *                       {@link CommentsExtractor#getPage(Page)}
+     * @param maxParallelism the maximum number of reply pages fetched at the same time, which
+     *                       must be greater than 0
+     * @param maxRequests    the maximum number of pages requested by the crawl, the first page
+     *                       excluded, which must not be negative
+     * @param executor       the executor on which reply threads are expanded
+     */
+    public CommentsTreeCrawler(
+            @Nonnull final InfoItemsPage<CommentsInfoItem> firstPage,
+            @Nonnull final ThrowingFunction<Page, InfoItemsPage<CommentsInfoItem>> pageFetcher,
+            final int maxParallelism,
+            final int maxRequests,
+            @Nonnull final Executor executor) {
+        if (maxParallelism <= 0) {
+            throw new IllegalArgumentException("maxParallelism must be greater than 0");
+        }
+        if (maxRequests < 0) {
+            throw new IllegalArgumentException("maxRequests must not be negative");
+        }
+        this.firstPage = firstPage;
+        this.pageFetcher = pageFetcher;
+        this.maxParallelism = maxParallelism;
+        this.maxRequests = maxRequests;
+        this.executor = executor;
+    }
+
+    /**
+     * Creates a {@link CommentsTreeCrawler} over the comments of the given extractor, starting
+     * with its initial page.
+     *
+     * @param extractor      a comments extractor on which
+     *                       {@link org.schabi.newpipe.extractor.Extractor#fetchPage()} was
+     *                       already called
+     * @param maxParallelism the maximum number of reply pages fetched at the same time, which
+     *                       must be greater than 0
+     * @param maxRequests    the maximum number of pages requested by the crawl, the initial page
+     *                       excluded, which must not be negative
+     * @return a new {@link CommentsTreeCrawler}
+     */
+    @Nonnull
+    public static CommentsTreeCrawler fromExtractor(@Nonnull final CommentsExtractor extractor,
+                                                    final int maxParallelism,
+                                                    final int maxRequests)
+            throws IOException, ExtractionException {
+        return new CommentsTreeCrawler(extractor.getInitialPage(), extractor::getPage,
+                maxParallelism, maxRequests, NewPipe.getExecutor());
+    }
+
+    /**
+     * Creates a {@link CommentsTreeCrawler} over the comments of the given info, starting with
+     * its related items.
+     *
+     * @param info           the comments info whose related items are the first page
+     * @param maxParallelism the maximum number of reply pages fetched at the same time, which
+     *                       must be greater than 0
+     * @param maxRequests    the maximum number of pages requested by the crawl, the related items
+     *                       excluded, which must not be negative
+     * @return a new {@link CommentsTreeCrawler}
+     */
+    @Nonnull
+    public static CommentsTreeCrawler fromInfo(@Nonnull final CommentsInfo info,
+                                               final int maxParallelism,
+                                               final int maxRequests) {
+        final InfoItemsPage<CommentsInfoItem> firstPage = new InfoItemsPage<>(
+                info.getRelatedItems(), info.getNextPage(), Collections.emptyList());
+        return new CommentsTreeCrawler(firstPage, page -> CommentsInfo.getMoreItems(info, page),
+                maxParallelism, maxRequests, NewPipe.getExecutor());
+    }
+
+    /**
+     * Crawl the comment tree, giving each comment to the given listener, and wait for the crawl
+     * to end.
+     *
+     * <p>
+     * A crawler can only be used once.
+     * </p>
+     *
+     * @param listener the listener receiving the comments crawled
+     * @return the outcome of the crawl
+     * @throws ExtractionException if the calling thread was interrupted while waiting for reply
+     *                             threads to be expanded
+     */
+    @Nonnull
+    public Result crawl(@Nonnull final CommentListener listener) throws ExtractionException {
+        synchronized (lock) {
+            if (started) {
+                throw new IllegalStateException("This crawler has already been used");
+            }
+            started = true;
+        }
+
+        InfoItemsPage<CommentsInfoItem> page = firstPage;
+        while (true) {
+            deliver(page, null, listener);
+            if (!page.hasNextPage() || !tryAcquireRequest()) {
+                break;
+            }
+            try {
+                page = pageFetcher.apply(page.getNextPage());
+            } catch (final IOException | ExtractionException | RuntimeException e) {
+                synchronized (lock) {
+                    errors.add(e);
+                }
+                break;
+            }
+        }
+
+        awaitReplyThreads(listener);
+
+        synchronized (lock) {
+            return new Result(commentCount, requestCount, budgetExhausted, errors);
+        }
+    }
+
+    /**
+     * Give the comments of the given page to the listener and queue their reply threads, as well
+     * as the next page of the reply thread if the page is a reply page.
+     */
+    private void deliver(@Nonnull final InfoItemsPage<CommentsInfoItem> page,
+                         @Nullable final CommentsInfoItem parent,
+                         @Nonnull final CommentListener listener) {
+        synchronized (lock) {
+            errors.addAll(page.getErrors());
+            for (final CommentsInfoItem comment : page.getItems()) {
+                listener.onComment(comment, parent);
+                commentCount++;
+                final Page replies = comment.getReplies();
+                if (Page.isValid(replies)) {
+                    pendingThreads.add(new ReplyThread(comment, replies));
+                }
+            }
+            if (parent != null && page.hasNextPage()) {
+                pendingThreads.add(new ReplyThread(parent, page.getNextPage()));
+            }
+            startWorkersIfNeeded(listener);
+        }
+    }
+
+    private boolean tryAcquireRequest() {
+        synchronized (lock) {
+            if (requestCount >= maxRequests) {
+                budgetExhausted = true;
+                return false;
+            }
+            requestCount++;
+            return true;
+        }
+    }
+
+    private void startWorkersIfNeeded(@Nonnull final CommentListener listener) {
+        // Must be called while holding the lock
+        while (activeWorkers < maxParallelism && activeWorkers < pendingThreads.size()) {
+            activeWorkers++;
+            try {
+                executor.execute(() -> expandReplyThreads(listener));
+            } catch (final RejectedExecutionException e) {
+                // The calling thread will expand the remaining threads itself
+                activeWorkers--;
+                break;
+            }
+        }
+    }
+
+    /**
+     * Expand queued reply threads until there are none left. The caller must have reserved a
+     * worker slot by incrementing {@link #activeWorkers}.
+     */
+    private void expandReplyThreads(@Nonnull final CommentListener listener) {
+        try {
+            while (true) {
+                final ReplyThread thread;
+                synchronized (lock) {
+                    thread = pendingThreads.poll();
+                    if (thread == null) {
+                        return;
+                    }
+                }
+                if (!tryAcquireRequest()) {
+                    synchronized (lock) {
+                        pendingThreads.clear();
+                    }
+                    return;
+                }
+
+                try {
+                    deliver(pageFetcher.apply(thread.page), thread.parent, listener);
+                } catch (final IOException | ExtractionException | RuntimeException e) {
+                    synchronized (lock) {
+                        errors.add(e);
+                    }
+                }
+            }
+        } finally {
+            synchronized (lock) {
+                activeWorkers--;
+                lock.notifyAll();
+            }
+        }
+    }
+
+    private void awaitReplyThreads(@Nonnull final CommentListener listener)
+            throws ExtractionException {
+        while (true) {
+            synchronized (lock) {
+                if (pendingThreads.isEmpty() && activeWorkers == 0) {
+                    return;
+                }
+                if (pendingThreads.isEmpty() || activeWorkers >= maxParallelism) {
+                    try {
+                        lock.wait();
+                    } catch (final InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        pendingThreads.clear();
+                        throw new ExtractionException(
+                                "Interrupted while waiting for reply threads", e);
+                    }
+                    continue;
+                }
+                // Threads are pending but no worker could be started: expand them here
+                activeWorkers++;
+            }
+            expandReplyThreads(listener);
+        }
+    }
+}
@@ -0,0 +1,242 @@
+package org.schabi.newpipe.extractor.downloader;
+
+import org.schabi.newpipe.extractor.NewPipe;
+import org.schabi.newpipe.extractor.exceptions.ExtractionException;
+import org.schabi.newpipe.extractor.utils.ConcurrencyUtils;
+import org.schabi.newpipe.extractor.utils.ConcurrencyUtils.ThrowingSupplier;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * A policy issuing hedged requests, to reduce the tail latency of idempotent requests.
+ *
+ * <p>
+ * The latencies of the last requests are tracked per endpoint, whether these requests succeeded
+ * or failed. When a request to an endpoint has not completed after the configured percentile of
+ * these latencies, a duplicate request is issued and the response of the first request which
+ * succeeds is returned.
+ * </p>
+ *
+ * <p>
+ * Hedged requests are limited by a budget: at most the given ratio of requests can be hedged, so
+ * that hedging only adds a small percentage of traffic. No request is hedged for an endpoint
+ * until enough latencies have been recorded for it.
+ * </p>
+ *
+ * <p>
+ * Requests are run on {@link NewPipe#getExecutor()}, while the calling thread waits for their
+ * result. The request which lost the race is not cancelled, its result is ignored.
+ * </p>
+ */
+public final class HedgingPolicy {
+    private static final int WINDOW_SIZE = 100;
+    private static final int MIN_SAMPLES = 20;
+    // The maximum number of hedged requests which can be issued in a burst
+    private static final double MAX_BUDGET = 10;
+    // Tolerance for the rounding errors of the budget, which is a sum of ratios
+    private static final double BUDGET_EPSILON = 1e-9;
+
+    private final double percentile;
+    private final double maxHedgeRatio;
+    private final ConcurrentHashMap<String, LatencyWindow> latencyWindows =
+            new ConcurrentHashMap<>();
+    private final AtomicLong requestCount = new AtomicLong();
+    private final AtomicLong hedgeCount = new AtomicLong();
+    private double budget;
+
+    /**
+     * Creates a new {@link HedgingPolicy}.
+     *
+     * @param percentile    the percentile of the latencies of an endpoint after which requests
+     *                      are hedged, between 0 (exclusive) and 1 (exclusive), such as
+     *                      {@code 0.95}
+     * @param maxHedgeRatio the maximum ratio of requests which can be hedged, between 0
+     *                      (exclusive) and 1 (inclusive), such as {@code 0.05}
+     */
+    public HedgingPolicy(final double percentile, final double maxHedgeRatio) {
+        if (!(percentile > 0 && percentile < 1)) {
+            throw new IllegalArgumentException("percentile must be between 0 and 1");
+        }
+        if (!(maxHedgeRatio > 0 && maxHedgeRatio <= 1)) {
+            throw new IllegalArgumentException("maxHedgeRatio must be between 0 and 1");
+        }
+        this.percentile = percentile;
+        this.maxHedgeRatio = maxHedgeRatio;
+    }
+
+    /**
+     * Execute the given request, issuing a duplicate request if it has not completed after the
+     * hedging delay of the given endpoint.
+     *
+     * <p>
+     * The request must be idempotent, as it may be executed twice.
+     * </p>
+     *
+     * @param endpoint the name of the endpoint requested, under which latencies are tracked
+     * @param request  the request to execute
+     * @param <R>      the type of the response
+     * @return the response of the first request which succeeded
+     * @throws IOException         if the requests failed with an {@link IOException}
+     * @throws ExtractionException if the requests failed with an {@link ExtractionException}
+     */
+    public <R> R execute(@Nonnull final String endpoint,
+                         @Nonnull final ThrowingSupplier<R> request)
+            throws IOException, ExtractionException {
+        requestCount.incrementAndGet();
+        addBudget();
+
+        final long hedgeDelayNanos = getLatencyWindow(endpoint).getPercentile(percentile);
+
+        final long startTime = System.nanoTime();
+        final CompletableFuture<R> primary = ConcurrencyUtils.supplyAsync(request);
+        // Only latencies of primary requests are recorded, as hedged requests would bias them.
+        // Failures are recorded too, so that slow failures are not ignored
+        primary.whenComplete((result, throwable) ->
+                recordLatency(endpoint, System.nanoTime() - startTime));
+
+        if (hedgeDelayNanos < 0) {
+            return ConcurrencyUtils.await(primary);
+        }
+
+        try {
+            return primary.get(hedgeDelayNanos, TimeUnit.NANOSECONDS);
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ExtractionException("Interrupted while waiting for a response", e);
+        } catch (final ExecutionException e) {
+            // Wait for the original exception to be rethrown as is
+            return ConcurrencyUtils.await(primary);
+        } catch (final TimeoutException e) {
+            if (!tryConsumeBudget()) {
+                return ConcurrencyUtils.await(primary);
+            }
+        }
+
+        hedgeCount.incrementAndGet();
+        final CompletableFuture<R> hedge = ConcurrencyUtils.supplyAsync(request);
+        return ConcurrencyUtils.await(firstSuccessful(primary, hedge));
+    }
+
+    /**
+     * @return a future completed with the result of the first of the given futures which
+     * completes normally, or with the exception of the first one if both fail
+     */
+    @Nonnull
+    private static <R> CompletableFuture<R> firstSuccessful(
+            @Nonnull final CompletableFuture<R> first,
+            @Nonnull final CompletableFuture<R> second) {
+        final CompletableFuture<R> result = new CompletableFuture<>();
+        final AtomicInteger failures = new AtomicInteger();
+        first.whenComplete((value, throwable) -> {
+            if (throwable == null) {
+                result.complete(value);
+            } else if (failures.incrementAndGet() == 2) {
+                result.completeExceptionally(throwable);
+            }
+        });
+        second.whenComplete((value, throwable) -> {
+            if (throwable == null) {
+                result.complete(value);
+            } else if (failures.incrementAndGet() == 2) {
+                // Report the exception of the first request, which is the original one
+                first.whenComplete((firstValue, firstThrowable) ->
+                        result.completeExceptionally(firstThrowable));
+            }
+        });
+        return result;
+    }
+
+    @Nonnull
+    private LatencyWindow getLatencyWindow(@Nonnull final String endpoint) {
+        return latencyWindows.computeIfAbsent(endpoint, key -> new LatencyWindow());
+    }
+
+    void recordLatency(@Nonnull final String endpoint, final long latencyNanos) {
+        getLatencyWindow(endpoint).add(latencyNanos);
+    }
+
+    private synchronized void addBudget() {
+        budget = Math.min(MAX_BUDGET, budget + maxHedgeRatio);
+    }
+
+    private synchronized boolean tryConsumeBudget() {
+        if (budget < 1 - BUDGET_EPSILON) {
+            return false;
+        }
+        budget--;
+        return true;
+    }
+
+    /**
+     * @param endpoint the name of an endpoint
+     * @return the delay after which requests to the given endpoint are currently hedged, or
+     * {@code null} if not enough latencies have been recorded for this endpoint yet
+     */
+    @Nullable
+    public Duration getHedgeDelay(@Nonnull final String endpoint) {
+        final LatencyWindow latencyWindow = latencyWindows.get(endpoint);
+        if (latencyWindow == null) {
+            return null;
+        }
+        final long delayNanos = latencyWindow.getPercentile(percentile);
+        return delayNanos < 0 ? null : Duration.ofNanos(delayNanos);
+    }
+
+    /**
+     * @return the number of requests executed with this policy
+     */
+    public long getRequestCount() {
+        return requestCount.get();
+    }
+
+    /**
+     * @return the number of duplicate requests issued by this policy
+     */
+    public long getHedgeCount() {
+        return hedgeCount.get();
+    }
+
+    /**
+     * The latencies of the last {@link #WINDOW_SIZE} requests to an endpoint.
+     */
+    private static final class LatencyWindow {
+        private final long[] latencies = new long[WINDOW_SIZE];
+        private int count;
+        private int next;
+
+        synchronized void add(final long latencyNanos) {
+            latencies[next] = latencyNanos;
+            next = (next + 1) % WINDOW_SIZE;
+            count = Math.min(count + 1, WINDOW_SIZE);
+        }
+
+        /**
+         * @return the given percentile of the recorded latencies, or -1 if fewer than
+         * {@link #MIN_SAMPLES} latencies have been recorded
+         */
+        long getPercentile(final double percentile) {
+            final long[] sortedLatencies;
+            synchronized (this) {
+                if (count < MIN_SAMPLES) {
+                    return -1;
+                }
+                sortedLatencies = Arrays.copyOf(latencies, count);
+            }
+            Arrays.sort(sortedLatencies);
+            final int index = (int) Math.ceil(percentile * sortedLatencies.length) - 1;
+            return sortedLatencies[Math.max(0, index)];
+        }
+    }
+}
@@ -10,38 +10,43 @@ import java.time.temporal.ChronoUnit;
 import java.util.Map;
 import java.util.regex.Pattern;
 
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
 /**
  * A helper class that is meant to be used by services that need to parse durations such as
  * {@code 23 seconds} and/or upload dates in the format {@code 2 days ago} or similar.
  */
 public class TimeAgoParser {
     private final PatternsHolder patternsHolder;
+    @Nullable
     private final OffsetDateTime now;
 
     /**
-     * Creates a helper to parse upload dates in the format '2 days ago'.
+     * Creates a helper to parse upload dates in the format '2 days ago', relative to the time at
+     * which each date is parsed.
      * <p>
-     * Instantiate a new {@link TimeAgoParser} every time you extract a new batch of items.
+     * As it doesn't depend on the time at which it was created, the parser can be reused for
+     * any number of batches of items.
      * </p>
      *
      * @param patternsHolder An object that holds the "time ago" patterns, special cases, and the
      *                       language word separator.
      */
     public TimeAgoParser(final PatternsHolder patternsHolder) {
-        this(patternsHolder, OffsetDateTime.now(ZoneOffset.UTC));
+        this.patternsHolder = patternsHolder;
+        this.now = null;
     }
 
     /**
-     * Creates a helper to parse upload dates in the format '2 days ago'.
-     * <p>
-     * Instantiate a new {@link TimeAgoParser} every time you extract a new batch of items.
-     * </p>
+     * Creates a helper to parse upload dates in the format '2 days ago', relative to the given
+     * time.
      *
      * @param patternsHolder An object that holds the "time ago" patterns, special cases, and the
      *                       language word separator.
      * @param now            The current time
      */
-    public TimeAgoParser(final PatternsHolder patternsHolder, final OffsetDateTime now) {
+    public TimeAgoParser(final PatternsHolder patternsHolder, @Nonnull final OffsetDateTime now) {
         this.patternsHolder = patternsHolder;
         this.now = now;
     }
@@ -118,7 +123,7 @@ public class TimeAgoParser {
     }
 
     private DateWrapper getResultFor(final int timeAgoAmount, final ChronoUnit chronoUnit) {
-        OffsetDateTime offsetDateTime = now;
+        OffsetDateTime offsetDateTime = now != null ? now : OffsetDateTime.now(ZoneOffset.UTC);
         boolean isApproximation = false;
 
         switch (chronoUnit) {
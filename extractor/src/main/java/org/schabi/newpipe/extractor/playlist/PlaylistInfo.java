@@ -61,7 +61,7 @@ public final class PlaylistInfo extends ListInfo<StreamInfoItem> {
     }
 
     @SuppressWarnings("RedundantThrows")
-    private PlaylistInfo(final int serviceId, final ListLinkHandler linkHandler, final String name)
+    public PlaylistInfo(final int serviceId, final ListLinkHandler linkHandler, final String name)
             throws ParsingException {
         super(serviceId, linkHandler, name);
     }
@@ -16,6 +16,8 @@ import org.schabi.newpipe.extractor.services.bandcamp.extractors.streaminfoitem.
 
 import javax.annotation.Nonnull;
 import java.io.IOException;
+import java.util.List;
+import java.util.stream.Collectors;
 
 public class BandcampChannelTabExtractor extends ChannelTabExtractor {
     private JsonArray discography;
@@ -58,29 +60,29 @@ public class BandcampChannelTabExtractor extends ChannelTabExtractor {
     @Nonnull
     @Override
     public InfoItemsPage<InfoItem> getInitialPage() throws IOException, ExtractionException {
-        final MultiInfoItemsCollector collector = new MultiInfoItemsCollector(getServiceId());
+        final MultiInfoItemsCollector collector =
+                new MultiInfoItemsCollector(getServiceId(), getStreamInfoItemFields());
 
-        for (final Object discograph : discography) {
-            // A discograph is as an item appears in a discography
-            if (!(discograph instanceof JsonObject)) {
-                continue;
-            }
-
-            final JsonObject discographJsonObject = (JsonObject) discograph;
-            final String itemType = discographJsonObject.getString("item_type", "");
+        final List<JsonObject> discographs = discography.stream()
+                // A discograph is as an item appears in a discography
+                .filter(JsonObject.class::isInstance)
+                .map(JsonObject.class::cast)
+                .filter(discograph -> discograph.getString("item_type", "").equals(filter))
+                .collect(Collectors.toList());
 
-            if (!itemType.equals(filter)) {
-                continue;
-            }
+        // The URL of each item has to be requested, do it concurrently for the whole page
+        // instead of one after another when committing items
+        BandcampExtractorHelper.prefetchStreamUrls(discographs);
 
-            switch (itemType) {
+        for (final JsonObject discograph : discographs) {
+            switch (filter) {
                 case "track":
                     collector.commit(new BandcampDiscographStreamInfoItemExtractor(
-                            discographJsonObject, getUrl()));
+                            discograph, getUrl()));
                     break;
                 case "album":
                     collector.commit(new BandcampAlbumInfoItemExtractor(
-                            discographJsonObject, getUrl()));
+                            discograph, getUrl()));
                     break;
             }
         }
@@ -12,20 +12,29 @@ import org.jsoup.nodes.Element;
 import org.schabi.newpipe.extractor.Image;
 import org.schabi.newpipe.extractor.Image.ResolutionLevel;
 import org.schabi.newpipe.extractor.NewPipe;
+import org.schabi.newpipe.extractor.exceptions.ExtractionException;
 import org.schabi.newpipe.extractor.exceptions.ParsingException;
 import org.schabi.newpipe.extractor.exceptions.ReCaptchaException;
 import org.schabi.newpipe.extractor.localization.DateWrapper;
+import org.schabi.newpipe.extractor.utils.ConcurrencyUtils;
 import org.schabi.newpipe.extractor.utils.ImageSuffix;
+import org.schabi.newpipe.extractor.utils.JsonUtils;
+import org.schabi.newpipe.extractor.utils.RefreshingCache;
 import org.schabi.newpipe.extractor.utils.Utils;
 
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
 import java.time.DateTimeException;
+import java.time.Duration;
 import java.time.ZonedDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
 
 import javax.annotation.Nonnull;
@@ -85,24 +94,66 @@ public final class BandcampExtractorHelper {
     public static final String BASE_URL = "https://bandcamp.com";
     public static final String BASE_API_URL = BASE_URL + "/api";
 
+    private static final int MAX_CACHED_STREAM_URLS = 1024;
+    private static final int MAX_CONCURRENT_STREAM_URL_REQUESTS = 8;
+    // Album and track URLs never change for given IDs
+    // Only a small part of all the URLs resolved is requested again, so only the most recently
+    // used ones are kept
+    private static final Map<String, String> STREAM_URL_CACHE = Collections.synchronizedMap(
+            new LinkedHashMap<String, String>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(final Map.Entry<String, String> eldest) {
+                    return size() > MAX_CACHED_STREAM_URLS;
+                }
+            });
+    // Artist IDs are not bounded, don't let details of artists opened once pile up
+    private static final int MAX_CACHED_ARTIST_DETAILS = 256;
+    private static final RefreshingCache<String, JsonObject> ARTIST_DETAILS_CACHE =
+            new RefreshingCache<>(Duration.ofMinutes(5), Duration.ofMinutes(30),
+                    MAX_CACHED_ARTIST_DETAILS);
+    private static final int MAX_CACHED_ARTIST_IDS = 1024;
+    // The ID of an artist never changes for a given domain
+    private static final Map<String, String> ARTIST_ID_CACHE = Collections.synchronizedMap(
+            new LinkedHashMap<String, String>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(final Map.Entry<String, String> eldest) {
+                    return size() > MAX_CACHED_ARTIST_IDS;
+                }
+            });
+
     private BandcampExtractorHelper() {
     }
 
     /**
      * Translate all these parameters together to the URL of the corresponding album or track
      * using the mobile API
+     *
+     * <p>
+     * URLs are cached, so that an item is only resolved once, see also
+     * {@link #prefetchStreamUrls(List)}.
+     * </p>
      */
     public static String getStreamUrlFromIds(final long bandId,
                                              final long itemId,
                                              final String itemType) throws ParsingException {
+        final String key = getStreamUrlCacheKey(bandId, itemId, itemType);
+        final String cachedUrl = STREAM_URL_CACHE.get(key);
+        if (cachedUrl != null) {
+            return cachedUrl;
+        }
+
         try {
             final String jsonString = NewPipe.getDownloader().get(
                     BASE_API_URL + "/mobile/22/tralbum_details?band_id=" + bandId
                             + "&tralbum_id=" + itemId + "&tralbum_type=" + itemType.charAt(0))
                     .responseBody();
 
-            return replaceHttpWithHttps(JsonParser.object().from(jsonString)
+            final String url = replaceHttpWithHttps(JsonParser.object().from(jsonString)
                     .getString("bandcamp_url"));
+            if (url != null) {
+                STREAM_URL_CACHE.put(key, url);
+            }
+            return url;
 
         } catch (final JsonParserException | ReCaptchaException | IOException e) {
             throw new ParsingException("Ids could not be translated to URL", e);
@@ -110,25 +161,166 @@ public final class BandcampExtractorHelper {
 
     }
 
+    /**
+     * Resolve concurrently the URLs of the given items, which are not cached yet, so that
+     * {@link #getStreamUrlFromIds(long, long, String)} can then return them without sending a
+     * request per item.
+     *
+     * <p>
+     * Items are deduplicated and at most {@link #MAX_CONCURRENT_STREAM_URL_REQUESTS} requests
+     * are sent at the same time. Failures are ignored: the URL of the items whose resolution
+     * failed is requested again when their URL is needed, so that the error is reported there.
+     * </p>
+     *
+     * @param items the JSON objects of albums or tracks, as returned in discographies, with
+     *              {@code band_id}, {@code item_id} and {@code item_type} fields
+     */
+    public static void prefetchStreamUrls(@Nonnull final List<JsonObject> items) {
+        final Map<String, JsonObject> itemsToResolve = new LinkedHashMap<>();
+        for (final JsonObject item : items) {
+            final String key = getStreamUrlCacheKey(item.getLong("band_id"),
+                    item.getLong("item_id"), item.getString("item_type", ""));
+            if (!STREAM_URL_CACHE.containsKey(key)) {
+                itemsToResolve.putIfAbsent(key, item);
+            }
+        }
+        if (itemsToResolve.size() <= 1) {
+            // Nothing to do concurrently, resolve the URL when needed
+            return;
+        }
+
+        final List<CompletableFuture<String>> urls = ConcurrencyUtils.mapConcurrently(
+                new ArrayList<>(itemsToResolve.values()), MAX_CONCURRENT_STREAM_URL_REQUESTS,
+                item -> getStreamUrlFromIds(item.getLong("band_id"), item.getLong("item_id"),
+                        item.getString("item_type")));
+        for (final CompletableFuture<String> url : urls) {
+            try {
+                ConcurrencyUtils.await(url);
+            } catch (final IOException | ExtractionException ignored) {
+                // The URL will be requested again by the info item extractor
+            }
+        }
+    }
+
+    @Nonnull
+    private static String getStreamUrlCacheKey(final long bandId,
+                                               final long itemId,
+                                               @Nonnull final String itemType) {
+        return bandId + ":" + itemType + ":" + itemId;
+    }
+
     /**
      * Fetch artist details from mobile endpoint.
      * <a href="https://notabug.org/fynngodau/bandcampDirect/wiki/rewindBandcamp+%E2%80%93+Fetching+artist+details">
      * More technical info.</a>
+     *
+     * <p>
+     * Artist details are needed by the channel link handler, the channel extractor and the
+     * channel tab extractors of a same artist, so they are cached per artist for 5 minutes;
+     * after that, the cached details are still returned while newer ones are fetched in the
+     * background, for up to 30 minutes. Concurrent calls for a same artist only send one request.
+     * The returned {@link JsonObject} is shared and must not be modified.
+     * </p>
+     *
+     * <p>
+     * Error responses, such as the ones of invalid IDs, are never cached: a
+     * {@link ParsingException} is thrown for them, and cached details which are being refreshed
+     * are kept.
+     * </p>
      */
     public static JsonObject getArtistDetails(final String id) throws ParsingException {
         try {
-            return JsonParser.object().from(NewPipe.getDownloader().postWithContentTypeJson(
-                    BASE_API_URL + "/mobile/22/band_details",
-                    Collections.emptyMap(),
-                    JsonWriter.string()
-                            .object()
-                            .value("band_id", id)
-                            .end()
-                            .done()
-                            .getBytes(StandardCharsets.UTF_8)).responseBody());
+            return ARTIST_DETAILS_CACHE.get(id, BandcampExtractorHelper::fetchArtistDetails);
+        } catch (final ParsingException e) {
+            throw e;
+        } catch (final IOException | ExtractionException e) {
+            throw new ParsingException("Could not download band details", e);
+        }
+    }
+
+    private static JsonObject fetchArtistDetails(final String id) throws ParsingException {
+        final JsonObject artistDetails;
+        try {
+            artistDetails = JsonParser.object().from(NewPipe.getDownloader()
+                    .postWithContentTypeJson(
+                            BASE_API_URL + "/mobile/22/band_details",
+                            Collections.emptyMap(),
+                            JsonWriter.string()
+                                    .object()
+                                    .value("band_id", id)
+                                    .end()
+                                    .done()
+                                    .getBytes(StandardCharsets.UTF_8)).responseBody());
         } catch (final IOException | ReCaptchaException | JsonParserException e) {
             throw new ParsingException("Could not download band details", e);
         }
+
+        // Throw on errors, such as invalid IDs, so that they are not cached, as they may be
+        // temporary
+        if (artistDetails.getBoolean("error")) {
+            throw new ParsingException(
+                    "JSON does not contain a channel URL (invalid id?) or is otherwise invalid");
+        }
+
+        final String url = artistDetails.getString("bandcamp_url");
+        if (!isNullOrEmpty(url)) {
+            ARTIST_ID_CACHE.put(getArtistIdCacheKey(url), id);
+        }
+        return artistDetails;
+    }
+
+    /**
+     * Get the ID of the artist whose page is at the given URL.
+     *
+     * <p>
+     * IDs can't be deduced from URLs, so the artist page has to be fetched, unless the ID is
+     * cached: IDs are cached per domain, both when they are extracted from artist pages and when
+     * artist details are fetched with {@link #getArtistDetails(String)}. Resolving a channel URL
+     * from its ID and the ID from that URL again therefore doesn't send a request.
+     * </p>
+     *
+     * @param url the URL of an artist page, on a {@code bandcamp.com} subdomain or on a custom
+     *            domain
+     * @return the ID of the artist
+     */
+    @Nonnull
+    public static String getArtistId(@Nonnull final String url) throws ParsingException {
+        final String key = getArtistIdCacheKey(url);
+        final String cachedId = ARTIST_ID_CACHE.get(key);
+        if (cachedId != null) {
+            return cachedId;
+        }
+
+        try {
+            final String response = NewPipe.getDownloader().get(replaceHttpWithHttps(url))
+                    .responseBody();
+
+            // Use band data embedded in website to extract ID
+            final JsonObject bandData = JsonUtils.getJsonData(response, "data-band");
+            final String id = String.valueOf(bandData.getLong("id"));
+            ARTIST_ID_CACHE.put(key, id);
+            return id;
+
+        } catch (final IOException | ReCaptchaException | ArrayIndexOutOfBoundsException
+                | JsonParserException e) {
+            throw new ParsingException("Download failed", e);
+        }
+    }
+
+    @Nonnull
+    private static String getArtistIdCacheKey(@Nonnull final String url) {
+        // Keep only the scheme and the domain: all pages of an artist share the same ID
+        final String[] splitUrl = replaceHttpWithHttps(url).toLowerCase().split("/", 4);
+        return splitUrl.length < 3 ? splitUrl[0] : splitUrl[0] + "//" + splitUrl[2];
+    }
+
+    /**
+     * Clear the caches of artist details and IDs, so that they are fetched again on the next
+     * calls of {@link #getArtistDetails(String)} and {@link #getArtistId(String)}.
+     */
+    public static void clearArtistDetailsCache() {
+        ARTIST_DETAILS_CACHE.clear();
+        ARTIST_ID_CACHE.clear();
     }
 
     /**
@@ -147,7 +147,8 @@ public class BandcampPlaylistExtractor extends PlaylistExtractor {
     @Override
     public InfoItemsPage<StreamInfoItem> getInitialPage() throws ExtractionException {
 
-        final StreamInfoItemsCollector collector = new StreamInfoItemsCollector(getServiceId());
+        final StreamInfoItemsCollector collector =
+                new StreamInfoItemsCollector(getServiceId(), getStreamInfoItemFields());
 
         for (int i = 0; i < trackInfo.size(); i++) {
             final JsonObject track = trackInfo.getObject(i);
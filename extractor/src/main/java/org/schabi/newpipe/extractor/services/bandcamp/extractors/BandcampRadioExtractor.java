@@ -15,18 +15,30 @@ import org.schabi.newpipe.extractor.kiosk.KioskExtractor;
 import org.schabi.newpipe.extractor.linkhandler.ListLinkHandler;
 import org.schabi.newpipe.extractor.stream.StreamInfoItem;
 import org.schabi.newpipe.extractor.stream.StreamInfoItemsCollector;
+import org.schabi.newpipe.extractor.utils.RefreshingCache;
 
 import javax.annotation.Nonnull;
 import java.io.IOException;
+import java.time.Duration;
 
 import static org.schabi.newpipe.extractor.services.bandcamp.extractors.BandcampExtractorHelper.BASE_API_URL;
+import static org.schabi.newpipe.extractor.utils.Utils.isNullOrEmpty;
 
 public class BandcampRadioExtractor extends KioskExtractor<StreamInfoItem> {
 
     public static final String KIOSK_RADIO = "Radio";
     public static final String RADIO_API_URL = BASE_API_URL + "/bcweekly/3/list";
 
-    private JsonObject json = null;
+    private static final int PAGE_SIZE = 20;
+    /**
+     * Cache of the list of all radio shows, which is the same for all radio kiosks and which
+     * only changes weekly. The list is refreshed in the background after 1 hour, and is not used
+     * anymore after 1 day.
+     */
+    private static final RefreshingCache<String, JsonArray> RADIO_SHOWS_CACHE =
+            new RefreshingCache<>(Duration.ofHours(1), Duration.ofDays(1));
+
+    private JsonArray radioShows = null;
 
     public BandcampRadioExtractor(final StreamingService streamingService,
                                   final ListLinkHandler linkHandler,
@@ -37,12 +49,34 @@ public class BandcampRadioExtractor extends KioskExtractor<StreamInfoItem> {
     @Override
     public void onFetchPage(@Nonnull final Downloader downloader)
             throws IOException, ExtractionException {
-        try {
-            json = JsonParser.object().from(
-                    getDownloader().get(RADIO_API_URL).responseBody());
-        } catch (final JsonParserException e) {
-            throw new ExtractionException("Could not parse Bandcamp Radio API response", e);
-        }
+        radioShows = getRadioShows(downloader);
+    }
+
+    @Nonnull
+    private static JsonArray getRadioShows(@Nonnull final Downloader downloader)
+            throws IOException, ExtractionException {
+        return RADIO_SHOWS_CACHE.get(RADIO_API_URL, url -> {
+            final JsonObject response;
+            try {
+                response = JsonParser.object().from(downloader.get(url).responseBody());
+            } catch (final JsonParserException e) {
+                throw new ExtractionException("Could not parse Bandcamp Radio API response", e);
+            }
+
+            // Don't cache an empty list for a day when the response is not the expected one
+            if (!(response.get("results") instanceof JsonArray)) {
+                throw new ParsingException("Bandcamp Radio API response has no results");
+            }
+            return response.getArray("results");
+        });
+    }
+
+    /**
+     * Clear the cache of the radio shows list, so that it is fetched again by the next radio
+     * kiosk.
+     */
+    public static void clearRadioShowsCache() {
+        RADIO_SHOWS_CACHE.clear();
     }
 
     @Nonnull
@@ -54,20 +88,48 @@ public class BandcampRadioExtractor extends KioskExtractor<StreamInfoItem> {
     @Nonnull
     @Override
     public InfoItemsPage<StreamInfoItem> getInitialPage() {
-        final StreamInfoItemsCollector collector = new StreamInfoItemsCollector(getServiceId());
+        return getPageAt(0);
+    }
 
-        final JsonArray radioShows = json.getArray("results");
+    @Override
+    public InfoItemsPage<StreamInfoItem> getPage(final Page page)
+            throws IOException, ExtractionException {
+        if (page == null || isNullOrEmpty(page.getId())) {
+            throw new IllegalArgumentException("Page doesn't contain an offset");
+        }
 
-        for (int i = 0; i < radioShows.size(); i++) {
-            final JsonObject radioShow = radioShows.getObject(i);
-            collector.commit(new BandcampRadioInfoItemExtractor(radioShow));
+        final int offset;
+        try {
+            offset = Integer.parseInt(page.getId());
+        } catch (final NumberFormatException e) {
+            throw new ParsingException("Could not parse page offset: " + page.getId(), e);
         }
 
-        return new InfoItemsPage<>(collector, null);
+        // Pages after the initial one may be requested from a new extractor
+        if (radioShows == null) {
+            radioShows = getRadioShows(getDownloader());
+        }
+        return getPageAt(offset);
     }
 
-    @Override
-    public InfoItemsPage<StreamInfoItem> getPage(final Page page) {
-        return null;
+    /**
+     * Create the page of radio shows starting at the given offset, creating info items only for
+     * the shows of this page.
+     */
+    @Nonnull
+    private InfoItemsPage<StreamInfoItem> getPageAt(final int offset) {
+        final StreamInfoItemsCollector collector =
+                new StreamInfoItemsCollector(getServiceId(), getStreamInfoItemFields());
+
+        final int end = Math.min(offset + PAGE_SIZE, radioShows.size());
+        for (int i = Math.max(0, offset); i < end; i++) {
+            final JsonObject radioShow = radioShows.getObject(i);
+            collector.commit(new BandcampRadioInfoItemExtractor(radioShow));
+        }
+
+        final Page nextPage = end < radioShows.size()
+                ? new Page(RADIO_API_URL, String.valueOf(end))
+                : null;
+        return new InfoItemsPage<>(collector, nextPage);
     }
 }
@@ -3,16 +3,11 @@
 package org.schabi.newpipe.extractor.services.bandcamp.linkHandler;
 
 import com.grack.nanojson.JsonObject;
-import com.grack.nanojson.JsonParserException;
-import org.schabi.newpipe.extractor.NewPipe;
 import org.schabi.newpipe.extractor.exceptions.ParsingException;
-import org.schabi.newpipe.extractor.exceptions.ReCaptchaException;
 import org.schabi.newpipe.extractor.linkhandler.ListLinkHandlerFactory;
 import org.schabi.newpipe.extractor.services.bandcamp.extractors.BandcampExtractorHelper;
-import org.schabi.newpipe.extractor.utils.JsonUtils;
 import org.schabi.newpipe.extractor.utils.Utils;
 
-import java.io.IOException;
 import java.util.List;
 
 /**
@@ -30,21 +25,12 @@ public final class BandcampChannelLinkHandlerFactory extends ListLinkHandlerFact
         return INSTANCE;
     }
 
+    /**
+     * Uses band data embedded in the artist page, unless the ID of the artist is cached
+     */
     @Override
     public String getId(final String url) throws ParsingException, UnsupportedOperationException {
-        try {
-            final String response = NewPipe.getDownloader().get(Utils.replaceHttpWithHttps(url))
-                    .responseBody();
-
-            // Use band data embedded in website to extract ID
-            final JsonObject bandData = JsonUtils.getJsonData(response, "data-band");
-
-            return String.valueOf(bandData.getLong("id"));
-
-        } catch (final IOException | ReCaptchaException | ArrayIndexOutOfBoundsException
-                | JsonParserException e) {
-            throw new ParsingException("Download failed", e);
-        }
+        return BandcampExtractorHelper.getArtistId(url);
     }
 
     /**
@@ -54,10 +40,6 @@ public final class BandcampChannelLinkHandlerFactory extends ListLinkHandlerFact
     public String getUrl(final String id, final List<String> contentFilter, final String sortFilter)
             throws ParsingException, UnsupportedOperationException {
         final JsonObject artistDetails = BandcampExtractorHelper.getArtistDetails(id);
-        if (artistDetails.getBoolean("error")) {
-            throw new ParsingException(
-                    "JSON does not contain a channel URL (invalid id?) or is otherwise invalid");
-        }
         return Utils.replaceHttpWithHttps(artistDetails.getString("bandcamp_url"));
     }
 
@@ -52,7 +52,7 @@ public class MediaCCCChannelTabExtractor extends ChannelTabExtractor {
     @Override
     public ListExtractor.InfoItemsPage<InfoItem> getInitialPage() {
         final MultiInfoItemsCollector collector =
-                new MultiInfoItemsCollector(getServiceId());
+                new MultiInfoItemsCollector(getServiceId(), getStreamInfoItemFields());
         Objects.requireNonNull(conferenceData) // will surely be != null after onFetchPage
                 .getArray("events")
                 .stream()
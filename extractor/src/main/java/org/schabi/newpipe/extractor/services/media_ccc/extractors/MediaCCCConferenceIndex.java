@@ -0,0 +1,196 @@
+package org.schabi.newpipe.extractor.services.media_ccc.extractors;
+
+import com.grack.nanojson.JsonArray;
+import com.grack.nanojson.JsonObject;
+import com.grack.nanojson.JsonParser;
+import com.grack.nanojson.JsonParserException;
+
+import org.schabi.newpipe.extractor.downloader.Downloader;
+import org.schabi.newpipe.extractor.exceptions.ExtractionException;
+import org.schabi.newpipe.extractor.exceptions.ReCaptchaException;
+import org.schabi.newpipe.extractor.localization.Localization;
+import org.schabi.newpipe.extractor.utils.RefreshingCache;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.regex.Pattern;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * An in-memory index of all the conferences of media.ccc.de, used to search conferences without
+ * sending a request for each search.
+ *
+ * <p>
+ * The title, the acronym and the slug of each conference are split into tokens of letters and
+ * digits. All the suffixes of these tokens are indexed, so that a query token matches a
+ * conference if it is contained in one of its tokens, ignoring case. A conference matches a
+ * query if it matches all the tokens of the query.
+ * </p>
+ *
+ * <p>
+ * The index of the conferences list is shared by all searches: it is refreshed in the
+ * background after 1 hour, and is not used anymore after 1 day.
+ * </p>
+ */
+public final class MediaCCCConferenceIndex {
+    private static final String CONFERENCES_URL = "https://media.ccc.de/public/conferences";
+    private static final Pattern TOKEN_SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final RefreshingCache<String, MediaCCCConferenceIndex> CACHE =
+            new RefreshingCache<>(Duration.ofHours(1), Duration.ofDays(1));
+
+    @Nonnull
+    private final List<JsonObject> conferences;
+    /**
+     * The suffixes of the tokens of all conferences, associated with the indexes of the
+     * conferences containing them in {@link #conferences}.
+     */
+    @Nonnull
+    private final TreeMap<String, BitSet> suffixes = new TreeMap<>();
+
+    private MediaCCCConferenceIndex(@Nonnull final JsonArray conferenceArray) {
+        final List<JsonObject> conferenceList = new ArrayList<>(conferenceArray.size());
+        for (final Object conference : conferenceArray) {
+            if (conference instanceof JsonObject) {
+                conferenceList.add((JsonObject) conference);
+            }
+        }
+        this.conferences = Collections.unmodifiableList(conferenceList);
+
+        for (int i = 0; i < conferences.size(); i++) {
+            final JsonObject conference = conferences.get(i);
+            indexField(conference.getString("title"), i);
+            indexField(conference.getString("acronym"), i);
+            indexField(conference.getString("slug"), i);
+        }
+    }
+
+    /**
+     * Build an index of the given conferences.
+     *
+     * @param conferences the conferences, as returned in the {@code conferences} array of the
+     *                    conferences list of the media.ccc.de API
+     * @return a new index of the given conferences
+     */
+    @Nonnull
+    public static MediaCCCConferenceIndex fromConferences(@Nonnull final JsonArray conferences) {
+        return new MediaCCCConferenceIndex(conferences);
+    }
+
+    /**
+     * Get the shared index of the conferences list, downloading the list if it is not cached or
+     * if the cached one expired.
+     *
+     * @param downloader   the downloader to use for making the request
+     * @param localization the localization to be used. Will most likely be ignored.
+     * @return the index of all conferences
+     * @throws ExtractionException if the conferences list could not be fetched or parsed
+     */
+    @Nonnull
+    public static MediaCCCConferenceIndex getInstance(@Nonnull final Downloader downloader,
+                                                      @Nonnull final Localization localization)
+            throws ExtractionException {
+        try {
+            return CACHE.get(CONFERENCES_URL, url -> {
+                final String site;
+                try {
+                    site = downloader.get(url, localization).responseBody();
+                } catch (final IOException | ReCaptchaException e) {
+                    throw new ExtractionException("Could not get conferences list.", e);
+                }
+                try {
+                    return new MediaCCCConferenceIndex(
+                            JsonParser.object().from(site).getArray("conferences"));
+                } catch (final JsonParserException e) {
+                    throw new ExtractionException("Could not parse JSON.", e);
+                }
+            });
+        } catch (final IOException e) {
+            throw new ExtractionException("Could not get conferences list.", e);
+        }
+    }
+
+    /**
+     * Clear the shared index, so that the conferences list is fetched again on the next call of
+     * {@link #getInstance(Downloader, Localization)}.
+     */
+    public static void clearCache() {
+        CACHE.clear();
+    }
+
+    @Nonnull
+    private static String[] tokenize(@Nonnull final String text) {
+        return TOKEN_SEPARATOR.split(text.toUpperCase(Locale.ROOT));
+    }
+
+    private void indexField(@Nullable final String field, final int conferenceIndex) {
+        if (field == null) {
+            return;
+        }
+        for (final String token : tokenize(field)) {
+            for (int start = 0; start < token.length(); start++) {
+                suffixes.computeIfAbsent(token.substring(start), suffix -> new BitSet())
+                        .set(conferenceIndex);
+            }
+        }
+    }
+
+    /**
+     * Search conferences matching the given query.
+     *
+     * @param query the search query
+     * @return the conferences matching all the tokens of the query, in the order of the
+     * conferences list, or no conference if the query contains no letters nor digits
+     */
+    @Nonnull
+    public List<JsonObject> search(@Nonnull final String query) {
+        BitSet matches = null;
+        for (final String token : tokenize(query)) {
+            if (token.isEmpty()) {
+                continue;
+            }
+
+            // Every suffix starting with the token belongs to a conference containing it
+            final BitSet tokenMatches = new BitSet();
+            for (final Map.Entry<String, BitSet> suffix
+                    : suffixes.subMap(token, true, token + Character.MAX_VALUE, true)
+                    .entrySet()) {
+                tokenMatches.or(suffix.getValue());
+            }
+
+            if (matches == null) {
+                matches = tokenMatches;
+            } else {
+                matches.and(tokenMatches);
+            }
+            if (matches.isEmpty()) {
+                break;
+            }
+        }
+
+        if (matches == null) {
+            return Collections.emptyList();
+        }
+        final List<JsonObject> result = new ArrayList<>(matches.cardinality());
+        for (int i = matches.nextSetBit(0); i >= 0; i = matches.nextSetBit(i + 1)) {
+            result.add(conferences.get(i));
+        }
+        return result;
+    }
+
+    /**
+     * @return all the conferences of this index, in the order of the conferences list
+     */
+    @Nonnull
+    public List<JsonObject> getConferences() {
+        return conferences;
+    }
+}
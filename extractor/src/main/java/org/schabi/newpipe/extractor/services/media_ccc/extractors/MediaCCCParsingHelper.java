@@ -11,10 +11,12 @@ import org.schabi.newpipe.extractor.exceptions.ExtractionException;
 import org.schabi.newpipe.extractor.exceptions.ParsingException;
 import org.schabi.newpipe.extractor.exceptions.ReCaptchaException;
 import org.schabi.newpipe.extractor.localization.Localization;
+import org.schabi.newpipe.extractor.utils.RefreshingCache;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import java.io.IOException;
+import java.time.Duration;
 import java.time.OffsetDateTime;
 import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
@@ -29,7 +31,13 @@ import static org.schabi.newpipe.extractor.utils.Utils.isNullOrEmpty;
 public final class MediaCCCParsingHelper {
     // conference_slug/room_slug
     private static final Pattern LIVE_STREAM_ID_PATTERN = Pattern.compile("\\w+/\\w+");
-    private static JsonArray liveStreams = null;
+    private static final String LIVE_STREAMS_URL = "https://streaming.media.ccc.de/streams/v2.json";
+    /**
+     * Cache of the live streams JSON. The data is refreshed in the background after
+     * {@code max-age} (3 minutes), and is not used anymore after 15 minutes.
+     */
+    private static final RefreshingCache<String, JsonArray> LIVE_STREAMS_CACHE =
+            new RefreshingCache<>(Duration.ofMinutes(3), Duration.ofMinutes(15));
 
     private MediaCCCParsingHelper() { }
 
@@ -57,7 +65,8 @@ public final class MediaCCCParsingHelper {
      * <a href="https://streaming.media.ccc.de/streams/v2.json">
      *     https://streaming.media.ccc.de/streams/v2.json</a>.
      * Use this method to cache requests, because they can get quite big.
-     * TODO: implement better caching policy (max-age: 3 min)
+     * The data is cached for 3 minutes; after that, the cached data is still returned while newer
+     * data is fetched in the background, for up to 15 minutes.
      * @param downloader The downloader to use for making the request
      * @param localization The localization to be used. Will most likely be ignored.
      * @return {@link JsonArray} containing current conferences and info about their rooms and
@@ -68,18 +77,31 @@ public final class MediaCCCParsingHelper {
     public static JsonArray getLiveStreams(final Downloader downloader,
                                            final Localization localization)
             throws ExtractionException {
-        if (liveStreams == null) {
-            try {
-                final String site = downloader.get("https://streaming.media.ccc.de/streams/v2.json",
-                        localization).responseBody();
-                liveStreams = JsonParser.array().from(site);
-            } catch (final IOException | ReCaptchaException e) {
-                throw new ExtractionException("Could not get live stream JSON.", e);
-            } catch (final JsonParserException e) {
-                throw new ExtractionException("Could not parse JSON.", e);
-            }
+        try {
+            return LIVE_STREAMS_CACHE.get(LIVE_STREAMS_URL, url -> {
+                final String site;
+                try {
+                    site = downloader.get(url, localization).responseBody();
+                } catch (final IOException | ReCaptchaException e) {
+                    throw new ExtractionException("Could not get live stream JSON.", e);
+                }
+                try {
+                    return JsonParser.array().from(site);
+                } catch (final JsonParserException e) {
+                    throw new ExtractionException("Could not parse JSON.", e);
+                }
+            });
+        } catch (final IOException e) {
+            throw new ExtractionException("Could not get live stream JSON.", e);
         }
-        return liveStreams;
+    }
+
+    /**
+     * Clear the cache of the live streams data, so that it is fetched again on the next call of
+     * {@link #getLiveStreams(Downloader, Localization)}.
+     */
+    public static void clearLiveStreamsCache() {
+        LIVE_STREAMS_CACHE.clear();
     }
 
     /**
@@ -57,7 +57,7 @@ public class MediaCCCRecentKiosk extends KioskExtractor<StreamInfoItem> {
                         .nullsLast(Comparator.comparing(DateWrapper::offsetDateTime)))
                 .reversed();
         final StreamInfoItemsCollector collector = new StreamInfoItemsCollector(getServiceId(),
-                comparator);
+                comparator, getStreamInfoItemFields());
 
         events.stream()
                 .filter(JsonObject.class::isInstance)
@@ -9,20 +9,17 @@ import com.grack.nanojson.JsonObject;
 import com.grack.nanojson.JsonParser;
 import com.grack.nanojson.JsonParserException;
 
-import org.schabi.newpipe.extractor.Image;
 import org.schabi.newpipe.extractor.InfoItem;
 import org.schabi.newpipe.extractor.MetaInfo;
 import org.schabi.newpipe.extractor.MultiInfoItemsCollector;
 import org.schabi.newpipe.extractor.Page;
 import org.schabi.newpipe.extractor.StreamingService;
-import org.schabi.newpipe.extractor.channel.ChannelInfoItem;
-import org.schabi.newpipe.extractor.channel.ChannelInfoItemExtractor;
 import org.schabi.newpipe.extractor.downloader.Downloader;
 import org.schabi.newpipe.extractor.exceptions.ExtractionException;
 import org.schabi.newpipe.extractor.linkhandler.SearchQueryHandler;
 import org.schabi.newpipe.extractor.search.SearchExtractor;
+import org.schabi.newpipe.extractor.services.media_ccc.extractors.infoItems.MediaCCCConferenceInfoItemExtractor;
 import org.schabi.newpipe.extractor.services.media_ccc.extractors.infoItems.MediaCCCStreamInfoItemExtractor;
-import org.schabi.newpipe.extractor.services.media_ccc.linkHandler.MediaCCCConferencesListLinkHandlerFactory;
 
 import java.io.IOException;
 import java.util.Collections;
@@ -32,19 +29,11 @@ import javax.annotation.Nonnull;
 
 public class MediaCCCSearchExtractor extends SearchExtractor {
     private JsonObject doc;
-    private MediaCCCConferenceKiosk conferenceKiosk;
+    private MediaCCCConferenceIndex conferenceIndex;
 
     public MediaCCCSearchExtractor(final StreamingService service,
                                    final SearchQueryHandler linkHandler) {
         super(service, linkHandler);
-        try {
-            conferenceKiosk = new MediaCCCConferenceKiosk(service,
-                    MediaCCCConferencesListLinkHandlerFactory.getInstance()
-                            .fromId("conferences"),
-                    "conferences");
-        } catch (final Exception e) {
-            e.printStackTrace();
-        }
     }
 
     @Nonnull
@@ -67,14 +56,15 @@ public class MediaCCCSearchExtractor extends SearchExtractor {
     @Nonnull
     @Override
     public InfoItemsPage<InfoItem> getInitialPage() {
-        final MultiInfoItemsCollector searchItems = new MultiInfoItemsCollector(getServiceId());
+        final MultiInfoItemsCollector searchItems =
+                new MultiInfoItemsCollector(getServiceId(), getStreamInfoItemFields());
 
         if (getLinkHandler().getContentFilters().contains(CONFERENCES)
                 || getLinkHandler().getContentFilters().contains(ALL)
                 || getLinkHandler().getContentFilters().isEmpty()) {
-            searchConferences(getSearchString(),
-                    conferenceKiosk.getInitialPage().getItems(),
-                    searchItems);
+            for (final JsonObject conference : conferenceIndex.search(getSearchString())) {
+                searchItems.commit(new MediaCCCConferenceInfoItemExtractor(conference));
+            }
         }
 
         if (getLinkHandler().getContentFilters().contains(EVENTS)
@@ -117,54 +107,8 @@ public class MediaCCCSearchExtractor extends SearchExtractor {
         if (getLinkHandler().getContentFilters().contains(CONFERENCES)
                 || getLinkHandler().getContentFilters().contains(ALL)
                 || getLinkHandler().getContentFilters().isEmpty()) {
-            conferenceKiosk.fetchPage();
-        }
-    }
-
-    private void searchConferences(final String searchString,
-                                   final List<ChannelInfoItem> channelItems,
-                                   final MultiInfoItemsCollector collector) {
-        for (final ChannelInfoItem item : channelItems) {
-            if (item.getName().toUpperCase().contains(
-                    searchString.toUpperCase())) {
-                collector.commit(new ChannelInfoItemExtractor() {
-                    @Override
-                    public String getDescription() {
-                        return item.getDescription();
-                    }
-
-                    @Override
-                    public long getSubscriberCount() {
-                        return item.getSubscriberCount();
-                    }
-
-                    @Override
-                    public long getStreamCount() {
-                        return item.getStreamCount();
-                    }
-
-                    @Override
-                    public boolean isVerified() {
-                        return false;
-                    }
-
-                    @Override
-                    public String getName() {
-                        return item.getName();
-                    }
-
-                    @Override
-                    public String getUrl() {
-                        return item.getUrl();
-                    }
-
-                    @Nonnull
-                    @Override
-                    public List<Image> getThumbnails() {
-                        return item.getThumbnails();
-                    }
-                });
-            }
+            conferenceIndex = MediaCCCConferenceIndex.getInstance(downloader,
+                    getExtractorLocalization());
         }
     }
 }
@@ -17,6 +17,7 @@ public class PeertubeInstance {
 
     private final String url;
     private String name;
+    private volatile boolean instanceMetaDataFetched;
     public static final PeertubeInstance DEFAULT_INSTANCE
             = new PeertubeInstance("https://framatube.org", "FramaTube");
 
@@ -49,6 +50,7 @@ public class PeertubeInstance {
         try {
             final JsonObject json = JsonParser.object().from(response.responseBody());
             this.name = JsonUtils.getString(json, "instance.name");
+            this.instanceMetaDataFetched = true;
         } catch (JsonParserException | ParsingException e) {
             throw new Exception("unable to parse instance config", e);
         }
@@ -58,4 +60,11 @@ public class PeertubeInstance {
         return name;
     }
 
+    /**
+     * @return whether {@link #fetchInstanceMetaData()} has already succeeded on this instance
+     */
+    public boolean isInstanceMetaDataFetched() {
+        return instanceMetaDataFetched;
+    }
+
 }
@@ -37,8 +37,12 @@ import org.schabi.newpipe.extractor.services.peertube.linkHandler.PeertubeTrendi
 import org.schabi.newpipe.extractor.stream.StreamExtractor;
 import org.schabi.newpipe.extractor.subscription.SubscriptionExtractor;
 import org.schabi.newpipe.extractor.suggestion.SuggestionExtractor;
+import org.schabi.newpipe.extractor.utils.ConcurrencyUtils;
 
 import java.util.List;
+import java.util.Map;
+
+import javax.annotation.Nonnull;
 
 public class PeertubeService extends StreamingService {
 
@@ -144,6 +148,22 @@ public class PeertubeService extends StreamingService {
         return this.instance;
     }
 
+    @Nonnull
+    @Override
+    public Map<String, ConcurrencyUtils.ThrowingRunnable> getWarmUpTasks() {
+        final PeertubeInstance currentInstance = instance;
+        return Map.of("instanceMetaData", () -> {
+            if (currentInstance.isInstanceMetaDataFetched()) {
+                return;
+            }
+            try {
+                currentInstance.fetchInstanceMetaData();
+            } catch (final Exception e) {
+                throw new ExtractionException(e);
+            }
+        });
+    }
+
     public void setInstance(final PeertubeInstance instance) {
         this.instance = instance;
     }
@@ -71,7 +71,8 @@ public class PeertubeChannelTabExtractor extends ChannelTabExtractor {
         }
         PeertubeParsingHelper.validate(pageJson);
 
-        final MultiInfoItemsCollector collector = new MultiInfoItemsCollector(getServiceId());
+        final MultiInfoItemsCollector collector =
+                new MultiInfoItemsCollector(getServiceId(), getStreamInfoItemFields());
         collectItemsFrom(collector, pageJson, getBaseUrl());
 
         return new InfoItemsPage<>(collector,
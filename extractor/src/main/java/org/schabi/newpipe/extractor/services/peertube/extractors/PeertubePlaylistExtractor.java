@@ -129,7 +129,8 @@ public class PeertubePlaylistExtractor extends PlaylistExtractor {
             PeertubeParsingHelper.validate(json);
             final long total = json.getLong("total");
 
-            final StreamInfoItemsCollector collector = new StreamInfoItemsCollector(getServiceId());
+            final StreamInfoItemsCollector collector =
+                    new StreamInfoItemsCollector(getServiceId(), getStreamInfoItemFields());
             collectItemsFrom(collector, json, getBaseUrl());
 
             return new InfoItemsPage<>(collector,
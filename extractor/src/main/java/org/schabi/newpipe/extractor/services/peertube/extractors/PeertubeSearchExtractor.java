@@ -92,7 +92,8 @@ public class PeertubeSearchExtractor extends SearchExtractor {
             PeertubeParsingHelper.validate(json);
             final long total = json.getLong("total");
 
-            final MultiInfoItemsCollector collector = new MultiInfoItemsCollector(getServiceId());
+            final MultiInfoItemsCollector collector =
+                    new MultiInfoItemsCollector(getServiceId(), getStreamInfoItemFields());
             collectItemsFrom(collector, json, getBaseUrl(), sepia);
 
             return new InfoItemsPage<>(collector,
@@ -11,7 +11,6 @@ import com.grack.nanojson.JsonParser;
 import com.grack.nanojson.JsonParserException;
 import org.schabi.newpipe.extractor.Image;
 import org.schabi.newpipe.extractor.MediaFormat;
-import org.schabi.newpipe.extractor.NewPipe;
 import org.schabi.newpipe.extractor.StreamingService;
 import org.schabi.newpipe.extractor.downloader.Downloader;
 import org.schabi.newpipe.extractor.downloader.Response;
@@ -29,11 +28,13 @@ import org.schabi.newpipe.extractor.stream.Description;
 import org.schabi.newpipe.extractor.stream.Frameset;
 import org.schabi.newpipe.extractor.stream.Stream;
 import org.schabi.newpipe.extractor.stream.StreamExtractor;
+import org.schabi.newpipe.extractor.stream.StreamInfoField;
 import org.schabi.newpipe.extractor.stream.StreamInfoItemsCollector;
 import org.schabi.newpipe.extractor.stream.StreamSegment;
 import org.schabi.newpipe.extractor.stream.StreamType;
 import org.schabi.newpipe.extractor.stream.SubtitlesStream;
 import org.schabi.newpipe.extractor.stream.VideoStream;
+import org.schabi.newpipe.extractor.utils.ConcurrencyUtils;
 import org.schabi.newpipe.extractor.utils.JsonUtils;
 import org.schabi.newpipe.extractor.utils.Utils;
 
@@ -42,6 +43,8 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 import javax.annotation.Nonnull;
@@ -57,14 +60,36 @@ public class PeertubeStreamExtractor extends StreamExtractor {
     private static final String RESOLUTION_ID = "resolution.id";
     private static final String STREAMING_PLAYLISTS = "streamingPlaylists";
 
+    /**
+     * The maximum time, counted from the end of the fetch of the video data, during which the
+     * sub-resources of the video (full description, captions, related videos, chapters and
+     * storyboards) can be awaited.
+     */
+    private static final long SUB_RESOURCES_TIMEOUT_SECONDS = 30;
+
     private final String baseUrl;
     private JsonObject json;
 
+    private String videoApiUrl;
+    private long subResourcesDeadline;
+    // The responses of the sub-resources which have been prefetched, see prefetchSubResources
+    @Nullable
+    private CompletableFuture<Response> descriptionResponse;
+    @Nullable
+    private CompletableFuture<Response> captionsResponse;
+    @Nullable
+    private CompletableFuture<Response> relatedItemsResponse;
+    @Nullable
+    private CompletableFuture<Response> chaptersResponse;
+    @Nullable
+    private CompletableFuture<Response> storyboardsResponse;
+
     private final List<SubtitlesStream> subtitles = new ArrayList<>();
     private final List<AudioStream> audioStreams = new ArrayList<>();
     private final List<VideoStream> videoStreams = new ArrayList<>();
 
     private ParsingException subtitlesException = null;
+    private boolean subtitlesLoaded = false;
 
     public PeertubeStreamExtractor(final StreamingService service, final LinkHandler linkHandler)
             throws ParsingException {
@@ -103,13 +128,11 @@ public class PeertubeStreamExtractor extends StreamExtractor {
         } catch (final ParsingException e) {
             return Description.EMPTY_DESCRIPTION;
         }
-        if (text.length() == 250 && text.substring(247).equals("...")) {
+        if (isDescriptionShortened(text)) {
             // If description is shortened, get full description
-            final Downloader dl = NewPipe.getDownloader();
             try {
-                final Response response = dl.get(baseUrl
-                        + PeertubeStreamLinkHandlerFactory.VIDEO_API_ENDPOINT
-                        + getId() + "/description");
+                final Response response = getSubResource(descriptionResponse,
+                        videoApiUrl + "/description");
                 final JsonObject jsonObject = JsonParser.object().from(response.responseBody());
                 text = JsonUtils.getString(jsonObject, "description");
             } catch (final IOException | ReCaptchaException | JsonParserException ignored) {
@@ -256,6 +279,7 @@ public class PeertubeStreamExtractor extends StreamExtractor {
     @Nonnull
     @Override
     public List<SubtitlesStream> getSubtitlesDefault() throws ParsingException {
+        loadSubtitles();
         if (subtitlesException != null) {
             throw subtitlesException;
         }
@@ -265,6 +289,7 @@ public class PeertubeStreamExtractor extends StreamExtractor {
     @Nonnull
     @Override
     public List<SubtitlesStream> getSubtitles(final MediaFormat format) throws ParsingException {
+        loadSubtitles();
         if (subtitlesException != null) {
             throw subtitlesException;
         }
@@ -281,24 +306,21 @@ public class PeertubeStreamExtractor extends StreamExtractor {
     @Nullable
     @Override
     public StreamInfoItemsCollector getRelatedItems() throws IOException, ExtractionException {
-        final List<String> tags = getTags();
-        final String apiUrl;
-        if (tags.isEmpty()) {
-            apiUrl = baseUrl + "/api/v1/accounts/" + JsonUtils.getString(json, ACCOUNT_NAME)
-                    + "@" + JsonUtils.getString(json, ACCOUNT_HOST)
-                    + "/videos?start=0&count=8";
+        final Response response;
+        if (relatedItemsResponse != null) {
+            response = awaitSubResource(relatedItemsResponse);
         } else {
-            apiUrl = getRelatedItemsUrl(tags);
+            final String relatedItemsApiUrl = getRelatedItemsApiUrl();
+            if (relatedItemsApiUrl == null) {
+                return null;
+            }
+            response = getDownloader().get(relatedItemsApiUrl);
         }
 
-        if (Utils.isBlank(apiUrl)) {
-            return null;
-        } else {
-            final StreamInfoItemsCollector collector = new StreamInfoItemsCollector(
-                    getServiceId());
-            getStreamsFromApi(collector, apiUrl);
-            return collector;
-        }
+        final StreamInfoItemsCollector collector =
+                new StreamInfoItemsCollector(getServiceId(), getStreamInfoItemFields());
+        getStreamsFromApi(collector, response);
+        return collector;
     }
 
     @Nonnull
@@ -323,7 +345,7 @@ public class PeertubeStreamExtractor extends StreamExtractor {
         final List<StreamSegment> segments = new ArrayList<>();
         final JsonObject segmentsJson;
         try {
-            segmentsJson = fetchSubApiContent("chapters");
+            segmentsJson = fetchSubApiContent(chaptersResponse, "/chapters");
         } catch (final IOException | ReCaptchaException e) {
             throw new ParsingException("Could not get stream segments", e);
         }
@@ -346,7 +368,7 @@ public class PeertubeStreamExtractor extends StreamExtractor {
         final List<Frameset> framesets = new ArrayList<>();
         final JsonObject storyboards;
         try {
-            storyboards = fetchSubApiContent("storyboards");
+            storyboards = fetchSubApiContent(storyboardsResponse, "/storyboards");
         } catch (final IOException | ReCaptchaException e) {
             throw new ExtractionException("Could not get frames", e);
         }
@@ -377,6 +399,20 @@ public class PeertubeStreamExtractor extends StreamExtractor {
         return framesets;
     }
 
+    @Nullable
+    private String getRelatedItemsApiUrl() throws ParsingException {
+        final List<String> tags = getTags();
+        final String apiUrl;
+        if (tags.isEmpty()) {
+            apiUrl = baseUrl + "/api/v1/accounts/" + JsonUtils.getString(json, ACCOUNT_NAME)
+                    + "@" + JsonUtils.getString(json, ACCOUNT_HOST)
+                    + "/videos?start=0&count=8";
+        } else {
+            apiUrl = getRelatedItemsUrl(tags);
+        }
+        return Utils.isBlank(apiUrl) ? null : apiUrl;
+    }
+
     @Nonnull
     private String getRelatedItemsUrl(@Nonnull final List<String> tags) {
         final String url = baseUrl + PeertubeSearchQueryHandlerFactory.SEARCH_ENDPOINT_VIDEOS;
@@ -388,9 +424,8 @@ public class PeertubeStreamExtractor extends StreamExtractor {
         return url + "?" + params;
     }
 
-    private void getStreamsFromApi(final StreamInfoItemsCollector collector, final String apiUrl)
-            throws IOException, ReCaptchaException, ParsingException {
-        final Response response = getDownloader().get(apiUrl);
+    private void getStreamsFromApi(final StreamInfoItemsCollector collector,
+                                   final Response response) throws ParsingException {
         JsonObject relatedVideosJson = null;
         if (response != null && !Utils.isBlank(response.responseBody())) {
             try {
@@ -438,7 +473,92 @@ public class PeertubeStreamExtractor extends StreamExtractor {
             throw new ExtractionException("Could not extract PeerTube channel data");
         }
 
-        loadSubtitles();
+        prefetchSubResources(downloader);
+    }
+
+    /**
+     * Start fetching concurrently the sub-resources of the video which need their own request.
+     *
+     * <p>
+     * PeerTube instances can be slow, so these requests are not made one after another when the
+     * corresponding data is requested. They all share the same deadline, see
+     * {@link #SUB_RESOURCES_TIMEOUT_SECONDS}.
+     * </p>
+     *
+     * <p>
+     * Only the sub-resources needed by the {@link #getStreamInfoFields() selected fields} are
+     * prefetched, the other ones are fetched when they are requested.
+     * </p>
+     */
+    private void prefetchSubResources(@Nonnull final Downloader downloader)
+            throws ParsingException {
+        subResourcesDeadline = System.nanoTime()
+                + TimeUnit.SECONDS.toNanos(SUB_RESOURCES_TIMEOUT_SECONDS);
+        videoApiUrl = baseUrl + PeertubeStreamLinkHandlerFactory.VIDEO_API_ENDPOINT + getId();
+
+        if (isAnyStreamInfoFieldSelected(StreamInfoField.DESCRIPTION)
+                && isDescriptionShortened(json.getString("description"))) {
+            descriptionResponse = fetchSubResource(downloader, videoApiUrl + "/description");
+        }
+        if (isAnyStreamInfoFieldSelected(StreamInfoField.SUBTITLES)) {
+            captionsResponse = fetchSubResource(downloader, videoApiUrl + "/captions");
+        }
+        if (isAnyStreamInfoFieldSelected(StreamInfoField.STREAM_SEGMENTS)) {
+            chaptersResponse = fetchSubResource(downloader, videoApiUrl + "/chapters");
+        }
+        if (isAnyStreamInfoFieldSelected(StreamInfoField.PREVIEW_FRAMES)) {
+            storyboardsResponse = fetchSubResource(downloader, videoApiUrl + "/storyboards");
+        }
+
+        if (isAnyStreamInfoFieldSelected(StreamInfoField.RELATED_ITEMS)) {
+            try {
+                final String relatedItemsApiUrl = getRelatedItemsApiUrl();
+                if (relatedItemsApiUrl != null) {
+                    relatedItemsResponse = fetchSubResource(downloader, relatedItemsApiUrl);
+                }
+            } catch (final ParsingException e) {
+                relatedItemsResponse = CompletableFuture.failedFuture(e);
+            }
+        }
+    }
+
+    private static boolean isDescriptionShortened(@Nullable final String description) {
+        return description != null && description.length() == 250
+                && description.substring(247).equals("...");
+    }
+
+    @Nonnull
+    private static CompletableFuture<Response> fetchSubResource(
+            @Nonnull final Downloader downloader,
+            @Nonnull final String url) {
+        return ConcurrencyUtils.supplyAsync(() -> downloader.get(url));
+    }
+
+    @Nonnull
+    private Response awaitSubResource(@Nonnull final CompletableFuture<Response> response)
+            throws IOException, ReCaptchaException {
+        try {
+            return ConcurrencyUtils.await(response,
+                    Math.max(0, subResourcesDeadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (final ReCaptchaException e) {
+            throw e;
+        } catch (final ExtractionException e) {
+            throw new IOException("Could not fetch sub-resource of the video", e);
+        }
+    }
+
+    /**
+     * Get a sub-resource of the video, waiting for it if it has been prefetched, or fetching it
+     * now otherwise.
+     */
+    @Nonnull
+    private Response getSubResource(@Nullable final CompletableFuture<Response> prefetched,
+                                    @Nonnull final String url)
+            throws IOException, ReCaptchaException {
+        if (prefetched == null) {
+            return getDownloader().get(url);
+        }
+        return awaitSubResource(prefetched);
     }
 
     private void setInitialData(final String responseBody) throws ExtractionException {
@@ -454,11 +574,11 @@ public class PeertubeStreamExtractor extends StreamExtractor {
     }
 
     private void loadSubtitles() {
-        if (subtitles.isEmpty()) {
+        if (!subtitlesLoaded) {
+            subtitlesLoaded = true;
             try {
-                final Response response = getDownloader().get(baseUrl
-                        + PeertubeStreamLinkHandlerFactory.VIDEO_API_ENDPOINT
-                        + getId() + "/captions");
+                final Response response = getSubResource(captionsResponse,
+                        videoApiUrl + "/captions");
                 final JsonObject captionsJson = JsonParser.object().from(response.responseBody());
                 final JsonArray captions = JsonUtils.getArray(captionsJson, "data");
                 for (final Object c : captions) {
@@ -697,9 +817,10 @@ public class PeertubeStreamExtractor extends StreamExtractor {
     }
 
     /**
-     * Fetch content from a sub-API of the video.
-     * @param subPath the API subpath after the video id,
-     *                e.g. "storyboards" for "/api/v1/videos/{id}/storyboards"
+     * Get content from a sub-API of the video.
+     * @param subApiResponse the prefetched response of the sub-API, or {@code null}
+     * @param subApiPath     the API subpath after the video id,
+     *                       e.g. "/storyboards" for "/api/v1/videos/{id}/storyboards"
      * @return the {@link JsonObject} of the sub-API or null if the API does not exist
      * which is the case if the instance has an outdated PeerTube version.
      * @throws ParsingException if the API response could not be parsed to a {@link JsonObject}
@@ -707,11 +828,11 @@ public class PeertubeStreamExtractor extends StreamExtractor {
      * @throws ReCaptchaException if the API response is a reCaptcha
      */
     @Nullable
-    private JsonObject fetchSubApiContent(@Nonnull final String subPath)
+    private JsonObject fetchSubApiContent(
+            @Nullable final CompletableFuture<Response> subApiResponse,
+            @Nonnull final String subApiPath)
             throws ParsingException, IOException, ReCaptchaException {
-        final String apiUrl = baseUrl + PeertubeStreamLinkHandlerFactory.VIDEO_API_ENDPOINT
-                + getId() + "/" + subPath;
-        final Response response = getDownloader().get(apiUrl);
+        final Response response = getSubResource(subApiResponse, videoApiUrl + subApiPath);
         if (response == null) {
             throw new ParsingException("Could not get segments from API.");
         }
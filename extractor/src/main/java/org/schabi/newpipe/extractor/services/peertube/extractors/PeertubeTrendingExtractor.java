@@ -68,7 +68,8 @@ public class PeertubeTrendingExtractor extends KioskExtractor<StreamInfoItem> {
             PeertubeParsingHelper.validate(json);
             final long total = json.getLong("total");
 
-            final StreamInfoItemsCollector collector = new StreamInfoItemsCollector(getServiceId());
+            final StreamInfoItemsCollector collector =
+                    new StreamInfoItemsCollector(getServiceId(), getStreamInfoItemFields());
             collectItemsFrom(collector, json, getBaseUrl());
 
             return new InfoItemsPage<>(collector,
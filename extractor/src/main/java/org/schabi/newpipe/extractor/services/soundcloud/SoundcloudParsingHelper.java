@@ -12,8 +12,6 @@ import com.grack.nanojson.JsonParser;
 import com.grack.nanojson.JsonParserException;
 import org.jsoup.Jsoup;
 import org.jsoup.nodes.Document;
-import org.jsoup.nodes.Element;
-import org.jsoup.select.Elements;
 import org.schabi.newpipe.extractor.MultiInfoItemsCollector;
 import org.schabi.newpipe.extractor.Image;
 import org.schabi.newpipe.extractor.NewPipe;
@@ -23,14 +21,15 @@ import org.schabi.newpipe.extractor.downloader.Response;
 import org.schabi.newpipe.extractor.exceptions.ExtractionException;
 import org.schabi.newpipe.extractor.exceptions.ParsingException;
 import org.schabi.newpipe.extractor.exceptions.ReCaptchaException;
+import org.schabi.newpipe.extractor.localization.Localization;
 import org.schabi.newpipe.extractor.services.soundcloud.extractors.SoundcloudChannelInfoItemExtractor;
 import org.schabi.newpipe.extractor.services.soundcloud.extractors.SoundcloudPlaylistInfoItemExtractor;
 import org.schabi.newpipe.extractor.services.soundcloud.extractors.SoundcloudStreamInfoItemExtractor;
 import org.schabi.newpipe.extractor.stream.StreamInfoItemsCollector;
+import org.schabi.newpipe.extractor.utils.ConcurrencyUtils;
 import org.schabi.newpipe.extractor.utils.ImageSuffix;
 import org.schabi.newpipe.extractor.utils.JsonUtils;
 import org.schabi.newpipe.extractor.utils.Parser;
-import org.schabi.newpipe.extractor.utils.Parser.RegexException;
 import org.schabi.newpipe.extractor.utils.Utils;
 
 import javax.annotation.Nonnull;
@@ -41,11 +40,16 @@ import java.net.URL;
 import java.time.OffsetDateTime;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
-import java.util.Collections;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.regex.Matcher;
 import java.util.regex.Pattern;
+import java.util.stream.Collectors;
 
 public final class SoundcloudParsingHelper {
     // CHECKSTYLE:OFF
@@ -86,7 +90,12 @@ public final class SoundcloudParsingHelper {
             List.of(new ImageSuffix("t1240x260", 1240, 260, MEDIUM),
                     new ImageSuffix("t2480x520", 2480, 520, MEDIUM));
 
-    private static String clientId;
+    private static final AtomicReference<String> CLIENT_ID = new AtomicReference<>();
+    private static final AtomicReference<CompletableFuture<String>> CLIENT_ID_REFRESH =
+            new AtomicReference<>();
+    private static final Pattern CLIENT_ID_PATTERN = Pattern.compile(",client_id:\"(.*?)\"");
+    private static final Pattern CLIENT_ID_PARAMETER_PATTERN =
+            Pattern.compile("client_id=([^&#]+)");
     public static final String SOUNDCLOUD_API_V2_URL = "https://api-v2.soundcloud.com/";
 
     private static final Pattern ON_URL_PATTERN = Pattern.compile(
@@ -96,40 +105,186 @@ public final class SoundcloudParsingHelper {
     private SoundcloudParsingHelper() {
     }
 
-    public static synchronized String clientId() throws ExtractionException, IOException {
-        if (!isNullOrEmpty(clientId)) {
-            return clientId;
+    /**
+     * Get the client ID used to query SoundCloud's APIs.
+     *
+     * <p>
+     * The client ID is kept in memory after its first extraction, so this method is cheap and
+     * doesn't block once a client ID is known. If no client ID is known, a single extraction is
+     * run and concurrent callers wait for its result instead of starting their own.
+     * </p>
+     *
+     * @return a valid client ID
+     * @throws ExtractionException if the client ID could not be extracted
+     * @throws IOException if a request failed while extracting the client ID
+     */
+    public static String clientId() throws ExtractionException, IOException {
+        final String currentClientId = CLIENT_ID.get();
+        if (!isNullOrEmpty(currentClientId)) {
+            return currentClientId;
+        }
+
+        while (true) {
+            final CompletableFuture<String> pendingRefresh = CLIENT_ID_REFRESH.get();
+            if (pendingRefresh != null) {
+                return ConcurrencyUtils.await(pendingRefresh);
+            }
+
+            final CompletableFuture<String> refresh = new CompletableFuture<>();
+            if (!CLIENT_ID_REFRESH.compareAndSet(null, refresh)) {
+                // Another thread started a refresh in the meantime, wait for its result
+                continue;
+            }
+
+            try {
+                String newClientId = CLIENT_ID.get();
+                if (isNullOrEmpty(newClientId)) {
+                    newClientId = extractClientId();
+                    CLIENT_ID.set(newClientId);
+                }
+                refresh.complete(newClientId);
+                return newClientId;
+            } catch (final ExtractionException | IOException | RuntimeException e) {
+                refresh.completeExceptionally(e);
+                throw e;
+            } finally {
+                CLIENT_ID_REFRESH.compareAndSet(refresh, null);
+            }
+        }
+    }
+
+    /**
+     * Get the client ID currently known by the extractor, without extracting a new one.
+     *
+     * <p>
+     * Clients can store this value and restore it with {@link #setClientId(String)} on their next
+     * start, in order to avoid the extraction of a new client ID.
+     * </p>
+     *
+     * @return the client ID currently known or {@code null} if there is none
+     */
+    @Nullable
+    public static String getCachedClientId() {
+        return CLIENT_ID.get();
+    }
+
+    /**
+     * Set the client ID to use for the next requests, for instance a client ID previously
+     * obtained with {@link #getCachedClientId()}.
+     *
+     * <p>
+     * If the given client ID is not valid anymore, it is replaced automatically by a new one when
+     * SoundCloud rejects it.
+     * </p>
+     *
+     * @param newClientId the client ID to use or {@code null} to extract a new one on the next
+     *                    request
+     */
+    public static void setClientId(@Nullable final String newClientId) {
+        CLIENT_ID.set(isNullOrEmpty(newClientId) ? null : newClientId);
+    }
+
+    /**
+     * Forget the given client ID, if it is still the current one, so that a new client ID is
+     * extracted on the next call of {@link #clientId()}.
+     *
+     * @param expiredClientId the client ID which has been rejected by SoundCloud
+     */
+    public static void invalidateClientId(@Nonnull final String expiredClientId) {
+        CLIENT_ID.compareAndSet(expiredClientId, null);
+    }
+
+    /**
+     * Do a GET request to a SoundCloud API URL containing a client ID, refreshing the client ID
+     * and retrying the request once if SoundCloud rejected the client ID.
+     *
+     * @param downloader   the downloader to use
+     * @param url          the URL to request, containing a {@code client_id} parameter
+     * @param localization the localization to use for the request
+     * @return the response of the request, which may be an error response if the client ID could
+     * not be refreshed
+     */
+    public static Response getWithClientId(@Nonnull final Downloader downloader,
+                                           @Nonnull final String url,
+                                           @Nonnull final Localization localization)
+            throws IOException, ReCaptchaException {
+        final Response response = downloader.get(url, localization);
+        if (response.responseCode() != 401 && response.responseCode() != 403) {
+            return response;
+        }
+
+        final Matcher matcher = CLIENT_ID_PARAMETER_PATTERN.matcher(url);
+        if (!matcher.find()) {
+            return response;
+        }
+
+        final String usedClientId = matcher.group(1);
+        invalidateClientId(usedClientId);
+
+        final String newClientId;
+        try {
+            newClientId = clientId();
+        } catch (final ExtractionException ignored) {
+            // Return the original error response, callers handle it
+            return response;
+        }
+
+        if (newClientId.equals(usedClientId)) {
+            return response;
         }
 
+        return downloader.get(matcher.replaceFirst("client_id="
+                + Matcher.quoteReplacement(newClientId)), localization);
+    }
+
+    @Nonnull
+    private static String extractClientId() throws ExtractionException, IOException {
         final Downloader dl = NewPipe.getDownloader();
 
         final Response download = dl.get("https://soundcloud.com");
         final String responseBody = download.responseBody();
-        final String clientIdPattern = ",client_id:\"(.*?)\"";
 
         final Document doc = Jsoup.parse(responseBody);
-        final Elements possibleScripts = doc.select(
-                "script[src*=\"sndcdn.com/assets/\"][src$=\".js\"]");
-        // The one containing the client id will likely be the last one
-        Collections.reverse(possibleScripts);
+        final List<String> scriptUrls = doc.select(
+                "script[src*=\"sndcdn.com/assets/\"][src$=\".js\"]")
+                .stream()
+                .map(element -> element.attr("src"))
+                .filter(srcUrl -> !isNullOrEmpty(srcUrl))
+                .collect(Collectors.toList());
+        if (scriptUrls.isEmpty()) {
+            throw new ExtractionException("Couldn't extract client id");
+        }
 
+        // Download all scripts concurrently and use the client id of the first one containing it
         final var headers = Map.of("Range", List.of("bytes=0-50000"));
-
-        for (final Element element : possibleScripts) {
-            final String srcUrl = element.attr("src");
-            if (!isNullOrEmpty(srcUrl)) {
+        final CompletableFuture<String> result = new CompletableFuture<>();
+        final AtomicInteger remainingScripts = new AtomicInteger(scriptUrls.size());
+        final List<Future<?>> scriptDownloads = new ArrayList<>(scriptUrls.size());
+
+        // The one containing the client id will likely be the last one, so start with it
+        for (int i = scriptUrls.size() - 1; i >= 0; i--) {
+            final String srcUrl = scriptUrls.get(i);
+            scriptDownloads.add(NewPipe.getExecutor().submit(() -> {
                 try {
-                    clientId = Parser.matchGroup1(clientIdPattern, dl.get(srcUrl, headers)
-                            .responseBody());
-                    return clientId;
-                } catch (final RegexException ignored) {
-                    // Ignore it and proceed to try searching other script
+                    result.complete(Parser.matchGroup1(CLIENT_ID_PATTERN,
+                            dl.get(srcUrl, headers).responseBody()));
+                } catch (final Exception ignored) {
+                    // Ignore it, other scripts may contain the client id
+                } finally {
+                    if (remainingScripts.decrementAndGet() == 0) {
+                        // Officially give up (no-op if the client id has been found)
+                        result.completeExceptionally(
+                                new ExtractionException("Couldn't extract client id"));
+                    }
                 }
-            }
+            }));
         }
 
-        // Officially give up
-        throw new ExtractionException("Couldn't extract client id");
+        try {
+            return ConcurrencyUtils.await(result);
+        } finally {
+            scriptDownloads.forEach(scriptDownload -> scriptDownload.cancel(true));
+        }
     }
 
     public static OffsetDateTime parseDateFrom(final String textualUploadDate)
@@ -159,8 +314,8 @@ public final class SoundcloudParsingHelper {
                 + "&client_id=" + clientId();
 
         try {
-            final String response = downloader.get(apiUrl, SoundCloud.getLocalization())
-                    .responseBody();
+            final String response = getWithClientId(downloader, apiUrl,
+                    SoundCloud.getLocalization()).responseBody();
             return JsonParser.object().from(response);
         } catch (final JsonParserException e) {
             throw new ParsingException("Could not parse json response", e);
@@ -223,7 +378,7 @@ public final class SoundcloudParsingHelper {
             final String widgetUrl = "https://api-widget.soundcloud.com/resolve?url="
                     + Utils.encodeUrlUtf8(url.toString())
                     + "&format=json&client_id=" + SoundcloudParsingHelper.clientId();
-            final String response = NewPipe.getDownloader().get(widgetUrl,
+            final String response = getWithClientId(NewPipe.getDownloader(), widgetUrl,
                     SoundCloud.getLocalization()).responseBody();
             final JsonObject o = JsonParser.object().from(response);
             return String.valueOf(JsonUtils.getValue(o, "id"));
@@ -266,8 +421,8 @@ public final class SoundcloudParsingHelper {
     public static String getUsersFromApi(final ChannelInfoItemsCollector collector,
                                          final String apiUrl) throws IOException,
             ReCaptchaException, ParsingException {
-        final String response = NewPipe.getDownloader().get(apiUrl, SoundCloud.getLocalization())
-                .responseBody();
+        final String response = getWithClientId(NewPipe.getDownloader(), apiUrl,
+                SoundCloud.getLocalization()).responseBody();
         final JsonObject responseObject;
 
         try {
@@ -319,8 +474,8 @@ public final class SoundcloudParsingHelper {
                                            final String apiUrl,
                                            final boolean charts) throws IOException,
             ReCaptchaException, ParsingException {
-        final Response response = NewPipe.getDownloader().get(apiUrl, SoundCloud
-                .getLocalization());
+        final Response response = getWithClientId(NewPipe.getDownloader(), apiUrl,
+                SoundCloud.getLocalization());
         if (response.responseCode() >= 400) {
             throw new IOException("Could not get streams from API, HTTP " + response
                     .responseCode());
@@ -367,7 +522,8 @@ public final class SoundcloudParsingHelper {
     public static String getInfoItemsFromApi(final MultiInfoItemsCollector collector,
                                              final String apiUrl) throws ReCaptchaException,
             ParsingException, IOException {
-        final Response response = NewPipe.getDownloader().get(apiUrl, SoundCloud.getLocalization());
+        final Response response = getWithClientId(NewPipe.getDownloader(), apiUrl,
+                SoundCloud.getLocalization());
         if (response.responseCode() >= 400) {
             throw new IOException("Could not get streams from API, HTTP "
                     + response.responseCode());
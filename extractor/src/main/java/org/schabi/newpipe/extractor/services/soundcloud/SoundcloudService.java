@@ -37,8 +37,13 @@ import org.schabi.newpipe.extractor.services.soundcloud.linkHandler.SoundcloudSe
 import org.schabi.newpipe.extractor.services.soundcloud.linkHandler.SoundcloudStreamLinkHandlerFactory;
 import org.schabi.newpipe.extractor.stream.StreamExtractor;
 import org.schabi.newpipe.extractor.subscription.SubscriptionExtractor;
+import org.schabi.newpipe.extractor.utils.ConcurrencyUtils;
 
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import javax.annotation.Nonnull;
 
 public class SoundcloudService extends StreamingService {
 
@@ -51,6 +56,19 @@ public class SoundcloudService extends StreamingService {
         return "https://soundcloud.com";
     }
 
+    @Nonnull
+    @Override
+    public Set<String> getSupportedUrlHosts() {
+        return Set.of("soundcloud.com", "www.soundcloud.com", "m.soundcloud.com",
+                "on.soundcloud.com");
+    }
+
+    @Nonnull
+    @Override
+    public Map<String, ConcurrencyUtils.ThrowingRunnable> getWarmUpTasks() {
+        return Map.of("clientId", SoundcloudParsingHelper::clientId);
+    }
+
     @Override
     public SearchQueryHandlerFactory getSearchQHFactory() {
         return SoundcloudSearchQueryHandlerFactory.getInstance();
@@ -3,6 +3,7 @@ package org.schabi.newpipe.extractor.services.soundcloud.extractors;
 import static org.schabi.newpipe.extractor.services.soundcloud.SoundcloudParsingHelper.SOUNDCLOUD_API_V2_URL;
 import static org.schabi.newpipe.extractor.services.soundcloud.SoundcloudParsingHelper.getAllImagesFromArtworkOrAvatarUrl;
 import static org.schabi.newpipe.extractor.services.soundcloud.SoundcloudParsingHelper.getAllImagesFromVisualUrl;
+import static org.schabi.newpipe.extractor.services.soundcloud.SoundcloudParsingHelper.getWithClientId;
 
 import com.grack.nanojson.JsonObject;
 import com.grack.nanojson.JsonParser;
@@ -42,7 +43,8 @@ public class SoundcloudChannelExtractor extends ChannelExtractor {
         final String apiUrl = USERS_ENDPOINT + userId + "?client_id="
                 + SoundcloudParsingHelper.clientId();
 
-        final String response = downloader.get(apiUrl, getExtractorLocalization()).responseBody();
+        final String response = getWithClientId(downloader, apiUrl, getExtractorLocalization())
+                .responseBody();
         try {
             user = JsonParser.object().from(response);
         } catch (final JsonParserException e) {
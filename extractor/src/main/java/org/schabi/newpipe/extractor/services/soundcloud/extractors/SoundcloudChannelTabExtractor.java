@@ -67,7 +67,8 @@ public class SoundcloudChannelTabExtractor extends ChannelTabExtractor {
             throw new IllegalArgumentException("Page doesn't contain an URL");
         }
 
-        final MultiInfoItemsCollector collector = new MultiInfoItemsCollector(getServiceId());
+        final MultiInfoItemsCollector collector =
+                new MultiInfoItemsCollector(getServiceId(), getStreamInfoItemFields());
         final String nextPageUrl = SoundcloudParsingHelper.getInfoItemsFromApi(
                 collector, page.getUrl());
 
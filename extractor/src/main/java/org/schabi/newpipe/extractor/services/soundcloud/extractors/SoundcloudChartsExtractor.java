@@ -42,7 +42,8 @@ public class SoundcloudChartsExtractor extends KioskExtractor<StreamInfoItem> {
             throw new IllegalArgumentException("Page doesn't contain an URL");
         }
 
-        final StreamInfoItemsCollector collector = new StreamInfoItemsCollector(getServiceId());
+        final StreamInfoItemsCollector collector =
+                new StreamInfoItemsCollector(getServiceId(), getStreamInfoItemFields());
         final String nextPageUrl = SoundcloudParsingHelper.getStreamsFromApi(collector,
                 page.getUrl(), true);
 
@@ -52,7 +53,8 @@ public class SoundcloudChartsExtractor extends KioskExtractor<StreamInfoItem> {
     @Nonnull
     @Override
     public InfoItemsPage<StreamInfoItem> getInitialPage() throws IOException, ExtractionException {
-        final StreamInfoItemsCollector collector = new StreamInfoItemsCollector(getServiceId());
+        final StreamInfoItemsCollector collector =
+                new StreamInfoItemsCollector(getServiceId(), getStreamInfoItemFields());
 
         String apiUrl = SOUNDCLOUD_API_V2_URL + "charts" + "?genre=soundcloud:genres:all-music"
                 + "&client_id=" + SoundcloudParsingHelper.clientId();
@@ -22,6 +22,7 @@ import java.io.IOException;
 
 import javax.annotation.Nonnull;
 
+import static org.schabi.newpipe.extractor.services.soundcloud.SoundcloudParsingHelper.getWithClientId;
 import static org.schabi.newpipe.extractor.utils.Utils.isNullOrEmpty;
 
 public class SoundcloudCommentsExtractor extends CommentsExtractor {
@@ -50,7 +51,8 @@ public class SoundcloudCommentsExtractor extends CommentsExtractor {
     private InfoItemsPage<CommentsInfoItem> getPage(@Nonnull final String url)
             throws ParsingException, IOException, ReCaptchaException {
         final Downloader downloader = NewPipe.getDownloader();
-        final Response response = downloader.get(url);
+        final Response response = getWithClientId(downloader, url,
+                NewPipe.getPreferredLocalization());
 
         final JsonObject json;
         try {
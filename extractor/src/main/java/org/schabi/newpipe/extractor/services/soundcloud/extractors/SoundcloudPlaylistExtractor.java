@@ -3,6 +3,7 @@ package org.schabi.newpipe.extractor.services.soundcloud.extractors;
 import static org.schabi.newpipe.extractor.services.soundcloud.SoundcloudParsingHelper.SOUNDCLOUD_API_V2_URL;
 import static org.schabi.newpipe.extractor.services.soundcloud.SoundcloudParsingHelper.getAllImagesFromArtworkOrAvatarUrl;
 import static org.schabi.newpipe.extractor.services.soundcloud.SoundcloudParsingHelper.getAvatarUrl;
+import static org.schabi.newpipe.extractor.services.soundcloud.SoundcloudParsingHelper.getWithClientId;
 import static org.schabi.newpipe.extractor.utils.Utils.isNullOrEmpty;
 
 import com.grack.nanojson.JsonArray;
@@ -50,7 +51,8 @@ public class SoundcloudPlaylistExtractor extends PlaylistExtractor {
         final String apiUrl = SOUNDCLOUD_API_V2_URL + "playlists/" + playlistId + "?client_id="
                 + SoundcloudParsingHelper.clientId() + "&representation=compact";
 
-        final String response = downloader.get(apiUrl, getExtractorLocalization()).responseBody();
+        final String response = getWithClientId(downloader, apiUrl, getExtractorLocalization())
+                .responseBody();
         try {
             playlist = JsonParser.object().from(response);
         } catch (final JsonParserException e) {
@@ -136,7 +138,7 @@ public class SoundcloudPlaylistExtractor extends PlaylistExtractor {
     @Override
     public InfoItemsPage<StreamInfoItem> getInitialPage() {
         final StreamInfoItemsCollector streamInfoItemsCollector =
-                new StreamInfoItemsCollector(getServiceId());
+                new StreamInfoItemsCollector(getServiceId(), getStreamInfoItemFields());
         final List<String> ids = new ArrayList<>();
 
         playlist.getArray("tracks")
@@ -179,8 +181,9 @@ public class SoundcloudPlaylistExtractor extends PlaylistExtractor {
         final String currentPageUrl = SOUNDCLOUD_API_V2_URL + "tracks?client_id="
                 + SoundcloudParsingHelper.clientId() + "&ids=" + String.join(",", currentIds);
 
-        final StreamInfoItemsCollector collector = new StreamInfoItemsCollector(getServiceId());
-        final String response = NewPipe.getDownloader().get(currentPageUrl,
+        final StreamInfoItemsCollector collector =
+                new StreamInfoItemsCollector(getServiceId(), getStreamInfoItemFields());
+        final String response = getWithClientId(NewPipe.getDownloader(), currentPageUrl,
                 getExtractorLocalization()).responseBody();
 
         try {
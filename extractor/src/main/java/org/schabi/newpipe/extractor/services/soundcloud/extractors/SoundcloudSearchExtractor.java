@@ -1,5 +1,6 @@
 package org.schabi.newpipe.extractor.services.soundcloud.extractors;
 
+import static org.schabi.newpipe.extractor.services.soundcloud.SoundcloudParsingHelper.getWithClientId;
 import static org.schabi.newpipe.extractor.services.soundcloud.linkHandler.SoundcloudSearchQueryHandlerFactory.ITEMS_PER_PAGE;
 import static org.schabi.newpipe.extractor.utils.Utils.isNullOrEmpty;
 
@@ -83,8 +84,8 @@ public class SoundcloudSearchExtractor extends SearchExtractor {
         final JsonArray searchCollection;
         final int totalResults;
         try {
-            final String response = dl.get(page.getUrl(), getExtractorLocalization())
-                    .responseBody();
+            final String response = getWithClientId(dl, page.getUrl(),
+                    getExtractorLocalization()).responseBody();
             final JsonObject result = JsonParser.object().from(response);
             searchCollection = result.getArray(COLLECTION);
             totalResults = result.getInt(TOTAL_RESULTS);
@@ -106,7 +107,8 @@ public class SoundcloudSearchExtractor extends SearchExtractor {
         final Downloader dl = getDownloader();
         final String url = getUrl();
         try {
-            final String response = dl.get(url, getExtractorLocalization()).responseBody();
+            final String response = getWithClientId(dl, url, getExtractorLocalization())
+                    .responseBody();
             initialSearchObject = JsonParser.object().from(response);
         } catch (final JsonParserException e) {
             throw new ParsingException("Could not parse json response", e);
@@ -119,7 +121,8 @@ public class SoundcloudSearchExtractor extends SearchExtractor {
 
     private InfoItemsCollector<InfoItem, InfoItemExtractor> collectItems(
             final JsonArray searchCollection) {
-        final MultiInfoItemsCollector collector = new MultiInfoItemsCollector(getServiceId());
+        final MultiInfoItemsCollector collector =
+                new MultiInfoItemsCollector(getServiceId(), getStreamInfoItemFields());
 
         for (final Object result : searchCollection) {
             if (!(result instanceof JsonObject)) {
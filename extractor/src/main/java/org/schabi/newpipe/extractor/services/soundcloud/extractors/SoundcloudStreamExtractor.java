@@ -5,6 +5,7 @@ import static org.schabi.newpipe.extractor.services.soundcloud.SoundcloudParsing
 import static org.schabi.newpipe.extractor.services.soundcloud.SoundcloudParsingHelper.getAllImagesFromArtworkOrAvatarUrl;
 import static org.schabi.newpipe.extractor.services.soundcloud.SoundcloudParsingHelper.getAllImagesFromTrackObject;
 import static org.schabi.newpipe.extractor.services.soundcloud.SoundcloudParsingHelper.getAvatarUrl;
+import static org.schabi.newpipe.extractor.services.soundcloud.SoundcloudParsingHelper.getWithClientId;
 import static org.schabi.newpipe.extractor.services.soundcloud.SoundcloudParsingHelper.parseDateFrom;
 import static org.schabi.newpipe.extractor.stream.Stream.ID_UNKNOWN;
 import static org.schabi.newpipe.extractor.utils.Utils.isNullOrEmpty;
@@ -35,17 +36,25 @@ import org.schabi.newpipe.extractor.stream.StreamExtractor;
 import org.schabi.newpipe.extractor.stream.StreamInfoItemsCollector;
 import org.schabi.newpipe.extractor.stream.StreamType;
 import org.schabi.newpipe.extractor.stream.VideoStream;
+import org.schabi.newpipe.extractor.utils.ConcurrencyUtils;
 import org.schabi.newpipe.extractor.utils.Utils;
 
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 
 public class SoundcloudStreamExtractor extends StreamExtractor {
+    /**
+     * The maximum number of transcoding URLs resolved at the same time.
+     */
+    private static final int MAX_CONCURRENT_TRANSCODING_REQUESTS = 4;
+
     private JsonObject track;
     private boolean isAvailable = true;
 
@@ -192,7 +201,8 @@ public class SoundcloudStreamExtractor extends StreamExtractor {
             apiStreamUrl += "&track_authorization=" + trackAuthorization;
         }
 
-        final String response = NewPipe.getDownloader().get(apiStreamUrl).responseBody();
+        final String response = getWithClientId(NewPipe.getDownloader(), apiStreamUrl,
+                NewPipe.getPreferredLocalization()).responseBody();
         final JsonObject urlObject;
         try {
             urlObject = JsonParser.object().from(response);
@@ -205,56 +215,64 @@ public class SoundcloudStreamExtractor extends StreamExtractor {
 
     private void extractAudioStreams(@Nonnull final JsonArray transcodings,
                                      final List<AudioStream> audioStreams) {
-        transcodings.stream()
+        // Filter out unsupported transcodings first, so that no request is made for them
+        final List<JsonObject> supportedTranscodings = transcodings.stream()
                 .filter(JsonObject.class::isInstance)
                 .map(JsonObject.class::cast)
-                .forEachOrdered(transcoding -> {
-                    final String url = transcoding.getString("url");
-                    if (isNullOrEmpty(url)) {
-                        return;
+                .filter(transcoding -> !isNullOrEmpty(transcoding.getString("url")))
+                .filter(transcoding -> {
+                    final String protocol = transcoding.getObject("format")
+                            .getString("protocol", "");
+                    // Skip DRM-protected streams, which have encrypted in their protocol name
+                    if (protocol.contains("encrypted")) {
+                        return false;
                     }
 
-                    try {
-                        final String preset = transcoding.getString("preset", ID_UNKNOWN);
-                        final String protocol = transcoding.getObject("format")
-                                .getString("protocol");
-
-                        if (protocol.contains("encrypted")) {
-                            // Skip DRM-protected streams, which have encrypted in their protocol
-                            // name
-                            return;
-                        }
-
-                        final AudioStream.Builder builder = new AudioStream.Builder()
-                                .setId(preset);
-
-                        if (protocol.equals("hls")) {
-                            builder.setDeliveryMethod(DeliveryMethod.HLS);
-                        }
-
-                        builder.setContent(getTranscodingUrl(url), true);
-
-                        if (preset.contains("mp3")) {
-                            builder.setMediaFormat(MediaFormat.MP3);
-                            builder.setAverageBitrate(128);
-                        } else if (preset.contains("opus")) {
-                            builder.setMediaFormat(MediaFormat.OPUS);
-                            builder.setAverageBitrate(64);
-                            builder.setDeliveryMethod(DeliveryMethod.HLS);
-                        } else {
-                            // Unknown format, skip to the next audio stream
-                            return;
-                        }
-
-                        final AudioStream audioStream = builder.build();
-                        if (!Stream.containSimilarStream(audioStream, audioStreams)) {
-                            audioStreams.add(audioStream);
-                        }
-                    } catch (final ExtractionException | IOException ignored) {
-                        // Something went wrong when trying to get and add this audio stream,
-                        // skip to the next one
-                    }
-                });
+                    final String preset = transcoding.getString("preset", ID_UNKNOWN);
+                    return preset.contains("mp3") || preset.contains("opus");
+                })
+                .collect(Collectors.toList());
+
+        // Each transcoding URL requires its own request, resolve them concurrently
+        final List<CompletableFuture<String>> transcodingUrls =
+                ConcurrencyUtils.mapConcurrently(supportedTranscodings,
+                        MAX_CONCURRENT_TRANSCODING_REQUESTS,
+                        transcoding -> getTranscodingUrl(transcoding.getString("url")));
+
+        for (int i = 0; i < supportedTranscodings.size(); i++) {
+            final JsonObject transcoding = supportedTranscodings.get(i);
+            try {
+                final String preset = transcoding.getString("preset", ID_UNKNOWN);
+                final String protocol = transcoding.getObject("format")
+                        .getString("protocol");
+
+                final AudioStream.Builder builder = new AudioStream.Builder()
+                        .setId(preset);
+
+                if (protocol.equals("hls")) {
+                    builder.setDeliveryMethod(DeliveryMethod.HLS);
+                }
+
+                builder.setContent(ConcurrencyUtils.await(transcodingUrls.get(i)), true);
+
+                if (preset.contains("mp3")) {
+                    builder.setMediaFormat(MediaFormat.MP3);
+                    builder.setAverageBitrate(128);
+                } else {
+                    builder.setMediaFormat(MediaFormat.OPUS);
+                    builder.setAverageBitrate(64);
+                    builder.setDeliveryMethod(DeliveryMethod.HLS);
+                }
+
+                final AudioStream audioStream = builder.build();
+                if (!Stream.containSimilarStream(audioStream, audioStreams)) {
+                    audioStreams.add(audioStream);
+                }
+            } catch (final ExtractionException | IOException ignored) {
+                // Something went wrong when trying to get and add this audio stream,
+                // skip to the next one
+            }
+        }
     }
 
     @Override
@@ -275,7 +293,8 @@ public class SoundcloudStreamExtractor extends StreamExtractor {
     @Nullable
     @Override
     public StreamInfoItemsCollector getRelatedItems() throws IOException, ExtractionException {
-        final StreamInfoItemsCollector collector = new StreamInfoItemsCollector(getServiceId());
+        final StreamInfoItemsCollector collector =
+                new StreamInfoItemsCollector(getServiceId(), getStreamInfoItemFields());
         final String apiUrl = SOUNDCLOUD_API_V2_URL + "tracks/" + Utils.encodeUrlUtf8(getId())
                 + "/related?client_id=" + Utils.encodeUrlUtf8(clientId());
 
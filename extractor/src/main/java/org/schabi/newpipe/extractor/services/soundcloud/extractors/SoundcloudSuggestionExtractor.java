@@ -1,6 +1,7 @@
 package org.schabi.newpipe.extractor.services.soundcloud.extractors;
 
 import static org.schabi.newpipe.extractor.services.soundcloud.SoundcloudParsingHelper.SOUNDCLOUD_API_V2_URL;
+import static org.schabi.newpipe.extractor.services.soundcloud.SoundcloudParsingHelper.getWithClientId;
 
 import com.grack.nanojson.JsonArray;
 import com.grack.nanojson.JsonObject;
@@ -34,7 +35,8 @@ public class SoundcloudSuggestionExtractor extends SuggestionExtractor {
         final String url = SOUNDCLOUD_API_V2_URL + "search/queries?q="
                 + Utils.encodeUrlUtf8(query) + "&client_id=" + SoundcloudParsingHelper.clientId()
                 + "&limit=10";
-        final String response = dl.get(url, getExtractorLocalization()).responseBody();
+        final String response = getWithClientId(dl, url, getExtractorLocalization())
+                .responseBody();
 
         try {
             final JsonArray collection = JsonParser.object().from(response).getArray("collection");
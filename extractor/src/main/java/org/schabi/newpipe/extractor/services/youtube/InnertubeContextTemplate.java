@@ -0,0 +1,257 @@
+package org.schabi.newpipe.extractor.services.youtube;
+
+import static org.schabi.newpipe.extractor.services.youtube.ClientsConstants.WEB_CLIENT_NAME;
+import static org.schabi.newpipe.extractor.services.youtube.YoutubeParsingHelper.getClientVersion;
+import static org.schabi.newpipe.extractor.services.youtube.YoutubeParsingHelper.prepareDesktopJsonBuilder;
+import static org.schabi.newpipe.extractor.services.youtube.YoutubeParsingHelper.prepareJsonBuilder;
+
+import com.grack.nanojson.JsonBuilder;
+import com.grack.nanojson.JsonObject;
+import com.grack.nanojson.JsonWriter;
+import org.schabi.newpipe.extractor.exceptions.ExtractionException;
+import org.schabi.newpipe.extractor.localization.ContentCountry;
+import org.schabi.newpipe.extractor.localization.Localization;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * A pre-serialized InnerTube request body, containing only the {@code context} object of a
+ * client, a localization and a content country.
+ *
+ * <p>
+ * Apart from the visitor data of the client, the {@code context} object of InnerTube requests only
+ * depends on the client used (its name, version, platform and device), the localization and the
+ * content country, so it is serialized once per combination of these values and cached. Request
+ * bodies are then created with {@link #newBody(String)}, which inserts the visitor data of the
+ * request into a copy of the serialized context and appends the fields specific to each request,
+ * such as {@code videoId}, {@code continuation} or {@code browseId}.
+ * </p>
+ *
+ * <p>
+ * Request bodies created from templates are identical to the ones serialized from the
+ * {@link JsonBuilder}s returned by {@link YoutubeParsingHelper#prepareDesktopJsonBuilder(
+ * Localization, ContentCountry)} and {@link YoutubeParsingHelper#prepareJsonBuilder(
+ * Localization, ContentCountry, InnertubeClientRequestInfo, String)} on which the same values
+ * have been set.
+ * </p>
+ */
+public final class InnertubeContextTemplate {
+    private static final String PLATFORM = "platform";
+    private static final String VISITOR_DATA = "visitorData";
+    private static final int MAX_CACHED_TEMPLATES = 256;
+    private static final Map<List<Object>, InnertubeContextTemplate> CACHE =
+            new ConcurrentHashMap<>();
+
+    /**
+     * The UTF-8 bytes of the serialized request body up to the position of the
+     * {@code visitorData} field of the client.
+     */
+    @Nonnull
+    private final byte[] head;
+    /**
+     * The UTF-8 bytes of the serialized request body after the position of the
+     * {@code visitorData} field of the client, without its closing brace.
+     */
+    @Nonnull
+    private final byte[] tail;
+
+    private InnertubeContextTemplate(@Nonnull final JsonBuilder<JsonObject> builder,
+                                     @Nullable final String platform,
+                                     @Nullable final String visitorData) {
+        final String json = JsonWriter.string(builder.done());
+        // Remove the closing brace of the request body, so that fields can be appended to it
+        final int end = json.length() - 1;
+
+        if (platform == null) {
+            this.head = json.substring(0, end).getBytes(StandardCharsets.UTF_8);
+            this.tail = new byte[0];
+            return;
+        }
+
+        // The visitorData field, which changes often, directly follows the platform field: cut
+        // the template around it, to insert the visitor data of each request there
+        final String platformField = field(PLATFORM, platform);
+        final int headEnd = json.indexOf(platformField) + platformField.length();
+        final int tailStart = visitorData == null
+                ? headEnd
+                : headEnd + field(VISITOR_DATA, visitorData).length();
+        this.head = json.substring(0, headEnd).getBytes(StandardCharsets.UTF_8);
+        this.tail = json.substring(tailStart, end).getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Nonnull
+    private static String field(@Nonnull final String name, @Nullable final Object value) {
+        return "," + JsonWriter.string(name) + ":" + JsonWriter.string(value);
+    }
+
+    /**
+     * Get the template of the {@code WEB} client, with the current client version returned by
+     * {@link YoutubeParsingHelper#getClientVersion()}.
+     *
+     * @param localization   the localization of requests
+     * @param contentCountry the content country of requests
+     * @return the template of the {@code WEB} client for the given localization and content
+     * country
+     */
+    @Nonnull
+    public static InnertubeContextTemplate ofDesktop(@Nonnull final Localization localization,
+                                                     @Nonnull final ContentCountry contentCountry)
+            throws IOException, ExtractionException {
+        final List<Object> key = Arrays.asList(WEB_CLIENT_NAME, getClientVersion(),
+                localization.getLocalizationCode(), contentCountry.getCountryCode());
+        final InnertubeContextTemplate template = CACHE.get(key);
+        if (template != null) {
+            return template;
+        }
+        return cache(key, new InnertubeContextTemplate(
+                prepareDesktopJsonBuilder(localization, contentCountry), null, null));
+    }
+
+    /**
+     * Get the template of the client described by the given {@link InnertubeClientRequestInfo}.
+     *
+     * <p>
+     * The visitor data of the client is not part of the template, it must be given to
+     * {@link #newBody(String)} instead.
+     * </p>
+     *
+     * @param localization               the localization of requests
+     * @param contentCountry             the content country of requests
+     * @param innertubeClientRequestInfo the client of requests
+     * @param embedUrl                   the URL of the page in which the content requested is
+     *                                   embedded, if requests are made by an embedded player
+     * @return the template of the client for the given localization and content country
+     */
+    @Nonnull
+    public static InnertubeContextTemplate of(
+            @Nonnull final Localization localization,
+            @Nonnull final ContentCountry contentCountry,
+            @Nonnull final InnertubeClientRequestInfo innertubeClientRequestInfo,
+            @Nullable final String embedUrl) {
+        final InnertubeClientRequestInfo.ClientInfo clientInfo =
+                innertubeClientRequestInfo.clientInfo;
+        final InnertubeClientRequestInfo.DeviceInfo deviceInfo =
+                innertubeClientRequestInfo.deviceInfo;
+        final List<Object> key = Arrays.asList(clientInfo.clientName, clientInfo.clientVersion,
+                clientInfo.clientScreen, deviceInfo.platform,
+                deviceInfo.deviceMake, deviceInfo.deviceModel, deviceInfo.osName,
+                deviceInfo.osVersion, deviceInfo.androidSdkVersion,
+                localization.getLocalizationCode(), contentCountry.getCountryCode(), embedUrl);
+        final InnertubeContextTemplate template = CACHE.get(key);
+        if (template != null) {
+            return template;
+        }
+        return cache(key, new InnertubeContextTemplate(prepareJsonBuilder(
+                localization, contentCountry, innertubeClientRequestInfo, embedUrl),
+                deviceInfo.platform, clientInfo.visitorData));
+    }
+
+    @Nonnull
+    private static InnertubeContextTemplate cache(@Nonnull final List<Object> key,
+                                                  @Nonnull final InnertubeContextTemplate value) {
+        // Client versions change over time, don't let obsolete templates pile up
+        if (CACHE.size() >= MAX_CACHED_TEMPLATES) {
+            CACHE.clear();
+        }
+        final InnertubeContextTemplate previousValue = CACHE.putIfAbsent(key, value);
+        return previousValue == null ? value : previousValue;
+    }
+
+    /**
+     * Clear the cache of templates.
+     *
+     * <p>
+     * Templates depend on the client version, so this method is called when client versions are
+     * reset with {@link YoutubeParsingHelper#resetClientVersion()}.
+     * </p>
+     */
+    public static void clearCache() {
+        CACHE.clear();
+    }
+
+    /**
+     * @return a new request body, containing only the {@code context} object of this template
+     */
+    @Nonnull
+    public RequestBody newBody() {
+        return newBody(null);
+    }
+
+    /**
+     * @param visitorData the visitor data to set in the client of the {@code context} object, if
+     *                    any
+     * @return a new request body, containing only the {@code context} object of this template
+     * with the given visitor data
+     */
+    @Nonnull
+    public RequestBody newBody(@Nullable final String visitorData) {
+        return new RequestBody(this, visitorData == null ? "" : field(VISITOR_DATA, visitorData));
+    }
+
+    /**
+     * An InnerTube request body created from an {@link InnertubeContextTemplate}, to which
+     * fields specific to a request can be appended.
+     */
+    public static final class RequestBody {
+        @Nonnull
+        private final InnertubeContextTemplate template;
+        @Nonnull
+        private final String visitorDataField;
+        @Nonnull
+        private final StringBuilder fields = new StringBuilder();
+
+        private RequestBody(@Nonnull final InnertubeContextTemplate template,
+                            @Nonnull final String visitorDataField) {
+            this.template = template;
+            this.visitorDataField = visitorDataField;
+        }
+
+        /**
+         * Append a field to this request body.
+         *
+         * <p>
+         * The value is serialized with {@link JsonWriter}, so it can be a string, a number, a
+         * boolean, {@code null} or a {@link JsonObject} or a {@link com.grack.nanojson.JsonArray
+         * JsonArray} built with {@link JsonObject#builder()} for nested values.
+         * </p>
+         *
+         * @param name  the name of the field, which must not be already set
+         * @param value the value of the field
+         * @return this request body
+         */
+        @Nonnull
+        public RequestBody value(@Nonnull final String name, @Nullable final Object value) {
+            fields.append(field(name, value));
+            return this;
+        }
+
+        /**
+         * @return the UTF-8 bytes of this request body, which can be sent to InnerTube
+         */
+        @Nonnull
+        public byte[] toBytes() {
+            final byte[] head = template.head;
+            final byte[] tail = template.tail;
+            final byte[] visitorData = visitorDataField.getBytes(StandardCharsets.UTF_8);
+            final byte[] suffix = (fields + "}").getBytes(StandardCharsets.UTF_8);
+
+            final byte[] body = Arrays.copyOf(head,
+                    head.length + visitorData.length + tail.length + suffix.length);
+            int offset = head.length;
+            System.arraycopy(visitorData, 0, body, offset, visitorData.length);
+            offset += visitorData.length;
+            System.arraycopy(tail, 0, body, offset, tail.length);
+            offset += tail.length;
+            System.arraycopy(suffix, 0, body, offset, suffix.length);
+            return body;
+        }
+    }
+}
@@ -1,7 +1,6 @@
 package org.schabi.newpipe.extractor.services.youtube;
 
 import com.grack.nanojson.JsonObject;
-import com.grack.nanojson.JsonWriter;
 import org.schabi.newpipe.extractor.exceptions.ContentNotAvailableException;
 import org.schabi.newpipe.extractor.exceptions.ExtractionException;
 import org.schabi.newpipe.extractor.exceptions.ParsingException;
@@ -12,14 +11,12 @@ import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import java.io.IOException;
 import java.io.Serializable;
-import java.nio.charset.StandardCharsets;
 import java.util.Optional;
 
 import static org.schabi.newpipe.extractor.services.youtube.YoutubeParsingHelper.defaultAlertsCheck;
 import static org.schabi.newpipe.extractor.services.youtube.YoutubeParsingHelper.getJsonPostResponse;
 import static org.schabi.newpipe.extractor.services.youtube.YoutubeParsingHelper.getTextFromObject;
 import static org.schabi.newpipe.extractor.services.youtube.YoutubeParsingHelper.hasArtistOrVerifiedIconBadgeAttachment;
-import static org.schabi.newpipe.extractor.services.youtube.YoutubeParsingHelper.prepareDesktopJsonBuilder;
 import static org.schabi.newpipe.extractor.utils.Utils.isNullOrEmpty;
 
 /**
@@ -65,11 +62,10 @@ public final class YoutubeChannelHelper {
         // URL, then no information about the channel associated with this URL was found,
         // so the unresolved url will be returned.
         if (!channelId[0].equals("channel")) {
-            final byte[] body = JsonWriter.string(
-                    prepareDesktopJsonBuilder(Localization.DEFAULT, ContentCountry.DEFAULT)
+            final byte[] body = InnertubeContextTemplate
+                    .ofDesktop(Localization.DEFAULT, ContentCountry.DEFAULT).newBody()
                             .value("url", "https://www.youtube.com/" + idOrPath)
-                            .done())
-                    .getBytes(StandardCharsets.UTF_8);
+                            .toBytes();
 
             final JsonObject jsonResponse = getJsonPostResponse(
                     "navigation/resolve_url", body, Localization.DEFAULT);
@@ -156,12 +152,11 @@ public final class YoutubeChannelHelper {
 
         int level = 0;
         while (level < 3) {
-            final byte[] body = JsonWriter.string(prepareDesktopJsonBuilder(
-                                    localization, country)
+            final byte[] body = InnertubeContextTemplate.ofDesktop(
+                                    localization, country).newBody()
                             .value(BROWSE_ID, id)
                             .value("params", parameters)
-                            .done())
-                    .getBytes(StandardCharsets.UTF_8);
+                            .toBytes();
 
             final JsonObject jsonResponse = getJsonPostResponse(
                     "browse", body, localization);
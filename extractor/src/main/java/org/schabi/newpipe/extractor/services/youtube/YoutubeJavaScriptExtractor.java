@@ -1,17 +1,22 @@
 package org.schabi.newpipe.extractor.services.youtube;
 
-import org.jsoup.Jsoup;
-import org.jsoup.nodes.Document;
-import org.jsoup.nodes.Element;
-import org.jsoup.select.Elements;
+import static org.schabi.newpipe.extractor.utils.Utils.isNullOrEmpty;
+
 import org.schabi.newpipe.extractor.NewPipe;
+import org.schabi.newpipe.extractor.exceptions.ExtractionException;
 import org.schabi.newpipe.extractor.exceptions.ParsingException;
 import org.schabi.newpipe.extractor.localization.Localization;
+import org.schabi.newpipe.extractor.utils.ConcurrencyUtils;
 import org.schabi.newpipe.extractor.utils.Parser;
 
 import javax.annotation.Nonnull;
+import java.io.IOException;
 import java.net.MalformedURLException;
 import java.net.URL;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 /**
@@ -24,7 +29,9 @@ import java.util.regex.Pattern;
  *
  * <p>
  * It will try to get the player URL from YouTube's IFrame resource first, and from a YouTube embed
- * watch page as a fallback.
+ * watch page as a fallback. The embed watch page is requested when the IFrame resource fails, or
+ * when it takes longer than a short head start, so that a slow IFrame resource doesn't delay the
+ * fallback by a whole round trip.
  * </p>
  */
 final class YoutubeJavaScriptExtractor {
@@ -36,6 +43,15 @@ final class YoutubeJavaScriptExtractor {
             "player\\\\/([a-z0-9]{8})\\\\/");
     private static final Pattern EMBEDDED_WATCH_PAGE_JS_BASE_PLAYER_URL_PATTERN = Pattern.compile(
             "\"jsUrl\":\"(/s/player/[A-Za-z0-9]+/player_ias\\.vflset/[A-Za-z_-]+/base\\.js)\"");
+    private static final Pattern EMBEDDED_WATCH_PAGE_SCRIPT_SRC_PATTERN = Pattern.compile(
+            "<script\\b[^>]*?\\ssrc\\s*=\\s*[\"']([^\"']+)[\"']", Pattern.CASE_INSENSITIVE);
+    private static final long EMBED_WATCH_PAGE_HEAD_START_MILLIS = 500;
+
+    /**
+     * The ID of a video which is always available, used to fetch the embed watch page when no
+     * video ID is given.
+     */
+    static final String DEFAULT_VIDEO_ID = "jNQXAC9IVRw";
 
     private YoutubeJavaScriptExtractor() {
     }
@@ -43,26 +59,66 @@ final class YoutubeJavaScriptExtractor {
     /**
      * Extracts the JavaScript base player file.
      *
+     * <p>
+     * The embed watch page is only requested if the IFrame resource failed or didn't provide a
+     * valid URL, or if it is still running after {@link #EMBED_WATCH_PAGE_HEAD_START_MILLIS}. The
+     * URL from the IFrame resource is always preferred when it is valid.
+     * </p>
+     *
      * @param videoId the video ID used to get the JavaScript base player file (an empty one can be
      *                passed, even it is not recommend in order to spoof better official YouTube
-     *                clients)
+     *                clients, in which case {@link #DEFAULT_VIDEO_ID} is used)
      * @return the whole JavaScript base player file as a string
      * @throws ParsingException if the extraction of the file failed
      */
     @Nonnull
     static String extractJavaScriptPlayerCode(@Nonnull final String videoId)
             throws ParsingException {
-        String url;
+        final String embedVideoId = isNullOrEmpty(videoId) ? DEFAULT_VIDEO_ID : videoId;
+        final CompletableFuture<String> embedWatchPageUrl = new CompletableFuture<>();
+        final AtomicBoolean embedWatchPageRequested = new AtomicBoolean();
+        final Runnable requestEmbedWatchPage = () -> {
+            if (embedWatchPageUrl.isDone() || embedWatchPageRequested.getAndSet(true)) {
+                return;
+            }
+            try {
+                embedWatchPageUrl.complete(extractJavaScriptUrlWithEmbedWatchPage(embedVideoId));
+            } catch (final ParsingException | RuntimeException e) {
+                embedWatchPageUrl.completeExceptionally(e);
+            }
+        };
+        CompletableFuture.delayedExecutor(EMBED_WATCH_PAGE_HEAD_START_MILLIS,
+                TimeUnit.MILLISECONDS, NewPipe.getExecutor()).execute(requestEmbedWatchPage);
+
         try {
-            url = YoutubeJavaScriptExtractor.extractJavaScriptUrlWithIframeResource();
+            final String url = YoutubeJavaScriptExtractor.extractJavaScriptUrlWithIframeResource();
             final String playerJsUrl = YoutubeJavaScriptExtractor.cleanJavaScriptUrl(url);
 
             // Assert that the URL we extracted and built is valid
             new URL(playerJsUrl);
 
+            // The embed watch page is not needed anymore, don't request it if it isn't already
+            embedWatchPageUrl.cancel(false);
+
             return YoutubeJavaScriptExtractor.downloadJavaScriptCode(playerJsUrl);
         } catch (final Exception e) {
-            url = YoutubeJavaScriptExtractor.extractJavaScriptUrlWithEmbedWatchPage(videoId);
+            final String url;
+            try {
+                if (embedWatchPageUrl.isCancelled()) {
+                    // The IFrame resource provided a valid URL, but its file could not be
+                    // downloaded
+                    url = extractJavaScriptUrlWithEmbedWatchPage(embedVideoId);
+                } else {
+                    // Request the embed watch page now, if this has not been done after the head
+                    // start
+                    requestEmbedWatchPage.run();
+                    url = ConcurrencyUtils.await(embedWatchPageUrl);
+                }
+            } catch (final ParsingException parsingException) {
+                throw parsingException;
+            } catch (final IOException | ExtractionException exception) {
+                throw new ParsingException("Could not fetch embedded watch page", exception);
+            }
             final String playerJsUrl = YoutubeJavaScriptExtractor.cleanJavaScriptUrl(url);
 
             try {
@@ -114,13 +170,12 @@ final class YoutubeJavaScriptExtractor {
             throw new ParsingException("Could not fetch embedded watch page", e);
         }
 
-        // Parse HTML response with jsoup and look at script elements first
-        final Document doc = Jsoup.parse(embedPageContent);
-        final Elements elems = doc.select("script")
-                .attr("name", "player/base");
-        for (final Element elem : elems) {
+        // Look at the sources of script elements first, without parsing the whole HTML page
+        final Matcher scriptSourceMatcher =
+                EMBEDDED_WATCH_PAGE_SCRIPT_SRC_PATTERN.matcher(embedPageContent);
+        while (scriptSourceMatcher.find()) {
             // Script URLs should be relative and not absolute
-            final String playerUrl = elem.attr("src");
+            final String playerUrl = scriptSourceMatcher.group(1);
             if (playerUrl.contains("base.js")) {
                 return playerUrl;
             }
@@ -2,12 +2,16 @@ package org.schabi.newpipe.extractor.services.youtube;
 
 import org.schabi.newpipe.extractor.exceptions.ParsingException;
 import org.schabi.newpipe.extractor.utils.JavaScript;
+import org.schabi.newpipe.extractor.utils.MultiPatternScanner;
+import org.schabi.newpipe.extractor.utils.MultiPatternScanner.ScanResult;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Objects;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Manage the extraction and the usage of YouTube's player JavaScript needed data in the YouTube
@@ -30,7 +34,19 @@ public final class YoutubeJavaScriptPlayerManager {
     @Nonnull
     private static final Map<String, String> CACHED_THROTTLING_PARAMETERS = new HashMap<>();
 
+    /**
+     * The scanner of the patterns searched in the base JavaScript player code, so that the
+     * code, which is several megabytes long, is traversed once for all of them.
+     */
+    @Nonnull
+    private static final MultiPatternScanner PLAYER_CODE_SCANNER = new MultiPatternScanner(
+            Stream.concat(YoutubeSignatureUtils.SCANNED_PATTERNS.stream(),
+                            YoutubeThrottlingParameterUtils.SCANNED_PATTERNS.stream())
+                    .collect(Collectors.toList()));
+
     private static String cachedJavaScriptPlayerCode;
+    @Nullable
+    private static ScanResult cachedJavaScriptPlayerCodeScan;
 
     @Nullable
     private static Integer cachedSignatureTimestamp;
@@ -94,7 +110,7 @@ public final class YoutubeJavaScriptPlayerManager {
 
         try {
             cachedSignatureTimestamp = Integer.valueOf(
-                    YoutubeSignatureUtils.getSignatureTimestamp(cachedJavaScriptPlayerCode));
+                    YoutubeSignatureUtils.getSignatureTimestamp(cachedJavaScriptPlayerCodeScan));
         } catch (final ParsingException e) {
             // Store the exception for future calls of this method, in order to improve performance
             sigTimestampExtractionEx = e;
@@ -139,22 +155,7 @@ public final class YoutubeJavaScriptPlayerManager {
         }
 
         extractJavaScriptCodeIfNeeded(videoId);
-
-        if (cachedSignatureDeobfuscationFunction == null) {
-            try {
-                cachedSignatureDeobfuscationFunction = YoutubeSignatureUtils.getDeobfuscationCode(
-                        cachedJavaScriptPlayerCode);
-            } catch (final ParsingException e) {
-                // Store the exception for future calls of this method, in order to improve
-                // performance
-                sigDeobFuncExtractionEx = e;
-                throw e;
-            } catch (final Exception e) {
-                sigDeobFuncExtractionEx = new ParsingException(
-                        "Could not get signature parameter deobfuscation JavaScript function", e);
-                throw e;
-            }
-        }
+        extractSignatureDeobfuscationFunctionIfNeeded();
 
         try {
             // Return an empty parameter in the case the function returns null
@@ -227,36 +228,7 @@ public final class YoutubeJavaScriptPlayerManager {
         }
 
         extractJavaScriptCodeIfNeeded(videoId);
-
-        // If the throttling parameter deobfuscation function has been not extracted on a previous
-        // call, this mean that we will fail to extract it on next calls too if the player code has
-        // been not changed
-        // Throw again the corresponding stored exception in this case to improve performance
-        if (throttlingDeobfFuncExtractionEx != null) {
-            throw throttlingDeobfFuncExtractionEx;
-        }
-
-        if (cachedThrottlingDeobfuscationFunction == null) {
-            try {
-                cachedThrottlingDeobfuscationFunctionName =
-                        YoutubeThrottlingParameterUtils.getDeobfuscationFunctionName(
-                                cachedJavaScriptPlayerCode);
-
-                cachedThrottlingDeobfuscationFunction =
-                        YoutubeThrottlingParameterUtils.getDeobfuscationFunction(
-                                cachedJavaScriptPlayerCode,
-                                cachedThrottlingDeobfuscationFunctionName);
-            } catch (final ParsingException e) {
-                // Store the exception for future calls of this method, in order to improve
-                // performance
-                throttlingDeobfFuncExtractionEx = e;
-                throw e;
-            } catch (final Exception e) {
-                throttlingDeobfFuncExtractionEx = new ParsingException(
-                        "Could not get throttling parameter deobfuscation JavaScript function", e);
-                throw e;
-            }
-        }
+        extractThrottlingDeobfuscationFunctionIfNeeded();
 
         try {
             final String deobfuscatedThrottlingParameter = JavaScript.run(
@@ -301,6 +273,7 @@ public final class YoutubeJavaScriptPlayerManager {
      */
     public static void clearAllCaches() {
         cachedJavaScriptPlayerCode = null;
+        cachedJavaScriptPlayerCodeScan = null;
         cachedSignatureDeobfuscationFunction = null;
         cachedThrottlingDeobfuscationFunctionName = null;
         cachedThrottlingDeobfuscationFunction = null;
@@ -330,6 +303,97 @@ public final class YoutubeJavaScriptPlayerManager {
         CACHED_THROTTLING_PARAMETERS.clear();
     }
 
+    /**
+     * Fetch the base JavaScript player file and extract the signature timestamp and the
+     * deobfuscation functions, if they are not already cached.
+     *
+     * <p>
+     * This can be called in advance, for instance with
+     * {@link org.schabi.newpipe.extractor.NewPipe#warmUp(
+     * org.schabi.newpipe.extractor.StreamingService...) NewPipe.warmUp}, so that the first stream
+     * extraction doesn't have to wait for the player file.
+     * </p>
+     *
+     * @throws ParsingException if the extraction of the base JavaScript player file, the signature
+     * timestamp or one of the deobfuscation functions failed
+     */
+    public static void warmUp() throws ParsingException {
+        getSignatureTimestamp(YoutubeJavaScriptExtractor.DEFAULT_VIDEO_ID);
+        extractSignatureDeobfuscationFunctionIfNeeded();
+        extractThrottlingDeobfuscationFunctionIfNeeded();
+    }
+
+    /**
+     * Extract the signature deobfuscation function from the cached JavaScript code if it isn't
+     * already cached.
+     *
+     * @throws ParsingException if the extraction of the function failed, now or on a previous call
+     */
+    private static void extractSignatureDeobfuscationFunctionIfNeeded() throws ParsingException {
+        // If the signature deobfuscation function has been not extracted on a previous call, this
+        // mean that we will fail to extract it on next calls too if the player code has been not
+        // changed
+        // Throw again the corresponding stored exception in this case to improve performance
+        if (sigDeobFuncExtractionEx != null) {
+            throw sigDeobFuncExtractionEx;
+        }
+
+        if (cachedSignatureDeobfuscationFunction == null) {
+            try {
+                cachedSignatureDeobfuscationFunction = YoutubeSignatureUtils.getDeobfuscationCode(
+                        cachedJavaScriptPlayerCodeScan);
+            } catch (final ParsingException e) {
+                // Store the exception for future calls of this method, in order to improve
+                // performance
+                sigDeobFuncExtractionEx = e;
+                throw e;
+            } catch (final Exception e) {
+                sigDeobFuncExtractionEx = new ParsingException(
+                        "Could not get signature parameter deobfuscation JavaScript function", e);
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * Extract the throttling parameter deobfuscation function from the cached JavaScript code if
+     * it isn't already cached.
+     *
+     * @throws ParsingException if the extraction of the function failed, now or on a previous call
+     */
+    private static void extractThrottlingDeobfuscationFunctionIfNeeded()
+            throws ParsingException {
+        // If the throttling parameter deobfuscation function has been not extracted on a previous
+        // call, this mean that we will fail to extract it on next calls too if the player code has
+        // been not changed
+        // Throw again the corresponding stored exception in this case to improve performance
+        if (throttlingDeobfFuncExtractionEx != null) {
+            throw throttlingDeobfFuncExtractionEx;
+        }
+
+        if (cachedThrottlingDeobfuscationFunction == null) {
+            try {
+                cachedThrottlingDeobfuscationFunctionName =
+                        YoutubeThrottlingParameterUtils.getDeobfuscationFunctionName(
+                                cachedJavaScriptPlayerCodeScan);
+
+                cachedThrottlingDeobfuscationFunction =
+                        YoutubeThrottlingParameterUtils.getDeobfuscationFunction(
+                                cachedJavaScriptPlayerCode,
+                                cachedThrottlingDeobfuscationFunctionName);
+            } catch (final ParsingException e) {
+                // Store the exception for future calls of this method, in order to improve
+                // performance
+                throttlingDeobfFuncExtractionEx = e;
+                throw e;
+            } catch (final Exception e) {
+                throttlingDeobfFuncExtractionEx = new ParsingException(
+                        "Could not get throttling parameter deobfuscation JavaScript function", e);
+                throw e;
+            }
+        }
+    }
+
     /**
      * Extract the JavaScript code if it isn't already cached.
      *
@@ -338,11 +402,13 @@ public final class YoutubeJavaScriptPlayerManager {
      *                clients)
      * @throws ParsingException if the extraction of the base JavaScript player file failed
      */
-    private static void extractJavaScriptCodeIfNeeded(@Nonnull final String videoId)
+    private static synchronized void extractJavaScriptCodeIfNeeded(@Nonnull final String videoId)
             throws ParsingException {
         if (cachedJavaScriptPlayerCode == null) {
-            cachedJavaScriptPlayerCode = YoutubeJavaScriptExtractor.extractJavaScriptPlayerCode(
-                    videoId);
+            final String javaScriptPlayerCode =
+                    YoutubeJavaScriptExtractor.extractJavaScriptPlayerCode(videoId);
+            cachedJavaScriptPlayerCodeScan = PLAYER_CODE_SCANNER.scan(javaScriptPlayerCode);
+            cachedJavaScriptPlayerCode = javaScriptPlayerCode;
         }
     }
 }
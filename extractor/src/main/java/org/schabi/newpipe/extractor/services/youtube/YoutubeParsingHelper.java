@@ -48,6 +48,7 @@ import com.grack.nanojson.JsonWriter;
 import org.jsoup.nodes.Entities;
 import org.schabi.newpipe.extractor.Image;
 import org.schabi.newpipe.extractor.Image.ResolutionLevel;
+import org.schabi.newpipe.extractor.downloader.HedgingPolicy;
 import org.schabi.newpipe.extractor.downloader.Response;
 import org.schabi.newpipe.extractor.exceptions.AccountTerminatedException;
 import org.schabi.newpipe.extractor.exceptions.ContentNotAvailableException;
@@ -71,10 +72,12 @@ import java.time.LocalDate;
 import java.time.OffsetDateTime;
 import java.time.ZoneOffset;
 import java.time.format.DateTimeParseException;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.Random;
 import java.util.Set;
@@ -198,9 +201,53 @@ public final class YoutubeParsingHelper {
             "invidious.moomoo.me", "yt.cyberhost.uk");
     private static final Set<String> YOUTUBE_URLS = Set.of("youtube.com", "www.youtube.com",
             "m.youtube.com", "music.youtube.com");
+    /**
+     * All the hosts which can be handled by YouTube's link handler factories, including
+     * {@code googleads.g.doubleclick.net}, whose URLs are detected as ads.
+     */
+    private static final Set<String> SUPPORTED_URL_HOSTS = Stream.of(
+            YOUTUBE_URLS.stream(), INVIDIOUS_URLS.stream(),
+            Stream.of("www.youtube-nocookie.com", "youtu.be", "hooktube.com", "y2u.be",
+                    "googleads.g.doubleclick.net"))
+            .flatMap(hosts -> hosts)
+            .collect(Collectors.toUnmodifiableSet());
 
     private static boolean consentAccepted = false;
 
+    @Nullable
+    private static volatile HedgingPolicy hedgingPolicy;
+
+    /**
+     * The headers returned by {@link #getYouTubeHeaders()}, which only change with the client
+     * version and the consent cookie, so they are built once per combination of these values.
+     */
+    private static volatile CachedHeaders youtubeHeaders;
+    /**
+     * The headers returned by {@link #getYoutubeMusicHeaders()}, which only change with the
+     * YouTube Music client version.
+     */
+    private static volatile CachedHeaders youtubeMusicHeaders;
+
+    private static final class CachedHeaders {
+        @Nullable
+        private final String clientVersion;
+        private final boolean consentAccepted;
+        @Nonnull
+        private final Map<String, List<String>> headers;
+
+        private CachedHeaders(@Nullable final String clientVersion,
+                              final boolean consentAccepted,
+                              @Nonnull final Map<String, List<String>> headers) {
+            this.clientVersion = clientVersion;
+            this.consentAccepted = consentAccepted;
+            this.headers = Collections.unmodifiableMap(headers);
+        }
+
+        private boolean isFor(@Nullable final String version, final boolean consent) {
+            return consentAccepted == consent && Objects.equals(clientVersion, version);
+        }
+    }
+
     public static boolean isGoogleURL(final String url) {
         final String cachedUrl = extractCachedUrlIfNeeded(url);
         try {
@@ -211,6 +258,15 @@ public final class YoutubeParsingHelper {
         }
     }
 
+    /**
+     * @return the lowercase hosts of all the URLs which can be handled by YouTube's link handler
+     * factories
+     */
+    @Nonnull
+    public static Set<String> getSupportedUrlHosts() {
+        return SUPPORTED_URL_HOSTS;
+    }
+
     public static boolean isYoutubeURL(@Nonnull final URL url) {
         return YOUTUBE_URLS.contains(url.getHost().toLowerCase(Locale.ROOT));
     }
@@ -625,6 +681,7 @@ public final class YoutubeParsingHelper {
     public static void resetClientVersion() {
         clientVersion = null;
         clientVersionExtracted = false;
+        InnertubeContextTemplate.clearCache();
     }
 
     /**
@@ -1023,9 +1080,62 @@ public final class YoutubeParsingHelper {
             throws IOException, ExtractionException {
         final var headers = getYouTubeHeaders();
 
-        return JsonUtils.toJsonObject(getValidJsonResponseBody(
-                getDownloader().postWithContentTypeJson(YOUTUBEI_V1_URL + endpoint + "?"
-                        + DISABLE_PRETTY_PRINT_PARAMETER, headers, body, localization)));
+        return JsonUtils.toJsonObject(getValidJsonResponseBody(postInnertubeRequest(endpoint,
+                YOUTUBEI_V1_URL + endpoint + "?" + DISABLE_PRETTY_PRINT_PARAMETER, headers, body,
+                localization)));
+    }
+
+    /**
+     * Send a POST request with a JSON body to an InnerTube endpoint, hedging it with the
+     * {@link #setHedgingPolicy(HedgingPolicy) hedging policy} set, if any.
+     *
+     * @param endpoint     the name of the InnerTube endpoint requested, such as {@code player}
+     *                     or {@code browse}, under which latencies are tracked by the hedging
+     *                     policy; it can be suffixed with the client name, such as
+     *                     {@code player/ANDROID}, to track the latencies of each client apart
+     * @param url          the full URL of the request
+     * @param headers      the headers of the request
+     * @param body         the JSON body of the request
+     * @param localization the localization of the request
+     * @return the response of the request
+     */
+    @Nonnull
+    static Response postInnertubeRequest(@Nonnull final String endpoint,
+                                         @Nonnull final String url,
+                                         @Nonnull final Map<String, List<String>> headers,
+                                         @Nonnull final byte[] body,
+                                         @Nonnull final Localization localization)
+            throws IOException, ExtractionException {
+        final HedgingPolicy policy = hedgingPolicy;
+        if (policy == null) {
+            return getDownloader().postWithContentTypeJson(url, headers, body, localization);
+        }
+        return policy.execute(endpoint, () ->
+                getDownloader().postWithContentTypeJson(url, headers, body, localization));
+    }
+
+    /**
+     * Set the policy used to hedge InnerTube requests, which is disabled by default.
+     *
+     * <p>
+     * InnerTube requests made through {@link #getJsonPostResponse(String, byte[], Localization)}
+     * and the requests of player responses are then hedged: if one of them has not completed
+     * after the latency percentile of its endpoint configured in the policy, a duplicate request
+     * is issued and the first response received is used.
+     * </p>
+     *
+     * @param policy the hedging policy to use, or {@code null} to disable hedging
+     */
+    public static void setHedgingPolicy(@Nullable final HedgingPolicy policy) {
+        hedgingPolicy = policy;
+    }
+
+    /**
+     * @return the policy used to hedge InnerTube requests, or {@code null} if hedging is disabled
+     */
+    @Nullable
+    public static HedgingPolicy getHedgingPolicy() {
+        return hedgingPolicy;
     }
 
     @Nonnull
@@ -1112,24 +1222,42 @@ public final class YoutubeParsingHelper {
     }
 
     /**
-     * Returns a {@link Map} containing the required YouTube Music headers.
+     * Returns an unmodifiable {@link Map} containing the required YouTube Music headers.
      */
     @Nonnull
     public static Map<String, List<String>> getYoutubeMusicHeaders() {
+        final String version = youtubeMusicClientVersion;
+        final CachedHeaders cachedHeaders = youtubeMusicHeaders;
+        if (cachedHeaders != null && cachedHeaders.isFor(version, false)) {
+            return cachedHeaders.headers;
+        }
+
         final var headers = new HashMap<>(getOriginReferrerHeaders(YOUTUBE_MUSIC_URL));
-        headers.putAll(getClientHeaders(WEB_REMIX_CLIENT_ID, youtubeMusicClientVersion));
-        return headers;
+        headers.putAll(getClientHeaders(WEB_REMIX_CLIENT_ID, version));
+        final CachedHeaders newCachedHeaders = new CachedHeaders(version, false, headers);
+        youtubeMusicHeaders = newCachedHeaders;
+        return newCachedHeaders.headers;
     }
 
     /**
-     * Returns a {@link Map} containing the required YouTube headers, including the
+     * Returns an unmodifiable {@link Map} containing the required YouTube headers, including the
      * <code>CONSENT</code> cookie to prevent redirects to <code>consent.youtube.com</code>
      */
     public static Map<String, List<String>> getYouTubeHeaders()
             throws ExtractionException, IOException {
-        final var headers = getClientInfoHeaders();
+        final String version = getClientVersion();
+        final boolean consent = isConsentAccepted();
+        final CachedHeaders cachedHeaders = youtubeHeaders;
+        if (cachedHeaders != null && cachedHeaders.isFor(version, consent)) {
+            return cachedHeaders.headers;
+        }
+
+        final var headers = new HashMap<>(getOriginReferrerHeaders("https://www.youtube.com"));
+        headers.putAll(getClientHeaders(WEB_CLIENT_ID, version));
         headers.put("Cookie", List.of(generateConsentCookie()));
-        return headers;
+        final CachedHeaders newCachedHeaders = new CachedHeaders(version, consent, headers);
+        youtubeHeaders = newCachedHeaders;
+        return newCachedHeaders.headers;
     }
 
     /**
@@ -1482,11 +1610,10 @@ public final class YoutubeParsingHelper {
             @Nonnull final String innertubeDomainAndVersionEndpoint,
             @Nullable final String embedUrl,
             final boolean useGuideEndpoint) throws IOException, ExtractionException {
-        final JsonBuilder<JsonObject> builder = prepareJsonBuilder(
-                localization, contentCountry, innertubeClientRequestInfo, embedUrl);
-
-        final byte[] body = JsonWriter.string(builder.done())
-                .getBytes(StandardCharsets.UTF_8);
+        final byte[] body = InnertubeContextTemplate.of(
+                localization, contentCountry, innertubeClientRequestInfo, embedUrl)
+                .newBody(innertubeClientRequestInfo.clientInfo.visitorData)
+                .toBytes();
 
         final String visitorData = JsonUtils.toJsonObject(getValidJsonResponseBody(getDownloader()
                 .postWithContentTypeJson(
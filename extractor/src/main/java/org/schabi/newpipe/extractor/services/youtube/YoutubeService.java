@@ -46,8 +46,11 @@ import org.schabi.newpipe.extractor.services.youtube.linkHandler.YoutubeTrending
 import org.schabi.newpipe.extractor.stream.StreamExtractor;
 import org.schabi.newpipe.extractor.subscription.SubscriptionExtractor;
 import org.schabi.newpipe.extractor.suggestion.SuggestionExtractor;
+import org.schabi.newpipe.extractor.utils.ConcurrencyUtils;
 
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 import javax.annotation.Nonnull;
 
@@ -102,6 +105,21 @@ public class YoutubeService extends StreamingService {
         return YoutubePlaylistLinkHandlerFactory.getInstance();
     }
 
+    @Nonnull
+    @Override
+    public Set<String> getSupportedUrlHosts() {
+        return YoutubeParsingHelper.getSupportedUrlHosts();
+    }
+
+    @Nonnull
+    @Override
+    public Map<String, ConcurrencyUtils.ThrowingRunnable> getWarmUpTasks() {
+        return Map.of(
+                "clientVersion", YoutubeParsingHelper::getClientVersion,
+                "youtubeMusicClientVersion", YoutubeParsingHelper::getYoutubeMusicClientVersion,
+                "javaScriptPlayer", YoutubeJavaScriptPlayerManager::warmUp);
+    }
+
     @Override
     public SearchQueryHandlerFactory getSearchQHFactory() {
         return YoutubeSearchQueryHandlerFactory.getInstance();
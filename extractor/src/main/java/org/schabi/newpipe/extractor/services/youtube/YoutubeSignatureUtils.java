@@ -1,14 +1,22 @@
 package org.schabi.newpipe.extractor.services.youtube;
 
-import static org.schabi.newpipe.extractor.utils.Parser.matchGroup1MultiplePatterns;
-
 import org.schabi.newpipe.extractor.exceptions.ParsingException;
 import org.schabi.newpipe.extractor.utils.JavaScript;
+import org.schabi.newpipe.extractor.utils.MultiPatternScanner;
+import org.schabi.newpipe.extractor.utils.MultiPatternScanner.AnchoredPattern;
+import org.schabi.newpipe.extractor.utils.MultiPatternScanner.ScanResult;
 import org.schabi.newpipe.extractor.utils.Parser;
 import org.schabi.newpipe.extractor.utils.jsextractor.JavaScriptExtractor;
 
 import javax.annotation.Nonnull;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
 import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Utility class to get the signature timestamp of YouTube's base JavaScript player and deobfuscate
@@ -22,23 +30,60 @@ final class YoutubeSignatureUtils {
      */
     static final String DEOBFUSCATION_FUNCTION_NAME = "deobfuscate";
 
-    private static final Pattern[] FUNCTION_REGEXES = {
+    /**
+     * The maximum number of characters between the start of a match of the patterns of the
+     * deobfuscation function name and their anchor, which contains function names.
+     */
+    private static final int MAX_ANCHOR_OFFSET = 128;
+
+    private static final int MAX_CACHED_FUNCTION_PATTERNS = 16;
+
+    /**
+     * The patterns of the deobfuscation functions used when the lexer fails, by function name.
+     *
+     * <p>
+     * Function names only change with the player version, so only a few patterns are needed.
+     * </p>
+     */
+    private static final Map<String, Pattern> FUNCTION_PATTERNS_BY_NAME =
+            Collections.synchronizedMap(new LinkedHashMap<String, Pattern>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(final Map.Entry<String, Pattern> eldest) {
+                    return size() > MAX_CACHED_FUNCTION_PATTERNS;
+                }
+            });
+
+    private static final List<AnchoredPattern> FUNCTION_PATTERNS = List.of(
             // CHECKSTYLE:OFF
-            Pattern.compile("\\bm=([a-zA-Z0-9$]{2,})\\(decodeURIComponent\\(h\\.s\\)\\)"),
-            Pattern.compile("\\bc&&\\(c=([a-zA-Z0-9$]{2,})\\(decodeURIComponent\\(c\\)\\)"),
-            Pattern.compile("(?:\\b|[^a-zA-Z0-9$])([a-zA-Z0-9$]{2,})\\s*=\\s*function\\(\\s*a\\s*\\)\\s*\\{\\s*a\\s*=\\s*a\\.split\\(\\s*\"\"\\s*\\)"),
-            Pattern.compile("([\\w$]+)\\s*=\\s*function\\((\\w+)\\)\\{\\s*\\2=\\s*\\2\\.split\\(\"\"\\)\\s*;")
+            new AnchoredPattern(Pattern.compile("\\bm=([a-zA-Z0-9$]{2,})\\(decodeURIComponent\\(h\\.s\\)\\)"),
+                    "(decodeURIComponent(h.s))", MAX_ANCHOR_OFFSET),
+            new AnchoredPattern(Pattern.compile("\\bc&&\\(c=([a-zA-Z0-9$]{2,})\\(decodeURIComponent\\(c\\)\\)"),
+                    "(decodeURIComponent(c))", MAX_ANCHOR_OFFSET),
+            new AnchoredPattern(Pattern.compile("(?:\\b|[^a-zA-Z0-9$])([a-zA-Z0-9$]{2,})\\s*=\\s*function\\(\\s*a\\s*\\)\\s*\\{\\s*a\\s*=\\s*a\\.split\\(\\s*\"\"\\s*\\)"),
+                    "a.split(", MAX_ANCHOR_OFFSET),
+            new AnchoredPattern(Pattern.compile("([\\w$]+)\\s*=\\s*function\\((\\w+)\\)\\{\\s*\\2=\\s*\\2\\.split\\(\"\"\\)\\s*;"),
+                    ".split(\"\")", MAX_ANCHOR_OFFSET)
             // CHECKSTYLE:ON
-    };
+    );
 
-    private static final String STS_REGEX = "signatureTimestamp[=:](\\d+)";
+    private static final AnchoredPattern STS_PATTERN = new AnchoredPattern(
+            Pattern.compile("signatureTimestamp[=:](\\d+)"), "signatureTimestamp", 0);
+
+    /**
+     * The patterns searched in the base JavaScript player code by this class, which must be
+     * given to the {@link MultiPatternScanner} of the code.
+     */
+    static final List<AnchoredPattern> SCANNED_PATTERNS = Stream.concat(
+            FUNCTION_PATTERNS.stream(), Stream.of(STS_PATTERN))
+            .collect(Collectors.toUnmodifiableList());
 
     private static final String DEOBF_FUNC_REGEX_START = "(";
     private static final String DEOBF_FUNC_REGEX_END = "=function\\([a-zA-Z0-9_]+\\)\\{.+?\\})";
 
     private static final String SIG_DEOBF_HELPER_OBJ_NAME_REGEX = ";([A-Za-z0-9_\\$]{2,})\\...\\(";
-    private static final String SIG_DEOBF_HELPER_OBJ_REGEX_START = "(var ";
-    private static final String SIG_DEOBF_HELPER_OBJ_REGEX_END = "=\\{(?>.|\\n)+?\\}\\};)";
+    private static final String SIG_DEOBF_HELPER_OBJ_START = "var ";
+    private static final String SIG_DEOBF_HELPER_OBJ_BODY_START = "={";
+    private static final String SIG_DEOBF_HELPER_OBJ_END = "}};";
 
     private YoutubeSignatureUtils() {
     }
@@ -46,34 +91,35 @@ final class YoutubeSignatureUtils {
     /**
      * Get the signature timestamp property of YouTube's base JavaScript file.
      *
-     * @param javaScriptPlayerCode the complete JavaScript base player code
+     * @param playerCodeScan the scan of the complete JavaScript base player code
      * @return the signature timestamp
      * @throws ParsingException if the signature timestamp couldn't be extracted
      */
     @Nonnull
-    static String getSignatureTimestamp(@Nonnull final String javaScriptPlayerCode)
+    static String getSignatureTimestamp(@Nonnull final ScanResult playerCodeScan)
             throws ParsingException {
-        try {
-            return Parser.matchGroup1(STS_REGEX, javaScriptPlayerCode);
-        } catch (final ParsingException e) {
+        final Matcher matcher = playerCodeScan.find(STS_PATTERN);
+        if (matcher == null) {
             throw new ParsingException(
-                    "Could not extract signature timestamp from JavaScript code", e);
+                    "Could not extract signature timestamp from JavaScript code");
         }
+        return matcher.group(1);
     }
 
     /**
      * Get the signature deobfuscation code of YouTube's base JavaScript file.
      *
-     * @param javaScriptPlayerCode the complete JavaScript base player code
+     * @param playerCodeScan the scan of the complete JavaScript base player code
      * @return the signature deobfuscation code
      * @throws ParsingException if the signature deobfuscation code couldn't be extracted
      */
     @Nonnull
-    static String getDeobfuscationCode(@Nonnull final String javaScriptPlayerCode)
+    static String getDeobfuscationCode(@Nonnull final ScanResult playerCodeScan)
             throws ParsingException {
+        final String javaScriptPlayerCode = playerCodeScan.getText();
         try {
             final String deobfuscationFunctionName = getDeobfuscationFunctionName(
-                    javaScriptPlayerCode);
+                    playerCodeScan);
 
             String deobfuscationFunction;
             try {
@@ -104,10 +150,10 @@ final class YoutubeSignatureUtils {
     }
 
     @Nonnull
-    private static String getDeobfuscationFunctionName(@Nonnull final String javaScriptPlayerCode)
+    private static String getDeobfuscationFunctionName(@Nonnull final ScanResult playerCodeScan)
             throws ParsingException {
         try {
-            return matchGroup1MultiplePatterns(FUNCTION_REGEXES, javaScriptPlayerCode);
+            return playerCodeScan.findFirst(FUNCTION_PATTERNS).group(1);
         } catch (final Parser.RegexException e) {
             throw new ParsingException(
                     "Could not find deobfuscation function with any of the known patterns", e);
@@ -127,9 +173,9 @@ final class YoutubeSignatureUtils {
     private static String getDeobfuscateFunctionWithRegex(
             @Nonnull final String javaScriptPlayerCode,
             @Nonnull final String deobfuscationFunctionName) throws ParsingException {
-        final String functionPattern = DEOBF_FUNC_REGEX_START
-                + Pattern.quote(deobfuscationFunctionName)
-                + DEOBF_FUNC_REGEX_END;
+        final Pattern functionPattern = FUNCTION_PATTERNS_BY_NAME.computeIfAbsent(
+                deobfuscationFunctionName, name -> Pattern.compile(DEOBF_FUNC_REGEX_START
+                        + Pattern.quote(name) + DEOBF_FUNC_REGEX_END));
         return "var " + Parser.matchGroup1(functionPattern, javaScriptPlayerCode);
     }
 
@@ -137,10 +183,23 @@ final class YoutubeSignatureUtils {
     private static String getHelperObject(@Nonnull final String javaScriptPlayerCode,
                                           @Nonnull final String helperObjectName)
             throws ParsingException {
-        final String helperPattern = SIG_DEOBF_HELPER_OBJ_REGEX_START
-                + Pattern.quote(helperObjectName)
-                + SIG_DEOBF_HELPER_OBJ_REGEX_END;
-        return Parser.matchGroup1(helperPattern, javaScriptPlayerCode)
+        // The helper object is the code from its declaration to the first "}};" after at least
+        // one character of its body
+        final String helperStart = SIG_DEOBF_HELPER_OBJ_START + helperObjectName
+                + SIG_DEOBF_HELPER_OBJ_BODY_START;
+        final int start = javaScriptPlayerCode.indexOf(helperStart);
+        if (start == -1) {
+            throw new ParsingException(
+                    "Could not find signature deobfuscation helper object " + helperObjectName);
+        }
+        final int end = javaScriptPlayerCode.indexOf(SIG_DEOBF_HELPER_OBJ_END,
+                start + helperStart.length() + 1);
+        if (end == -1) {
+            throw new ParsingException(
+                    "Could not find the end of signature deobfuscation helper object "
+                            + helperObjectName);
+        }
+        return javaScriptPlayerCode.substring(start, end + SIG_DEOBF_HELPER_OBJ_END.length())
                 .replace("\n", "");
     }
 }
@@ -1,8 +1,6 @@
 package org.schabi.newpipe.extractor.services.youtube;
 
-import com.grack.nanojson.JsonBuilder;
 import com.grack.nanojson.JsonObject;
-import com.grack.nanojson.JsonWriter;
 import org.schabi.newpipe.extractor.exceptions.ExtractionException;
 import org.schabi.newpipe.extractor.localization.ContentCountry;
 import org.schabi.newpipe.extractor.localization.Localization;
@@ -11,16 +9,20 @@ import org.schabi.newpipe.extractor.utils.JsonUtils;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import java.io.IOException;
-import java.nio.charset.StandardCharsets;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
-import static org.schabi.newpipe.extractor.NewPipe.getDownloader;
+import static org.schabi.newpipe.extractor.services.youtube.ClientsConstants.ANDROID_CLIENT_NAME;
+import static org.schabi.newpipe.extractor.services.youtube.ClientsConstants.IOS_CLIENT_NAME;
 import static org.schabi.newpipe.extractor.services.youtube.ClientsConstants.TVHTML5_CLIENT_ID;
+import static org.schabi.newpipe.extractor.services.youtube.ClientsConstants.TVHTML5_CLIENT_NAME;
 import static org.schabi.newpipe.extractor.services.youtube.ClientsConstants.TVHTML5_CLIENT_VERSION;
 import static org.schabi.newpipe.extractor.services.youtube.ClientsConstants.TVHTML5_USER_AGENT;
+import static org.schabi.newpipe.extractor.services.youtube.ClientsConstants.WEB_CLIENT_NAME;
 import static org.schabi.newpipe.extractor.services.youtube.ClientsConstants.WEB_EMBEDDED_CLIENT_ID;
+import static org.schabi.newpipe.extractor.services.youtube.ClientsConstants.WEB_EMBEDDED_CLIENT_NAME;
 import static org.schabi.newpipe.extractor.services.youtube.ClientsConstants.WEB_EMBEDDED_CLIENT_VERSION;
 import static org.schabi.newpipe.extractor.services.youtube.YoutubeParsingHelper.CONTENT_CHECK_OK;
 import static org.schabi.newpipe.extractor.services.youtube.YoutubeParsingHelper.CPN;
@@ -37,15 +39,40 @@ import static org.schabi.newpipe.extractor.services.youtube.YoutubeParsingHelper
 import static org.schabi.newpipe.extractor.services.youtube.YoutubeParsingHelper.getOriginReferrerHeaders;
 import static org.schabi.newpipe.extractor.services.youtube.YoutubeParsingHelper.getValidJsonResponseBody;
 import static org.schabi.newpipe.extractor.services.youtube.YoutubeParsingHelper.getYouTubeHeaders;
-import static org.schabi.newpipe.extractor.services.youtube.YoutubeParsingHelper.prepareJsonBuilder;
+import static org.schabi.newpipe.extractor.services.youtube.YoutubeParsingHelper.postInnertubeRequest;
 
 public final class YoutubeStreamHelper {
 
     private static final String PLAYER = "player";
+    // The latencies of player requests are tracked per client by hedging policies, as clients
+    // don't share the same latencies
+    private static final String WEB_PLAYER = PLAYER + "/" + WEB_CLIENT_NAME;
+    private static final String TVHTML5_PLAYER = PLAYER + "/" + TVHTML5_CLIENT_NAME;
+    private static final String WEB_EMBEDDED_PLAYER = PLAYER + "/" + WEB_EMBEDDED_CLIENT_NAME;
+    private static final String ANDROID_PLAYER = PLAYER + "/" + ANDROID_CLIENT_NAME;
+    private static final String IOS_PLAYER = PLAYER + "/" + IOS_CLIENT_NAME;
+    private static final String REEL_ITEM_WATCH = "reel/reel_item_watch";
     private static final String SERVICE_INTEGRITY_DIMENSIONS = "serviceIntegrityDimensions";
     private static final String PO_TOKEN = "poToken";
     private static final String BASE_YT_DESKTOP_WATCH_URL = "https://www.youtube.com/watch?v=";
 
+    // The headers of the TVHTML5 and WEB_EMBEDDED_PLAYER clients only depend on constants
+    private static final Map<String, List<String>> TVHTML5_HEADERS;
+    private static final Map<String, List<String>> WEB_EMBEDDED_HEADERS;
+
+    static {
+        final Map<String, List<String>> tvHtml5Headers = new HashMap<>(
+                getClientHeaders(TVHTML5_CLIENT_ID, TVHTML5_CLIENT_VERSION));
+        tvHtml5Headers.putAll(getOriginReferrerHeaders("https://www.youtube.com"));
+        tvHtml5Headers.put("User-Agent", List.of(TVHTML5_USER_AGENT));
+        TVHTML5_HEADERS = Collections.unmodifiableMap(tvHtml5Headers);
+
+        final Map<String, List<String>> webEmbeddedHeaders = new HashMap<>(
+                getClientHeaders(WEB_EMBEDDED_CLIENT_ID, WEB_EMBEDDED_CLIENT_VERSION));
+        webEmbeddedHeaders.putAll(getOriginReferrerHeaders("https://www.youtube.com"));
+        WEB_EMBEDDED_HEADERS = Collections.unmodifiableMap(webEmbeddedHeaders);
+    }
+
     private YoutubeStreamHelper() {
     }
 
@@ -66,20 +93,18 @@ public final class YoutubeStreamHelper {
                 YoutubeParsingHelper.getVisitorDataFromInnertube(innertubeClientRequestInfo,
                         localization, contentCountry, headers, YOUTUBEI_V1_URL, null, false);
 
-        final JsonBuilder<JsonObject> builder = prepareJsonBuilder(localization, contentCountry,
-                innertubeClientRequestInfo, null);
+        final InnertubeContextTemplate.RequestBody body = InnertubeContextTemplate.of(
+                localization, contentCountry, innertubeClientRequestInfo, null)
+                .newBody(innertubeClientRequestInfo.clientInfo.visitorData);
 
-        addVideoIdCpnAndOkChecks(builder, videoId, null);
+        addVideoIdCpnAndOkChecks(body, videoId, null);
 
-        final byte[] body = JsonWriter.string(builder.done())
-                .getBytes(StandardCharsets.UTF_8);
 
         final String url = YOUTUBEI_V1_URL + PLAYER + "?" + DISABLE_PRETTY_PRINT_PARAMETER
                 + "&$fields=microformat,playabilityStatus,storyboards,videoDetails";
 
         return JsonUtils.toJsonObject(getValidJsonResponseBody(
-                getDownloader().postWithContentTypeJson(
-                        url, headers, body, localization)));
+                postInnertubeRequest(WEB_PLAYER, url, headers, body.toBytes(), localization)));
     }
 
     @Nonnull
@@ -92,10 +117,7 @@ public final class YoutubeStreamHelper {
         final InnertubeClientRequestInfo innertubeClientRequestInfo =
                 InnertubeClientRequestInfo.ofTvHtml5Client();
 
-        final Map<String, List<String>> headers = new HashMap<>(
-                getClientHeaders(TVHTML5_CLIENT_ID, TVHTML5_CLIENT_VERSION));
-        headers.putAll(getOriginReferrerHeaders("https://www.youtube.com"));
-        headers.put("User-Agent", List.of(TVHTML5_USER_AGENT));
+        final Map<String, List<String>> headers = TVHTML5_HEADERS;
 
         // We must always pass a valid visitorData to get valid player responses, which needs to be
         // got from YouTube
@@ -105,20 +127,19 @@ public final class YoutubeStreamHelper {
                 YoutubeParsingHelper.getVisitorDataFromInnertube(innertubeClientRequestInfo,
                         localization, contentCountry, headers, YOUTUBEI_V1_URL, null, true);
 
-        final JsonBuilder<JsonObject> builder = prepareJsonBuilder(localization, contentCountry,
-                innertubeClientRequestInfo, null);
+        final InnertubeContextTemplate.RequestBody body = InnertubeContextTemplate.of(
+                localization, contentCountry, innertubeClientRequestInfo, null)
+                .newBody(innertubeClientRequestInfo.clientInfo.visitorData);
 
-        addVideoIdCpnAndOkChecks(builder, videoId, cpn);
+        addVideoIdCpnAndOkChecks(body, videoId, cpn);
 
-        addPlaybackContext(builder, BASE_YT_DESKTOP_WATCH_URL + videoId, signatureTimestamp);
+        addPlaybackContext(body, BASE_YT_DESKTOP_WATCH_URL + videoId, signatureTimestamp);
 
-        final byte[] body = JsonWriter.string(builder.done())
-                .getBytes(StandardCharsets.UTF_8);
 
         final String url = YOUTUBEI_V1_URL + PLAYER + "?" + DISABLE_PRETTY_PRINT_PARAMETER;
 
         return JsonUtils.toJsonObject(getValidJsonResponseBody(
-                getDownloader().postWithContentTypeJson(url, headers, body, localization)));
+                postInnertubeRequest(TVHTML5_PLAYER, url, headers, body.toBytes(), localization)));
     }
 
     @Nonnull
@@ -134,23 +155,22 @@ public final class YoutubeStreamHelper {
         innertubeClientRequestInfo.clientInfo.clientVersion = getClientVersion();
         innertubeClientRequestInfo.clientInfo.visitorData = webPoTokenResult.visitorData;
 
-        final JsonBuilder<JsonObject> builder = prepareJsonBuilder(localization, contentCountry,
-                innertubeClientRequestInfo, null);
+        final InnertubeContextTemplate.RequestBody body = InnertubeContextTemplate.of(
+                localization, contentCountry, innertubeClientRequestInfo, null)
+                .newBody(innertubeClientRequestInfo.clientInfo.visitorData);
 
-        addVideoIdCpnAndOkChecks(builder, videoId, cpn);
+        addVideoIdCpnAndOkChecks(body, videoId, cpn);
 
-        addPlaybackContext(builder, BASE_YT_DESKTOP_WATCH_URL + videoId, signatureTimestamp);
+        addPlaybackContext(body, BASE_YT_DESKTOP_WATCH_URL + videoId, signatureTimestamp);
 
-        addPoToken(builder, webPoTokenResult.playerRequestPoToken);
+        addPoToken(body, webPoTokenResult.playerRequestPoToken);
 
-        final byte[] body = JsonWriter.string(builder.done())
-                .getBytes(StandardCharsets.UTF_8);
 
         final String url = YOUTUBEI_V1_URL + PLAYER + "?" + DISABLE_PRETTY_PRINT_PARAMETER;
 
         return JsonUtils.toJsonObject(getValidJsonResponseBody(
-                getDownloader().postWithContentTypeJson(
-                        url, getYouTubeHeaders(), body, localization)));
+                postInnertubeRequest(WEB_PLAYER, url, getYouTubeHeaders(), body.toBytes(),
+                        localization)));
     }
 
     @Nonnull
@@ -164,9 +184,7 @@ public final class YoutubeStreamHelper {
         final InnertubeClientRequestInfo innertubeClientRequestInfo =
                 InnertubeClientRequestInfo.ofWebEmbeddedPlayerClient();
 
-        final Map<String, List<String>> headers = new HashMap<>(
-                getClientHeaders(WEB_EMBEDDED_CLIENT_ID, WEB_EMBEDDED_CLIENT_VERSION));
-        headers.putAll(getOriginReferrerHeaders("https://www.youtube.com"));
+        final Map<String, List<String>> headers = WEB_EMBEDDED_HEADERS;
 
         final String embedUrl = BASE_YT_DESKTOP_WATCH_URL + videoId;
 
@@ -177,23 +195,23 @@ public final class YoutubeStreamHelper {
                         localization, contentCountry, headers, YOUTUBEI_V1_URL, embedUrl, false)
                 : webEmbeddedPoTokenResult.visitorData;
 
-        final JsonBuilder<JsonObject> builder = prepareJsonBuilder(localization, contentCountry,
-                innertubeClientRequestInfo, embedUrl);
+        final InnertubeContextTemplate.RequestBody body = InnertubeContextTemplate.of(
+                localization, contentCountry, innertubeClientRequestInfo, embedUrl)
+                .newBody(innertubeClientRequestInfo.clientInfo.visitorData);
 
-        addVideoIdCpnAndOkChecks(builder, videoId, cpn);
+        addVideoIdCpnAndOkChecks(body, videoId, cpn);
 
-        addPlaybackContext(builder, embedUrl, signatureTimestamp);
+        addPlaybackContext(body, embedUrl, signatureTimestamp);
 
         if (webEmbeddedPoTokenResult != null) {
-            addPoToken(builder, webEmbeddedPoTokenResult.playerRequestPoToken);
+            addPoToken(body, webEmbeddedPoTokenResult.playerRequestPoToken);
         }
 
-        final byte[] body = JsonWriter.string(builder.done())
-                .getBytes(StandardCharsets.UTF_8);
         final String url = YOUTUBEI_V1_URL + PLAYER + "?" + DISABLE_PRETTY_PRINT_PARAMETER;
 
         return JsonUtils.toJsonObject(getValidJsonResponseBody(
-                getDownloader().postWithContentTypeJson(url, headers, body, localization)));
+                postInnertubeRequest(WEB_EMBEDDED_PLAYER, url, headers, body.toBytes(),
+                        localization)));
     }
 
     public static JsonObject getAndroidPlayerResponse(
@@ -210,21 +228,20 @@ public final class YoutubeStreamHelper {
         final Map<String, List<String>> headers =
                 getMobileClientHeaders(getAndroidUserAgent(localization));
 
-        final JsonBuilder<JsonObject> builder = prepareJsonBuilder(localization, contentCountry,
-                innertubeClientRequestInfo, null);
+        final InnertubeContextTemplate.RequestBody body = InnertubeContextTemplate.of(
+                localization, contentCountry, innertubeClientRequestInfo, null)
+                .newBody(innertubeClientRequestInfo.clientInfo.visitorData);
 
-        addVideoIdCpnAndOkChecks(builder, videoId, cpn);
+        addVideoIdCpnAndOkChecks(body, videoId, cpn);
 
-        addPoToken(builder, androidPoTokenResult.playerRequestPoToken);
+        addPoToken(body, androidPoTokenResult.playerRequestPoToken);
 
-        final byte[] body = JsonWriter.string(builder.done())
-                .getBytes(StandardCharsets.UTF_8);
 
         final String url = YOUTUBEI_V1_GAPIS_URL + PLAYER + "?" + DISABLE_PRETTY_PRINT_PARAMETER
                 + "&t=" + generateTParameter() + "&id=" + videoId;
 
         return JsonUtils.toJsonObject(getValidJsonResponseBody(
-                getDownloader().postWithContentTypeJson(url, headers, body, localization)));
+                postInnertubeRequest(ANDROID_PLAYER, url, headers, body.toBytes(), localization)));
     }
 
     public static JsonObject getAndroidReelPlayerResponse(
@@ -244,25 +261,25 @@ public final class YoutubeStreamHelper {
                 YoutubeParsingHelper.getVisitorDataFromInnertube(innertubeClientRequestInfo,
                         localization, contentCountry, headers, YOUTUBEI_V1_GAPIS_URL, null, false);
 
-        final JsonBuilder<JsonObject> builder = prepareJsonBuilder(localization, contentCountry,
-                innertubeClientRequestInfo, null);
+        final InnertubeContextTemplate.RequestBody body = InnertubeContextTemplate.of(
+                localization, contentCountry, innertubeClientRequestInfo, null)
+                .newBody(innertubeClientRequestInfo.clientInfo.visitorData);
 
-        addVideoIdCpnAndOkChecks(builder, videoId, cpn);
+        addVideoIdCpnAndOkChecks(body, videoId, cpn);
 
-        builder.object("playerRequest")
-                .value(VIDEO_ID, videoId)
-                .end()
+        body.value("playerRequest", JsonObject.builder()
+                        .value(VIDEO_ID, videoId)
+                        .done())
                 .value("disablePlayerResponse", false);
 
-        final byte[] body = JsonWriter.string(builder.done())
-                .getBytes(StandardCharsets.UTF_8);
 
-        final String url = YOUTUBEI_V1_GAPIS_URL + "reel/reel_item_watch" + "?"
+        final String url = YOUTUBEI_V1_GAPIS_URL + REEL_ITEM_WATCH + "?"
                 + DISABLE_PRETTY_PRINT_PARAMETER + "&t=" + generateTParameter() + "&id=" + videoId
                 + "&$fields=playerResponse";
 
         return JsonUtils.toJsonObject(getValidJsonResponseBody(
-                getDownloader().postWithContentTypeJson(url, headers, body, localization)))
+                postInnertubeRequest(REEL_ITEM_WATCH, url, headers, body.toBytes(),
+                        localization)))
                 .getObject("playerResponse");
     }
 
@@ -285,54 +302,55 @@ public final class YoutubeStreamHelper {
                         localization, contentCountry, headers, YOUTUBEI_V1_URL, null, false)
                 : iosPoTokenResult.visitorData;
 
-        final JsonBuilder<JsonObject> builder = prepareJsonBuilder(localization, contentCountry,
-                innertubeClientRequestInfo, null);
+        final InnertubeContextTemplate.RequestBody body = InnertubeContextTemplate.of(
+                localization, contentCountry, innertubeClientRequestInfo, null)
+                .newBody(innertubeClientRequestInfo.clientInfo.visitorData);
 
-        addVideoIdCpnAndOkChecks(builder, videoId, cpn);
+        addVideoIdCpnAndOkChecks(body, videoId, cpn);
 
         if (iosPoTokenResult != null) {
-            addPoToken(builder, iosPoTokenResult.playerRequestPoToken);
+            addPoToken(body, iosPoTokenResult.playerRequestPoToken);
         }
 
-        final byte[] body = JsonWriter.string(builder.done())
-                .getBytes(StandardCharsets.UTF_8);
 
         final String url = YOUTUBEI_V1_GAPIS_URL + PLAYER + "?" + DISABLE_PRETTY_PRINT_PARAMETER
                 + "&t=" + generateTParameter() + "&id=" + videoId;
 
         return JsonUtils.toJsonObject(getValidJsonResponseBody(
-                getDownloader().postWithContentTypeJson(url, headers, body, localization)));
+                postInnertubeRequest(IOS_PLAYER, url, headers, body.toBytes(), localization)));
     }
 
-    private static void addVideoIdCpnAndOkChecks(@Nonnull final JsonBuilder<JsonObject> builder,
-                                                 @Nonnull final String videoId,
-                                                 @Nullable final String cpn) {
-        builder.value(VIDEO_ID, videoId);
+    private static void addVideoIdCpnAndOkChecks(
+            @Nonnull final InnertubeContextTemplate.RequestBody body,
+            @Nonnull final String videoId,
+            @Nullable final String cpn) {
+        body.value(VIDEO_ID, videoId);
 
         if (cpn != null) {
-            builder.value(CPN, cpn);
+            body.value(CPN, cpn);
         }
 
-        builder.value(CONTENT_CHECK_OK, true)
+        body.value(CONTENT_CHECK_OK, true)
                 .value(RACY_CHECK_OK, true);
     }
 
-    private static void addPlaybackContext(@Nonnull final JsonBuilder<JsonObject> builder,
-                                           @Nonnull final String referer,
-                                           final int signatureTimestamp) {
-        builder.object("playbackContext")
+    private static void addPlaybackContext(
+            @Nonnull final InnertubeContextTemplate.RequestBody body,
+            @Nonnull final String referer,
+            final int signatureTimestamp) {
+        body.value("playbackContext", JsonObject.builder()
                 .object("contentPlaybackContext")
                 .value("signatureTimestamp", signatureTimestamp)
                 .value("referer", referer)
                 .end()
-                .end();
+                .done());
     }
 
-    private static void addPoToken(@Nonnull final JsonBuilder<JsonObject> builder,
+    private static void addPoToken(@Nonnull final InnertubeContextTemplate.RequestBody body,
                                    @Nonnull final String poToken) {
-        builder.object(SERVICE_INTEGRITY_DIMENSIONS)
+        body.value(SERVICE_INTEGRITY_DIMENSIONS, JsonObject.builder()
                 .value(PO_TOKEN, poToken)
-                .end();
+                .done());
     }
 
     @Nonnull
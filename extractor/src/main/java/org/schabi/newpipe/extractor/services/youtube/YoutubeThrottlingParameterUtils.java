@@ -1,14 +1,19 @@
 package org.schabi.newpipe.extractor.services.youtube;
 
-import static org.schabi.newpipe.extractor.utils.Parser.matchMultiplePatterns;
-
 import org.schabi.newpipe.extractor.exceptions.ParsingException;
 import org.schabi.newpipe.extractor.utils.JavaScript;
+import org.schabi.newpipe.extractor.utils.MultiPatternScanner;
+import org.schabi.newpipe.extractor.utils.MultiPatternScanner.AnchoredPattern;
+import org.schabi.newpipe.extractor.utils.MultiPatternScanner.ScanResult;
 import org.schabi.newpipe.extractor.utils.Parser;
 import org.schabi.newpipe.extractor.utils.jsextractor.JavaScriptExtractor;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -26,89 +31,120 @@ final class YoutubeThrottlingParameterUtils {
 
     private static final String ARRAY_ACCESS_REGEX = "\\[(\\d+)]";
 
+    /**
+     * The maximum number of characters between the start of a match of the patterns of the
+     * deobfuscation function name and their anchor, when the anchor is preceded by identifiers.
+     */
+    private static final int MAX_ANCHOR_OFFSET = 256;
+
+    private static final String NN_ANCHOR = "=\"nn\"[+";
+
+    private static final int MAX_CACHED_FUNCTION_PATTERNS = 16;
+
+    /**
+     * The patterns of the deobfuscation functions used when the lexer fails, by function name.
+     *
+     * <p>
+     * Function names only change with the player version, so only a few patterns are needed.
+     * </p>
+     */
+    private static final Map<String, Pattern> FUNCTION_PATTERNS_BY_NAME =
+            Collections.synchronizedMap(new LinkedHashMap<String, Pattern>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(final Map.Entry<String, Pattern> eldest) {
+                    return size() > MAX_CACHED_FUNCTION_PATTERNS;
+                }
+            });
+
     // CHECKSTYLE:OFF
-    private static final Pattern[] DEOBFUSCATION_FUNCTION_NAME_REGEXES = {
+    private static final List<AnchoredPattern> DEOBFUSCATION_FUNCTION_NAME_PATTERNS = List.of(
 
             /*
              * Matches the following text, where we want SDa and the array index accessed:
              *
              * a.D&&(b="nn"[+a.D],WL(a),c=a.j[b]||null)&&(c=SDa[0](c),a.set(b,c),SDa.length||Wma("")
              */
-            Pattern.compile(SINGLE_CHAR_VARIABLE_REGEX + "=\"nn\"\\[\\+" + MULTIPLE_CHARS_REGEX
+            new AnchoredPattern(Pattern.compile(SINGLE_CHAR_VARIABLE_REGEX + "=\"nn\"\\[\\+" + MULTIPLE_CHARS_REGEX
                     + "\\." + MULTIPLE_CHARS_REGEX + "]," + MULTIPLE_CHARS_REGEX + "\\("
                     + MULTIPLE_CHARS_REGEX + "\\)," + MULTIPLE_CHARS_REGEX + "="
                     + MULTIPLE_CHARS_REGEX + "\\." + MULTIPLE_CHARS_REGEX + "\\["
                     + MULTIPLE_CHARS_REGEX + "]\\|\\|null\\)&&\\(" + MULTIPLE_CHARS_REGEX + "=("
-                    + MULTIPLE_CHARS_REGEX + ")" + ARRAY_ACCESS_REGEX),
+                    + MULTIPLE_CHARS_REGEX + ")" + ARRAY_ACCESS_REGEX), NN_ANCHOR, 1),
 
             /*
              * Matches the following text, where we want Wma:
              *
              * a.D&&(b="nn"[+a.D],WL(a),c=a.j[b]||null)&&(c=SDa[0](c),a.set(b,c),SDa.length||Wma("")
              */
-            Pattern.compile(SINGLE_CHAR_VARIABLE_REGEX + "=\"nn\"\\[\\+" + MULTIPLE_CHARS_REGEX
+            new AnchoredPattern(Pattern.compile(SINGLE_CHAR_VARIABLE_REGEX + "=\"nn\"\\[\\+" + MULTIPLE_CHARS_REGEX
                     + "\\." + MULTIPLE_CHARS_REGEX + "]," + MULTIPLE_CHARS_REGEX + "\\("
                     + MULTIPLE_CHARS_REGEX + "\\)," + MULTIPLE_CHARS_REGEX + "="
                     + MULTIPLE_CHARS_REGEX + "\\." + MULTIPLE_CHARS_REGEX + "\\["
                     + MULTIPLE_CHARS_REGEX + "]\\|\\|null\\).+\\|\\|(" + MULTIPLE_CHARS_REGEX
-                    + ")\\(\"\"\\)"),
+                    + ")\\(\"\"\\)"), NN_ANCHOR, 1),
 
             /*
              * Matches the following text, where we want cvb and the array index accessed:
              *
              * ,Vb(m),W=m.j[c]||null)&&(W=cvb[0](W),m.set(c,W)
              */
-            Pattern.compile("," + MULTIPLE_CHARS_REGEX + "\\("
+            new AnchoredPattern(Pattern.compile("," + MULTIPLE_CHARS_REGEX + "\\("
                     + MULTIPLE_CHARS_REGEX + "\\)," + MULTIPLE_CHARS_REGEX + "="
                     + MULTIPLE_CHARS_REGEX + "\\." + MULTIPLE_CHARS_REGEX + "\\["
                     + MULTIPLE_CHARS_REGEX + "]\\|\\|null\\)&&\\(\\b" + MULTIPLE_CHARS_REGEX + "=("
                     + MULTIPLE_CHARS_REGEX + ")" + ARRAY_ACCESS_REGEX + "\\("
                     + SINGLE_CHAR_VARIABLE_REGEX + "\\)," + MULTIPLE_CHARS_REGEX
                     + "\\.set\\((?:\"n+\"|" + MULTIPLE_CHARS_REGEX + ")," + MULTIPLE_CHARS_REGEX
-                    + "\\)"),
+                    + "\\)"), "]||null)&&(", MAX_ANCHOR_OFFSET),
 
             /*
              * Matches the following text, where we want rma:
              *
              * a.D&&(b="nn"[+a.D],c=a.get(b))&&(c=rDa[0](c),a.set(b,c),rDa.length||rma("")
              */
-            Pattern.compile(SINGLE_CHAR_VARIABLE_REGEX + "=\"nn\"\\[\\+" + MULTIPLE_CHARS_REGEX
+            new AnchoredPattern(Pattern.compile(SINGLE_CHAR_VARIABLE_REGEX + "=\"nn\"\\[\\+" + MULTIPLE_CHARS_REGEX
                     + "\\." + MULTIPLE_CHARS_REGEX + "]," + MULTIPLE_CHARS_REGEX + "="
                     + MULTIPLE_CHARS_REGEX + "\\.get\\(" + MULTIPLE_CHARS_REGEX + "\\)\\).+\\|\\|("
-                    + MULTIPLE_CHARS_REGEX + ")\\(\"\"\\)"),
+                    + MULTIPLE_CHARS_REGEX + ")\\(\"\"\\)"), NN_ANCHOR, 1),
 
             /*
              * Matches the following text, where we want rDa and the array index accessed:
              *
              * a.D&&(b="nn"[+a.D],c=a.get(b))&&(c=rDa[0](c),a.set(b,c),rDa.length||rma("")
              */
-            Pattern.compile(SINGLE_CHAR_VARIABLE_REGEX + "=\"nn\"\\[\\+" + MULTIPLE_CHARS_REGEX
+            new AnchoredPattern(Pattern.compile(SINGLE_CHAR_VARIABLE_REGEX + "=\"nn\"\\[\\+" + MULTIPLE_CHARS_REGEX
                     + "\\." + MULTIPLE_CHARS_REGEX + "]," + MULTIPLE_CHARS_REGEX + "="
                     + MULTIPLE_CHARS_REGEX + "\\.get\\(" + MULTIPLE_CHARS_REGEX + "\\)\\)&&\\("
-                    + MULTIPLE_CHARS_REGEX + "=(" + MULTIPLE_CHARS_REGEX + ")\\[(\\d+)]"),
+                    + MULTIPLE_CHARS_REGEX + "=(" + MULTIPLE_CHARS_REGEX + ")\\[(\\d+)]"), NN_ANCHOR, 1),
 
             /*
              * Matches the following text, where we want BDa and the array index accessed:
              *
              * (b=String.fromCharCode(110),c=a.get(b))&&(c=BDa[0](c)
              */
-            Pattern.compile("\\(" + SINGLE_CHAR_VARIABLE_REGEX + "=String\\.fromCharCode\\(110\\),"
+            new AnchoredPattern(Pattern.compile("\\(" + SINGLE_CHAR_VARIABLE_REGEX + "=String\\.fromCharCode\\(110\\),"
                     + SINGLE_CHAR_VARIABLE_REGEX + "=" + SINGLE_CHAR_VARIABLE_REGEX + "\\.get\\("
                     + SINGLE_CHAR_VARIABLE_REGEX + "\\)\\)" + "&&\\(" + SINGLE_CHAR_VARIABLE_REGEX
                     + "=(" + MULTIPLE_CHARS_REGEX + ")" + "(?:" + ARRAY_ACCESS_REGEX + ")?\\("
-                    + SINGLE_CHAR_VARIABLE_REGEX + "\\)"),
+                    + SINGLE_CHAR_VARIABLE_REGEX + "\\)"), "=String.fromCharCode(110),", 2),
 
             /*
              * Matches the following text, where we want Yva and the array index accessed:
              *
              * .get("n"))&&(b=Yva[0](b)
              */
-            Pattern.compile("\\.get\\(\"n\"\\)\\)&&\\(" + SINGLE_CHAR_VARIABLE_REGEX
+            new AnchoredPattern(Pattern.compile("\\.get\\(\"n\"\\)\\)&&\\(" + SINGLE_CHAR_VARIABLE_REGEX
                     + "=(" + MULTIPLE_CHARS_REGEX + ")(?:" + ARRAY_ACCESS_REGEX + ")?\\("
-                    + SINGLE_CHAR_VARIABLE_REGEX + "\\)")
-    };
+                    + SINGLE_CHAR_VARIABLE_REGEX + "\\)"), ".get(\"n\"))&&(", 0)
+    );
     // CHECKSTYLE:ON
 
+    /**
+     * The patterns searched in the base JavaScript player code by this class, which must be
+     * given to the {@link MultiPatternScanner} of the code.
+     */
+    static final List<AnchoredPattern> SCANNED_PATTERNS = DEOBFUSCATION_FUNCTION_NAME_PATTERNS;
+
 
     // Escape the curly end brace to allow compatibility with Android's regex engine
     // See https://stackoverflow.com/q/45074813
@@ -116,10 +152,7 @@ final class YoutubeThrottlingParameterUtils {
     private static final String DEOBFUSCATION_FUNCTION_BODY_REGEX =
             "=\\s*function([\\S\\s]*?\\}\\s*return [\\w$]+?\\.join\\(\"\"\\)\\s*\\};)";
 
-    private static final String DEOBFUSCATION_FUNCTION_ARRAY_OBJECT_TYPE_DECLARATION_REGEX = "var ";
-
-    private static final String FUNCTION_NAMES_IN_DEOBFUSCATION_ARRAY_REGEX =
-            "\\s*=\\s*\\[(.+?)][;,]";
+    private static final String DEOBFUSCATION_FUNCTION_ARRAY_OBJECT_TYPE_DECLARATION = "var ";
 
     private static final String FUNCTION_ARGUMENTS_REGEX =
             "=\\s*function\\s*\\(\\s*([^)]*)\\s*\\)";
@@ -134,18 +167,17 @@ final class YoutubeThrottlingParameterUtils {
     /**
      * Get the throttling parameter deobfuscation function name of YouTube's base JavaScript file.
      *
-     * @param javaScriptPlayerCode the complete JavaScript base player code
+     * @param playerCodeScan the scan of the complete JavaScript base player code
      * @return the name of the throttling parameter deobfuscation function
      * @throws ParsingException if the name of the throttling parameter deobfuscation function
      * could not be extracted
      */
     @Nonnull
-    static String getDeobfuscationFunctionName(@Nonnull final String javaScriptPlayerCode)
+    static String getDeobfuscationFunctionName(@Nonnull final ScanResult playerCodeScan)
             throws ParsingException {
         final Matcher matcher;
         try {
-            matcher = matchMultiplePatterns(DEOBFUSCATION_FUNCTION_NAME_REGEXES,
-                    javaScriptPlayerCode);
+            matcher = playerCodeScan.findFirst(DEOBFUSCATION_FUNCTION_NAME_PATTERNS);
         } catch (final Parser.RegexException e) {
             throw new ParsingException("Could not find deobfuscation function with any of the "
                     + "known patterns in the base JavaScript player code", e);
@@ -157,15 +189,74 @@ final class YoutubeThrottlingParameterUtils {
         }
 
         final int arrayNum = Integer.parseInt(matcher.group(2));
-        final Pattern arrayPattern = Pattern.compile(
-                DEOBFUSCATION_FUNCTION_ARRAY_OBJECT_TYPE_DECLARATION_REGEX
-                        + Pattern.quote(functionName)
-                        + FUNCTION_NAMES_IN_DEOBFUSCATION_ARRAY_REGEX);
-        final String arrayStr = Parser.matchGroup1(arrayPattern, javaScriptPlayerCode);
+        final String arrayStr = getDeobfuscationFunctionArray(playerCodeScan.getText(),
+                functionName);
         final String[] names = arrayStr.split(",");
         return names[arrayNum];
     }
 
+    /**
+     * Get the content of the declaration of the array containing the throttling parameter
+     * deobfuscation function, i.e. {@code b,c} in {@code var a = [b,c];}.
+     *
+     * <p>
+     * The content is the text between the opening bracket and the first closing bracket followed
+     * by {@code ;} or {@code ,}, which must be on the same line.
+     * </p>
+     */
+    @Nonnull
+    private static String getDeobfuscationFunctionArray(@Nonnull final String javaScriptPlayerCode,
+                                                        @Nonnull final String arrayName)
+            throws ParsingException {
+        final String declaration = DEOBFUSCATION_FUNCTION_ARRAY_OBJECT_TYPE_DECLARATION
+                + arrayName;
+        final int length = javaScriptPlayerCode.length();
+        for (int declarationIndex = javaScriptPlayerCode.indexOf(declaration);
+             declarationIndex != -1;
+             declarationIndex = javaScriptPlayerCode.indexOf(declaration, declarationIndex + 1)) {
+            int i = skipWhitespaces(javaScriptPlayerCode, declarationIndex + declaration.length());
+            if (i >= length || javaScriptPlayerCode.charAt(i) != '=') {
+                continue;
+            }
+            i = skipWhitespaces(javaScriptPlayerCode, i + 1);
+            if (i >= length || javaScriptPlayerCode.charAt(i) != '[') {
+                continue;
+            }
+
+            final int contentStart = i + 1;
+            for (int j = contentStart; j + 1 < length; j++) {
+                final char c = javaScriptPlayerCode.charAt(j);
+                if (isLineTerminator(c)) {
+                    break;
+                }
+                final char next = javaScriptPlayerCode.charAt(j + 1);
+                if (j > contentStart && c == ']' && (next == ';' || next == ',')) {
+                    return javaScriptPlayerCode.substring(contentStart, j);
+                }
+            }
+        }
+        throw new ParsingException(
+                "Could not find deobfuscation function array " + arrayName);
+    }
+
+    private static int skipWhitespaces(@Nonnull final String text, final int start) {
+        int i = start;
+        while (i < text.length() && isWhitespace(text.charAt(i))) {
+            i++;
+        }
+        return i;
+    }
+
+    // The characters matched by \s in regular expressions
+    private static boolean isWhitespace(final char c) {
+        return c == ' ' || c == '\t' || c == '\n' || c == '\u000B' || c == '\f' || c == '\r';
+    }
+
+    // The characters not matched by . in regular expressions
+    private static boolean isLineTerminator(final char c) {
+        return c == '\n' || c == '\r' || c == '\u0085' || c == '\u2028' || c == '\u2029';
+    }
+
     /**
      * Get the throttling parameter deobfuscation code of YouTube's base JavaScript file.
      *
@@ -220,9 +311,9 @@ final class YoutubeThrottlingParameterUtils {
                                                  @Nonnull final String functionName)
             throws Parser.RegexException {
         // Quote the function name, as it may contain special regex characters such as dollar
-        final Pattern functionPattern = Pattern.compile(
-                Pattern.quote(functionName) + DEOBFUSCATION_FUNCTION_BODY_REGEX,
-                Pattern.DOTALL);
+        final Pattern functionPattern = FUNCTION_PATTERNS_BY_NAME.computeIfAbsent(functionName,
+                name -> Pattern.compile(Pattern.quote(name) + DEOBFUSCATION_FUNCTION_BODY_REGEX,
+                        Pattern.DOTALL));
         return validateFunction("function " + functionName
                 + Parser.matchGroup1(functionPattern, javaScriptPlayerCode));
     }
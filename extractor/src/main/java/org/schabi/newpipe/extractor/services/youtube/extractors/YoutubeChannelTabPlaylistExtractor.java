@@ -58,6 +58,7 @@ public class YoutubeChannelTabPlaylistExtractor extends ChannelTabExtractor {
     @Override
     public void onFetchPage(@Nonnull final Downloader downloader)
             throws IOException, ExtractionException {
+        playlistExtractorInstance.setStreamInfoItemFields(getStreamInfoItemFields());
         try {
             playlistExtractorInstance.onFetchPage(downloader);
             if (!playlistExisting) {
@@ -84,6 +85,8 @@ public class YoutubeChannelTabPlaylistExtractor extends ChannelTabExtractor {
         if (!playlistExisting) {
             return InfoItemsPage.emptyPage();
         }
+        // Pages can be requested without fetching this extractor first
+        playlistExtractorInstance.setStreamInfoItemFields(getStreamInfoItemFields());
         return playlistExtractorInstance.getPage(page);
     }
 
@@ -2,7 +2,6 @@ package org.schabi.newpipe.extractor.services.youtube.extractors;
 
 import com.grack.nanojson.JsonArray;
 import com.grack.nanojson.JsonObject;
-import com.grack.nanojson.JsonWriter;
 import org.schabi.newpipe.extractor.Page;
 import org.schabi.newpipe.extractor.StreamingService;
 import org.schabi.newpipe.extractor.comments.CommentsExtractor;
@@ -14,18 +13,19 @@ import org.schabi.newpipe.extractor.exceptions.ParsingException;
 import org.schabi.newpipe.extractor.linkhandler.ListLinkHandler;
 import org.schabi.newpipe.extractor.localization.Localization;
 import org.schabi.newpipe.extractor.localization.TimeAgoParser;
+import org.schabi.newpipe.extractor.services.youtube.InnertubeContextTemplate;
 import org.schabi.newpipe.extractor.utils.JsonUtils;
 import org.schabi.newpipe.extractor.utils.Utils;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import java.io.IOException;
-import java.nio.charset.StandardCharsets;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
 
 import static org.schabi.newpipe.extractor.services.youtube.YoutubeParsingHelper.getJsonPostResponse;
 import static org.schabi.newpipe.extractor.services.youtube.YoutubeParsingHelper.getTextFromObject;
-import static org.schabi.newpipe.extractor.services.youtube.YoutubeParsingHelper.prepareDesktopJsonBuilder;
 import static org.schabi.newpipe.extractor.utils.Utils.isNullOrEmpty;
 
 public class YoutubeCommentsExtractor extends CommentsExtractor {
@@ -122,19 +122,39 @@ public class YoutubeCommentsExtractor extends CommentsExtractor {
         }
     }
 
+    /**
+     * Index the payloads of the given entity mutations by their entity key, so that the payloads
+     * of all the comments of a page can be got without scanning the mutations for each of them.
+     *
+     * @param mutations the {@code mutations} array of an {@code entityBatchUpdate}
+     * @return the payloads of the mutations, by entity key
+     */
     @Nonnull
-    private JsonObject getMutationPayloadFromEntityKey(@Nonnull final JsonArray mutations,
-                                                       @Nonnull final String commentKey)
-            throws ParsingException {
-        return mutations.stream()
-                .filter(JsonObject.class::isInstance)
-                .map(JsonObject.class::cast)
-                .filter(mutation -> commentKey.equals(
-                        mutation.getString("entityKey")))
-                .findFirst()
-                .orElseThrow(() -> new ParsingException(
-                        "Could not get comment entity payload mutation"))
-                .getObject("payload");
+    private static Map<String, JsonObject> indexMutationPayloads(
+            @Nonnull final JsonArray mutations) {
+        final Map<String, JsonObject> payloads = new HashMap<>(mutations.size() * 4 / 3 + 1);
+        for (final Object mutation : mutations) {
+            if (mutation instanceof JsonObject) {
+                final String entityKey = ((JsonObject) mutation).getString("entityKey");
+                if (entityKey != null) {
+                    // Keep the first mutation of an entity, like a linear search would
+                    payloads.putIfAbsent(entityKey,
+                            ((JsonObject) mutation).getObject("payload"));
+                }
+            }
+        }
+        return payloads;
+    }
+
+    @Nonnull
+    private static JsonObject getMutationPayloadFromEntityKey(
+            @Nonnull final Map<String, JsonObject> mutationPayloads,
+            @Nonnull final String commentKey) throws ParsingException {
+        final JsonObject payload = mutationPayloads.get(commentKey);
+        if (payload == null) {
+            throw new ParsingException("Could not get comment entity payload mutation");
+        }
+        return payload;
     }
 
     @Nonnull
@@ -204,11 +224,10 @@ public class YoutubeCommentsExtractor extends CommentsExtractor {
 
         final Localization localization = getExtractorLocalization();
         // @formatter:off
-        final byte[] body = JsonWriter.string(
-                prepareDesktopJsonBuilder(localization, getExtractorContentCountry())
+        final byte[] body = InnertubeContextTemplate
+                .ofDesktop(localization, getExtractorContentCountry()).newBody()
                     .value("continuation", page.getId())
-                    .done())
-                .getBytes(StandardCharsets.UTF_8);
+                    .toBytes();
         // @formatter:on
 
         final JsonObject jsonObject = getJsonPostResponse("next", body, localization);
@@ -265,9 +284,10 @@ public class YoutubeCommentsExtractor extends CommentsExtractor {
 
         // The mutations object, which is returned in the comments' continuation
         // It contains parts of comment data when comments are returned with a view model
-        final JsonArray mutations = jsonObject.getObject("frameworkUpdates")
-                .getObject("entityBatchUpdate")
-                .getArray("mutations");
+        final Map<String, JsonObject> mutationPayloads = indexMutationPayloads(
+                jsonObject.getObject("frameworkUpdates")
+                        .getObject("entityBatchUpdate")
+                        .getArray("mutations"));
         final String videoUrl = getUrl();
         final TimeAgoParser timeAgoParser = getTimeAgoParser();
 
@@ -276,11 +296,12 @@ public class YoutubeCommentsExtractor extends CommentsExtractor {
                 continue;
             }
 
-            collectCommentItem(mutations, (JsonObject) o, collector, videoUrl, timeAgoParser);
+            collectCommentItem(mutationPayloads, (JsonObject) o, collector, videoUrl,
+                    timeAgoParser);
         }
     }
 
-    private void collectCommentItem(@Nonnull final JsonArray mutations,
+    private void collectCommentItem(@Nonnull final Map<String, JsonObject> mutationPayloads,
                                     @Nonnull final JsonObject content,
                                     @Nonnull final CommentsInfoItemsCollector collector,
                                     @Nonnull final String videoUrl,
@@ -297,10 +318,10 @@ public class YoutubeCommentsExtractor extends CommentsExtractor {
                         commentViewModel,
                         commentThreadRenderer.getObject("replies")
                                 .getObject("commentRepliesRenderer"),
-                        getMutationPayloadFromEntityKey(mutations,
+                        getMutationPayloadFromEntityKey(mutationPayloads,
                                 commentViewModel.getString("commentKey", ""))
                                 .getObject("commentEntityPayload"),
-                        getMutationPayloadFromEntityKey(mutations,
+                        getMutationPayloadFromEntityKey(mutationPayloads,
                                 commentViewModel.getString("toolbarStateKey", ""))
                                 .getObject("engagementToolbarStateEntityPayload"),
                         videoUrl,
@@ -319,10 +340,10 @@ public class YoutubeCommentsExtractor extends CommentsExtractor {
             collector.commit(new YoutubeCommentsEUVMInfoItemExtractor(
                     commentViewModel,
                     null,
-                    getMutationPayloadFromEntityKey(mutations,
+                    getMutationPayloadFromEntityKey(mutationPayloads,
                             commentViewModel.getString("commentKey", ""))
                             .getObject("commentEntityPayload"),
-                    getMutationPayloadFromEntityKey(mutations,
+                    getMutationPayloadFromEntityKey(mutationPayloads,
                             commentViewModel.getString("toolbarStateKey", ""))
                             .getObject("engagementToolbarStateEntityPayload"),
                     videoUrl,
@@ -344,11 +365,10 @@ public class YoutubeCommentsExtractor extends CommentsExtractor {
             throws IOException, ExtractionException {
         final Localization localization = getExtractorLocalization();
         // @formatter:off
-        final byte[] body = JsonWriter.string(
-                prepareDesktopJsonBuilder(localization, getExtractorContentCountry())
+        final byte[] body = InnertubeContextTemplate
+                .ofDesktop(localization, getExtractorContentCountry()).newBody()
                     .value("videoId", getId())
-                    .done())
-                .getBytes(StandardCharsets.UTF_8);
+                    .toBytes();
         // @formatter:on
 
         final String initialToken =
@@ -359,11 +379,10 @@ public class YoutubeCommentsExtractor extends CommentsExtractor {
         }
 
         // @formatter:off
-        final byte[] ajaxBody = JsonWriter.string(
-                        prepareDesktopJsonBuilder(localization, getExtractorContentCountry())
+        final byte[] ajaxBody = InnertubeContextTemplate
+                        .ofDesktop(localization, getExtractorContentCountry()).newBody()
                                 .value("continuation", initialToken)
-                                .done())
-                .getBytes(StandardCharsets.UTF_8);
+                                .toBytes();
         // @formatter:on
 
         ajaxJson = getJsonPostResponse("next", ajaxBody, localization);
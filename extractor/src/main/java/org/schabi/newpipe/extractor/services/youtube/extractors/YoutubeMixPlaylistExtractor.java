@@ -6,15 +6,12 @@ import static org.schabi.newpipe.extractor.services.youtube.YoutubeParsingHelper
 import static org.schabi.newpipe.extractor.services.youtube.YoutubeParsingHelper.extractPlaylistTypeFromPlaylistId;
 import static org.schabi.newpipe.extractor.services.youtube.YoutubeParsingHelper.getValidJsonResponseBody;
 import static org.schabi.newpipe.extractor.services.youtube.YoutubeParsingHelper.getYouTubeHeaders;
-import static org.schabi.newpipe.extractor.services.youtube.YoutubeParsingHelper.prepareDesktopJsonBuilder;
 import static org.schabi.newpipe.extractor.utils.Utils.getQueryValue;
 import static org.schabi.newpipe.extractor.utils.Utils.isNullOrEmpty;
 import static org.schabi.newpipe.extractor.utils.Utils.stringToURL;
 
 import com.grack.nanojson.JsonArray;
-import com.grack.nanojson.JsonBuilder;
 import com.grack.nanojson.JsonObject;
-import com.grack.nanojson.JsonWriter;
 
 import org.schabi.newpipe.extractor.Image;
 import org.schabi.newpipe.extractor.Image.ResolutionLevel;
@@ -31,6 +28,7 @@ import org.schabi.newpipe.extractor.localization.Localization;
 import org.schabi.newpipe.extractor.localization.TimeAgoParser;
 import org.schabi.newpipe.extractor.playlist.PlaylistExtractor;
 import org.schabi.newpipe.extractor.playlist.PlaylistInfo;
+import org.schabi.newpipe.extractor.services.youtube.InnertubeContextTemplate;
 import org.schabi.newpipe.extractor.services.youtube.YoutubeParsingHelper;
 import org.schabi.newpipe.extractor.stream.Description;
 import org.schabi.newpipe.extractor.stream.StreamInfoItem;
@@ -40,7 +38,6 @@ import org.schabi.newpipe.extractor.utils.JsonUtils;
 
 import java.io.IOException;
 import java.net.URL;
-import java.nio.charset.StandardCharsets;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -87,8 +84,10 @@ public class YoutubeMixPlaylistExtractor extends PlaylistExtractor {
         final String videoId = getQueryValue(url, "v");
         final String playlistIndexString = getQueryValue(url, "index");
 
-        final JsonBuilder<JsonObject> jsonBody = prepareDesktopJsonBuilder(localization,
-                getExtractorContentCountry()).value("playlistId", mixPlaylistId);
+        final InnertubeContextTemplate.RequestBody jsonBody = InnertubeContextTemplate
+                .ofDesktop(localization, getExtractorContentCountry())
+                .newBody()
+                .value("playlistId", mixPlaylistId);
         if (videoId != null) {
             jsonBody.value("videoId", videoId);
         }
@@ -96,7 +95,7 @@ public class YoutubeMixPlaylistExtractor extends PlaylistExtractor {
             jsonBody.value("playlistIndex", Integer.parseInt(playlistIndexString));
         }
 
-        final byte[] body = JsonWriter.string(jsonBody.done()).getBytes(StandardCharsets.UTF_8);
+        final byte[] body = jsonBody.toBytes();
 
         // Cookie is required due to consent
         final var headers = getYouTubeHeaders();
@@ -190,7 +189,8 @@ public class YoutubeMixPlaylistExtractor extends PlaylistExtractor {
     @Override
     public InfoItemsPage<StreamInfoItem> getInitialPage()
             throws IOException, ExtractionException {
-        final StreamInfoItemsCollector collector = new StreamInfoItemsCollector(getServiceId());
+        final StreamInfoItemsCollector collector =
+                new StreamInfoItemsCollector(getServiceId(), getStreamInfoItemFields());
         collectStreamsFrom(collector, playlistData.getArray("contents"));
 
         final Map<String, String> cookies = new HashMap<>();
@@ -215,14 +215,13 @@ public class YoutubeMixPlaylistExtractor extends PlaylistExtractor {
         final String videoId = watchEndpoint.getString("videoId");
         final int index = watchEndpoint.getInt("index");
         final String params = watchEndpoint.getString("params");
-        final byte[] body = JsonWriter.string(prepareDesktopJsonBuilder(getExtractorLocalization(),
-                getExtractorContentCountry())
+        final byte[] body = InnertubeContextTemplate.ofDesktop(getExtractorLocalization(),
+                getExtractorContentCountry()).newBody()
                 .value("videoId", videoId)
                 .value("playlistId", playlistId)
                 .value("playlistIndex", index)
                 .value("params", params)
-                .done())
-                .getBytes(StandardCharsets.UTF_8);
+                .toBytes();
 
         return new Page(YOUTUBEI_V1_URL + "next?" + DISABLE_PRETTY_PRINT_PARAMETER, null, null,
                 cookies, body);
@@ -238,7 +237,8 @@ public class YoutubeMixPlaylistExtractor extends PlaylistExtractor {
             throw new IllegalArgumentException("Cookie '" + COOKIE_NAME + "' is missing");
         }
 
-        final StreamInfoItemsCollector collector = new StreamInfoItemsCollector(getServiceId());
+        final StreamInfoItemsCollector collector =
+                new StreamInfoItemsCollector(getServiceId(), getStreamInfoItemFields());
         // Cookie is required due to consent
         final var headers = getYouTubeHeaders();
 
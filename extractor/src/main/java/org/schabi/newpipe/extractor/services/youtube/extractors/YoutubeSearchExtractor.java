@@ -4,7 +4,6 @@ import static org.schabi.newpipe.extractor.services.youtube.YoutubeParsingHelper
 import static org.schabi.newpipe.extractor.services.youtube.YoutubeParsingHelper.YOUTUBEI_V1_URL;
 import static org.schabi.newpipe.extractor.services.youtube.YoutubeParsingHelper.getJsonPostResponse;
 import static org.schabi.newpipe.extractor.services.youtube.YoutubeParsingHelper.getTextFromObject;
-import static org.schabi.newpipe.extractor.services.youtube.YoutubeParsingHelper.prepareDesktopJsonBuilder;
 import static org.schabi.newpipe.extractor.services.youtube.linkHandler.YoutubeSearchQueryHandlerFactory.ALL;
 import static org.schabi.newpipe.extractor.services.youtube.linkHandler.YoutubeSearchQueryHandlerFactory.CHANNELS;
 import static org.schabi.newpipe.extractor.services.youtube.linkHandler.YoutubeSearchQueryHandlerFactory.PLAYLISTS;
@@ -13,9 +12,7 @@ import static org.schabi.newpipe.extractor.services.youtube.linkHandler.YoutubeS
 import static org.schabi.newpipe.extractor.utils.Utils.isNullOrEmpty;
 
 import com.grack.nanojson.JsonArray;
-import com.grack.nanojson.JsonBuilder;
 import com.grack.nanojson.JsonObject;
-import com.grack.nanojson.JsonWriter;
 
 import org.schabi.newpipe.extractor.InfoItem;
 import org.schabi.newpipe.extractor.MetaInfo;
@@ -29,11 +26,11 @@ import org.schabi.newpipe.extractor.linkhandler.SearchQueryHandler;
 import org.schabi.newpipe.extractor.localization.Localization;
 import org.schabi.newpipe.extractor.localization.TimeAgoParser;
 import org.schabi.newpipe.extractor.search.SearchExtractor;
+import org.schabi.newpipe.extractor.services.youtube.InnertubeContextTemplate;
 import org.schabi.newpipe.extractor.services.youtube.YoutubeMetaInfoHelper;
 import org.schabi.newpipe.extractor.utils.JsonUtils;
 
 import java.io.IOException;
-import java.nio.charset.StandardCharsets;
 import java.util.List;
 import java.util.Objects;
 
@@ -93,14 +90,15 @@ public class YoutubeSearchExtractor extends SearchExtractor {
         final Localization localization = getExtractorLocalization();
         final String params = getSearchParameter(searchType);
 
-        final JsonBuilder<JsonObject> jsonBody = prepareDesktopJsonBuilder(localization,
-                getExtractorContentCountry())
+        final InnertubeContextTemplate.RequestBody jsonBody = InnertubeContextTemplate
+                .ofDesktop(localization, getExtractorContentCountry())
+                .newBody()
                 .value("query", query);
         if (!isNullOrEmpty(params)) {
             jsonBody.value("params", params);
         }
 
-        final byte[] body = JsonWriter.string(jsonBody.done()).getBytes(StandardCharsets.UTF_8);
+        final byte[] body = jsonBody.toBytes();
 
         initialData = getJsonPostResponse("search", body, localization);
     }
@@ -161,7 +159,8 @@ public class YoutubeSearchExtractor extends SearchExtractor {
     @Nonnull
     @Override
     public InfoItemsPage<InfoItem> getInitialPage() throws IOException, ExtractionException {
-        final MultiInfoItemsCollector collector = new MultiInfoItemsCollector(getServiceId());
+        final MultiInfoItemsCollector collector =
+                new MultiInfoItemsCollector(getServiceId(), getStreamInfoItemFields());
 
         final JsonArray sections = initialData.getObject("contents")
                 .getObject("twoColumnSearchResultsRenderer")
@@ -195,14 +194,14 @@ public class YoutubeSearchExtractor extends SearchExtractor {
         }
 
         final Localization localization = getExtractorLocalization();
-        final MultiInfoItemsCollector collector = new MultiInfoItemsCollector(getServiceId());
+        final MultiInfoItemsCollector collector =
+                new MultiInfoItemsCollector(getServiceId(), getStreamInfoItemFields());
 
         // @formatter:off
-        final byte[] json = JsonWriter.string(prepareDesktopJsonBuilder(localization,
-                getExtractorContentCountry())
+        final byte[] json = InnertubeContextTemplate.ofDesktop(localization,
+                getExtractorContentCountry()).newBody()
                 .value("continuation", page.getId())
-                .done())
-                .getBytes(StandardCharsets.UTF_8);
+                .toBytes();
         // @formatter:on
 
         final JsonObject ajaxJson = getJsonPostResponse("search", json, localization);
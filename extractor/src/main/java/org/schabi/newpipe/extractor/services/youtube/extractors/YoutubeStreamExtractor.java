@@ -32,12 +32,10 @@ import static org.schabi.newpipe.extractor.services.youtube.YoutubeParsingHelper
 import static org.schabi.newpipe.extractor.services.youtube.YoutubeParsingHelper.getImagesFromThumbnailsArray;
 import static org.schabi.newpipe.extractor.services.youtube.YoutubeParsingHelper.getJsonPostResponse;
 import static org.schabi.newpipe.extractor.services.youtube.YoutubeParsingHelper.getTextFromObject;
-import static org.schabi.newpipe.extractor.services.youtube.YoutubeParsingHelper.prepareDesktopJsonBuilder;
 import static org.schabi.newpipe.extractor.utils.Utils.isNullOrEmpty;
 
 import com.grack.nanojson.JsonArray;
 import com.grack.nanojson.JsonObject;
-import com.grack.nanojson.JsonWriter;
 
 import org.schabi.newpipe.extractor.Image;
 import org.schabi.newpipe.extractor.MediaFormat;
@@ -59,6 +57,7 @@ import org.schabi.newpipe.extractor.localization.DateWrapper;
 import org.schabi.newpipe.extractor.localization.Localization;
 import org.schabi.newpipe.extractor.localization.TimeAgoParser;
 import org.schabi.newpipe.extractor.localization.TimeAgoPatternsManager;
+import org.schabi.newpipe.extractor.services.youtube.InnertubeContextTemplate;
 import org.schabi.newpipe.extractor.services.youtube.ItagItem;
 import org.schabi.newpipe.extractor.services.youtube.PoTokenProvider;
 import org.schabi.newpipe.extractor.services.youtube.PoTokenResult;
@@ -74,9 +73,11 @@ import org.schabi.newpipe.extractor.stream.Frameset;
 import org.schabi.newpipe.extractor.stream.Stream;
 import org.schabi.newpipe.extractor.stream.StreamExtractor;
 import org.schabi.newpipe.extractor.stream.StreamSegment;
+import org.schabi.newpipe.extractor.stream.StreamInfoField;
 import org.schabi.newpipe.extractor.stream.StreamType;
 import org.schabi.newpipe.extractor.stream.SubtitlesStream;
 import org.schabi.newpipe.extractor.stream.VideoStream;
+import org.schabi.newpipe.extractor.utils.CircuitBreaker;
 import org.schabi.newpipe.extractor.utils.JsonUtils;
 import org.schabi.newpipe.extractor.utils.LocaleCompat;
 import org.schabi.newpipe.extractor.utils.Pair;
@@ -84,7 +85,7 @@ import org.schabi.newpipe.extractor.utils.Parser;
 import org.schabi.newpipe.extractor.utils.Utils;
 
 import java.io.IOException;
-import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.time.LocalDate;
 import java.time.OffsetDateTime;
 import java.time.format.DateTimeFormatter;
@@ -105,6 +106,18 @@ public class YoutubeStreamExtractor extends StreamExtractor {
     private static PoTokenProvider poTokenProvider;
     private static boolean fetchIosClient;
 
+    /**
+     * The number of consecutive invalid player responses or errors of an optional client, for
+     * videos playable with the {@code WEB} client, after which it is not used anymore for
+     * {@link #CLIENT_CIRCUIT_OPEN_DELAY}.
+     */
+    private static final int CLIENT_FAILURE_THRESHOLD = 5;
+    private static final Duration CLIENT_CIRCUIT_OPEN_DELAY = Duration.ofMinutes(5);
+    private static final CircuitBreaker ANDROID_CLIENT_CIRCUIT_BREAKER =
+            new CircuitBreaker(CLIENT_FAILURE_THRESHOLD, CLIENT_CIRCUIT_OPEN_DELAY);
+    private static final CircuitBreaker IOS_CLIENT_CIRCUIT_BREAKER =
+            new CircuitBreaker(CLIENT_FAILURE_THRESHOLD, CLIENT_CIRCUIT_OPEN_DELAY);
+
     private JsonObject playerResponse;
     private JsonObject nextResponse;
 
@@ -290,6 +303,13 @@ public class YoutubeStreamExtractor extends StreamExtractor {
             return ageLimit;
         }
 
+        if (nextResponse.isEmpty()) {
+            // The next response has been skipped: age-restricted videos have been already
+            // detected with the player responses
+            ageLimit = NO_AGE_LIMIT;
+            return ageLimit;
+        }
+
         final boolean ageRestricted = getVideoSecondaryInfoRenderer()
                 .getObject("metadataRowContainer")
                 .getObject("metadataRowContainerRenderer")
@@ -734,7 +754,8 @@ public class YoutubeStreamExtractor extends StreamExtractor {
         }
 
         try {
-            final MultiInfoItemsCollector collector = new MultiInfoItemsCollector(getServiceId());
+            final MultiInfoItemsCollector collector =
+                    new MultiInfoItemsCollector(getServiceId(), getStreamInfoItemFields());
 
             final JsonArray results = nextResponse
                     .getObject("contents")
@@ -804,6 +825,22 @@ public class YoutubeStreamExtractor extends StreamExtractor {
             = "playerCaptionsTracklistRenderer";
     private static final String CAPTIONS = "captions";
     private static final String PLAYABILITY_STATUS = "playabilityStatus";
+    /**
+     * The fields of {@link org.schabi.newpipe.extractor.stream.StreamInfo StreamInfo} which need
+     * the {@code next} response, the one of the watch page.
+     *
+     * <p>
+     * The age limit is extracted from this response too, unless the {@code WEB} player response
+     * already reported that the video is age-restricted. Age-restricted videos which could not be
+     * played with the {@code WEB_EMBEDDED_PLAYER} client are rejected when fetching the player
+     * responses, so the age limit is known for all videos even when this request is skipped.
+     * </p>
+     */
+    private static final StreamInfoField[] NEXT_RESPONSE_FIELDS = {
+            StreamInfoField.UPLOADER, StreamInfoField.DESCRIPTION, StreamInfoField.VIEW_COUNT,
+            StreamInfoField.UPLOAD_DATE, StreamInfoField.LIKE_COUNT,
+            StreamInfoField.ADDITIONAL_INFO, StreamInfoField.STREAM_SEGMENTS,
+            StreamInfoField.META_INFO, StreamInfoField.RELATED_ITEMS};
 
     @Override
     public void onFetchPage(@Nonnull final Downloader downloader)
@@ -816,29 +853,37 @@ public class YoutubeStreamExtractor extends StreamExtractor {
         final PoTokenProvider poTokenproviderInstance = poTokenProvider;
         final boolean noPoTokenProviderSet = poTokenproviderInstance == null;
 
-        fetchHtml5Client(localization, contentCountry, videoId, poTokenproviderInstance,
-                noPoTokenProviderSet);
+        final boolean webClientPlayable = fetchHtml5Client(localization, contentCountry, videoId,
+                poTokenproviderInstance, noPoTokenProviderSet);
 
         setStreamType();
 
-        final PoTokenResult androidPoTokenResult = noPoTokenProviderSet ? null
-                : poTokenproviderInstance.getAndroidClientPoToken(videoId);
+        // The ANDROID and iOS clients are only used to get streams and subtitles, and they are
+        // skipped while their circuit breaker is open
+        if (isAnyStreamInfoFieldSelected(StreamInfoField.STREAMS, StreamInfoField.SUBTITLES)) {
+            if (ANDROID_CLIENT_CIRCUIT_BREAKER.allowRequest()) {
+                fetchAndroidClient(localization, contentCountry, videoId,
+                        poTokenproviderInstance, webClientPlayable);
+            }
 
-        fetchAndroidClient(localization, contentCountry, videoId, androidPoTokenResult);
+            if (fetchIosClient && IOS_CLIENT_CIRCUIT_BREAKER.allowRequest()) {
+                fetchIosClient(localization, contentCountry, videoId, poTokenproviderInstance,
+                        webClientPlayable);
+            }
+        }
 
-        if (fetchIosClient) {
-            final PoTokenResult iosPoTokenResult = noPoTokenProviderSet ? null
-                    : poTokenproviderInstance.getIosClientPoToken(videoId);
-            fetchIosClient(localization, contentCountry, videoId, iosPoTokenResult);
+        if (!isAnyStreamInfoFieldSelected(NEXT_RESPONSE_FIELDS)) {
+            // None of the selected fields needs the next response: skip its request
+            nextResponse = new JsonObject();
+            return;
         }
 
-        final byte[] nextBody = JsonWriter.string(
-                prepareDesktopJsonBuilder(localization, contentCountry)
+        final byte[] nextBody = InnertubeContextTemplate
+                .ofDesktop(localization, contentCountry).newBody()
                         .value(VIDEO_ID, videoId)
                         .value(CONTENT_CHECK_OK, true)
                         .value(RACY_CHECK_OK, true)
-                        .done())
-                .getBytes(StandardCharsets.UTF_8);
+                        .toBytes();
         nextResponse = getJsonPostResponse(NEXT, nextBody, localization);
     }
 
@@ -901,7 +946,14 @@ public class YoutubeStreamExtractor extends StreamExtractor {
         throw new ContentNotAvailableException("Got error: \"" + reason + "\"");
     }
 
-    private void fetchHtml5Client(@Nonnull final Localization localization,
+    /**
+     * Fetch the player response of the {@code WEB} client, and the one of the
+     * {@code WEB_EMBEDDED_PLAYER} client for age-restricted videos.
+     *
+     * @return whether the video is playable with the {@code WEB} client, which is not the case for
+     * age-restricted videos
+     */
+    private boolean fetchHtml5Client(@Nonnull final Localization localization,
                                   @Nonnull final ContentCountry contentCountry,
                                   @Nonnull final String videoId,
                                   @Nullable final PoTokenProvider poTokenProviderInstance,
@@ -936,6 +988,7 @@ public class YoutubeStreamExtractor extends StreamExtractor {
                 fetchHtml5EmbedClient(localization, contentCountry, videoId,
                         noPoTokenProviderSet ? null
                                 : poTokenProviderInstance.getWebEmbedClientPoToken(videoId));
+                return false;
             } else {
                 checkPlayabilityStatus(playabilityStatus);
 
@@ -973,6 +1026,7 @@ public class YoutubeStreamExtractor extends StreamExtractor {
             if (isVideoAgeRestricted(playabilityStatus)) {
                 fetchHtml5EmbedClient(localization, contentCountry, videoId,
                         poTokenProviderInstance.getWebEmbedClientPoToken(videoId));
+                return false;
             } else {
                 checkPlayabilityStatus(playabilityStatus);
                 html5StreamingData = webPlayerResponse.getObject(STREAMING_DATA);
@@ -981,6 +1035,7 @@ public class YoutubeStreamExtractor extends StreamExtractor {
                 html5StreamingUrlsPoToken = webPoTokenResult.streamingDataPoToken;
             }
         }
+        return true;
     }
 
     private static void throwExceptionIfPlayerResponseNotValid(
@@ -1002,6 +1057,9 @@ public class YoutubeStreamExtractor extends StreamExtractor {
                                        @Nonnull final String videoId,
                                        @Nullable final PoTokenResult webEmbedPoTokenResult)
             throws IOException, ExtractionException {
+        // This client is only used for age-restricted videos, so the age limit is already known
+        // without the next response, which may not be fetched
+        ageLimit = 18;
         html5Cpn = generateContentPlaybackNonce();
 
         final JsonObject webEmbeddedPlayerResponse =
@@ -1029,10 +1087,27 @@ public class YoutubeStreamExtractor extends StreamExtractor {
         }
     }
 
+    /**
+     * Fetch the player response of the {@code ANDROID} client, which must be allowed by
+     * {@link #ANDROID_CLIENT_CIRCUIT_BREAKER}, and report its outcome to the circuit breaker.
+     */
     private void fetchAndroidClient(@Nonnull final Localization localization,
                                     @Nonnull final ContentCountry contentCountry,
                                     @Nonnull final String videoId,
-                                    @Nullable final PoTokenResult androidPoTokenResult) {
+                                    @Nullable final PoTokenProvider poTokenProviderInstance,
+                                    final boolean webClientPlayable) {
+        final PoTokenResult androidPoTokenResult;
+        try {
+            androidPoTokenResult = poTokenProviderInstance == null ? null
+                    : poTokenProviderInstance.getAndroidClientPoToken(videoId);
+        } catch (final Exception ignored) {
+            // Errors of the poToken provider don't depend on the health of the client
+            ANDROID_CLIENT_CIRCUIT_BREAKER.recordIgnored();
+            return;
+        }
+
+        final long startTime = System.nanoTime();
+        boolean playableResponse = false;
         try {
             androidCpn = generateContentPlaybackNonce();
 
@@ -1047,6 +1122,7 @@ public class YoutubeStreamExtractor extends StreamExtractor {
             }
 
             if (!isPlayerResponseNotValid(androidPlayerResponse, videoId)) {
+                playableResponse = isPlayable(androidPlayerResponse);
                 androidStreamingData = androidPlayerResponse.getObject(STREAMING_DATA);
 
                 if (isNullOrEmpty(playerCaptionsTracklistRenderer)) {
@@ -1062,13 +1138,33 @@ public class YoutubeStreamExtractor extends StreamExtractor {
         } catch (final Exception ignored) {
             // Ignore exceptions related to ANDROID client fetch or parsing, as it is not
             // compulsory to play contents
+        } finally {
+            recordClientOutcome(ANDROID_CLIENT_CIRCUIT_BREAKER, playableResponse,
+                    webClientPlayable, startTime);
         }
     }
 
+    /**
+     * Fetch the player response of the {@code iOS} client, which must be allowed by
+     * {@link #IOS_CLIENT_CIRCUIT_BREAKER}, and report its outcome to the circuit breaker.
+     */
     private void fetchIosClient(@Nonnull final Localization localization,
                                 @Nonnull final ContentCountry contentCountry,
                                 @Nonnull final String videoId,
-                                @Nullable final PoTokenResult iosPoTokenResult) {
+                                @Nullable final PoTokenProvider poTokenProviderInstance,
+                                final boolean webClientPlayable) {
+        final PoTokenResult iosPoTokenResult;
+        try {
+            iosPoTokenResult = poTokenProviderInstance == null ? null
+                    : poTokenProviderInstance.getIosClientPoToken(videoId);
+        } catch (final Exception ignored) {
+            // Errors of the poToken provider don't depend on the health of the client
+            IOS_CLIENT_CIRCUIT_BREAKER.recordIgnored();
+            return;
+        }
+
+        final long startTime = System.nanoTime();
+        boolean playableResponse = false;
         try {
             iosCpn = generateContentPlaybackNonce();
 
@@ -1076,6 +1172,7 @@ public class YoutubeStreamExtractor extends StreamExtractor {
                     contentCountry, localization, videoId, iosCpn, iosPoTokenResult);
 
             if (!isPlayerResponseNotValid(iosPlayerResponse, videoId)) {
+                playableResponse = isPlayable(iosPlayerResponse);
                 iosStreamingData = iosPlayerResponse.getObject(STREAMING_DATA);
 
                 if (isNullOrEmpty(playerCaptionsTracklistRenderer)) {
@@ -1090,9 +1187,40 @@ public class YoutubeStreamExtractor extends StreamExtractor {
         } catch (final Exception ignored) {
             // Ignore exceptions related to IOS client fetch or parsing, as it is not
             // compulsory to play contents
+        } finally {
+            recordClientOutcome(IOS_CLIENT_CIRCUIT_BREAKER, playableResponse, webClientPlayable,
+                    startTime);
+        }
+    }
+
+    /**
+     * Report the outcome of an optional client request to its circuit breaker.
+     *
+     * <p>
+     * A response which is not playable only counts as a failure of the client if the video is
+     * playable with the {@code WEB} client. Otherwise, such as for age-restricted videos, the
+     * client is expected to fail and its health is not changed.
+     * </p>
+     */
+    private static void recordClientOutcome(@Nonnull final CircuitBreaker circuitBreaker,
+                                            final boolean playableResponse,
+                                            final boolean webClientPlayable,
+                                            final long startTime) {
+        final long latencyNanos = System.nanoTime() - startTime;
+        if (playableResponse) {
+            circuitBreaker.recordSuccess(latencyNanos);
+        } else if (webClientPlayable) {
+            circuitBreaker.recordFailure(latencyNanos);
+        } else {
+            circuitBreaker.recordIgnored();
         }
     }
 
+    private static boolean isPlayable(@Nonnull final JsonObject playerResponse) {
+        return "ok".equalsIgnoreCase(playerResponse.getObject(PLAYABILITY_STATUS)
+                .getString("status"));
+    }
+
     /**
      * Checks whether a player response is invalid.
      *
@@ -1732,4 +1860,42 @@ public class YoutubeStreamExtractor extends StreamExtractor {
     public static void setFetchIosClient(final boolean fetchIosClient) {
         YoutubeStreamExtractor.fetchIosClient = fetchIosClient;
     }
+
+    /**
+     * Get the circuit breaker of the {@code ANDROID} client.
+     *
+     * <p>
+     * The {@code ANDROID} client is not used while its circuit is open, i.e. after several
+     * consecutive invalid player responses or errors for videos playable with the {@code WEB}
+     * client, until a probe request succeeds again. Errors of the {@link PoTokenProvider} are not
+     * counted. Its success rate and latency can be monitored with this circuit breaker.
+     * </p>
+     *
+     * @return the circuit breaker of the {@code ANDROID} client
+     */
+    @Nonnull
+    public static CircuitBreaker getAndroidClientCircuitBreaker() {
+        return ANDROID_CLIENT_CIRCUIT_BREAKER;
+    }
+
+    /**
+     * Get the circuit breaker of the {@code iOS} client, which is used in the same way as
+     * {@link #getAndroidClientCircuitBreaker() the one of the ANDROID client}, when
+     * {@link #setFetchIosClient(boolean) fetching the iOS client} is enabled.
+     *
+     * @return the circuit breaker of the {@code iOS} client
+     */
+    @Nonnull
+    public static CircuitBreaker getIosClientCircuitBreaker() {
+        return IOS_CLIENT_CIRCUIT_BREAKER;
+    }
+
+    /**
+     * Close the circuits of all optional clients, so that they are used again for the next
+     * extractions.
+     */
+    public static void resetClientCircuitBreakers() {
+        ANDROID_CLIENT_CIRCUIT_BREAKER.reset();
+        IOS_CLIENT_CIRCUIT_BREAKER.reset();
+    }
 }
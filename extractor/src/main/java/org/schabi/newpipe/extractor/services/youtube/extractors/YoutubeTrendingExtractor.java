@@ -22,11 +22,9 @@ package org.schabi.newpipe.extractor.services.youtube.extractors;
 
 import static org.schabi.newpipe.extractor.services.youtube.YoutubeParsingHelper.getJsonPostResponse;
 import static org.schabi.newpipe.extractor.services.youtube.YoutubeParsingHelper.getTextAtKey;
-import static org.schabi.newpipe.extractor.services.youtube.YoutubeParsingHelper.prepareDesktopJsonBuilder;
 import static org.schabi.newpipe.extractor.utils.Utils.isNullOrEmpty;
 
 import com.grack.nanojson.JsonObject;
-import com.grack.nanojson.JsonWriter;
 
 import org.schabi.newpipe.extractor.Page;
 import org.schabi.newpipe.extractor.StreamingService;
@@ -36,11 +34,11 @@ import org.schabi.newpipe.extractor.exceptions.ParsingException;
 import org.schabi.newpipe.extractor.kiosk.KioskExtractor;
 import org.schabi.newpipe.extractor.linkhandler.ListLinkHandler;
 import org.schabi.newpipe.extractor.localization.TimeAgoParser;
+import org.schabi.newpipe.extractor.services.youtube.InnertubeContextTemplate;
 import org.schabi.newpipe.extractor.stream.StreamInfoItem;
 import org.schabi.newpipe.extractor.stream.StreamInfoItemsCollector;
 
 import java.io.IOException;
-import java.nio.charset.StandardCharsets;
 import java.util.stream.Stream;
 
 import javax.annotation.Nonnull;
@@ -63,12 +61,11 @@ public class YoutubeTrendingExtractor extends KioskExtractor<StreamInfoItem> {
     public void onFetchPage(@Nonnull final Downloader downloader)
             throws IOException, ExtractionException {
         // @formatter:off
-        final byte[] body = JsonWriter.string(prepareDesktopJsonBuilder(getExtractorLocalization(),
-                getExtractorContentCountry())
+        final byte[] body = InnertubeContextTemplate.ofDesktop(getExtractorLocalization(),
+                getExtractorContentCountry()).newBody()
                 .value("browseId", "FEtrending")
                 .value("params", VIDEOS_TAB_PARAMS)
-                .done())
-                .getBytes(StandardCharsets.UTF_8);
+                .toBytes();
         // @formatter:on
 
         initialData = getJsonPostResponse("browse", body, getExtractorLocalization());
@@ -101,7 +98,8 @@ public class YoutubeTrendingExtractor extends KioskExtractor<StreamInfoItem> {
     @Nonnull
     @Override
     public InfoItemsPage<StreamInfoItem> getInitialPage() throws ParsingException {
-        final StreamInfoItemsCollector collector = new StreamInfoItemsCollector(getServiceId());
+        final StreamInfoItemsCollector collector =
+                new StreamInfoItemsCollector(getServiceId(), getStreamInfoItemFields());
         final TimeAgoParser timeAgoParser = getTimeAgoParser();
         final JsonObject tab = getTrendingTab();
         final JsonObject tabContent = tab.getObject("content");
@@ -40,8 +40,10 @@ import javax.annotation.Nullable;
 
 import java.io.IOException;
 import java.util.Collections;
+import java.util.EnumSet;
 import java.util.List;
 import java.util.Locale;
+import java.util.Set;
 
 /**
  * Scrapes information from a video/audio streaming service (eg, YouTube).
@@ -51,10 +53,78 @@ public abstract class StreamExtractor extends Extractor {
     public static final int NO_AGE_LIMIT = 0;
     public static final long UNKNOWN_SUBSCRIBER_COUNT = -1;
 
+    private Set<StreamInfoField> streamInfoFields = StreamInfoField.ALL;
+    private Set<StreamInfoItemField> streamInfoItemFields = StreamInfoItemField.ALL;
+
     public StreamExtractor(final StreamingService service, final LinkHandler linkHandler) {
         super(service, linkHandler);
     }
 
+    /**
+     * Select the fields which will be extracted by {@link StreamInfo#getInfo(StreamExtractor)}.
+     *
+     * <p>
+     * This must be called before {@link #fetchPage()}, so that extractors can skip the requests
+     * only needed for fields which are not selected. Getters of fields which are not selected
+     * can still be called, but they may return less data or make their requests at this time.
+     * All fields are selected by default.
+     * </p>
+     *
+     * @param fields the fields to extract
+     */
+    public void setStreamInfoFields(@Nonnull final Set<StreamInfoField> fields) {
+        this.streamInfoFields = fields.isEmpty()
+                ? Collections.emptySet() : Collections.unmodifiableSet(EnumSet.copyOf(fields));
+    }
+
+    /**
+     * @return the fields which will be extracted by {@link StreamInfo#getInfo(StreamExtractor)}
+     * @see #setStreamInfoFields(Set)
+     */
+    @Nonnull
+    public Set<StreamInfoField> getStreamInfoFields() {
+        return streamInfoFields;
+    }
+
+    /**
+     * Select the optional fields of the {@link StreamInfoItem}s returned by
+     * {@link #getRelatedItems()} which should be extracted.
+     *
+     * <p>
+     * Fields which are not selected are not extracted at all. All fields are extracted by
+     * default.
+     * </p>
+     *
+     * @param fields the optional fields of related stream items to extract
+     */
+    public void setStreamInfoItemFields(@Nonnull final Set<StreamInfoItemField> fields) {
+        this.streamInfoItemFields = fields.isEmpty()
+                ? Collections.emptySet() : Collections.unmodifiableSet(EnumSet.copyOf(fields));
+    }
+
+    /**
+     * @return the optional fields of the related stream items extracted by this extractor
+     * @see #setStreamInfoItemFields(Set)
+     */
+    @Nonnull
+    public Set<StreamInfoItemField> getStreamInfoItemFields() {
+        return streamInfoItemFields;
+    }
+
+    /**
+     * @param fields the fields to check
+     * @return whether at least one of the given fields has been selected
+     * @see #setStreamInfoFields(Set)
+     */
+    protected boolean isAnyStreamInfoFieldSelected(@Nonnull final StreamInfoField... fields) {
+        for (final StreamInfoField field : fields) {
+            if (streamInfoFields.contains(field)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     /**
      * The original textual date provided by the service. Should be used as a fallback if
      * {@link #getUploadDate()} isn't provided by the service, or it fails for some reason.
@@ -33,10 +33,13 @@ import org.schabi.newpipe.extractor.localization.DateWrapper;
 import org.schabi.newpipe.extractor.utils.ExtractorHelper;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Locale;
+import java.util.Set;
 
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 
 import static org.schabi.newpipe.extractor.utils.Utils.isNullOrEmpty;
 
@@ -51,6 +54,28 @@ public class StreamInfo extends Info {
         }
     }
 
+    @Nullable
+    private static volatile StreamInfoCache cache;
+
+    /**
+     * Set the cache used by {@link #getInfo(String)} and
+     * {@link #getInfo(StreamingService, String)}. No cache is used by default.
+     *
+     * @param streamInfoCache the cache to use, or {@code null} to disable caching
+     */
+    public static void setCache(@Nullable final StreamInfoCache streamInfoCache) {
+        cache = streamInfoCache;
+    }
+
+    /**
+     * @return the cache used by {@link #getInfo(String)} and
+     * {@link #getInfo(StreamingService, String)}, or {@code null} if there is none
+     */
+    @Nullable
+    public static StreamInfoCache getCache() {
+        return cache;
+    }
+
     public StreamInfo(final int serviceId,
                       final String url,
                       final String originalUrl,
@@ -67,19 +92,58 @@ public class StreamInfo extends Info {
         return getInfo(NewPipe.getServiceByUrl(url), url);
     }
 
+    /**
+     * Get the {@link StreamInfo} of the given URL, from the {@link #setCache(StreamInfoCache)
+     * cache} if one has been set.
+     *
+     * @param service the service of the stream
+     * @param url     the URL of the stream
+     * @return the extracted or cached {@link StreamInfo}
+     */
     public static StreamInfo getInfo(@Nonnull final StreamingService service,
                                      final String url) throws IOException, ExtractionException {
+        final StreamInfoCache streamInfoCache = cache;
+        if (streamInfoCache != null) {
+            return streamInfoCache.getInfo(service, url);
+        }
         return getInfo(service.getStreamExtractor(url));
     }
 
+    /**
+     * Get a {@link StreamInfo} in which only the given fields are extracted.
+     *
+     * @param service the service of the stream
+     * @param url     the URL of the stream
+     * @param fields  the fields to extract, see {@link StreamInfoField}
+     * @return the extracted {@link StreamInfo}
+     */
+    public static StreamInfo getInfo(@Nonnull final StreamingService service,
+                                     final String url,
+                                     @Nonnull final Set<StreamInfoField> fields)
+            throws IOException, ExtractionException {
+        final StreamExtractor extractor = service.getStreamExtractor(url);
+        extractor.setStreamInfoFields(fields);
+        return getInfo(extractor);
+    }
+
+    /**
+     * Get a {@link StreamInfo} from the given extractor, in which only the fields selected with
+     * {@link StreamExtractor#setStreamInfoFields(Set)} are extracted.
+     *
+     * @param extractor the extractor, on which {@link StreamExtractor#fetchPage()} will be called
+     * @return the extracted {@link StreamInfo}
+     */
     public static StreamInfo getInfo(@Nonnull final StreamExtractor extractor)
             throws ExtractionException, IOException {
         extractor.fetchPage();
+        final Set<StreamInfoField> fields = extractor.getStreamInfoFields();
         final StreamInfo streamInfo;
         try {
             streamInfo = extractImportantData(extractor);
-            extractStreams(streamInfo, extractor);
-            extractOptionalData(streamInfo, extractor);
+            if (fields.contains(StreamInfoField.STREAMS)) {
+                extractStreams(streamInfo, extractor);
+            }
+            extractOptionalData(streamInfo, extractor, fields);
             return streamInfo;
 
         } catch (final ExtractionException e) {
@@ -175,164 +239,193 @@ public class StreamInfo extends Info {
 
     @SuppressWarnings("MethodLength")
     private static void extractOptionalData(final StreamInfo streamInfo,
-                                            final StreamExtractor extractor) {
+                                            final StreamExtractor extractor,
+                                            final Set<StreamInfoField> fields) {
         /* ---- Optional data goes here: ---- */
         // If one of these fails, the frontend needs to handle that they are not available.
         // Exceptions are therefore not thrown into the frontend, but stored into the error list,
         // so the frontend can afterwards check where errors happened.
 
-        try {
-            streamInfo.setThumbnails(extractor.getThumbnails());
-        } catch (final Exception e) {
-            streamInfo.addError(e);
-        }
-        try {
-            streamInfo.setDuration(extractor.getLength());
-        } catch (final Exception e) {
-            streamInfo.addError(e);
-        }
-        try {
-            streamInfo.setUploaderName(extractor.getUploaderName());
-        } catch (final Exception e) {
-            streamInfo.addError(e);
-        }
-        try {
-            streamInfo.setUploaderUrl(extractor.getUploaderUrl());
-        } catch (final Exception e) {
-            streamInfo.addError(e);
+        if (fields.contains(StreamInfoField.THUMBNAILS)) {
+            try {
+                streamInfo.setThumbnails(extractor.getThumbnails());
+            } catch (final Exception e) {
+                streamInfo.addError(e);
+            }
         }
-        try {
-            streamInfo.setUploaderAvatars(extractor.getUploaderAvatars());
-        } catch (final Exception e) {
-            streamInfo.addError(e);
+        if (fields.contains(StreamInfoField.DURATION)) {
+            try {
+                streamInfo.setDuration(extractor.getLength());
+            } catch (final Exception e) {
+                streamInfo.addError(e);
+            }
         }
-        try {
-            streamInfo.setUploaderVerified(extractor.isUploaderVerified());
-        } catch (final Exception e) {
-            streamInfo.addError(e);
+        if (fields.contains(StreamInfoField.UPLOADER)) {
+            try {
+                streamInfo.setUploaderName(extractor.getUploaderName());
+            } catch (final Exception e) {
+                streamInfo.addError(e);
+            }
+            try {
+                streamInfo.setUploaderUrl(extractor.getUploaderUrl());
+            } catch (final Exception e) {
+                streamInfo.addError(e);
+            }
+            try {
+                streamInfo.setUploaderAvatars(extractor.getUploaderAvatars());
+            } catch (final Exception e) {
+                streamInfo.addError(e);
+            }
+            try {
+                streamInfo.setUploaderVerified(extractor.isUploaderVerified());
+            } catch (final Exception e) {
+                streamInfo.addError(e);
+            }
+            try {
+                streamInfo.setUploaderSubscriberCount(extractor.getUploaderSubscriberCount());
+            } catch (final Exception e) {
+                streamInfo.addError(e);
+            }
         }
-        try {
-            streamInfo.setUploaderSubscriberCount(extractor.getUploaderSubscriberCount());
-        } catch (final Exception e) {
-            streamInfo.addError(e);
+        if (fields.contains(StreamInfoField.SUB_CHANNEL)) {
+            try {
+                streamInfo.setSubChannelName(extractor.getSubChannelName());
+            } catch (final Exception e) {
+                streamInfo.addError(e);
+            }
+            try {
+                streamInfo.setSubChannelUrl(extractor.getSubChannelUrl());
+            } catch (final Exception e) {
+                streamInfo.addError(e);
+            }
+            try {
+                streamInfo.setSubChannelAvatars(extractor.getSubChannelAvatars());
+            } catch (final Exception e) {
+                streamInfo.addError(e);
+            }
         }
-
-        try {
-            streamInfo.setSubChannelName(extractor.getSubChannelName());
-        } catch (final Exception e) {
-            streamInfo.addError(e);
+        if (fields.contains(StreamInfoField.DESCRIPTION)) {
+            try {
+                streamInfo.setDescription(extractor.getDescription());
+            } catch (final Exception e) {
+                streamInfo.addError(e);
+            }
         }
-        try {
-            streamInfo.setSubChannelUrl(extractor.getSubChannelUrl());
-        } catch (final Exception e) {
-            streamInfo.addError(e);
+        if (fields.contains(StreamInfoField.VIEW_COUNT)) {
+            try {
+                streamInfo.setViewCount(extractor.getViewCount());
+            } catch (final Exception e) {
+                streamInfo.addError(e);
+            }
         }
-        try {
-            streamInfo.setSubChannelAvatars(extractor.getSubChannelAvatars());
-        } catch (final Exception e) {
-            streamInfo.addError(e);
+        if (fields.contains(StreamInfoField.UPLOAD_DATE)) {
+            try {
+                streamInfo.setTextualUploadDate(extractor.getTextualUploadDate());
+            } catch (final Exception e) {
+                streamInfo.addError(e);
+            }
+            try {
+                streamInfo.setUploadDate(extractor.getUploadDate());
+            } catch (final Exception e) {
+                streamInfo.addError(e);
+            }
         }
-
-        try {
-            streamInfo.setDescription(extractor.getDescription());
-        } catch (final Exception e) {
-            streamInfo.addError(e);
+        if (fields.contains(StreamInfoField.START_POSITION)) {
+            try {
+                streamInfo.setStartPosition(extractor.getTimeStamp());
+            } catch (final Exception e) {
+                streamInfo.addError(e);
+            }
         }
-        try {
-            streamInfo.setViewCount(extractor.getViewCount());
-        } catch (final Exception e) {
-            streamInfo.addError(e);
+        if (fields.contains(StreamInfoField.LIKE_COUNT)) {
+            try {
+                streamInfo.setLikeCount(extractor.getLikeCount());
+            } catch (final Exception e) {
+                streamInfo.addError(e);
+            }
+            try {
+                streamInfo.setDislikeCount(extractor.getDislikeCount());
+            } catch (final Exception e) {
+                streamInfo.addError(e);
+            }
         }
-        try {
-            streamInfo.setTextualUploadDate(extractor.getTextualUploadDate());
-        } catch (final Exception e) {
-            streamInfo.addError(e);
+        if (fields.contains(StreamInfoField.SUBTITLES)) {
+            try {
+                streamInfo.setSubtitles(extractor.getSubtitlesDefault());
+            } catch (final Exception e) {
+                streamInfo.addError(e);
+            }
         }
-        try {
-            streamInfo.setUploadDate(extractor.getUploadDate());
-        } catch (final Exception e) {
-            streamInfo.addError(e);
+        if (fields.contains(StreamInfoField.ADDITIONAL_INFO)) {
+            try {
+                streamInfo.setHost(extractor.getHost());
+            } catch (final Exception e) {
+                streamInfo.addError(e);
+            }
+            try {
+                streamInfo.setPrivacy(extractor.getPrivacy());
+            } catch (final Exception e) {
+                streamInfo.addError(e);
+            }
+            try {
+                streamInfo.setCategory(extractor.getCategory());
+            } catch (final Exception e) {
+                streamInfo.addError(e);
+            }
+            try {
+                streamInfo.setLicence(extractor.getLicence());
+            } catch (final Exception e) {
+                streamInfo.addError(e);
+            }
+            try {
+                streamInfo.setLanguageInfo(extractor.getLanguageInfo());
+            } catch (final Exception e) {
+                streamInfo.addError(e);
+            }
+            try {
+                streamInfo.setTags(extractor.getTags());
+            } catch (final Exception e) {
+                streamInfo.addError(e);
+            }
+            try {
+                streamInfo.setSupportInfo(extractor.getSupportInfo());
+            } catch (final Exception e) {
+                streamInfo.addError(e);
+            }
         }
-        try {
-            streamInfo.setStartPosition(extractor.getTimeStamp());
-        } catch (final Exception e) {
-            streamInfo.addError(e);
+        if (fields.contains(StreamInfoField.STREAM_SEGMENTS)) {
+            try {
+                streamInfo.setStreamSegments(extractor.getStreamSegments());
+            } catch (final Exception e) {
+                streamInfo.addError(e);
+            }
         }
-        try {
-            streamInfo.setLikeCount(extractor.getLikeCount());
-        } catch (final Exception e) {
-            streamInfo.addError(e);
+        if (fields.contains(StreamInfoField.META_INFO)) {
+            try {
+                streamInfo.setMetaInfo(extractor.getMetaInfo());
+            } catch (final Exception e) {
+                streamInfo.addError(e);
+            }
         }
-        try {
-            streamInfo.setDislikeCount(extractor.getDislikeCount());
-        } catch (final Exception e) {
-            streamInfo.addError(e);
+        if (fields.contains(StreamInfoField.PREVIEW_FRAMES)) {
+            try {
+                streamInfo.setPreviewFrames(extractor.getFrames());
+            } catch (final Exception e) {
+                streamInfo.addError(e);
+            }
         }
-        try {
-            streamInfo.setSubtitles(extractor.getSubtitlesDefault());
-        } catch (final Exception e) {
-            streamInfo.addError(e);
+        if (fields.contains(StreamInfoField.SHORT_FORM_CONTENT)) {
+            try {
+                streamInfo.setShortFormContent(extractor.isShortFormContent());
+            } catch (final Exception e) {
+                streamInfo.addError(e);
+            }
         }
 
-        // Additional info
-        try {
-            streamInfo.setHost(extractor.getHost());
-        } catch (final Exception e) {
-            streamInfo.addError(e);
-        }
-        try {
-            streamInfo.setPrivacy(extractor.getPrivacy());
-        } catch (final Exception e) {
-            streamInfo.addError(e);
+        if (fields.contains(StreamInfoField.RELATED_ITEMS)) {
+            streamInfo.setRelatedItems(ExtractorHelper.getRelatedItemsOrLogError(streamInfo,
+                    extractor));
         }
-        try {
-            streamInfo.setCategory(extractor.getCategory());
-        } catch (final Exception e) {
-            streamInfo.addError(e);
-        }
-        try {
-            streamInfo.setLicence(extractor.getLicence());
-        } catch (final Exception e) {
-            streamInfo.addError(e);
-        }
-        try {
-            streamInfo.setLanguageInfo(extractor.getLanguageInfo());
-        } catch (final Exception e) {
-            streamInfo.addError(e);
-        }
-        try {
-            streamInfo.setTags(extractor.getTags());
-        } catch (final Exception e) {
-            streamInfo.addError(e);
-        }
-        try {
-            streamInfo.setSupportInfo(extractor.getSupportInfo());
-        } catch (final Exception e) {
-            streamInfo.addError(e);
-        }
-        try {
-            streamInfo.setStreamSegments(extractor.getStreamSegments());
-        } catch (final Exception e) {
-            streamInfo.addError(e);
-        }
-        try {
-            streamInfo.setMetaInfo(extractor.getMetaInfo());
-        } catch (final Exception e) {
-            streamInfo.addError(e);
-        }
-        try {
-            streamInfo.setPreviewFrames(extractor.getFrames());
-        } catch (final Exception e) {
-            streamInfo.addError(e);
-        }
-        try {
-            streamInfo.setShortFormContent(extractor.isShortFormContent());
-        } catch (final Exception e) {
-            streamInfo.addError(e);
-        }
-
-        streamInfo.setRelatedItems(ExtractorHelper.getRelatedItemsOrLogError(streamInfo,
-                extractor));
     }
 
     private StreamType streamType;
@@ -387,6 +480,65 @@ public class StreamInfo extends Info {
      */
     private List<Frameset> previewFrames = List.of();
 
+    /**
+     * Create a copy of this {@link StreamInfo} for another URL of the same stream.
+     *
+     * <p>
+     * The lists of the copy are new lists, but their elements are shared with this
+     * {@link StreamInfo}.
+     * </p>
+     *
+     * @param originalUrl   the original URL of the copy
+     * @param position      the start position of the copy, which depends on its original URL
+     * @return a copy of this {@link StreamInfo} with the given original URL and start position
+     */
+    @Nonnull
+    StreamInfo copy(final String originalUrl, final long position) {
+        final StreamInfo copy = new StreamInfo(getServiceId(), getUrl(), originalUrl,
+                streamType, getId(), getName(), ageLimit);
+        copy.addAllErrors(getErrors());
+        copy.thumbnails = copyOf(thumbnails);
+        copy.textualUploadDate = textualUploadDate;
+        copy.uploadDate = uploadDate;
+        copy.duration = duration;
+        copy.description = description;
+        copy.viewCount = viewCount;
+        copy.likeCount = likeCount;
+        copy.dislikeCount = dislikeCount;
+        copy.uploaderName = uploaderName;
+        copy.uploaderUrl = uploaderUrl;
+        copy.uploaderAvatars = copyOf(uploaderAvatars);
+        copy.uploaderVerified = uploaderVerified;
+        copy.uploaderSubscriberCount = uploaderSubscriberCount;
+        copy.subChannelName = subChannelName;
+        copy.subChannelUrl = subChannelUrl;
+        copy.subChannelAvatars = copyOf(subChannelAvatars);
+        copy.videoStreams = copyOf(videoStreams);
+        copy.audioStreams = copyOf(audioStreams);
+        copy.videoOnlyStreams = copyOf(videoOnlyStreams);
+        copy.dashMpdUrl = dashMpdUrl;
+        copy.hlsUrl = hlsUrl;
+        copy.relatedItems = copyOf(relatedItems);
+        copy.startPosition = position;
+        copy.subtitles = copyOf(subtitles);
+        copy.host = host;
+        copy.privacy = privacy;
+        copy.category = category;
+        copy.licence = licence;
+        copy.supportInfo = supportInfo;
+        copy.language = language;
+        copy.tags = copyOf(tags);
+        copy.streamSegments = copyOf(streamSegments);
+        copy.metaInfo = copyOf(metaInfo);
+        copy.shortFormContent = shortFormContent;
+        copy.previewFrames = copyOf(previewFrames);
+        return copy;
+    }
+
+    private static <T> List<T> copyOf(final List<T> list) {
+        return list == null ? null : new ArrayList<>(list);
+    }
+
     /**
      * Get the stream type
      *
@@ -0,0 +1,367 @@
+package org.schabi.newpipe.extractor.stream;
+
+import org.schabi.newpipe.extractor.NewPipe;
+import org.schabi.newpipe.extractor.StreamingService;
+import org.schabi.newpipe.extractor.exceptions.ExtractionException;
+import org.schabi.newpipe.extractor.exceptions.ParsingException;
+import org.schabi.newpipe.extractor.linkhandler.LinkHandler;
+import org.schabi.newpipe.extractor.utils.ConcurrencyUtils;
+
+import java.io.IOException;
+import java.io.Serializable;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * A cache of {@link StreamInfo}s, keyed by service ID, stream ID, and the localization and content
+ * country of the service.
+ *
+ * <p>
+ * Stream URLs of some services, such as YouTube, expire after some time. Entries of this cache
+ * expire before the earliest expiration time of the URLs they contain (found in their
+ * {@code expire} parameter), and in all cases after a maximum time to live.
+ * </p>
+ *
+ * <p>
+ * When an entry is requested shortly before its expiration (see the {@code refreshAhead}
+ * parameter), it is returned and a new {@link StreamInfo} is extracted in the background on
+ * {@link NewPipe#getExecutor()}, so that frequently requested streams are always served from
+ * the cache.
+ * </p>
+ *
+ * <p>
+ * Entries are kept in a {@link Store}, which is by default an {@link InMemoryStore}, but which
+ * can be implemented to use an external storage, as {@link StreamInfo}s are
+ * {@link Serializable}. Each caller gets its own copy of the cached {@link StreamInfo}, with the
+ * original URL and the start position of the URL it requested.
+ * </p>
+ *
+ * @see StreamInfo#setCache(StreamInfoCache)
+ */
+public final class StreamInfoCache {
+
+    /**
+     * The storage of the entries of a {@link StreamInfoCache}.
+     *
+     * <p>
+     * Implementations must be thread-safe. They don't need to check the expiration of entries,
+     * but they may remove expired entries at any time.
+     * </p>
+     */
+    public interface Store {
+        @Nullable
+        Entry get(@Nonnull String key);
+
+        void put(@Nonnull String key, @Nonnull Entry entry);
+
+        void remove(@Nonnull String key);
+
+        void clear();
+    }
+
+    /**
+     * A cached {@link StreamInfo} and its expiration time.
+     */
+    public static final class Entry implements Serializable {
+        private static final long serialVersionUID = 1L;
+
+        @Nonnull
+        private final StreamInfo streamInfo;
+        private final long expirationTime;
+
+        /**
+         * @param streamInfo     the cached {@link StreamInfo}
+         * @param expirationTime the time, in milliseconds since the epoch, after which the
+         *                       {@link StreamInfo} must not be returned anymore
+         */
+        public Entry(@Nonnull final StreamInfo streamInfo, final long expirationTime) {
+            this.streamInfo = streamInfo;
+            this.expirationTime = expirationTime;
+        }
+
+        @Nonnull
+        public StreamInfo getStreamInfo() {
+            return streamInfo;
+        }
+
+        public long getExpirationTime() {
+            return expirationTime;
+        }
+    }
+
+    /**
+     * A {@link Store} keeping entries in memory, removing the least recently used ones when
+     * its maximum size is reached.
+     */
+    public static final class InMemoryStore implements Store {
+        private final Map<String, Entry> entries;
+
+        /**
+         * @param maxSize the maximum number of entries kept
+         */
+        public InMemoryStore(final int maxSize) {
+            entries = new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(
+                        final Map.Entry<String, StreamInfoCache.Entry> eldest) {
+                    return size() > maxSize;
+                }
+            };
+        }
+
+        @Nullable
+        @Override
+        public synchronized Entry get(@Nonnull final String key) {
+            return entries.get(key);
+        }
+
+        @Override
+        public synchronized void put(@Nonnull final String key, @Nonnull final Entry entry) {
+            entries.put(key, entry);
+        }
+
+        @Override
+        public synchronized void remove(@Nonnull final String key) {
+            entries.remove(key);
+        }
+
+        @Override
+        public synchronized void clear() {
+            entries.clear();
+        }
+    }
+
+    public static final int DEFAULT_MAX_SIZE = 100;
+    public static final Duration DEFAULT_MAX_TIME_TO_LIVE = Duration.ofHours(1);
+    public static final Duration DEFAULT_REFRESH_AHEAD = Duration.ofMinutes(5);
+    /**
+     * The time before the expiration of the URLs of a stream after which it is not returned
+     * anymore, so that callers have time to use these URLs.
+     */
+    private static final long URL_EXPIRATION_MARGIN_MILLIS = Duration.ofMinutes(10).toMillis();
+    // Matches the expire parameter of YouTube URLs, both in queries and in manifest paths
+    private static final Pattern EXPIRE_PATTERN = Pattern.compile("[?&/]expire[=/](\\d+)");
+
+    @Nonnull
+    private final Store store;
+    private final long maxTimeToLiveMillis;
+    private final long refreshAheadMillis;
+    @Nonnull
+    private final LongSupplier clock;
+    private final ConcurrentHashMap<String, CompletableFuture<StreamInfo>> pendingLoads =
+            new ConcurrentHashMap<>();
+
+    /**
+     * Creates a {@link StreamInfoCache} keeping up to {@link #DEFAULT_MAX_SIZE} entries in memory,
+     * with the default maximum time to live and refresh-ahead delay.
+     */
+    public StreamInfoCache() {
+        this(new InMemoryStore(DEFAULT_MAX_SIZE), DEFAULT_MAX_TIME_TO_LIVE, DEFAULT_REFRESH_AHEAD);
+    }
+
+    /**
+     * Creates a new {@link StreamInfoCache}.
+     *
+     * @param store          the storage of the entries
+     * @param maxTimeToLive  the maximum time during which an entry is returned
+     * @param refreshAhead   the time before the expiration of an entry from which it is
+     *                       refreshed in the background when it is requested, or
+     *                       {@link Duration#ZERO} to disable refresh-ahead
+     */
+    public StreamInfoCache(@Nonnull final Store store,
+                           @Nonnull final Duration maxTimeToLive,
+                           @Nonnull final Duration refreshAhead) {
+        this(store, maxTimeToLive, refreshAhead, System::currentTimeMillis);
+    }
+
+    StreamInfoCache(@Nonnull final Store store,
+                    @Nonnull final Duration maxTimeToLive,
+                    @Nonnull final Duration refreshAhead,
+                    @Nonnull final LongSupplier clock) {
+        this.store = store;
+        this.maxTimeToLiveMillis = maxTimeToLive.toMillis();
+        this.refreshAheadMillis = refreshAhead.toMillis();
+        this.clock = clock;
+    }
+
+    /**
+     * Get the {@link StreamInfo} of the given URL from the cache, or extract it with
+     * {@link StreamInfo#getInfo(StreamExtractor)} if it is not cached or if it expired.
+     *
+     * @param service the service of the stream
+     * @param url     the URL of the stream
+     * @return a copy of the cached or newly extracted {@link StreamInfo}, with the original URL
+     * and the start position of the given URL
+     */
+    @Nonnull
+    public StreamInfo getInfo(@Nonnull final StreamingService service,
+                              @Nonnull final String url)
+            throws IOException, ExtractionException {
+        final LinkHandler linkHandler = service.getStreamLHFactory().fromUrl(url);
+        final String key = getKey(service, linkHandler.getId());
+
+        final Entry entry = store.get(key);
+        if (entry != null) {
+            final long now = clock.getAsLong();
+            if (now < entry.getExpirationTime()) {
+                if (now >= entry.getExpirationTime() - refreshAheadMillis) {
+                    refreshInBackground(key, service, linkHandler);
+                }
+                return copyFor(entry.getStreamInfo(), service, linkHandler);
+            }
+            store.remove(key);
+        }
+
+        return copyFor(ConcurrencyUtils.await(load(key, service, linkHandler, false)),
+                service, linkHandler);
+    }
+
+    /**
+     * Remove the {@link StreamInfo} of the given stream, for the current localization and content
+     * country of its service, from the cache.
+     *
+     * @param service the service of the stream
+     * @param id      the ID of the stream
+     */
+    public void invalidate(@Nonnull final StreamingService service, @Nonnull final String id) {
+        store.remove(getKey(service, id));
+    }
+
+    /**
+     * Remove all {@link StreamInfo}s from the cache.
+     */
+    public void clear() {
+        store.clear();
+    }
+
+    /**
+     * The key of a stream, which includes the localization and the content country used by the
+     * extractors of the service, as they change the extracted texts and dates.
+     */
+    @Nonnull
+    static String getKey(@Nonnull final StreamingService service,
+                         @Nonnull final String id) {
+        return service.getServiceId() + ":" + id + ":"
+                + service.getLocalization().getLocalizationCode() + ":"
+                + service.getContentCountry().getCountryCode();
+    }
+
+    /**
+     * Copy a cached {@link StreamInfo} for the given URL, so that callers don't share it and get
+     * the data depending on the URL they requested.
+     */
+    @Nonnull
+    private static StreamInfo copyFor(@Nonnull final StreamInfo streamInfo,
+                                      @Nonnull final StreamingService service,
+                                      @Nonnull final LinkHandler linkHandler)
+            throws ExtractionException {
+        long startPosition;
+        try {
+            // The start position only depends on the URL, the page doesn't need to be fetched
+            startPosition = service.getStreamExtractor(linkHandler).getTimeStamp();
+        } catch (final ParsingException e) {
+            startPosition = 0;
+        }
+        return streamInfo.copy(linkHandler.getOriginalUrl(), startPosition);
+    }
+
+    private void refreshInBackground(@Nonnull final String key,
+                                     @Nonnull final StreamingService service,
+                                     @Nonnull final LinkHandler linkHandler) {
+        load(key, service, linkHandler, true);
+    }
+
+    @Nonnull
+    private CompletableFuture<StreamInfo> load(@Nonnull final String key,
+                                               @Nonnull final StreamingService service,
+                                               @Nonnull final LinkHandler linkHandler,
+                                               final boolean inBackground) {
+        final CompletableFuture<StreamInfo> newLoad = new CompletableFuture<>();
+        final CompletableFuture<StreamInfo> pendingLoad = pendingLoads.putIfAbsent(key, newLoad);
+        if (pendingLoad != null) {
+            return pendingLoad;
+        }
+
+        final Runnable loadTask = () -> {
+            try {
+                final StreamInfo streamInfo =
+                        StreamInfo.getInfo(service.getStreamExtractor(linkHandler));
+                final long now = clock.getAsLong();
+                final long expirationTime = getExpirationTime(streamInfo, now);
+                if (expirationTime > now) {
+                    store.put(key, new Entry(streamInfo, expirationTime));
+                }
+                newLoad.complete(streamInfo);
+            } catch (final Exception | Error e) {
+                newLoad.completeExceptionally(e);
+            } finally {
+                pendingLoads.remove(key, newLoad);
+            }
+        };
+
+        if (inBackground) {
+            try {
+                NewPipe.getExecutor().execute(loadTask);
+            } catch (final RuntimeException e) {
+                // The cached entry is still returned, the refresh will be retried on next access
+                pendingLoads.remove(key, newLoad);
+                newLoad.completeExceptionally(e);
+            }
+        } else {
+            loadTask.run();
+        }
+        return newLoad;
+    }
+
+    /**
+     * Get the time after which the given {@link StreamInfo} must not be returned anymore, which
+     * is before the earliest expiration time of its URLs, if they have one.
+     *
+     * @param streamInfo the {@link StreamInfo} to check
+     * @param now        the current time in milliseconds since the epoch
+     * @return the expiration time of the {@link StreamInfo}, in milliseconds since the epoch
+     */
+    long getExpirationTime(@Nonnull final StreamInfo streamInfo, final long now) {
+        final List<String> urls = new ArrayList<>();
+        urls.add(streamInfo.getDashMpdUrl());
+        urls.add(streamInfo.getHlsUrl());
+        for (final List<? extends Stream> streams : List.of(streamInfo.getAudioStreams(),
+                streamInfo.getVideoStreams(), streamInfo.getVideoOnlyStreams())) {
+            for (final Stream stream : streams) {
+                if (stream.isUrl()) {
+                    urls.add(stream.getContent());
+                }
+                urls.add(stream.getManifestUrl());
+            }
+        }
+
+        long expirationTime = Long.MAX_VALUE;
+        for (final String url : urls) {
+            if (url == null) {
+                continue;
+            }
+            final Matcher matcher = EXPIRE_PATTERN.matcher(url);
+            if (matcher.find()) {
+                try {
+                    expirationTime = Math.min(expirationTime,
+                            Long.parseLong(matcher.group(1)) * 1000
+                                    - URL_EXPIRATION_MARGIN_MILLIS);
+                } catch (final NumberFormatException ignored) {
+                    // Ignore invalid expiration times
+                }
+            }
+        }
+        return Math.min(expirationTime, now + maxTimeToLiveMillis);
+    }
+}
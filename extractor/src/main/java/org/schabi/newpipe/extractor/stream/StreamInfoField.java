@@ -0,0 +1,64 @@
+package org.schabi.newpipe.extractor.stream;
+
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * An enum representing the groups of fields of a {@link StreamInfo}, which can be selected with
+ * {@link StreamExtractor#setStreamInfoFields(Set)} or
+ * {@link StreamInfo#getInfo(org.schabi.newpipe.extractor.StreamingService, String, Set)}.
+ *
+ * <p>
+ * Fields which are not selected are not extracted by {@link StreamInfo#getInfo(StreamExtractor)}
+ * and keep the default value of {@link StreamInfo}. Extractors may also skip the requests which
+ * are only needed for fields which are not selected.
+ * </p>
+ *
+ * <p>
+ * The URL, the stream type, the ID, the name and the age limit of streams are always extracted.
+ * </p>
+ */
+public enum StreamInfoField {
+    /**
+     * The audio, video and video-only streams, and the DASH and HLS manifest URLs.
+     */
+    STREAMS,
+    THUMBNAILS,
+    DURATION,
+    /**
+     * The name, URL, avatars, verification status and subscriber count of the uploader.
+     */
+    UPLOADER,
+    /**
+     * The name, URL and avatars of the sub-channel.
+     */
+    SUB_CHANNEL,
+    DESCRIPTION,
+    VIEW_COUNT,
+    /**
+     * The textual upload date and the parsed upload date.
+     */
+    UPLOAD_DATE,
+    START_POSITION,
+    /**
+     * The like and dislike counts.
+     */
+    LIKE_COUNT,
+    SUBTITLES,
+    /**
+     * The host, privacy, category, licence, language, tags and support info.
+     */
+    ADDITIONAL_INFO,
+    STREAM_SEGMENTS,
+    META_INFO,
+    PREVIEW_FRAMES,
+    SHORT_FORM_CONTENT,
+    RELATED_ITEMS;
+
+    /**
+     * An unmodifiable set containing all fields.
+     */
+    public static final Set<StreamInfoField> ALL =
+            Collections.unmodifiableSet(EnumSet.allOf(StreamInfoField.class));
+}
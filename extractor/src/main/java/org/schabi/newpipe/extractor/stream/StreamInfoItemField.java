@@ -0,0 +1,39 @@
+package org.schabi.newpipe.extractor.stream;
+
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * An enum representing the optional fields of a {@link StreamInfoItem}, which can be selected
+ * with {@link org.schabi.newpipe.extractor.ListExtractor#setStreamInfoItemFields(Set)}, or with
+ * {@link StreamExtractor#setStreamInfoItemFields(Set)} for related items, to avoid extracting
+ * fields which are not needed.
+ *
+ * <p>
+ * The URL, the name and the stream type of items are always extracted. Fields which are not
+ * selected keep the default value of {@link StreamInfoItem}.
+ * </p>
+ */
+public enum StreamInfoItemField {
+    DURATION,
+    UPLOADER_NAME,
+    UPLOADER_URL,
+    UPLOADER_AVATARS,
+    UPLOADER_VERIFIED,
+    /**
+     * The textual upload date and the parsed upload date, which may require a
+     * {@link org.schabi.newpipe.extractor.localization.TimeAgoParser}.
+     */
+    UPLOAD_DATE,
+    VIEW_COUNT,
+    THUMBNAILS,
+    SHORT_DESCRIPTION,
+    SHORT_FORM_CONTENT;
+
+    /**
+     * An unmodifiable set containing all fields.
+     */
+    public static final Set<StreamInfoItemField> ALL =
+            Collections.unmodifiableSet(EnumSet.allOf(StreamInfoItemField.class));
+}
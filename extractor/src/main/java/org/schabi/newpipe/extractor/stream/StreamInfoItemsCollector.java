@@ -25,17 +25,58 @@ import org.schabi.newpipe.extractor.exceptions.FoundAdException;
 import org.schabi.newpipe.extractor.exceptions.ParsingException;
 
 import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.Set;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 
 public class StreamInfoItemsCollector
         extends InfoItemsCollector<StreamInfoItem, StreamInfoItemExtractor> {
 
+    private final Set<StreamInfoItemField> fields;
+
     public StreamInfoItemsCollector(final int serviceId) {
-        super(serviceId);
+        this(serviceId, null, StreamInfoItemField.ALL);
     }
 
     public StreamInfoItemsCollector(final int serviceId,
                                     final Comparator<StreamInfoItem> comparator) {
+        this(serviceId, comparator, StreamInfoItemField.ALL);
+    }
+
+    /**
+     * Create a new collector extracting only the given optional fields of items.
+     *
+     * @param serviceId the service id
+     * @param fields    the optional fields to extract
+     */
+    public StreamInfoItemsCollector(final int serviceId,
+                                    @Nonnull final Set<StreamInfoItemField> fields) {
+        this(serviceId, null, fields);
+    }
+
+    /**
+     * Create a new collector extracting only the given optional fields of items.
+     *
+     * @param serviceId  the service id
+     * @param comparator the function used to sort items, or {@code null}
+     * @param fields     the optional fields to extract
+     */
+    public StreamInfoItemsCollector(final int serviceId,
+                                    @Nullable final Comparator<StreamInfoItem> comparator,
+                                    @Nonnull final Set<StreamInfoItemField> fields) {
         super(serviceId, comparator);
+        this.fields = fields.isEmpty()
+                ? EnumSet.noneOf(StreamInfoItemField.class) : EnumSet.copyOf(fields);
+    }
+
+    /**
+     * @return the optional fields of items extracted by this collector
+     */
+    @Nonnull
+    public Set<StreamInfoItemField> getFields() {
+        return fields;
     }
 
     @Override
@@ -48,60 +89,80 @@ public class StreamInfoItemsCollector
                 getServiceId(), extractor.getUrl(), extractor.getName(), extractor.getStreamType());
 
         // optional information
-        try {
-            resultItem.setDuration(extractor.getDuration());
-        } catch (final Exception e) {
-            addError(e);
+        if (fields.contains(StreamInfoItemField.DURATION)) {
+            try {
+                resultItem.setDuration(extractor.getDuration());
+            } catch (final Exception e) {
+                addError(e);
+            }
         }
-        try {
-            resultItem.setUploaderName(extractor.getUploaderName());
-        } catch (final Exception e) {
-            addError(e);
+        if (fields.contains(StreamInfoItemField.UPLOADER_NAME)) {
+            try {
+                resultItem.setUploaderName(extractor.getUploaderName());
+            } catch (final Exception e) {
+                addError(e);
+            }
         }
-        try {
-            resultItem.setTextualUploadDate(extractor.getTextualUploadDate());
-        } catch (final Exception e) {
-            addError(e);
+        if (fields.contains(StreamInfoItemField.UPLOAD_DATE)) {
+            try {
+                resultItem.setTextualUploadDate(extractor.getTextualUploadDate());
+            } catch (final Exception e) {
+                addError(e);
+            }
+            try {
+                resultItem.setUploadDate(extractor.getUploadDate());
+            } catch (final ParsingException e) {
+                addError(e);
+            }
         }
-        try {
-            resultItem.setUploadDate(extractor.getUploadDate());
-        } catch (final ParsingException e) {
-            addError(e);
+        if (fields.contains(StreamInfoItemField.VIEW_COUNT)) {
+            try {
+                resultItem.setViewCount(extractor.getViewCount());
+            } catch (final Exception e) {
+                addError(e);
+            }
         }
-        try {
-            resultItem.setViewCount(extractor.getViewCount());
-        } catch (final Exception e) {
-            addError(e);
+        if (fields.contains(StreamInfoItemField.THUMBNAILS)) {
+            try {
+                resultItem.setThumbnails(extractor.getThumbnails());
+            } catch (final Exception e) {
+                addError(e);
+            }
         }
-        try {
-            resultItem.setThumbnails(extractor.getThumbnails());
-        } catch (final Exception e) {
-            addError(e);
+        if (fields.contains(StreamInfoItemField.UPLOADER_URL)) {
+            try {
+                resultItem.setUploaderUrl(extractor.getUploaderUrl());
+            } catch (final Exception e) {
+                addError(e);
+            }
         }
-        try {
-            resultItem.setUploaderUrl(extractor.getUploaderUrl());
-        } catch (final Exception e) {
-            addError(e);
+        if (fields.contains(StreamInfoItemField.UPLOADER_AVATARS)) {
+            try {
+                resultItem.setUploaderAvatars(extractor.getUploaderAvatars());
+            } catch (final Exception e) {
+                addError(e);
+            }
         }
-        try {
-            resultItem.setUploaderAvatars(extractor.getUploaderAvatars());
-        } catch (final Exception e) {
-            addError(e);
+        if (fields.contains(StreamInfoItemField.UPLOADER_VERIFIED)) {
+            try {
+                resultItem.setUploaderVerified(extractor.isUploaderVerified());
+            } catch (final Exception e) {
+                addError(e);
+            }
         }
-        try {
-            resultItem.setUploaderVerified(extractor.isUploaderVerified());
-        } catch (final Exception e) {
-            addError(e);
-        }
-        try {
-            resultItem.setShortDescription(extractor.getShortDescription());
-        } catch (final Exception e) {
-            addError(e);
+        if (fields.contains(StreamInfoItemField.SHORT_DESCRIPTION)) {
+            try {
+                resultItem.setShortDescription(extractor.getShortDescription());
+            } catch (final Exception e) {
+                addError(e);
+            }
         }
-        try {
-            resultItem.setShortFormContent(extractor.isShortFormContent());
-        } catch (final Exception e) {
-            addError(e);
+        if (fields.contains(StreamInfoItemField.SHORT_FORM_CONTENT)) {
+            try {
+                resultItem.setShortFormContent(extractor.isShortFormContent());
+            } catch (final Exception e) {
+                addError(e);
+            }
         }
 
         return resultItem;
@@ -0,0 +1,205 @@
+package org.schabi.newpipe.extractor.utils;
+
+import java.time.Duration;
+import java.util.function.LongSupplier;
+
+import javax.annotation.Nonnull;
+
+/**
+ * A thread-safe circuit breaker, which tracks the health of a remote component and stops
+ * requests to it while it is known to be failing.
+ *
+ * <p>
+ * The circuit goes through the following states:
+ * </p>
+ * <ul>
+ *     <li>{@link State#CLOSED closed}: requests are allowed; the circuit opens when the failure
+ *     threshold is reached, i.e. after this number of consecutive failed requests;</li>
+ *     <li>{@link State#OPEN open}: requests are not allowed, until the open delay is elapsed;</li>
+ *     <li>{@link State#HALF_OPEN half-open}: a single probe request is allowed; the circuit is
+ *     closed if it succeeds and opened again if it fails.</li>
+ * </ul>
+ *
+ * <p>
+ * Callers must check whether a request is allowed with {@link #allowRequest()} and then report
+ * its outcome with {@link #recordSuccess(long)} or {@link #recordFailure(long)}, or with
+ * {@link #recordIgnored()} if the outcome doesn't depend on the health of the component. The
+ * success rate and the latency of requests are tracked as exponentially weighted moving averages.
+ * </p>
+ */
+public final class CircuitBreaker {
+
+    public enum State {
+        CLOSED,
+        OPEN,
+        HALF_OPEN
+    }
+
+    // The weight of the latest request in the moving averages
+    private static final double SMOOTHING_FACTOR = 0.2;
+
+    private final int failureThreshold;
+    private final long openDelayNanos;
+    private final LongSupplier nanoClock;
+
+    private State state = State.CLOSED;
+    private int consecutiveFailures;
+    private long openTime;
+    private boolean probeRunning;
+    private double successRate = 1;
+    private double averageLatencyNanos;
+    private long requestCount;
+
+    /**
+     * Creates a new closed {@link CircuitBreaker}.
+     *
+     * @param failureThreshold the number of consecutive failures after which the circuit is
+     *                         opened, which must be positive
+     * @param openDelay        the time during which requests are not allowed once the circuit
+     *                         has been opened, before a probe request is allowed
+     */
+    public CircuitBreaker(final int failureThreshold, @Nonnull final Duration openDelay) {
+        this(failureThreshold, openDelay, System::nanoTime);
+    }
+
+    CircuitBreaker(final int failureThreshold,
+                   @Nonnull final Duration openDelay,
+                   @Nonnull final LongSupplier nanoClock) {
+        if (failureThreshold <= 0) {
+            throw new IllegalArgumentException("failureThreshold must be positive");
+        }
+        this.failureThreshold = failureThreshold;
+        this.openDelayNanos = openDelay.toNanos();
+        this.nanoClock = nanoClock;
+    }
+
+    /**
+     * Check whether a request is allowed, i.e. whether the circuit is closed, or whether this
+     * request is the probe request of a half-open circuit.
+     *
+     * <p>
+     * If {@code true} is returned, the outcome of the request must be reported with
+     * {@link #recordSuccess(long)}, {@link #recordFailure(long)} or {@link #recordIgnored()}.
+     * </p>
+     *
+     * @return whether a request is allowed
+     */
+    public synchronized boolean allowRequest() {
+        if (state == State.OPEN && nanoClock.getAsLong() - openTime >= openDelayNanos) {
+            state = State.HALF_OPEN;
+        }
+
+        switch (state) {
+            case CLOSED:
+                return true;
+            case HALF_OPEN:
+                if (probeRunning) {
+                    return false;
+                }
+                probeRunning = true;
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * Report that an allowed request succeeded, closing the circuit if it was half-open.
+     *
+     * @param latencyNanos the time taken by the request, in nanoseconds
+     */
+    public synchronized void recordSuccess(final long latencyNanos) {
+        record(true, latencyNanos);
+        consecutiveFailures = 0;
+        probeRunning = false;
+        state = State.CLOSED;
+    }
+
+    /**
+     * Report that an allowed request failed, opening the circuit if it was half-open or if the
+     * failure threshold has been reached.
+     *
+     * @param latencyNanos the time taken by the request, in nanoseconds
+     */
+    public synchronized void recordFailure(final long latencyNanos) {
+        record(false, latencyNanos);
+        consecutiveFailures++;
+        probeRunning = false;
+        if (state == State.HALF_OPEN || consecutiveFailures >= failureThreshold) {
+            state = State.OPEN;
+            openTime = nanoClock.getAsLong();
+        }
+    }
+
+    /**
+     * Report that an allowed request has not been made, or that its outcome doesn't depend on the
+     * health of the component, for instance because it failed for a reason specific to the
+     * requested content.
+     *
+     * <p>
+     * The state and the statistics of the circuit are not changed, but another probe request is
+     * allowed if the circuit is half-open.
+     * </p>
+     */
+    public synchronized void recordIgnored() {
+        probeRunning = false;
+    }
+
+    private void record(final boolean success, final long latencyNanos) {
+        if (requestCount == 0) {
+            successRate = success ? 1 : 0;
+            averageLatencyNanos = latencyNanos;
+        } else {
+            successRate += SMOOTHING_FACTOR * ((success ? 1 : 0) - successRate);
+            averageLatencyNanos += SMOOTHING_FACTOR * (latencyNanos - averageLatencyNanos);
+        }
+        requestCount++;
+    }
+
+    /**
+     * Close the circuit and forget all the requests recorded.
+     */
+    public synchronized void reset() {
+        state = State.CLOSED;
+        consecutiveFailures = 0;
+        probeRunning = false;
+        successRate = 1;
+        averageLatencyNanos = 0;
+        requestCount = 0;
+    }
+
+    /**
+     * @return the current state of the circuit
+     */
+    @Nonnull
+    public synchronized State getState() {
+        if (state == State.OPEN && nanoClock.getAsLong() - openTime >= openDelayNanos) {
+            return State.HALF_OPEN;
+        }
+        return state;
+    }
+
+    /**
+     * @return the moving average of the success rate of requests, between 0 and 1, which is 1 if
+     * no request has been recorded
+     */
+    public synchronized double getSuccessRate() {
+        return successRate;
+    }
+
+    /**
+     * @return the moving average of the latency of requests, which is zero if no request has been
+     * recorded
+     */
+    @Nonnull
+    public synchronized Duration getAverageLatency() {
+        return Duration.ofNanos(Math.round(averageLatencyNanos));
+    }
+
+    @Override
+    public synchronized String toString() {
+        return "CircuitBreaker[state=" + getState()
+                + ", successRate=" + successRate
+                + ", averageLatency=" + getAverageLatency() + "]";
+    }
+}
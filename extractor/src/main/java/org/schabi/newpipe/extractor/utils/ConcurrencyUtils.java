@@ -0,0 +1,241 @@
+package org.schabi.newpipe.extractor.utils;
+
+import org.schabi.newpipe.extractor.NewPipe;
+import org.schabi.newpipe.extractor.exceptions.ExtractionException;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.annotation.Nonnull;
+
+/**
+ * Utilities used to run independent requests of extractors concurrently.
+ *
+ * <p>
+ * Work is executed on the executor returned by {@link NewPipe#getExecutor()}, unless another
+ * executor is given explicitly.
+ * </p>
+ */
+public final class ConcurrencyUtils {
+
+    /**
+     * A task which can throw the checked exceptions thrown by extractors.
+     *
+     * @param <T> the type of the input of the task
+     * @param <R> the type of the result of the task
+     */
+    @FunctionalInterface
+    public interface ThrowingFunction<T, R> {
+        R apply(T input) throws IOException, ExtractionException;
+    }
+
+    /**
+     * A task without input which can throw the checked exceptions thrown by extractors.
+     *
+     * @param <R> the type of the result of the task
+     */
+    @FunctionalInterface
+    public interface ThrowingSupplier<R> {
+        R get() throws IOException, ExtractionException;
+    }
+
+    /**
+     * A task without input nor result which can throw the checked exceptions thrown by
+     * extractors.
+     */
+    @FunctionalInterface
+    public interface ThrowingRunnable {
+        void run() throws IOException, ExtractionException;
+    }
+
+    private ConcurrencyUtils() {
+    }
+
+    /**
+     * Run the given task asynchronously on the extractor executor.
+     *
+     * @param task the task to run
+     * @param <R>  the type of the result of the task
+     * @return a future completed with the result of the task, or exceptionally with the exception
+     * it threw
+     */
+    @Nonnull
+    public static <R> CompletableFuture<R> supplyAsync(@Nonnull final ThrowingSupplier<R> task) {
+        final CompletableFuture<R> future = new CompletableFuture<>();
+        try {
+            NewPipe.getExecutor().execute(() -> completeWith(future, task));
+        } catch (final RuntimeException e) {
+            future.completeExceptionally(e);
+        }
+        return future;
+    }
+
+    /**
+     * Apply the given function on each input concurrently, with at most {@code maxParallelism}
+     * functions running at the same time.
+     *
+     * <p>
+     * Inputs are processed in the order of the given list. Each returned future completes
+     * independently, so callers can handle failures of single inputs.
+     * </p>
+     *
+     * @param inputs         the inputs on which the function should be applied
+     * @param maxParallelism the maximum number of inputs processed at the same time, which must
+     *                       be greater than 0
+     * @param function       the function to apply on each input
+     * @param <T>            the type of inputs
+     * @param <R>            the type of results
+     * @return a list of futures, in the order of the given inputs
+     */
+    @Nonnull
+    public static <T, R> List<CompletableFuture<R>> mapConcurrently(
+            @Nonnull final List<T> inputs,
+            final int maxParallelism,
+            @Nonnull final ThrowingFunction<T, R> function) {
+        return mapConcurrently(inputs, maxParallelism, function, NewPipe.getExecutor());
+    }
+
+    /**
+     * Same as {@link #mapConcurrently(List, int, ThrowingFunction)}, but using the given executor.
+     *
+     * @param inputs         the inputs on which the function should be applied
+     * @param maxParallelism the maximum number of inputs processed at the same time, which must
+     *                       be greater than 0
+     * @param function       the function to apply on each input
+     * @param executor       the executor on which the function is run
+     * @param <T>            the type of inputs
+     * @param <R>            the type of results
+     * @return a list of futures, in the order of the given inputs
+     */
+    @Nonnull
+    public static <T, R> List<CompletableFuture<R>> mapConcurrently(
+            @Nonnull final List<T> inputs,
+            final int maxParallelism,
+            @Nonnull final ThrowingFunction<T, R> function,
+            @Nonnull final Executor executor) {
+        if (maxParallelism <= 0) {
+            throw new IllegalArgumentException("maxParallelism must be greater than 0");
+        }
+        if (inputs.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        final List<CompletableFuture<R>> futures = new ArrayList<>(inputs.size());
+        for (int i = 0; i < inputs.size(); i++) {
+            futures.add(new CompletableFuture<>());
+        }
+
+        // Each worker takes the next input not processed yet, so that no more than
+        // maxParallelism threads are used and no thread is blocked waiting for a permit
+        final AtomicInteger nextIndex = new AtomicInteger();
+        final Runnable worker = () -> {
+            int index = nextIndex.getAndIncrement();
+            while (index < inputs.size()) {
+                final T input = inputs.get(index);
+                completeWith(futures.get(index), () -> function.apply(input));
+                index = nextIndex.getAndIncrement();
+            }
+        };
+
+        final int workers = Math.min(maxParallelism, inputs.size());
+        for (int i = 0; i < workers; i++) {
+            try {
+                executor.execute(worker);
+            } catch (final RuntimeException e) {
+                // The executor rejected the task: process the remaining inputs in this thread
+                worker.run();
+                break;
+            }
+        }
+
+        return futures;
+    }
+
+    /**
+     * Wait for the result of the given future, unwrapping the exception thrown by the task if
+     * there is one.
+     *
+     * @param future the future to wait for
+     * @param <R>    the type of the result
+     * @return the result of the future
+     * @throws IOException         if the task threw an {@link IOException}
+     * @throws ExtractionException if the task threw an {@link ExtractionException} or if the
+     *                             current thread has been interrupted
+     */
+    public static <R> R await(@Nonnull final Future<R> future)
+            throws IOException, ExtractionException {
+        try {
+            return future.get();
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ExtractionException("Interrupted while waiting for a result", e);
+        } catch (final ExecutionException e) {
+            throw unwrap(e.getCause());
+        }
+    }
+
+    /**
+     * Same as {@link #await(Future)}, but giving up after the given timeout.
+     *
+     * @param future  the future to wait for
+     * @param timeout the maximum time to wait
+     * @param unit    the unit of the timeout
+     * @param <R>     the type of the result
+     * @return the result of the future
+     * @throws IOException         if the task threw an {@link IOException} or if the timeout
+     *                             elapsed
+     * @throws ExtractionException if the task threw an {@link ExtractionException} or if the
+     *                             current thread has been interrupted
+     */
+    public static <R> R await(@Nonnull final Future<R> future,
+                              final long timeout,
+                              @Nonnull final TimeUnit unit)
+            throws IOException, ExtractionException {
+        try {
+            return future.get(timeout, unit);
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ExtractionException("Interrupted while waiting for a result", e);
+        } catch (final ExecutionException e) {
+            throw unwrap(e.getCause());
+        } catch (final TimeoutException e) {
+            throw new IOException("Timed out while waiting for a result", e);
+        }
+    }
+
+    private static <R> void completeWith(@Nonnull final CompletableFuture<R> future,
+                                         @Nonnull final ThrowingSupplier<R> task) {
+        try {
+            future.complete(task.get());
+        } catch (final Exception | Error e) {
+            future.completeExceptionally(e);
+        }
+    }
+
+    /**
+     * Rethrow the given cause as is if it is an unchecked exception or an error, and return it
+     * as an exception which can be thrown by extractors otherwise.
+     */
+    @Nonnull
+    private static ExtractionException unwrap(final Throwable cause) throws IOException {
+        if (cause instanceof ExtractionException) {
+            return (ExtractionException) cause;
+        } else if (cause instanceof IOException) {
+            throw (IOException) cause;
+        } else if (cause instanceof RuntimeException) {
+            throw (RuntimeException) cause;
+        } else if (cause instanceof Error) {
+            throw (Error) cause;
+        }
+        return new ExtractionException(cause);
+    }
+}
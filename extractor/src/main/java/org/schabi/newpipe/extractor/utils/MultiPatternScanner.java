@@ -0,0 +1,298 @@
+package org.schabi.newpipe.extractor.utils;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * Finds the matches of several regular expressions in a large text, such as a JavaScript file,
+ * with a single traversal of the text.
+ *
+ * <p>
+ * Running a regular expression over a large text is slow when the expression has no literal
+ * prefix, because matching is tried at every position of the text. Each expression given to this
+ * scanner is therefore associated to an anchor: a literal string which is contained in all of its
+ * matches, at most a given number of characters after the start of the match (see
+ * {@link AnchoredPattern}).
+ * </p>
+ *
+ * <p>
+ * {@link #scan(String)} finds the positions of all anchors in the text at once, using an
+ * <a href="https://en.wikipedia.org/wiki/Aho%E2%80%93Corasick_algorithm">Aho-Corasick</a>
+ * automaton. Expressions are then only tried on the few positions before the occurrences of
+ * their anchor, giving the same leftmost match as {@link Matcher#find()} on the whole text.
+ * </p>
+ *
+ * <p>
+ * Instances are immutable and can be shared between threads.
+ * </p>
+ */
+public final class MultiPatternScanner {
+
+    /**
+     * A regular expression with the literal anchor contained in all of its matches.
+     */
+    public static final class AnchoredPattern {
+        @Nonnull
+        private final Pattern pattern;
+        @Nonnull
+        private final String anchor;
+        private final int maxAnchorOffset;
+
+        /**
+         * Creates a new {@link AnchoredPattern}.
+         *
+         * @param pattern         the regular expression
+         * @param anchor          a non-empty ASCII string contained in all the matches of the
+         *                        regular expression
+         * @param maxAnchorOffset the maximum number of characters between the start of a match
+         *                        and the start of its anchor; matches with a longer offset are
+         *                        not found
+         */
+        public AnchoredPattern(@Nonnull final Pattern pattern,
+                               @Nonnull final String anchor,
+                               final int maxAnchorOffset) {
+            if (anchor.isEmpty()) {
+                throw new IllegalArgumentException("anchor must not be empty");
+            }
+            if (maxAnchorOffset < 0) {
+                throw new IllegalArgumentException("maxAnchorOffset must not be negative");
+            }
+            this.pattern = pattern;
+            this.anchor = anchor;
+            this.maxAnchorOffset = maxAnchorOffset;
+        }
+
+        @Nonnull
+        public Pattern getPattern() {
+            return pattern;
+        }
+
+        @Nonnull
+        public String getAnchor() {
+            return anchor;
+        }
+
+        public int getMaxAnchorOffset() {
+            return maxAnchorOffset;
+        }
+    }
+
+    // Anchors are ASCII strings, other characters always lead back to the root state
+    private static final int ALPHABET_LIMIT = 128;
+
+    /**
+     * The anchors of the patterns of this scanner, associated to their index in the outputs of
+     * the automaton.
+     */
+    @Nonnull
+    private final Map<String, Integer> anchorIndexes = new LinkedHashMap<>();
+    /**
+     * The transitions of the automaton, by state and by character.
+     */
+    @Nonnull
+    private final int[][] transitions;
+    /**
+     * The indexes of the anchors ending at each state of the automaton.
+     */
+    @Nonnull
+    private final int[][] outputs;
+
+    /**
+     * Creates a new {@link MultiPatternScanner}.
+     *
+     * @param patterns the patterns which can be searched in the results of {@link #scan(String)}
+     */
+    public MultiPatternScanner(@Nonnull final List<AnchoredPattern> patterns) {
+        for (final AnchoredPattern pattern : patterns) {
+            final String anchor = pattern.getAnchor();
+            for (int i = 0; i < anchor.length(); i++) {
+                if (anchor.charAt(i) >= ALPHABET_LIMIT) {
+                    throw new IllegalArgumentException("Anchor is not ASCII: " + anchor);
+                }
+            }
+            anchorIndexes.putIfAbsent(anchor, anchorIndexes.size());
+        }
+
+        // Build the trie of all anchors
+        final List<int[]> trie = new ArrayList<>();
+        final List<List<Integer>> trieOutputs = new ArrayList<>();
+        trie.add(newState());
+        trieOutputs.add(new ArrayList<>());
+        for (final Map.Entry<String, Integer> anchor : anchorIndexes.entrySet()) {
+            int state = 0;
+            for (final char c : anchor.getKey().toCharArray()) {
+                if (trie.get(state)[c] == 0) {
+                    trie.get(state)[c] = trie.size();
+                    trie.add(newState());
+                    trieOutputs.add(new ArrayList<>());
+                }
+                state = trie.get(state)[c];
+            }
+            trieOutputs.get(state).add(anchor.getValue());
+        }
+
+        // Turn the trie into a deterministic automaton, by following the failure links of states
+        // breadth-first: missing transitions go where the failure link of the state goes
+        final int[] failureLinks = new int[trie.size()];
+        final ArrayDeque<Integer> queue = new ArrayDeque<>();
+        for (int c = 0; c < ALPHABET_LIMIT; c++) {
+            if (trie.get(0)[c] != 0) {
+                queue.add(trie.get(0)[c]);
+            }
+        }
+        while (!queue.isEmpty()) {
+            final int state = queue.poll();
+            trieOutputs.get(state).addAll(trieOutputs.get(failureLinks[state]));
+            for (int c = 0; c < ALPHABET_LIMIT; c++) {
+                final int next = trie.get(state)[c];
+                if (next == 0) {
+                    trie.get(state)[c] = trie.get(failureLinks[state])[c];
+                } else {
+                    failureLinks[next] = trie.get(failureLinks[state])[c];
+                    queue.add(next);
+                }
+            }
+        }
+
+        this.transitions = trie.toArray(new int[0][]);
+        this.outputs = new int[trieOutputs.size()][];
+        for (int i = 0; i < outputs.length; i++) {
+            outputs[i] = trieOutputs.get(i).stream().mapToInt(Integer::intValue).toArray();
+        }
+    }
+
+    @Nonnull
+    private static int[] newState() {
+        return new int[ALPHABET_LIMIT];
+    }
+
+    /**
+     * Find the positions of the anchors of all the patterns of this scanner in the given text.
+     *
+     * @param text the text to scan
+     * @return the result of the scan, in which the patterns of this scanner can be searched
+     */
+    @Nonnull
+    public ScanResult scan(@Nonnull final String text) {
+        final int[][] positions = new int[anchorIndexes.size()][];
+        final int[] counts = new int[anchorIndexes.size()];
+        for (int i = 0; i < positions.length; i++) {
+            positions[i] = new int[8];
+        }
+        final int[] anchorLengths = anchorIndexes.keySet().stream()
+                .mapToInt(String::length)
+                .toArray();
+
+        int state = 0;
+        for (int i = 0; i < text.length(); i++) {
+            final char c = text.charAt(i);
+            state = c < ALPHABET_LIMIT ? transitions[state][c] : 0;
+            for (final int anchorIndex : outputs[state]) {
+                if (counts[anchorIndex] == positions[anchorIndex].length) {
+                    positions[anchorIndex] = Arrays.copyOf(positions[anchorIndex],
+                            counts[anchorIndex] * 2);
+                }
+                positions[anchorIndex][counts[anchorIndex]++] =
+                        i + 1 - anchorLengths[anchorIndex];
+            }
+        }
+
+        for (int i = 0; i < positions.length; i++) {
+            positions[i] = Arrays.copyOf(positions[i], counts[i]);
+        }
+        return new ScanResult(text, positions);
+    }
+
+    /**
+     * The positions of the anchors of the patterns of a {@link MultiPatternScanner} in a text.
+     */
+    public final class ScanResult {
+        @Nonnull
+        private final String text;
+        @Nonnull
+        private final int[][] anchorPositions;
+
+        private ScanResult(@Nonnull final String text, @Nonnull final int[][] anchorPositions) {
+            this.text = text;
+            this.anchorPositions = anchorPositions;
+        }
+
+        /**
+         * @return the text which was scanned
+         */
+        @Nonnull
+        public String getText() {
+            return text;
+        }
+
+        /**
+         * Find the leftmost match of the given pattern in the scanned text.
+         *
+         * @param pattern a pattern given to the scanner which created this result
+         * @return a matcher positioned on the leftmost match of the pattern, or {@code null} if
+         * the pattern doesn't match
+         */
+        @Nullable
+        public Matcher find(@Nonnull final AnchoredPattern pattern) {
+            final Integer anchorIndex = anchorIndexes.get(pattern.getAnchor());
+            if (anchorIndex == null) {
+                throw new IllegalArgumentException(
+                        "Pattern anchor was not scanned: " + pattern.getAnchor());
+            }
+
+            final Matcher matcher = pattern.getPattern().matcher(text)
+                    .useTransparentBounds(true)
+                    .useAnchoringBounds(false);
+            // The next position from which a match can start, so that positions before
+            // overlapping anchors are only tried once
+            int nextStart = 0;
+            for (final int anchorPosition : anchorPositions[anchorIndex]) {
+                final int start = Math.max(nextStart,
+                        anchorPosition - pattern.getMaxAnchorOffset());
+                for (int i = start; i <= anchorPosition; i++) {
+                    matcher.region(i, text.length());
+                    if (matcher.lookingAt()) {
+                        return matcher;
+                    }
+                }
+                nextStart = anchorPosition + 1;
+            }
+            return null;
+        }
+
+        /**
+         * Find the leftmost match of the first of the given patterns which matches the scanned
+         * text.
+         *
+         * @param patterns patterns given to the scanner which created this result, in order of
+         *                 preference
+         * @return a matcher positioned on the match found
+         * @throws Parser.RegexException if none of the patterns matches
+         */
+        @Nonnull
+        public Matcher findFirst(@Nonnull final List<AnchoredPattern> patterns)
+                throws Parser.RegexException {
+            if (patterns.isEmpty()) {
+                throw new Parser.RegexException("Empty patterns list passed to findFirst");
+            }
+            for (final AnchoredPattern pattern : patterns) {
+                final Matcher matcher = find(pattern);
+                if (matcher != null) {
+                    return matcher;
+                }
+            }
+            // Only report the first pattern, like Parser.matchMultiplePatterns
+            throw new Parser.RegexException("Failed to find pattern \""
+                    + patterns.get(0).getPattern().pattern() + "\"");
+        }
+    }
+}
@@ -0,0 +1,234 @@
+package org.schabi.newpipe.extractor.utils;
+
+import org.schabi.newpipe.extractor.NewPipe;
+import org.schabi.newpipe.extractor.exceptions.ExtractionException;
+import org.schabi.newpipe.extractor.utils.ConcurrencyUtils.ThrowingFunction;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * A thread-safe cache whose values are loaded on demand and expire after a given time.
+ *
+ * <p>
+ * Each value goes through the following states:
+ * </p>
+ * <ul>
+ *     <li>fresh, until its age reaches the refresh delay: it is returned as is;</li>
+ *     <li>stale, until its age reaches the expiration delay: it is still returned, but a
+ *     refresh is started in the background on {@link NewPipe#getExecutor()};</li>
+ *     <li>expired: the value is loaded again before being returned.</li>
+ * </ul>
+ *
+ * <p>
+ * At most one load is running for a given key at a time: concurrent callers wait for the
+ * result of the running load instead of starting their own.
+ * </p>
+ *
+ * <p>
+ * A maximum size can be given for caches whose keys are not bounded: when it is exceeded, the
+ * least recently used value is removed.
+ * </p>
+ *
+ * @param <K> the type of keys
+ * @param <V> the type of values
+ */
+public final class RefreshingCache<K, V> {
+
+    private static final class Entry<V> {
+        private final V value;
+        private final long loadTime;
+
+        Entry(final V value, final long loadTime) {
+            this.value = value;
+            this.loadTime = loadTime;
+        }
+    }
+
+    private final Map<K, Entry<V>> entries;
+    private final ConcurrentHashMap<K, CompletableFuture<V>> pendingLoads =
+            new ConcurrentHashMap<>();
+    private final long refreshAfterNanos;
+    private final long expireAfterNanos;
+    private final LongSupplier nanoClock;
+
+    /**
+     * Creates a new {@link RefreshingCache}.
+     *
+     * @param refreshAfter the age after which values are refreshed in the background
+     * @param expireAfter  the age after which values are not returned anymore, which must not be
+     *                     lower than {@code refreshAfter}
+     */
+    public RefreshingCache(@Nonnull final Duration refreshAfter,
+                           @Nonnull final Duration expireAfter) {
+        this(refreshAfter, expireAfter, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Creates a new {@link RefreshingCache} holding at most the given number of values.
+     *
+     * @param refreshAfter the age after which values are refreshed in the background
+     * @param expireAfter  the age after which values are not returned anymore, which must not be
+     *                     lower than {@code refreshAfter}
+     * @param maxSize      the maximum number of values, above which the least recently used
+     *                     one is removed
+     */
+    public RefreshingCache(@Nonnull final Duration refreshAfter,
+                           @Nonnull final Duration expireAfter,
+                           final int maxSize) {
+        this(refreshAfter, expireAfter, maxSize, System::nanoTime);
+    }
+
+    RefreshingCache(@Nonnull final Duration refreshAfter,
+                    @Nonnull final Duration expireAfter,
+                    @Nonnull final LongSupplier nanoClock) {
+        this(refreshAfter, expireAfter, Integer.MAX_VALUE, nanoClock);
+    }
+
+    RefreshingCache(@Nonnull final Duration refreshAfter,
+                    @Nonnull final Duration expireAfter,
+                    final int maxSize,
+                    @Nonnull final LongSupplier nanoClock) {
+        if (expireAfter.compareTo(refreshAfter) < 0) {
+            throw new IllegalArgumentException(
+                    "expireAfter must not be lower than refreshAfter");
+        }
+        if (maxSize < 1) {
+            throw new IllegalArgumentException("maxSize must be positive");
+        }
+        // Access-ordered, so that the least recently used value is the eldest one
+        this.entries = Collections.synchronizedMap(
+                new LinkedHashMap<K, Entry<V>>(16, 0.75f, true) {
+                    @Override
+                    protected boolean removeEldestEntry(
+                            final Map.Entry<K, RefreshingCache.Entry<V>> eldest) {
+                        return size() > maxSize;
+                    }
+                });
+        this.refreshAfterNanos = refreshAfter.toNanos();
+        this.expireAfterNanos = expireAfter.toNanos();
+        this.nanoClock = nanoClock;
+    }
+
+    /**
+     * Get the value associated to the given key, loading it with the given loader if it is not
+     * in the cache or if it expired.
+     *
+     * @param key    the key of the value
+     * @param loader the function used to load the value when needed
+     * @return the cached or newly loaded value
+     * @throws IOException         if the value had to be loaded and the loader threw an
+     *                             {@link IOException}
+     * @throws ExtractionException if the value had to be loaded and the loader threw an
+     *                             {@link ExtractionException}
+     */
+    public V get(@Nonnull final K key, @Nonnull final ThrowingFunction<K, V> loader)
+            throws IOException, ExtractionException {
+        final Entry<V> entry = entries.get(key);
+        if (entry != null) {
+            final long age = nanoClock.getAsLong() - entry.loadTime;
+            if (age < refreshAfterNanos) {
+                return entry.value;
+            } else if (age < expireAfterNanos) {
+                load(key, loader, true);
+                return entry.value;
+            }
+        }
+
+        return ConcurrencyUtils.await(load(key, loader, false));
+    }
+
+    /**
+     * Get the value associated to the given key if it is in the cache and didn't expire,
+     * without loading it.
+     *
+     * @param key the key of the value
+     * @return the cached value or {@code null}
+     */
+    @Nullable
+    public V getIfPresent(@Nonnull final K key) {
+        final Entry<V> entry = entries.get(key);
+        if (entry == null || nanoClock.getAsLong() - entry.loadTime >= expireAfterNanos) {
+            return null;
+        }
+        return entry.value;
+    }
+
+    /**
+     * Put a value in the cache, replacing the one associated to the given key, if any.
+     *
+     * @param key   the key of the value
+     * @param value the value to cache
+     */
+    public void put(@Nonnull final K key, @Nonnull final V value) {
+        entries.put(key, new Entry<>(value, nanoClock.getAsLong()));
+    }
+
+    /**
+     * Remove the value associated to the given key from the cache.
+     *
+     * @param key the key of the value to remove
+     */
+    public void invalidate(@Nonnull final K key) {
+        entries.remove(key);
+    }
+
+    /**
+     * Remove all values from the cache.
+     */
+    public void clear() {
+        entries.clear();
+    }
+
+    /**
+     * @return the number of values in the cache, including stale and expired ones
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    @Nonnull
+    private CompletableFuture<V> load(@Nonnull final K key,
+                                      @Nonnull final ThrowingFunction<K, V> loader,
+                                      final boolean inBackground) {
+        final CompletableFuture<V> newLoad = new CompletableFuture<>();
+        final CompletableFuture<V> pendingLoad = pendingLoads.putIfAbsent(key, newLoad);
+        if (pendingLoad != null) {
+            return pendingLoad;
+        }
+
+        final Runnable loadTask = () -> {
+            try {
+                final V value = loader.apply(key);
+                entries.put(key, new Entry<>(value, nanoClock.getAsLong()));
+                newLoad.complete(value);
+            } catch (final Exception | Error e) {
+                newLoad.completeExceptionally(e);
+            } finally {
+                pendingLoads.remove(key, newLoad);
+            }
+        };
+
+        if (inBackground) {
+            try {
+                NewPipe.getExecutor().execute(loadTask);
+            } catch (final RuntimeException e) {
+                // The stale value is still returned, the refresh will be retried on next access
+                pendingLoads.remove(key, newLoad);
+                newLoad.completeExceptionally(e);
+            }
+        } else {
+            loadTask.run();
+        }
+        return newLoad;
+    }
+}
@@ -12,6 +12,8 @@ import org.mozilla.javascript.Kit;
 import org.mozilla.javascript.ScriptRuntime;
 import org.schabi.newpipe.extractor.exceptions.ParsingException;
 
+import java.util.Arrays;
+
 /**
  * Based on Mozilla Rhino's (v1.7.14) org.mozilla.javascript.TokenStream
  * <p/>
@@ -20,6 +22,7 @@ import org.schabi.newpipe.extractor.exceptions.ParsingException;
  *     <li>Tailored for {@link Lexer}</li>
  *     <li>Removed all not needed code to improve performance</li>
  *     <li>Optimized for ECMAScript6/2015</li>
+ *     <li>Parses a window of a {@link CharSequence} without copying it</li>
  * </ul>
  */
 class EcmaScriptTokenStream {
@@ -39,17 +42,82 @@ class EcmaScriptTokenStream {
     private static final char BYTE_ORDER_MARK = '\uFEFF';
     private static final char NUMERIC_SEPARATOR = '_';
 
-    EcmaScriptTokenStream(final String sourceString, final int lineno, final boolean strictMode) {
-        this.sourceString = sourceString;
-        this.sourceCursor = 0;
-        this.cursor = 0;
+    private static final String[] KEYWORDS = {
+            "await", "break", "case", "catch", "class", "const", "continue", "debugger",
+            "default", "delete", "do", "else", "enum", "export", "extends", "false", "finally",
+            "for", "function", "if", "implements", "import", "in", "instanceof", "interface",
+            "let", "new", "null", "package", "private", "protected", "public", "return",
+            "static", "super", "switch", "this", "throw", "true", "try", "typeof", "var", "void",
+            "while", "with", "yield"
+    };
+    private static final int MIN_KEYWORD_LENGTH = 2;
+    private static final int MAX_KEYWORD_LENGTH = 10;
+
+    /**
+     * The keywords of {@link #KEYWORDS}, by their first letter.
+     */
+    private static final String[][] KEYWORDS_BY_FIRST_LETTER = new String['z' - 'a' + 1][];
+
+    static {
+        for (char letter = 'a'; letter <= 'z'; letter++) {
+            final char firstLetter = letter;
+            KEYWORDS_BY_FIRST_LETTER[letter - 'a'] = Arrays.stream(KEYWORDS)
+                    .filter(keyword -> keyword.charAt(0) == firstLetter)
+                    .toArray(String[]::new);
+        }
+    }
+
+    /**
+     * Creates a token stream over a window of the given source, without copying it.
+     *
+     * <p>
+     * The token positions {@link #tokenBeg} and {@link #tokenEnd} are indexes in
+     * {@code source}.
+     * </p>
+     */
+    EcmaScriptTokenStream(final CharSequence source,
+                          final int start,
+                          final int end,
+                          final int lineno,
+                          final boolean strictMode) {
+        this.source = source;
+        this.sourceEnd = end;
+        this.sourceCursor = start;
+        this.cursor = start;
 
         this.lineno = lineno;
         this.strictMode = strictMode;
     }
 
-    private Token stringToKeyword(final String name) {
-        return stringToKeywordForES(name, strictMode);
+    /**
+     * Get the keyword token of the identifier in the string buffer, without creating a string
+     * for each identifier.
+     *
+     * @return the keyword token, or {@link Token#EOF} if the identifier is not a keyword
+     */
+    private Token bufferToKeyword() {
+        final int length = stringBufferTop;
+        final char firstLetter = stringBuffer[0];
+        if (length < MIN_KEYWORD_LENGTH || length > MAX_KEYWORD_LENGTH
+                || firstLetter < 'a' || firstLetter > 'z') {
+            return Token.EOF;
+        }
+
+        for (final String keyword : KEYWORDS_BY_FIRST_LETTER[firstLetter - 'a']) {
+            if (keyword.length() == length && bufferEquals(keyword)) {
+                return stringToKeywordForES(keyword, strictMode);
+            }
+        }
+        return Token.EOF;
+    }
+
+    private boolean bufferEquals(final String keyword) {
+        for (int i = 1; i < stringBufferTop; i++) {
+            if (stringBuffer[i] != keyword.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
     }
 
     /** ECMAScript 6. */
@@ -243,13 +311,10 @@ class EcmaScriptTokenStream {
                 }
                 ungetChar(c);
 
-                final String str = getStringFromBuffer();
+                tokenEnd = cursor;
                 if (!containsEscape) {
-                    // OPT we shouldn't have to make a string (object!) to
-                    // check if it's a keyword.
-
                     // Return the corresponding token if it's a keyword
-                    final Token result = stringToKeyword(str);
+                    final Token result = bufferToKeyword();
                     if (result != Token.EOF) {
                         return result; // Always needed due to ECMAScript
                     }
@@ -833,11 +898,6 @@ class EcmaScriptTokenStream {
         tokenEnd = start + stringBufferTop + 2; // include slashes
     }
 
-    private String getStringFromBuffer() {
-        tokenEnd = cursor;
-        return new String(stringBuffer, 0, stringBufferTop);
-    }
-
     private void addToString(final int c) {
         final int n = stringBufferTop;
         if (n == stringBuffer.length) {
@@ -889,11 +949,11 @@ class EcmaScriptTokenStream {
         }
 
         for (;;) {
-            if (sourceCursor == sourceString.length()) {
+            if (sourceCursor == sourceEnd) {
                 return EOF_CHAR;
             }
             cursor++;
-            int c = sourceString.charAt(sourceCursor++);
+            int c = source.charAt(sourceCursor++);
 
             if (!ignoreLineEnd && lineEndChar >= 0) {
                 if (lineEndChar == '\r' && c == '\n') {
@@ -968,10 +1028,11 @@ class EcmaScriptTokenStream {
     private int lineEndChar = -1;
     int lineno;
 
-    private final String sourceString;
+    private final CharSequence source;
+    // The index after the last character of the window of the source being parsed
+    private final int sourceEnd;
 
-    // sourceCursor is an index into a small buffer that keeps a
-    // sliding window of the source stream.
+    // sourceCursor is the index in the source of the next character to read
     private int sourceCursor;
 
     // cursor is a monotonically increasing index into the original
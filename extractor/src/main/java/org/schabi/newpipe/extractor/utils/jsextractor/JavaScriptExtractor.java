@@ -29,19 +29,18 @@ public final class JavaScriptExtractor {
             throw new ParsingException("Start not found");
         }
         startIndex += start.length();
-        final String js = jsCode.substring(startIndex);
 
-        final Lexer lexer = new Lexer(js);
+        // Lex the rest of the code in place, so that only the extracted code is copied
+        final Lexer lexer = new Lexer(jsCode, startIndex, jsCode.length());
         boolean visitedOpenBrace = false;
 
         while (true) {
-            final Lexer.ParsedToken parsedToken = lexer.getNextToken();
-            final Token t = parsedToken.token;
+            final Token t = lexer.nextToken();
 
             if (t == Token.LC) {
                 visitedOpenBrace = true;
             } else if (visitedOpenBrace && lexer.isBalanced()) {
-                return js.substring(0, parsedToken.end);
+                return jsCode.substring(startIndex, lexer.getTokenEnd());
             } else if (t == Token.EOF) {
                 throw new ParsingException("Could not find matching braces");
             }
@@ -2,7 +2,7 @@ package org.schabi.newpipe.extractor.utils.jsextractor;
 
 import org.schabi.newpipe.extractor.exceptions.ParsingException;
 
-import java.util.Stack;
+import java.util.ArrayDeque;
 
 /**
  * JavaScript lexer that is able to parse JavaScript code and return its
@@ -14,14 +14,26 @@ import java.util.Stack;
  * </p>
  */
 public class Lexer {
-    private static class Paren {
+    private static final class Paren {
+        // Parens only hold two flags, so their four possible values are shared
+        private static final Paren[] VALUES = {
+                new Paren(false, false),
+                new Paren(false, true),
+                new Paren(true, false),
+                new Paren(true, true)
+        };
+
         public final boolean funcExpr;
         public final boolean conditional;
 
-        Paren(final boolean funcExpr, final boolean conditional) {
+        private Paren(final boolean funcExpr, final boolean conditional) {
             this.funcExpr = funcExpr;
             this.conditional = conditional;
         }
+
+        static Paren of(final boolean funcExpr, final boolean conditional) {
+            return VALUES[(funcExpr ? 2 : 0) + (conditional ? 1 : 0)];
+        }
     }
 
     private static class Brace {
@@ -34,72 +46,67 @@ public class Lexer {
         }
     }
 
-    private static class MetaToken {
-        public final Token token;
-        public final int lineno;
-
-        MetaToken(final Token token, final int lineno) {
-            this.token = token;
-            this.lineno = lineno;
+    /**
+     * The last three tokens which are not comments, with the line on which they were found and
+     * the paren or brace they open or close, if any.
+     *
+     * <p>
+     * Tokens are stored in fixed arrays, so that no object is allocated for each token.
+     * </p>
+     */
+    private static final class LookBehind {
+        private final Token[] tokens = new Token[3];
+        private final int[] linenos = new int[3];
+        private final Paren[] parens = new Paren[3];
+        private final Brace[] braces = new Brace[3];
+
+        void push(final Token token, final int lineno) {
+            push(token, lineno, null, null);
         }
-    }
-
-    private static class BraceMetaToken extends MetaToken {
-        public final Brace brace;
 
-        BraceMetaToken(final Token token, final int lineno, final Brace brace) {
-            super(token, lineno);
-            this.brace = brace;
+        void push(final Token token, final int lineno, final Paren paren, final Brace brace) {
+            for (int i = 2; i > 0; i--) {
+                tokens[i] = tokens[i - 1];
+                linenos[i] = linenos[i - 1];
+                parens[i] = parens[i - 1];
+                braces[i] = braces[i - 1];
+            }
+            tokens[0] = token;
+            linenos[0] = lineno;
+            parens[0] = paren;
+            braces[0] = brace;
         }
-    }
-
-    private static class ParenMetaToken extends MetaToken {
-        public final Paren paren;
 
-        ParenMetaToken(final Token token, final int lineno, final Paren paren) {
-            super(token, lineno);
-            this.paren = paren;
+        Token one() {
+            return tokens[0];
         }
-    }
 
-    private static class LookBehind {
-        private final MetaToken[] list;
-
-        LookBehind() {
-            list = new MetaToken[3];
+        Token two() {
+            return tokens[1];
         }
 
-        void push(final MetaToken t) {
-            MetaToken toShift = t;
-            for (int i = 0; i < 3; i++) {
-                final MetaToken tmp = list[i];
-                list[i] = toShift;
-                toShift = tmp;
-            }
+        Token three() {
+            return tokens[2];
         }
 
-        MetaToken one() {
-            return list[0];
+        int twoLineno() {
+            return linenos[1];
         }
 
-        MetaToken two() {
-            return list[1];
+        Paren oneParen() {
+            return parens[0];
         }
 
-        MetaToken three() {
-            return list[2];
+        Brace oneBrace() {
+            return braces[0];
         }
 
         boolean oneIs(final Token token) {
-            return list[0] != null && list[0].token == token;
+            return tokens[0] == token;
         }
 
         boolean twoIs(final Token token) {
-            return list[1] != null && list[1].token == token;
-        }
-
-        boolean threeIs(final Token token) {
-            return list[2] != null && list[2].token == token;
+            return tokens[1] == token;
         }
     }
 
@@ -120,8 +127,8 @@ public class Lexer {
 
     private final EcmaScriptTokenStream stream;
     private final LookBehind lastThree;
-    private final Stack<Brace> braceStack;
-    private final Stack<Paren> parenStack;
+    private final ArrayDeque<Brace> braceStack;
+    private final ArrayDeque<Paren> parenStack;
 
     /**
      * Create a new JavaScript lexer with the given source code
@@ -129,10 +136,25 @@ public class Lexer {
      * @param js JavaScript code
      */
     public Lexer(final String js) {
-        stream = new EcmaScriptTokenStream(js, 0, false);
+        this(js, 0, js.length());
+    }
+
+    /**
+     * Create a new JavaScript lexer over a window of the given source code, without copying it.
+     *
+     * <p>
+     * The positions of the tokens are indexes in {@code source}, not in the window.
+     * </p>
+     *
+     * @param source JavaScript code
+     * @param start  the index of the first character to parse
+     * @param end    the index after the last character to parse
+     */
+    public Lexer(final CharSequence source, final int start, final int end) {
+        stream = new EcmaScriptTokenStream(source, start, end, 0, false);
         lastThree = new LookBehind();
-        braceStack = new Stack<>();
-        parenStack = new Stack<>();
+        braceStack = new ArrayDeque<>();
+        parenStack = new ArrayDeque<>();
     }
 
     /**
@@ -141,6 +163,22 @@ public class Lexer {
      * @throws ParsingException
      */
     public ParsedToken getNextToken() throws ParsingException {
+        final Token token = nextToken();
+        return new ParsedToken(token, stream.tokenBeg, stream.tokenEnd);
+    }
+
+    /**
+     * Continue parsing and return the next token, without allocating a {@link ParsedToken}.
+     *
+     * <p>
+     * The position of the token can be got with {@link #getTokenStart()} and
+     * {@link #getTokenEnd()}.
+     * </p>
+     *
+     * @return next token
+     * @throws ParsingException
+     */
+    public Token nextToken() throws ParsingException {
         Token token = stream.nextToken();
 
         if ((token == Token.DIV || token == Token.ASSIGN_DIV) && isRegexStart()) {
@@ -148,9 +186,22 @@ public class Lexer {
             token = Token.REGEXP;
         }
 
-        final ParsedToken parsedToken = new ParsedToken(token, stream.tokenBeg, stream.tokenEnd);
-        keepBooks(parsedToken);
-        return parsedToken;
+        keepBooks(token, stream.tokenBeg);
+        return token;
+    }
+
+    /**
+     * @return the start of the last token returned by {@link #nextToken()}
+     */
+    public int getTokenStart() {
+        return stream.tokenBeg;
+    }
+
+    /**
+     * @return the end of the last token returned by {@link #nextToken()}
+     */
+    public int getTokenEnd() {
+        return stream.tokenEnd;
     }
 
     /**
@@ -165,9 +216,9 @@ public class Lexer {
      * Evaluate the token for possible regex start and handle updating the
      * `self.last_three`, `self.paren_stack` and `self.brace_stack`
      */
-    void keepBooks(final ParsedToken parsedToken) throws ParsingException {
-        if (parsedToken.token.isPunct) {
-            switch (parsedToken.token) {
+    void keepBooks(final Token token, final int start) throws ParsingException {
+        if (token.isPunct) {
+            switch (token) {
                 case LP:
                     handleOpenParenBooks();
                     return;
@@ -175,15 +226,15 @@ public class Lexer {
                     handleOpenBraceBooks();
                     return;
                 case RP:
-                    handleCloseParenBooks(parsedToken.start);
+                    handleCloseParenBooks(start);
                     return;
                 case RC:
-                    handleCloseBraceBooks(parsedToken.start);
+                    handleCloseBraceBooks(start);
                     return;
             }
         }
-        if (parsedToken.token != Token.COMMENT) {
-            lastThree.push(new MetaToken(parsedToken.token, stream.lineno));
+        if (token != Token.COMMENT) {
+            lastThree.push(token, stream.lineno);
         }
     }
 
@@ -193,17 +244,17 @@ public class Lexer {
     void handleOpenParenBooks() {
         boolean funcExpr = false;
         if (lastThree.oneIs(Token.FUNCTION)) {
-            funcExpr = lastThree.two() != null && checkForExpression(lastThree.two().token);
+            funcExpr = lastThree.two() != null && checkForExpression(lastThree.two());
         } else if (lastThree.twoIs(Token.FUNCTION)) {
-            funcExpr = lastThree.three() != null && checkForExpression(lastThree.three().token);
+            funcExpr = lastThree.three() != null && checkForExpression(lastThree.three());
         }
 
         final boolean conditional = lastThree.one() != null
-                && lastThree.one().token.isConditional();
+                && lastThree.one().isConditional();
 
-        final Paren paren = new Paren(funcExpr, conditional);
+        final Paren paren = Paren.of(funcExpr, conditional);
         parenStack.push(paren);
-        lastThree.push(new ParenMetaToken(Token.LP, stream.lineno, paren));
+        lastThree.push(Token.LP, stream.lineno, paren, null);
     }
 
     /**
@@ -212,32 +263,29 @@ public class Lexer {
     void handleOpenBraceBooks() {
         boolean isBlock = true;
         if (lastThree.one() != null) {
-            switch (lastThree.one().token) {
+            switch (lastThree.one()) {
                 case LP:
                 case LC:
                 case CASE:
                     isBlock = false;
                     break;
                 case COLON:
-                    isBlock = !braceStack.isEmpty() && braceStack.lastElement().isBlock;
+                    isBlock = !braceStack.isEmpty() && braceStack.peek().isBlock;
                     break;
                 case RETURN:
                 case YIELD:
                 case YIELD_STAR:
-                    isBlock = lastThree.two() != null && lastThree.two().lineno != stream.lineno;
+                    isBlock = lastThree.two() != null && lastThree.twoLineno() != stream.lineno;
                     break;
                 default:
-                    isBlock = !lastThree.one().token.isOp;
+                    isBlock = !lastThree.one().isOp;
             }
         }
 
-        Paren paren = null;
-        if (lastThree.one() instanceof ParenMetaToken && lastThree.one().token == Token.RP) {
-            paren = ((ParenMetaToken) lastThree.one()).paren;
-        }
+        final Paren paren = lastThree.oneIs(Token.RP) ? lastThree.oneParen() : null;
         final Brace brace = new Brace(isBlock, paren);
         braceStack.push(brace);
-        lastThree.push(new BraceMetaToken(Token.LC, stream.lineno, brace));
+        lastThree.push(Token.LC, stream.lineno, null, brace);
     }
 
     /**
@@ -247,7 +295,7 @@ public class Lexer {
         if (parenStack.isEmpty()) {
             throw new ParsingException("unmatched closing paren at " + start);
         }
-        lastThree.push(new ParenMetaToken(Token.RP, stream.lineno, parenStack.pop()));
+        lastThree.push(Token.RP, stream.lineno, parenStack.pop(), null);
     }
 
     /**
@@ -257,7 +305,7 @@ public class Lexer {
         if (braceStack.isEmpty()) {
             throw new ParsingException("unmatched closing brace at " + start);
         }
-        lastThree.push(new BraceMetaToken(Token.RC, stream.lineno, braceStack.pop()));
+        lastThree.push(Token.RC, stream.lineno, null, braceStack.pop());
     }
 
     boolean checkForExpression(final Token token) {
@@ -272,16 +320,16 @@ public class Lexer {
      */
     boolean isRegexStart() {
         if (lastThree.one() != null) {
-            final Token t = lastThree.one().token;
+            final Token t = lastThree.one();
             if (t.isKeyw) {
                 return t != Token.THIS;
-            } else if (t == Token.RP && lastThree.one() instanceof ParenMetaToken) {
-                return ((ParenMetaToken) lastThree.one()).paren.conditional;
-            } else if (t == Token.RC && lastThree.one() instanceof BraceMetaToken) {
-                final BraceMetaToken mt = (BraceMetaToken) lastThree.one();
-                if (mt.brace.isBlock) {
-                    if (mt.brace.paren != null) {
-                        return !mt.brace.paren.funcExpr;
+            } else if (t == Token.RP && lastThree.oneParen() != null) {
+                return lastThree.oneParen().conditional;
+            } else if (t == Token.RC && lastThree.oneBrace() != null) {
+                final Brace brace = lastThree.oneBrace();
+                if (brace.isBlock) {
+                    if (brace.paren != null) {
+                        return !brace.paren.funcExpr;
                     } else {
                         return true;
                     }
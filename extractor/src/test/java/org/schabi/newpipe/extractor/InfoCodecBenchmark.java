@@ -0,0 +1,73 @@
+package org.schabi.newpipe.extractor;
+
+import org.schabi.newpipe.extractor.stream.StreamInfo;
+
+import java.io.ByteArrayInputStream;
+import java.io.ObjectInputStream;
+
+/**
+ * Compares the size of {@link InfoCodec} outputs and its encoding and decoding times with Java
+ * serialization.
+ *
+ * <p>
+ * Run it with {@code java -cp <test classpath> org.schabi.newpipe.extractor.InfoCodecBenchmark
+ * [iterations]}. Results are only indicative, as this is a simple loop after a warm-up phase.
+ * </p>
+ */
+public final class InfoCodecBenchmark {
+    private static final int DEFAULT_ITERATIONS = 20_000;
+
+    private InfoCodecBenchmark() {
+    }
+
+    public static void main(final String[] args) throws Exception {
+        final int iterations = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_ITERATIONS;
+        final StreamInfo info = InfoCodecTest.streamInfo();
+
+        final byte[] encoded = InfoCodec.encode(info);
+        final byte[] serialized = InfoCodecTest.serialize(info);
+        System.out.println("InfoCodec size:          " + encoded.length + " bytes");
+        System.out.println("ObjectOutputStream size: " + serialized.length + " bytes");
+
+        for (int round = 0; round < 2; round++) {
+            final boolean warmUp = round == 0;
+
+            long start = System.nanoTime();
+            for (int i = 0; i < iterations; i++) {
+                InfoCodec.encode(info);
+            }
+            report(warmUp, "InfoCodec encode", start, iterations);
+
+            start = System.nanoTime();
+            for (int i = 0; i < iterations; i++) {
+                InfoCodec.decode(encoded, StreamInfo.class);
+            }
+            report(warmUp, "InfoCodec decode", start, iterations);
+
+            start = System.nanoTime();
+            for (int i = 0; i < iterations; i++) {
+                InfoCodecTest.serialize(info);
+            }
+            report(warmUp, "ObjectOutputStream write", start, iterations);
+
+            start = System.nanoTime();
+            for (int i = 0; i < iterations; i++) {
+                try (ObjectInputStream objectInputStream =
+                             new ObjectInputStream(new ByteArrayInputStream(serialized))) {
+                    objectInputStream.readObject();
+                }
+            }
+            report(warmUp, "ObjectInputStream read", start, iterations);
+        }
+    }
+
+    private static void report(final boolean warmUp,
+                               final String operation,
+                               final long start,
+                               final int iterations) {
+        if (!warmUp) {
+            System.out.printf("%-25s %8.2f us/op%n", operation + ":",
+                    (System.nanoTime() - start) / 1000.0 / iterations);
+        }
+    }
+}
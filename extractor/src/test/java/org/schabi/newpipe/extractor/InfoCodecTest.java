@@ -0,0 +1,378 @@
+package org.schabi.newpipe.extractor;
+
+import org.junit.jupiter.api.Test;
+import org.schabi.newpipe.extractor.channel.ChannelInfo;
+import org.schabi.newpipe.extractor.channel.ChannelInfoItem;
+import org.schabi.newpipe.extractor.comments.CommentsInfoItem;
+import org.schabi.newpipe.extractor.exceptions.ParsingException;
+import org.schabi.newpipe.extractor.linkhandler.ListLinkHandler;
+import org.schabi.newpipe.extractor.linkhandler.ReadyChannelTabListLinkHandler;
+import org.schabi.newpipe.extractor.localization.DateWrapper;
+import org.schabi.newpipe.extractor.playlist.PlaylistInfo;
+import org.schabi.newpipe.extractor.playlist.PlaylistInfoItem;
+import org.schabi.newpipe.extractor.services.youtube.ItagItem;
+import org.schabi.newpipe.extractor.stream.AudioStream;
+import org.schabi.newpipe.extractor.stream.AudioTrackType;
+import org.schabi.newpipe.extractor.stream.DeliveryMethod;
+import org.schabi.newpipe.extractor.stream.Description;
+import org.schabi.newpipe.extractor.stream.Frameset;
+import org.schabi.newpipe.extractor.stream.StreamExtractor;
+import org.schabi.newpipe.extractor.stream.StreamInfo;
+import org.schabi.newpipe.extractor.stream.StreamInfoItem;
+import org.schabi.newpipe.extractor.stream.StreamSegment;
+import org.schabi.newpipe.extractor.stream.StreamType;
+import org.schabi.newpipe.extractor.stream.SubtitlesStream;
+import org.schabi.newpipe.extractor.stream.VideoStream;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.net.URL;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class InfoCodecTest {
+    private static final String CHANNEL_URL = "https://www.youtube.com/channel/UC1";
+
+    private static List<Image> avatars() {
+        return List.of(
+                new Image("https://yt3.ggpht.com/avatar=s48", 48, 48,
+                        Image.ResolutionLevel.LOW),
+                new Image("https://yt3.ggpht.com/avatar=s176", 176, 176,
+                        Image.ResolutionLevel.MEDIUM));
+    }
+
+    private static StreamInfoItem streamInfoItem(final int index) {
+        final StreamInfoItem item = new StreamInfoItem(0,
+                "https://www.youtube.com/watch?v=related" + index, "Related " + index,
+                StreamType.VIDEO_STREAM);
+        item.setThumbnails(List.of(new Image("https://i.ytimg.com/vi/related" + index
+                + "/hqdefault.jpg", 360, 480, Image.ResolutionLevel.MEDIUM)));
+        item.setUploaderName("Uploader");
+        item.setUploaderUrl(CHANNEL_URL);
+        // Equal but distinct lists, as returned by extractors
+        item.setUploaderAvatars(avatars());
+        item.setUploaderVerified(true);
+        item.setDuration(212 + index);
+        item.setViewCount(1_000_000L * index);
+        item.setTextualUploadDate(index + " years ago");
+        item.setUploadDate(new DateWrapper(
+                OffsetDateTime.of(2015, 1, 1, 0, 0, 0, 0, ZoneOffset.UTC), true));
+        item.setShortDescription(null);
+        return item;
+    }
+
+    private static CommentsInfoItem commentsInfoItem() {
+        final CommentsInfoItem item = new CommentsInfoItem(0,
+                "https://www.youtube.com/watch?v=dQw4w9WgXcQ", "Uploader");
+        item.setCommentId("UgzBW7Tj1ZxIl1aGXn54AaABAg");
+        item.setCommentText(new Description("<b>Great</b>", Description.HTML));
+        item.setUploaderName("Commenter");
+        item.setUploaderAvatars(avatars());
+        item.setUploaderUrl(CHANNEL_URL);
+        item.setTextualUploadDate("1 day ago");
+        item.setUploadDate(new DateWrapper(
+                OffsetDateTime.of(2023, 3, 4, 5, 6, 7, 8_000_000, ZoneOffset.ofHours(2))));
+        item.setLikeCount(CommentsInfoItem.NO_LIKE_COUNT);
+        item.setTextualLikeCount("");
+        item.setPinned(true);
+        item.setStreamPosition(CommentsInfoItem.NO_STREAM_POSITION);
+        item.setReplyCount(12);
+        item.setReplies(new Page("https://www.youtube.com/youtubei/v1/next", "replies",
+                null, Map.of("cookie", "value"), new byte[] {1, 2, 3}));
+        item.setChannelOwner(true);
+        return item;
+    }
+
+    static StreamInfo streamInfo() throws ParsingException, IOException {
+        final StreamInfo info = new StreamInfo(0, "https://www.youtube.com/watch?v=dQw4w9WgXcQ",
+                "https://youtu.be/dQw4w9WgXcQ", StreamType.VIDEO_STREAM, "dQw4w9WgXcQ",
+                "Never Gonna Give You Up", 0);
+        info.setThumbnails(List.of(new Image("https://i.ytimg.com/vi/dQw4w9WgXcQ/maxres.jpg",
+                720, 1280, Image.ResolutionLevel.HIGH)));
+        info.setUploaderName("Uploader");
+        info.setUploaderUrl(CHANNEL_URL);
+        info.setUploaderAvatars(avatars());
+        info.setUploaderSubscriberCount(3_000_000);
+        info.setDescription(new Description("Description", Description.PLAIN_TEXT));
+        info.setDuration(212);
+        info.setViewCount(1_400_000_000L);
+        info.setLikeCount(16_000_000);
+        info.setTextualUploadDate("2009-10-25");
+        info.setUploadDate(new DateWrapper(
+                OffsetDateTime.of(2009, 10, 25, 6, 57, 33, 0, ZoneOffset.UTC)));
+
+        final ItagItem audioItag = new ItagItem(ItagItem.getItag(140));
+        audioItag.setBitrate(130_000);
+        audioItag.setInitStart(0);
+        audioItag.setInitEnd(722);
+        audioItag.setIndexStart(723);
+        audioItag.setIndexEnd(1006);
+        audioItag.setCodec("mp4a.40.2");
+        audioItag.setQuality("tiny");
+        audioItag.setSampleRate(44100);
+        audioItag.setAudioChannels(2);
+        audioItag.setApproxDurationMs(212_091);
+        audioItag.setContentLength(3_433_514);
+        audioItag.setAudioTrackId("en.4");
+        audioItag.setAudioTrackType(AudioTrackType.ORIGINAL);
+        audioItag.setAudioLocale(Locale.ENGLISH);
+        info.setAudioStreams(List.of(new AudioStream.Builder()
+                .setId("140")
+                .setContent("https://rr1.googlevideo.com/videoplayback?itag=140&expire=1", true)
+                .setMediaFormat(MediaFormat.M4A)
+                .setAverageBitrate(128)
+                .setAudioTrackId("en.4")
+                .setAudioTrackName("English original")
+                .setAudioLocale(Locale.ENGLISH)
+                .setAudioTrackType(AudioTrackType.ORIGINAL)
+                .setItagItem(audioItag)
+                .build()));
+
+        final ItagItem videoItag = new ItagItem(ItagItem.getItag(137));
+        videoItag.setWidth(1920);
+        videoItag.setHeight(1080);
+        videoItag.setFps(25);
+        info.setVideoOnlyStreams(List.of(new VideoStream.Builder()
+                .setId("137")
+                .setContent("https://rr1.googlevideo.com/videoplayback?itag=137&expire=1", true)
+                .setMediaFormat(MediaFormat.MPEG_4)
+                .setIsVideoOnly(true)
+                .setResolution("1080p")
+                .setItagItem(videoItag)
+                .build()));
+        info.setVideoStreams(List.of(new VideoStream.Builder()
+                .setId("hls")
+                .setContent("https://manifest.googlevideo.com/hls", true)
+                .setDeliveryMethod(DeliveryMethod.HLS)
+                .setIsVideoOnly(false)
+                .setResolution("")
+                .build()));
+        info.setSubtitles(List.of(new SubtitlesStream.Builder()
+                .setContent("https://www.youtube.com/api/timedtext?lang=en", true)
+                .setMediaFormat(MediaFormat.VTT)
+                .setLanguageCode("en-GB")
+                .setAutoGenerated(false)
+                .build()));
+        info.setHlsUrl("https://manifest.googlevideo.com/hls");
+
+        final ChannelInfoItem channelInfoItem = new ChannelInfoItem(0, CHANNEL_URL, "Uploader");
+        channelInfoItem.setThumbnails(avatars());
+        channelInfoItem.setSubscriberCount(3_000_000);
+        channelInfoItem.setVerified(true);
+        final PlaylistInfoItem playlistInfoItem = new PlaylistInfoItem(0,
+                "https://www.youtube.com/playlist?list=RDdQw4w9WgXcQ", "Mix");
+        playlistInfoItem.setPlaylistType(PlaylistInfo.PlaylistType.MIX_STREAM);
+        playlistInfoItem.setStreamCount(-1);
+        final List<InfoItem> relatedItems = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            relatedItems.add(streamInfoItem(i));
+        }
+        relatedItems.add(channelInfoItem);
+        relatedItems.add(playlistInfoItem);
+        info.setRelatedItems(relatedItems);
+
+        info.setPrivacy(StreamExtractor.Privacy.PUBLIC);
+        info.setCategory("Music");
+        info.setLicence("YouTube licence");
+        info.setLanguageInfo(Locale.UK);
+        info.setTags(List.of("rick", "astley"));
+        final StreamSegment segment = new StreamSegment("Intro", 0);
+        segment.setPreviewUrl("https://i.ytimg.com/segment.jpg");
+        info.setStreamSegments(List.of(segment));
+        info.setMetaInfo(List.of(new MetaInfo("COVID-19",
+                new Description("Get the latest information", Description.PLAIN_TEXT),
+                List.of(new URL("https://www.who.int")), List.of("WHO"))));
+        info.setPreviewFrames(List.of(new Frameset(
+                List.of("https://i.ytimg.com/sb/dQw4w9WgXcQ/storyboard3_L1/M0.jpg"),
+                80, 45, 100, 2000, 10, 10)));
+        info.addError(new ParsingException("Could not get dislike count"));
+        return info;
+    }
+
+    static byte[] serialize(final Serializable value) throws IOException {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream objectOutputStream = new ObjectOutputStream(bytes)) {
+            objectOutputStream.writeObject(value);
+        }
+        return bytes.toByteArray();
+    }
+
+    @Test
+    void streamInfoRoundTripTest() throws Exception {
+        final StreamInfo info = streamInfo();
+        final byte[] encoded = InfoCodec.encode(info);
+        final StreamInfo decoded = InfoCodec.decode(encoded, StreamInfo.class);
+
+        // The encoding is deterministic, so equal encodings mean that all fields are equal
+        assertArrayEquals(encoded, InfoCodec.encode(decoded));
+        assertEquals(info.getOriginalUrl(), decoded.getOriginalUrl());
+        assertEquals(info.getUploadDate().offsetDateTime(),
+                decoded.getUploadDate().offsetDateTime());
+        assertEquals(info.getLanguageInfo(), decoded.getLanguageInfo());
+
+        final AudioStream audioStream = decoded.getAudioStreams().get(0);
+        assertTrue(audioStream.equalStats(info.getAudioStreams().get(0)));
+        assertEquals(722, audioStream.getInitEnd());
+        assertEquals(44100, audioStream.getItagItem().getSampleRate());
+        assertEquals(Locale.ENGLISH, audioStream.getItagItem().getAudioLocale());
+        assertEquals(1080, decoded.getVideoOnlyStreams().get(0).getHeight());
+        assertEquals(Locale.UK, decoded.getSubtitles().get(0).getLocale());
+
+        assertEquals(22, decoded.getRelatedItems().size());
+        assertTrue(decoded.getRelatedItems().get(20) instanceof ChannelInfoItem);
+        assertEquals(PlaylistInfo.PlaylistType.MIX_STREAM,
+                ((PlaylistInfoItem) decoded.getRelatedItems().get(21)).getPlaylistType());
+        assertNull(((StreamInfoItem) decoded.getRelatedItems().get(0)).getShortDescription());
+        // Equal image lists are shared
+        assertSame(decoded.getUploaderAvatars(),
+                ((StreamInfoItem) decoded.getRelatedItems().get(3)).getUploaderAvatars());
+
+        assertEquals(new URL("https://www.who.int"),
+                decoded.getMetaInfo().get(0).getUrls().get(0));
+        assertEquals(1, decoded.getErrors().size());
+        assertEquals("Could not get dislike count", decoded.getErrors().get(0).getMessage());
+    }
+
+    @Test
+    void errorsRoundTripTest() throws Exception {
+        final StreamInfo info = streamInfo();
+        info.addError(new ParsingException("Could not get description",
+                new IllegalStateException("Missing renderer", new NullPointerException())));
+
+        final byte[] encoded = InfoCodec.encode(info);
+        final StreamInfo decoded = InfoCodec.decode(encoded, StreamInfo.class);
+
+        assertArrayEquals(encoded, InfoCodec.encode(decoded));
+        assertEquals(2, decoded.getErrors().size());
+        final InfoCodec.DecodedError error = (InfoCodec.DecodedError) decoded.getErrors().get(1);
+        assertEquals(ParsingException.class.getName(), error.getErrorClassName());
+        assertEquals(ParsingException.class.getName() + ": Could not get description",
+                error.toString());
+        assertEquals(0, error.getStackTrace().length);
+
+        final InfoCodec.DecodedError cause = (InfoCodec.DecodedError) error.getCause();
+        assertEquals(IllegalStateException.class.getName(), cause.getErrorClassName());
+        assertEquals("Missing renderer", cause.getMessage());
+        final InfoCodec.DecodedError rootCause = (InfoCodec.DecodedError) cause.getCause();
+        assertEquals(NullPointerException.class.getName(), rootCause.toString());
+        assertNull(rootCause.getCause());
+    }
+
+    @Test
+    void unsupportedClassesTest() {
+        final StreamInfoItem subclassItem = new StreamInfoItem(0, "https://example.com", "Item",
+                StreamType.VIDEO_STREAM) {
+        };
+        assertThrows(IOException.class, () -> InfoCodec.encode(subclassItem));
+
+        final ChannelInfo info = new ChannelInfo(0, "UC1", CHANNEL_URL, CHANNEL_URL, "Channel");
+        info.setTabs(List.of(new ListLinkHandler(CHANNEL_URL, CHANNEL_URL, "UC1", List.of(),
+                "") {
+        }));
+        assertThrows(IOException.class, () -> InfoCodec.encode(info));
+    }
+
+    @Test
+    void playlistInfoRoundTripTest() throws Exception {
+        final String url = "https://www.youtube.com/playlist?list=PL1";
+        final PlaylistInfo info = new PlaylistInfo(0,
+                new ListLinkHandler(url, url, "PL1", List.of(), ""), "Playlist");
+        final List<StreamInfoItem> items = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            items.add(streamInfoItem(i));
+        }
+        info.setRelatedItems(items);
+        info.setNextPage(new Page("https://www.youtube.com/youtubei/v1/browse", "continuation"));
+        info.setUploaderName("Uploader");
+        info.setUploaderAvatars(avatars());
+        info.setStreamCount(250);
+        info.setPlaylistType(PlaylistInfo.PlaylistType.NORMAL);
+
+        final byte[] encoded = InfoCodec.encode(info);
+        final PlaylistInfo decoded = InfoCodec.decode(encoded, PlaylistInfo.class);
+
+        assertArrayEquals(encoded, InfoCodec.encode(decoded));
+        assertEquals("PL1", decoded.getId());
+        assertEquals(100, decoded.getRelatedItems().size());
+        assertEquals("continuation", decoded.getNextPage().getId());
+        assertTrue(encoded.length < serialize(info).length / 2);
+    }
+
+    @Test
+    void channelInfoRoundTripTest() throws Exception {
+        final ChannelInfo info = new ChannelInfo(0, "UC1", CHANNEL_URL, CHANNEL_URL, "Channel");
+        info.setAvatars(avatars());
+        info.setDescription("Description");
+        info.setDonationLinks(new String[] {"https://example.com/donate"});
+        info.setSubscriberCount(1000);
+        info.setTabs(List.of(new ListLinkHandler(CHANNEL_URL + "/videos", CHANNEL_URL + "/videos",
+                "UC1", List.of("videos"), ""), new ReadyChannelTabListLinkHandler(
+                        CHANNEL_URL + "/shorts", "UC1", "shorts", (service, linkHandler) -> {
+                            throw new UnsupportedOperationException();
+                        })));
+        info.setTags(List.of("music"));
+
+        final byte[] encoded = InfoCodec.encode(info);
+        final ChannelInfo decoded = InfoCodec.decode(encoded, ChannelInfo.class);
+
+        assertArrayEquals(encoded, InfoCodec.encode(decoded));
+        assertEquals(List.of("videos"), decoded.getTabs().get(0).getContentFilters());
+        // Ready channel tabs are decoded as tabs which have to be fetched
+        assertFalse(decoded.getTabs().get(1) instanceof ReadyChannelTabListLinkHandler);
+        assertEquals(List.of("shorts"), decoded.getTabs().get(1).getContentFilters());
+        assertArrayEquals(info.getDonationLinks(), decoded.getDonationLinks());
+        assertNull(decoded.getFeedUrl());
+    }
+
+    @Test
+    void commentsInfoItemRoundTripTest() throws Exception {
+        final CommentsInfoItem item = commentsInfoItem();
+        final byte[] encoded = InfoCodec.encode(item);
+        final CommentsInfoItem decoded = InfoCodec.decode(encoded, CommentsInfoItem.class);
+
+        assertArrayEquals(encoded, InfoCodec.encode(decoded));
+        assertEquals(item.getCommentText(), decoded.getCommentText());
+        assertEquals(item.getUploadDate().offsetDateTime(),
+                decoded.getUploadDate().offsetDateTime());
+        assertArrayEquals(new byte[] {1, 2, 3}, decoded.getReplies().getBody());
+        assertEquals(Map.of("cookie", "value"), decoded.getReplies().getCookies());
+        assertNull(decoded.getReplies().getIds());
+    }
+
+    @Test
+    void encodingIsSmallerThanJavaSerializationTest() throws Exception {
+        final StreamInfo info = streamInfo();
+        final int encodedSize = InfoCodec.encode(info).length;
+        final int serializedSize = serialize(info).length;
+        assertTrue(encodedSize < serializedSize / 3,
+                "Encoded size " + encodedSize + " is not less than a third of " + serializedSize);
+    }
+
+    @Test
+    void invalidDataTest() throws Exception {
+        final byte[] encoded = InfoCodec.encode(streamInfo());
+
+        final byte[] unsupportedVersion = encoded.clone();
+        unsupportedVersion[0] = (byte) (InfoCodec.FORMAT_VERSION + 1);
+        assertThrows(IOException.class,
+                () -> InfoCodec.decode(unsupportedVersion, StreamInfo.class));
+        assertThrows(IOException.class, () -> InfoCodec.decode(
+                Arrays.copyOf(encoded, encoded.length / 2), StreamInfo.class));
+        assertThrows(IOException.class, () -> InfoCodec.decode(encoded, PlaylistInfo.class));
+    }
+}
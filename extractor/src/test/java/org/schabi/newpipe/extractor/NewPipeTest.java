@@ -1,14 +1,31 @@
 package org.schabi.newpipe.extractor;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.schabi.newpipe.extractor.NewPipe.getServiceByUrl;
+import static org.schabi.newpipe.extractor.ServiceList.MediaCCC;
+import static org.schabi.newpipe.extractor.ServiceList.PeerTube;
 import static org.schabi.newpipe.extractor.ServiceList.SoundCloud;
 import static org.schabi.newpipe.extractor.ServiceList.YouTube;
 
 import org.junit.jupiter.api.Test;
+import org.schabi.newpipe.downloader.DownloaderTestImpl;
+import org.schabi.newpipe.extractor.downloader.Downloader;
+import org.schabi.newpipe.extractor.downloader.Request;
+import org.schabi.newpipe.extractor.downloader.Response;
+import org.schabi.newpipe.extractor.exceptions.ExtractionException;
+import org.schabi.newpipe.extractor.exceptions.FoundAdException;
+import org.schabi.newpipe.extractor.services.peertube.PeertubeInstance;
+import org.schabi.newpipe.extractor.services.peertube.PeertubeService;
 
 import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.annotation.Nonnull;
 
 public class NewPipeTest {
     @Test
@@ -43,4 +60,60 @@ public class NewPipeTest {
         assertEquals(getServiceByUrl("https://soundcloud.com/pegboardnerds"), SoundCloud);
         assertEquals(getServiceByUrl("https://www.google.com/url?sa=t&url=https%3A%2F%2Fsoundcloud.com%2Fciaoproduction&rct=j&q=&esrc=s&source=web&cd="), SoundCloud);
     }
+
+    @Test
+    public void getServiceWithUrlOfUndeclaredHost() throws Exception {
+        assertEquals(getServiceByUrl("vnd.youtube://www.youtube.com/watch?v=_r6CgaFNAGg"), YouTube);
+        assertEquals(getServiceByUrl("https://yewtu.be/watch?v=_r6CgaFNAGg"), YouTube);
+        assertEquals(getServiceByUrl("https://media.ccc.de/v/36c3-10565-what_s_left_for_private_messaging"), MediaCCC);
+        assertEquals(getServiceByUrl("https://framatube.org/w/kkGMgK9ZtnKfYAgnEtQxbv"), PeerTube);
+        assertThrows(FoundAdException.class, () -> getServiceByUrl("https://googleads.g.doubleclick.net/pagead/conversion/?ai=_r6CgaFNAGg"));
+        assertThrows(ExtractionException.class, () -> getServiceByUrl("https://example.com/nothing"));
+    }
+
+    @Test
+    public void warmUpReportsEachComponent() throws Exception {
+        // This instance does not exist, so its meta data cannot be fetched
+        final PeertubeService peertube = new PeertubeService(PeerTube.getServiceId(),
+                new PeertubeInstance("https://warm-up.invalid"));
+        final WarmUpReport report = NewPipe.warmUp(peertube, MediaCCC).get(30, TimeUnit.SECONDS);
+
+        assertFalse(report.isReady());
+        assertTrue(report.getReadyComponents().isEmpty());
+        assertEquals(Set.of("PeerTube/instanceMetaData"), report.getFailedComponents().keySet());
+    }
+
+    @Test
+    public void warmUpSkipsFetchedInstanceMetaData() throws Exception {
+        final AtomicInteger configRequests = new AtomicInteger();
+        NewPipe.init(new Downloader() {
+            @Override
+            public Response execute(@Nonnull final Request request) {
+                configRequests.incrementAndGet();
+                return new Response(200, "OK", null,
+                        "{\"instance\":{\"name\":\"Warm-up instance\"}}", request.url());
+            }
+        });
+        try {
+            final PeertubeService peertube = new PeertubeService(PeerTube.getServiceId(),
+                    new PeertubeInstance("https://warm-up.invalid"));
+
+            assertTrue(NewPipe.warmUp(peertube).get(30, TimeUnit.SECONDS).isReady());
+            assertTrue(peertube.getInstance().isInstanceMetaDataFetched());
+            assertEquals("Warm-up instance", peertube.getInstance().getName());
+
+            assertTrue(NewPipe.warmUp(peertube).get(30, TimeUnit.SECONDS).isReady());
+            assertEquals(1, configRequests.get());
+        } finally {
+            NewPipe.init(DownloaderTestImpl.getInstance());
+        }
+    }
+
+    @Test
+    public void warmUpWithoutTasks() throws Exception {
+        final WarmUpReport report = NewPipe.warmUp(MediaCCC).get(30, TimeUnit.SECONDS);
+
+        assertTrue(report.isReady());
+        assertTrue(report.getFailedComponents().isEmpty());
+    }
 }
@@ -0,0 +1,129 @@
+package org.schabi.newpipe.extractor;
+
+import org.junit.jupiter.api.Test;
+import org.schabi.newpipe.extractor.ListExtractor.InfoItemsPage;
+import org.schabi.newpipe.extractor.exceptions.ParsingException;
+import org.schabi.newpipe.extractor.stream.StreamInfoItem;
+import org.schabi.newpipe.extractor.stream.StreamType;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PageIteratorTest {
+    private static final int PAGE_COUNT = 10;
+
+    private static InfoItemsPage<InfoItem> page(final int index) {
+        final Page nextPage = index + 1 < PAGE_COUNT ? new Page(String.valueOf(index + 1)) : null;
+        return new InfoItemsPage<>(Collections.emptyList(), nextPage,
+                List.of(new Throwable(String.valueOf(index))));
+    }
+
+    private static InfoItemsPage<InfoItem> itemsPage(final int index) {
+        final Page nextPage = index + 1 < PAGE_COUNT ? new Page(String.valueOf(index + 1)) : null;
+        final List<InfoItem> items = List.of(
+                new StreamInfoItem(0, index + "-0", "item", StreamType.VIDEO_STREAM),
+                new StreamInfoItem(0, index + "-1", "item", StreamType.VIDEO_STREAM));
+        return new InfoItemsPage<>(items, nextPage, Collections.emptyList());
+    }
+
+    private static int indexOf(final InfoItemsPage<InfoItem> page) {
+        return Integer.parseInt(page.getErrors().get(0).getMessage());
+    }
+
+    @Test
+    void returnsAllPagesInOrderTest() throws Exception {
+        final ExecutorService executor = Executors.newCachedThreadPool();
+        try (PageIterator<InfoItem> iterator = new PageIterator<>(page(0),
+                p -> page(Integer.parseInt(p.getUrl())), 3, executor)) {
+            final List<Integer> indexes = new ArrayList<>();
+            while (iterator.hasNext()) {
+                indexes.add(indexOf(iterator.next()));
+            }
+
+            assertEquals(PAGE_COUNT, indexes.size());
+            for (int i = 0; i < PAGE_COUNT; i++) {
+                assertEquals(i, indexes.get(i));
+            }
+            assertThrows(NoSuchElementException.class, iterator::next);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void readAheadIsLimitedTest() throws Exception {
+        final AtomicInteger fetched = new AtomicInteger();
+        // Run fetches in the calling thread to make the number of fetched pages deterministic
+        try (PageIterator<InfoItem> iterator = new PageIterator<>(page(0), p -> {
+            fetched.incrementAndGet();
+            return page(Integer.parseInt(p.getUrl()));
+        }, 2, Runnable::run)) {
+            // The first page is pending, so only one page can be fetched in advance
+            assertEquals(1, fetched.get());
+
+            assertEquals(0, indexOf(iterator.next()));
+            assertEquals(2, fetched.get());
+            assertEquals(1, indexOf(iterator.next()));
+            assertEquals(3, fetched.get());
+        }
+    }
+
+    @Test
+    void errorStopsIterationTest() throws Exception {
+        final ExecutorService executor = Executors.newCachedThreadPool();
+        try (PageIterator<InfoItem> iterator = new PageIterator<>(page(0), p -> {
+            throw new ParsingException("Could not fetch page " + p.getUrl());
+        }, 1, executor)) {
+            assertEquals(0, indexOf(iterator.next()));
+            assertTrue(iterator.hasNext());
+            assertThrows(ParsingException.class, iterator::next);
+            assertFalse(iterator.hasNext());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void itemsAreStreamedLazilyTest() {
+        final AtomicInteger fetched = new AtomicInteger();
+        try (PageIterator<InfoItem> iterator = new PageIterator<>(itemsPage(0), p -> {
+            fetched.incrementAndGet();
+            return itemsPage(Integer.parseInt(p.getUrl()));
+        }, 1, Runnable::run)) {
+            final List<String> urls = iterator.items()
+                    .limit(3)
+                    .map(InfoItem::getUrl)
+                    .collect(Collectors.toList());
+
+            assertEquals(List.of("0-0", "0-1", "1-0"), urls);
+            // Only the page being consumed and the one read ahead after it have been fetched
+            assertEquals(2, fetched.get());
+        }
+    }
+
+    @Test
+    void closeStopsFetchingTest() throws Exception {
+        final AtomicInteger fetched = new AtomicInteger();
+        final PageIterator<InfoItem> iterator = new PageIterator<>(page(0), p -> {
+            fetched.incrementAndGet();
+            return page(Integer.parseInt(p.getUrl()));
+        }, 1, Runnable::run);
+
+        iterator.next();
+        iterator.close();
+        assertFalse(iterator.hasNext());
+        assertThrows(NoSuchElementException.class, iterator::next);
+        assertEquals(1, fetched.get());
+    }
+}
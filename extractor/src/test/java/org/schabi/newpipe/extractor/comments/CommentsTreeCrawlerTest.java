@@ -0,0 +1,172 @@
+package org.schabi.newpipe.extractor.comments;
+
+import org.junit.jupiter.api.Test;
+import org.schabi.newpipe.extractor.ListExtractor.InfoItemsPage;
+import org.schabi.newpipe.extractor.Page;
+import org.schabi.newpipe.extractor.exceptions.ParsingException;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CommentsTreeCrawlerTest {
+    private static final int TOP_LEVEL_PAGES = 3;
+    private static final int COMMENTS_PER_PAGE = 4;
+    private static final int REPLY_PAGES = 2;
+    private static final int REPLIES_PER_PAGE = 3;
+    // Every top-level comment has two pages of replies
+    private static final int TOTAL_COMMENTS = TOP_LEVEL_PAGES * COMMENTS_PER_PAGE
+            * (1 + REPLY_PAGES * REPLIES_PER_PAGE);
+    private static final int TOTAL_REQUESTS = TOP_LEVEL_PAGES - 1
+            + TOP_LEVEL_PAGES * COMMENTS_PER_PAGE * REPLY_PAGES;
+
+    private static CommentsInfoItem comment(final String id, final Page replies) {
+        final CommentsInfoItem comment = new CommentsInfoItem(0, id, id);
+        comment.setReplies(replies);
+        return comment;
+    }
+
+    /**
+     * Page URLs are "top/&lt;index&gt;" for top-level pages and
+     * "replies/&lt;comment&gt;/&lt;index&gt;" for reply pages.
+     */
+    private static InfoItemsPage<CommentsInfoItem> fetch(final Page page) {
+        final String[] parts = page.getUrl().split("/");
+        final List<CommentsInfoItem> items = new ArrayList<>();
+        if (parts[0].equals("top")) {
+            final int index = Integer.parseInt(parts[1]);
+            for (int i = 0; i < COMMENTS_PER_PAGE; i++) {
+                final String id = index + "." + i;
+                items.add(comment(id, new Page("replies/" + id + "/0")));
+            }
+            final Page nextPage = index + 1 < TOP_LEVEL_PAGES
+                    ? new Page("top/" + (index + 1)) : null;
+            return new InfoItemsPage<>(items, nextPage, Collections.emptyList());
+        }
+
+        final int index = Integer.parseInt(parts[2]);
+        for (int i = 0; i < REPLIES_PER_PAGE; i++) {
+            items.add(comment(parts[1] + "." + index + "." + i, null));
+        }
+        final Page nextPage = index + 1 < REPLY_PAGES
+                ? new Page("replies/" + parts[1] + "/" + (index + 1)) : null;
+        return new InfoItemsPage<>(items, nextPage, Collections.emptyList());
+    }
+
+    @Test
+    void crawlsWholeTreeTest() throws Exception {
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            final Map<String, String> parents = new HashMap<>();
+            final CommentsTreeCrawler crawler = new CommentsTreeCrawler(
+                    fetch(new Page("top/0")), CommentsTreeCrawlerTest::fetch, 3, 1000,
+                    executor);
+            final CommentsTreeCrawler.Result result = crawler.crawl((comment, parent) -> {
+                if (parent != null) {
+                    // Parents are always given before their replies
+                    assertTrue(parents.containsKey(parent.getUrl()));
+                }
+                parents.put(comment.getUrl(), parent == null ? null : parent.getUrl());
+            });
+
+            assertEquals(TOTAL_COMMENTS, parents.size());
+            assertEquals(TOTAL_COMMENTS, result.getCommentCount());
+            assertEquals(TOTAL_REQUESTS, result.getRequestCount());
+            assertFalse(result.isBudgetExhausted());
+            assertTrue(result.getErrors().isEmpty());
+
+            assertNull(parents.get("1.2"));
+            assertEquals("1.2", parents.get("1.2.0.0"));
+            assertEquals("1.2", parents.get("1.2.1.2"));
+            assertThrows(IllegalStateException.class, () -> crawler.crawl((c, p) -> { }));
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void parallelismIsLimitedTest() throws Exception {
+        final ExecutorService executor = Executors.newCachedThreadPool();
+        try {
+            final AtomicInteger running = new AtomicInteger();
+            final AtomicInteger maxRunning = new AtomicInteger();
+            final CommentsTreeCrawler crawler = new CommentsTreeCrawler(
+                    fetch(new Page("top/0")), page -> {
+                        if (page.getUrl().startsWith("replies")) {
+                            maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                            LockSupport.parkNanos(5_000_000);
+                            running.decrementAndGet();
+                        }
+                        return fetch(page);
+                    }, 2, 1000, executor);
+
+            assertEquals(TOTAL_COMMENTS, crawler.crawl((comment, parent) -> { })
+                    .getCommentCount());
+            assertTrue(maxRunning.get() <= 2);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void requestBudgetIsEnforcedTest() throws Exception {
+        final AtomicInteger requests = new AtomicInteger();
+        final CommentsTreeCrawler crawler = new CommentsTreeCrawler(
+                fetch(new Page("top/0")), page -> {
+                    requests.incrementAndGet();
+                    return fetch(page);
+                }, 2, 5, Runnable::run);
+
+        final CommentsTreeCrawler.Result result = crawler.crawl((comment, parent) -> { });
+        assertEquals(5, requests.get());
+        assertEquals(5, result.getRequestCount());
+        assertTrue(result.isBudgetExhausted());
+        assertTrue(result.getCommentCount() < TOTAL_COMMENTS);
+    }
+
+    @Test
+    void failedReplyThreadsAreRecordedTest() throws Exception {
+        final Set<String> seen = new HashSet<>();
+        final CommentsTreeCrawler crawler = new CommentsTreeCrawler(
+                fetch(new Page("top/0")), page -> {
+                    if (page.getUrl().startsWith("replies/0.1/")) {
+                        throw new ParsingException("Could not get replies");
+                    }
+                    return fetch(page);
+                }, 2, 1000, Runnable::run);
+
+        final CommentsTreeCrawler.Result result =
+                crawler.crawl((comment, parent) -> seen.add(comment.getUrl()));
+        assertEquals(1, result.getErrors().size());
+        assertEquals(TOTAL_COMMENTS - REPLY_PAGES * REPLIES_PER_PAGE, seen.size());
+        assertTrue(seen.contains("0.1"));
+        assertFalse(seen.contains("0.1.0.0"));
+    }
+
+    @Test
+    void rejectedWorkersRunOnCallingThreadTest() throws Exception {
+        final CommentsTreeCrawler crawler = new CommentsTreeCrawler(
+                fetch(new Page("top/0")), CommentsTreeCrawlerTest::fetch, 4, 1000,
+                command -> {
+                    throw new RejectedExecutionException();
+                });
+
+        assertEquals(TOTAL_COMMENTS, crawler.crawl((comment, parent) -> { })
+                .getCommentCount());
+    }
+}
@@ -0,0 +1,111 @@
+package org.schabi.newpipe.extractor.downloader;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class HedgingPolicyTest {
+    private static final long LATENCY = Duration.ofMillis(100).toNanos();
+    private static final long SLOW_REQUEST_MILLIS = 1000;
+
+    /**
+     * Record typical latencies and execute enough fast requests to get the budget of a single
+     * hedged request.
+     */
+    private static void warmUp(final HedgingPolicy policy) throws Exception {
+        for (int i = 0; i < 20; i++) {
+            policy.recordLatency("endpoint", LATENCY);
+        }
+        for (int i = 0; i < 20; i++) {
+            assertEquals("fast", policy.execute("endpoint", () -> "fast"));
+        }
+        assertEquals(0, policy.getHedgeCount());
+    }
+
+    private static String slowFirstRequest(final HedgingPolicy policy) throws Exception {
+        final AtomicInteger calls = new AtomicInteger();
+        return policy.execute("endpoint", () -> {
+            if (calls.incrementAndGet() == 1) {
+                try {
+                    Thread.sleep(SLOW_REQUEST_MILLIS);
+                } catch (final InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return "slow";
+            }
+            return "hedged";
+        });
+    }
+
+    @Test
+    void noHedgeBeforeEnoughLatenciesTest() throws Exception {
+        final HedgingPolicy policy = new HedgingPolicy(0.95, 1);
+        assertNull(policy.getHedgeDelay("endpoint"));
+
+        for (int i = 0; i < 19; i++) {
+            policy.recordLatency("endpoint", LATENCY);
+        }
+        assertNull(policy.getHedgeDelay("endpoint"));
+
+        policy.recordLatency("endpoint", 2 * LATENCY);
+        assertEquals(Duration.ofMillis(100), policy.getHedgeDelay("endpoint"));
+        assertNull(policy.getHedgeDelay("otherEndpoint"));
+    }
+
+    @Test
+    void slowRequestIsHedgedTest() throws Exception {
+        final HedgingPolicy policy = new HedgingPolicy(0.95, 0.05);
+        warmUp(policy);
+        assertNotNull(policy.getHedgeDelay("endpoint"));
+
+        assertEquals("hedged", slowFirstRequest(policy));
+        assertEquals(1, policy.getHedgeCount());
+        assertEquals(21, policy.getRequestCount());
+    }
+
+    @Test
+    void hedgesAreLimitedByBudgetTest() throws Exception {
+        final HedgingPolicy policy = new HedgingPolicy(0.95, 0.05);
+        warmUp(policy);
+
+        assertEquals("hedged", slowFirstRequest(policy));
+        // The budget has been consumed by the first hedged request
+        assertEquals("slow", slowFirstRequest(policy));
+        assertEquals(1, policy.getHedgeCount());
+    }
+
+    @Test
+    void failuresAreRethrownTest() {
+        final HedgingPolicy policy = new HedgingPolicy(0.95, 0.05);
+        assertThrows(IOException.class, () -> policy.execute("endpoint", () -> {
+            throw new IOException("Request failed");
+        }));
+        assertThrows(IllegalArgumentException.class, () -> new HedgingPolicy(1, 0.05));
+        assertThrows(IllegalArgumentException.class, () -> new HedgingPolicy(0.95, 0));
+    }
+
+    @Test
+    void failureLatenciesAreRecordedTest() throws Exception {
+        final HedgingPolicy policy = new HedgingPolicy(0.95, 0.05);
+        for (int i = 0; i < 20; i++) {
+            assertThrows(IOException.class, () -> policy.execute("endpoint", () -> {
+                throw new IOException("Request failed");
+            }));
+        }
+
+        // Latencies are recorded once requests have completed, which may happen after their
+        // failure has been rethrown
+        final long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (policy.getHedgeDelay("endpoint") == null && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertNotNull(policy.getHedgeDelay("endpoint"));
+    }
+}
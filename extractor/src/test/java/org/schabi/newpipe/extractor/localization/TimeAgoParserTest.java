@@ -2,12 +2,20 @@ package org.schabi.newpipe.extractor.localization;
 
 import static org.junit.jupiter.api.Assertions.assertAll;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.schabi.newpipe.extractor.localization.TimeAgoParserTest.ParseTimeAgoTestData.greaterThanDay;
 import static org.schabi.newpipe.extractor.localization.TimeAgoParserTest.ParseTimeAgoTestData.lessThanDay;
 
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
+import org.schabi.newpipe.extractor.ServiceList;
+import org.schabi.newpipe.extractor.StreamingService;
+import org.schabi.newpipe.extractor.exceptions.ParsingException;
 
 import java.time.Duration;
 import java.time.LocalDateTime;
@@ -61,6 +69,23 @@ class TimeAgoParserTest {
         );
     }
 
+    @Test
+    void cachedTimeAgoParsers() throws ParsingException {
+        final StreamingService service = ServiceList.YouTube;
+        final TimeAgoParser parser = service.getTimeAgoParser(new Localization("en", "GB"));
+        assertSame(parser, service.getTimeAgoParser(new Localization("en", "GB")));
+        assertNotNull(service.getTimeAgoParser(new Localization("sr", "Latn")));
+        // Less specific localization fallback
+        assertNotNull(service.getTimeAgoParser(new Localization("de", "AT")));
+        assertThrows(IllegalArgumentException.class,
+            () -> service.getTimeAgoParser(new Localization("xx")));
+
+        // Cached parsers are relative to the time at which dates are parsed
+        final OffsetDateTime before = OffsetDateTime.now(ZoneOffset.UTC);
+        final OffsetDateTime parsed = parser.parse("3 seconds ago").offsetDateTime();
+        assertFalse(parsed.isBefore(before.minusSeconds(3)));
+    }
+
     static class ParseTimeAgoTestData {
         public static final String AGO_SUFFIX = " ago";
         private final Function<OffsetDateTime, OffsetDateTime> expectedApplyToNow;
@@ -0,0 +1,203 @@
+package org.schabi.newpipe.extractor.services.bandcamp;
+
+import com.grack.nanojson.JsonObject;
+import com.grack.nanojson.JsonParser;
+import com.grack.nanojson.JsonParserException;
+import com.grack.nanojson.JsonWriter;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.schabi.newpipe.extractor.NewPipe;
+import org.schabi.newpipe.extractor.downloader.Downloader;
+import org.schabi.newpipe.extractor.downloader.Request;
+import org.schabi.newpipe.extractor.downloader.Response;
+import org.schabi.newpipe.extractor.exceptions.ParsingException;
+import org.schabi.newpipe.extractor.services.bandcamp.extractors.BandcampExtractorHelper;
+import org.schabi.newpipe.extractor.services.bandcamp.linkHandler.BandcampChannelLinkHandlerFactory;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import javax.annotation.Nonnull;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Test the caches of {@link BandcampExtractorHelper}, with a downloader which answers the
+ * requests of the helper with minimal responses.
+ */
+class BandcampExtractorHelperTest {
+    private static final String BAND_DETAILS_URL =
+            BandcampExtractorHelper.BASE_API_URL + "/mobile/22/band_details";
+    private static final String TRALBUM_DETAILS_URL =
+            BandcampExtractorHelper.BASE_API_URL + "/mobile/22/tralbum_details?band_id=";
+    // Stream URLs are never cleared, use a band ID per test to not get URLs of other tests
+    private static final long PREFETCH_BAND_ID = 1_000_001;
+    private static final long EVICTION_BAND_ID = 1_000_002;
+    private static final int MAX_CACHED_STREAM_URLS = 1024;
+
+    private final List<String> requests = new CopyOnWriteArrayList<>();
+    private final Set<String> failingBandIds = ConcurrentHashMap.newKeySet();
+
+    @BeforeEach
+    void setUp() {
+        BandcampExtractorHelper.clearArtistDetailsCache();
+        NewPipe.init(new Downloader() {
+            @Override
+            public Response execute(@Nonnull final Request request) throws IOException {
+                return respond(request);
+            }
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        BandcampExtractorHelper.clearArtistDetailsCache();
+    }
+
+    @Test
+    void artistDetailsAreCachedTest() throws Exception {
+        final JsonObject artistDetails = BandcampExtractorHelper.getArtistDetails("1");
+        assertEquals("https://artist1.bandcamp.com", artistDetails.getString("bandcamp_url"));
+        assertSame(artistDetails, BandcampExtractorHelper.getArtistDetails("1"));
+        assertEquals(List.of("band_details 1"), requests);
+
+        // The URL resolved from the ID is mapped to the ID, without fetching the artist page
+        final BandcampChannelLinkHandlerFactory linkHandlerFactory =
+                BandcampChannelLinkHandlerFactory.getInstance();
+        final String url = linkHandlerFactory.getUrl("1");
+        assertEquals("1", linkHandlerFactory.getId(url));
+        assertEquals("1", linkHandlerFactory.getId("http://artist1.bandcamp.com/releases"));
+        assertEquals(List.of("band_details 1"), requests);
+    }
+
+    @Test
+    void artistDetailsErrorsAreNotCachedTest() throws Exception {
+        failingBandIds.add("2");
+        assertThrows(ParsingException.class, () -> BandcampExtractorHelper.getArtistDetails("2"));
+
+        failingBandIds.clear();
+        assertEquals("https://artist2.bandcamp.com",
+                BandcampExtractorHelper.getArtistDetails("2").getString("bandcamp_url"));
+        assertEquals(List.of("band_details 2", "band_details 2"), requests);
+    }
+
+    @Test
+    void leastRecentlyUsedArtistDetailsAreEvictedTest() throws Exception {
+        BandcampExtractorHelper.getArtistDetails("0");
+        for (int i = 1; i < 256; i++) {
+            BandcampExtractorHelper.getArtistDetails(String.valueOf(i));
+        }
+        // Use the details of the first artist again, so that the second one is the least
+        // recently used
+        BandcampExtractorHelper.getArtistDetails("0");
+        BandcampExtractorHelper.getArtistDetails("256");
+        assertEquals(257, requests.size());
+
+        BandcampExtractorHelper.getArtistDetails("0");
+        BandcampExtractorHelper.getArtistDetails("255");
+        assertEquals(257, requests.size());
+        BandcampExtractorHelper.getArtistDetails("1");
+        assertEquals(258, requests.size());
+    }
+
+    @Test
+    void prefetchedStreamUrlsAreCachedTest() throws Exception {
+        final List<JsonObject> items = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            items.add(discographyItem(PREFETCH_BAND_ID, i));
+        }
+        // Duplicates are only resolved once
+        items.add(discographyItem(PREFETCH_BAND_ID, 0));
+
+        BandcampExtractorHelper.prefetchStreamUrls(items);
+        assertEquals(10, requests.size());
+
+        for (int i = 0; i < 10; i++) {
+            assertEquals("https://artist.bandcamp.com/album/" + i,
+                    BandcampExtractorHelper.getStreamUrlFromIds(PREFETCH_BAND_ID, i, "album"));
+        }
+        assertEquals(10, requests.size());
+
+        // Cached URLs are not resolved again
+        BandcampExtractorHelper.prefetchStreamUrls(items);
+        assertEquals(10, requests.size());
+    }
+
+    @Test
+    void leastRecentlyUsedStreamUrlsAreEvictedTest() throws Exception {
+        final List<JsonObject> items = new ArrayList<>();
+        for (int i = 0; i < MAX_CACHED_STREAM_URLS; i++) {
+            items.add(discographyItem(EVICTION_BAND_ID, i));
+        }
+        BandcampExtractorHelper.prefetchStreamUrls(items);
+        assertEquals(MAX_CACHED_STREAM_URLS, requests.size());
+
+        // Use the first URL again, so that the second one is the least recently used
+        BandcampExtractorHelper.getStreamUrlFromIds(EVICTION_BAND_ID, 0, "album");
+        BandcampExtractorHelper.getStreamUrlFromIds(EVICTION_BAND_ID, MAX_CACHED_STREAM_URLS,
+                "album");
+        assertEquals(MAX_CACHED_STREAM_URLS + 1, requests.size());
+
+        BandcampExtractorHelper.getStreamUrlFromIds(EVICTION_BAND_ID, 0, "album");
+        BandcampExtractorHelper.getStreamUrlFromIds(EVICTION_BAND_ID, 2, "album");
+        assertEquals(MAX_CACHED_STREAM_URLS + 1, requests.size());
+        BandcampExtractorHelper.getStreamUrlFromIds(EVICTION_BAND_ID, 1, "album");
+        assertEquals(MAX_CACHED_STREAM_URLS + 2, requests.size());
+        assertFalse(requests.subList(MAX_CACHED_STREAM_URLS, requests.size())
+                .contains("tralbum_details " + EVICTION_BAND_ID + " 0"));
+    }
+
+    @Nonnull
+    private static JsonObject discographyItem(final long bandId, final long itemId)
+            throws JsonParserException {
+        return JsonParser.object().from(JsonWriter.string()
+                .object()
+                .value("band_id", bandId)
+                .value("item_id", itemId)
+                .value("item_type", "album")
+                .end()
+                .done());
+    }
+
+    @Nonnull
+    private Response respond(@Nonnull final Request request) throws IOException {
+        if (request.url().startsWith(TRALBUM_DETAILS_URL)) {
+            // band_id=<band ID>&tralbum_id=<item ID>&tralbum_type=a
+            final String[] parameters = request.url()
+                    .substring(TRALBUM_DETAILS_URL.length()).split("&|=");
+            requests.add("tralbum_details " + parameters[0] + " " + parameters[2]);
+            return new Response(200, "OK", null, "{\"bandcamp_url\":"
+                    + "\"http://artist.bandcamp.com/album/" + parameters[2] + "\"}",
+                    request.url());
+        }
+        if (!request.url().equals(BAND_DETAILS_URL)) {
+            throw new IOException("Unexpected request: " + request.url());
+        }
+
+        final String bandId;
+        try {
+            bandId = JsonParser.object()
+                    .from(new String(request.dataToSend(), StandardCharsets.UTF_8))
+                    .getString("band_id");
+        } catch (final JsonParserException e) {
+            throw new IOException("Invalid request body", e);
+        }
+        requests.add("band_details " + bandId);
+
+        final String body = failingBandIds.contains(bandId)
+                ? "{\"error\":true,\"error_message\":\"No such band\"}"
+                : "{\"id\":" + bandId + ",\"name\":\"Artist " + bandId
+                        + "\",\"bandcamp_url\":\"https://artist" + bandId + ".bandcamp.com\"}";
+        return new Response(200, "OK", null, body, request.url());
+    }
+}
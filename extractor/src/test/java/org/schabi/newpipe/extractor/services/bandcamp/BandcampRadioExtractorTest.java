@@ -5,6 +5,7 @@ package org.schabi.newpipe.extractor.services.bandcamp;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
 import org.schabi.newpipe.downloader.DownloaderTestImpl;
+import org.schabi.newpipe.extractor.ListExtractor;
 import org.schabi.newpipe.extractor.NewPipe;
 import org.schabi.newpipe.extractor.exceptions.ExtractionException;
 import org.schabi.newpipe.extractor.services.BaseListExtractorTest;
@@ -13,6 +14,7 @@ import org.schabi.newpipe.extractor.services.bandcamp.extractors.BandcampRadioEx
 import org.schabi.newpipe.extractor.stream.StreamInfoItem;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -36,8 +38,14 @@ public class BandcampRadioExtractorTest implements BaseListExtractorTest {
     }
 
     @Test
-    public void testRadioCount() {
-        final List<StreamInfoItem> list = extractor.getInitialPage().getItems();
+    public void testRadioCount() throws Exception {
+        final List<StreamInfoItem> list = new ArrayList<>();
+        ListExtractor.InfoItemsPage<StreamInfoItem> page = extractor.getInitialPage();
+        list.addAll(page.getItems());
+        while (page.hasNextPage()) {
+            page = extractor.getPage(page.getNextPage());
+            list.addAll(page.getItems());
+        }
         assertTrue(list.size() > 300);
     }
 
@@ -48,7 +56,7 @@ public class BandcampRadioExtractorTest implements BaseListExtractorTest {
 
     @Test
     public void testMoreRelatedItems() throws Exception {
-        // All items are on one page
+        DefaultTests.defaultTestMoreItems(extractor);
     }
 
     @Test
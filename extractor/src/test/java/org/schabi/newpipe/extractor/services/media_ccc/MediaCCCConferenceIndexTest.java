@@ -0,0 +1,60 @@
+package org.schabi.newpipe.extractor.services.media_ccc;
+
+import com.grack.nanojson.JsonArray;
+import com.grack.nanojson.JsonObject;
+
+import org.junit.jupiter.api.Test;
+import org.schabi.newpipe.extractor.services.media_ccc.extractors.MediaCCCConferenceIndex;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MediaCCCConferenceIndexTest {
+    private static final MediaCCCConferenceIndex INDEX = MediaCCCConferenceIndex.fromConferences(
+            new JsonArray(List.of(
+                    conference("36C3", "36c3", "36th Chaos Communication Congress"),
+                    conference("Akademy 2019", "akademy2019", "KDE Akademy 2019"),
+                    conference("froscon2023", "froscon2023", "FrOSCon 2023"),
+                    conference("camp2023", "camp2023", "Chaos Communication Camp 2023"))));
+
+    private static JsonObject conference(final String acronym,
+                                         final String slug,
+                                         final String title) {
+        return JsonObject.builder()
+                .value("acronym", acronym)
+                .value("slug", slug)
+                .value("title", title)
+                .done();
+    }
+
+    private static List<String> search(final String query) {
+        return INDEX.search(query).stream()
+                .map(conference -> conference.getString("slug"))
+                .collect(Collectors.toList());
+    }
+
+    @Test
+    void searchMatchesTokenSubstringsTest() {
+        assertEquals(List.of("36c3"), search("c3"));
+        assertEquals(List.of("akademy2019"), search("kde"));
+        assertEquals(List.of("akademy2019"), search("ADEMY"));
+        assertEquals(List.of("froscon2023", "camp2023"), search("2023"));
+    }
+
+    @Test
+    void searchMatchesAllQueryTokensTest() {
+        assertEquals(List.of("36c3", "camp2023"), search("chaos communication"));
+        assertEquals(List.of("camp2023"), search("Chaos camp"));
+        assertTrue(search("chaos froscon").isEmpty());
+    }
+
+    @Test
+    void searchWithoutTokensTest() {
+        assertTrue(search("").isEmpty());
+        assertTrue(search(" - ").isEmpty());
+        assertTrue(search("unknown").isEmpty());
+    }
+}
@@ -0,0 +1,70 @@
+package org.schabi.newpipe.extractor.services.youtube;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import com.grack.nanojson.JsonBuilder;
+import com.grack.nanojson.JsonObject;
+import com.grack.nanojson.JsonWriter;
+import org.junit.jupiter.api.Test;
+import org.schabi.newpipe.extractor.localization.ContentCountry;
+import org.schabi.newpipe.extractor.localization.Localization;
+
+import java.nio.charset.StandardCharsets;
+
+class InnertubeContextTemplateTest {
+    private static final Localization LOCALIZATION = new Localization("fr", "CA");
+    private static final ContentCountry CONTENT_COUNTRY = new ContentCountry("CA");
+
+    @Test
+    void bodiesAreIdenticalToBuiltOnes() {
+        final InnertubeClientRequestInfo requestInfo = InnertubeClientRequestInfo.ofIosClient();
+        requestInfo.clientInfo.visitorData = "Cgt2aXNpdG9yRGF0YQ%3D%3D";
+
+        final JsonBuilder<JsonObject> builder = YoutubeParsingHelper.prepareJsonBuilder(
+                LOCALIZATION, CONTENT_COUNTRY, requestInfo, null)
+                .value("videoId", "dQw4w9WgXcQ")
+                .value("contentCheckOk", true)
+                .object("serviceIntegrityDimensions")
+                    .value("poToken", "\"é\\/")
+                .end();
+
+        final byte[] body = InnertubeContextTemplate.of(
+                LOCALIZATION, CONTENT_COUNTRY, requestInfo, null)
+                .newBody(requestInfo.clientInfo.visitorData)
+                .value("videoId", "dQw4w9WgXcQ")
+                .value("contentCheckOk", true)
+                .value("serviceIntegrityDimensions", JsonObject.builder()
+                        .value("poToken", "\"é\\/")
+                        .done())
+                .toBytes();
+
+        assertEquals(JsonWriter.string(builder.done()), new String(body, StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void visitorDataIsNotPartOfTemplates() {
+        final InnertubeClientRequestInfo requestInfo =
+                InnertubeClientRequestInfo.ofWebEmbeddedPlayerClient();
+        final String embedUrl = "https://www.youtube.com/watch?v=dQw4w9WgXcQ";
+        final InnertubeContextTemplate template = InnertubeContextTemplate.of(
+                LOCALIZATION, CONTENT_COUNTRY, requestInfo, embedUrl);
+
+        requestInfo.clientInfo.visitorData = "visitorData";
+        assertSame(template, InnertubeContextTemplate.of(
+                LOCALIZATION, CONTENT_COUNTRY, requestInfo, embedUrl));
+
+        final String expectedWithVisitorData = JsonWriter.string(
+                YoutubeParsingHelper.prepareJsonBuilder(
+                        LOCALIZATION, CONTENT_COUNTRY, requestInfo, embedUrl).done());
+        assertEquals(expectedWithVisitorData, new String(
+                template.newBody("visitorData").toBytes(), StandardCharsets.UTF_8));
+
+        requestInfo.clientInfo.visitorData = null;
+        final String expectedWithoutVisitorData = JsonWriter.string(
+                YoutubeParsingHelper.prepareJsonBuilder(
+                        LOCALIZATION, CONTENT_COUNTRY, requestInfo, embedUrl).done());
+        assertEquals(expectedWithoutVisitorData, new String(
+                template.newBody().toBytes(), StandardCharsets.UTF_8));
+    }
+}
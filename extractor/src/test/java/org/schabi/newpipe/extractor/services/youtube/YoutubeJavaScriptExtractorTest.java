@@ -1,5 +1,6 @@
 package org.schabi.newpipe.extractor.services.youtube;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import org.junit.jupiter.api.BeforeEach;
@@ -7,11 +8,21 @@ import org.junit.jupiter.api.Test;
 import org.schabi.newpipe.downloader.DownloaderFactory;
 import org.schabi.newpipe.extractor.ExtractorAsserts;
 import org.schabi.newpipe.extractor.NewPipe;
+import org.schabi.newpipe.extractor.downloader.Downloader;
+import org.schabi.newpipe.extractor.downloader.Request;
+import org.schabi.newpipe.extractor.downloader.Response;
 import org.schabi.newpipe.extractor.exceptions.ParsingException;
 
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import javax.annotation.Nonnull;
+
 class YoutubeJavaScriptExtractorTest {
     private static final String RESOURCE_PATH =
             DownloaderFactory.RESOURCE_PATH + "services/youtube/extractor/jsExtractor/";
+    private static final String PLAYER_CODE = "var _yt_player={};";
 
     @BeforeEach
     public void setup() {
@@ -54,6 +65,52 @@ class YoutubeJavaScriptExtractorTest {
 
     }
 
+    @Test
+    void testEmbedWatchPageNotRequestedWhenIframeResourceWorks() throws Exception {
+        final List<String> requestedUrls = new CopyOnWriteArrayList<>();
+        NewPipe.init(stubDownloader(true, requestedUrls));
+
+        assertEquals(PLAYER_CODE, YoutubeJavaScriptExtractor.extractJavaScriptPlayerCode(""));
+
+        // Wait for the end of the head start of the IFrame resource
+        Thread.sleep(1000);
+        assertTrue(requestedUrls.stream().noneMatch(url -> url.contains("/embed/")),
+                "The embed watch page has been requested: " + requestedUrls);
+    }
+
+    @Test
+    void testEmbedWatchPageRequestedWithDefaultVideoId() throws Exception {
+        final List<String> requestedUrls = new CopyOnWriteArrayList<>();
+        NewPipe.init(stubDownloader(false, requestedUrls));
+
+        assertEquals(PLAYER_CODE, YoutubeJavaScriptExtractor.extractJavaScriptPlayerCode(""));
+        assertTrue(requestedUrls.contains("https://www.youtube.com/embed/"
+                + YoutubeJavaScriptExtractor.DEFAULT_VIDEO_ID), requestedUrls.toString());
+    }
+
+    private static Downloader stubDownloader(final boolean iframeResourceAvailable,
+                                             final List<String> requestedUrls) {
+        return new Downloader() {
+            @Override
+            public Response execute(@Nonnull final Request request) throws IOException {
+                final String url = request.url();
+                requestedUrls.add(url);
+                final String body;
+                if (url.endsWith("/iframe_api") && iframeResourceAvailable) {
+                    body = "var scriptUrl = 'https:\\/\\/www.youtube.com\\/s\\/player\\/"
+                            + "baafab19\\/';";
+                } else if (url.contains("/embed/")) {
+                    body = "<script src=\"/s/player/baafab19/player_ias.vflset/en_GB/base.js\">";
+                } else if (url.endsWith("/base.js")) {
+                    body = PLAYER_CODE;
+                } else {
+                    throw new IOException("Unavailable: " + url);
+                }
+                return new Response(200, "OK", null, body, url);
+            }
+        };
+    }
+
     private void assertPlayerJsCode(final String playerJsCode) {
         ExtractorAsserts.assertContains(" Copyright The Closure Library Authors.\n"
                 + " SPDX-License-Identifier: Apache-2.0", playerJsCode);
@@ -3,6 +3,7 @@ package org.schabi.newpipe.extractor.services.youtube;
 import org.schabi.newpipe.extractor.ExtractorAsserts;
 import org.schabi.newpipe.extractor.Image;
 import org.schabi.newpipe.extractor.services.DefaultTests;
+import org.schabi.newpipe.extractor.services.youtube.extractors.YoutubeStreamExtractor;
 
 import javax.annotation.Nullable;
 import java.util.Collection;
@@ -29,6 +30,7 @@ public final class YoutubeTestsUtils {
         YoutubeParsingHelper.resetClientVersion();
         YoutubeParsingHelper.setNumberGenerator(new Random(1));
         YoutubeJavaScriptPlayerManager.clearAllCaches();
+        YoutubeStreamExtractor.resetClientCircuitBreakers();
     }
 
     /**
@@ -0,0 +1,108 @@
+package org.schabi.newpipe.extractor.services.youtube.stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.schabi.newpipe.extractor.ServiceList.YouTube;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.schabi.newpipe.extractor.NewPipe;
+import org.schabi.newpipe.extractor.downloader.Downloader;
+import org.schabi.newpipe.extractor.downloader.Request;
+import org.schabi.newpipe.extractor.downloader.Response;
+import org.schabi.newpipe.extractor.services.youtube.YoutubeTestsUtils;
+import org.schabi.newpipe.extractor.stream.StreamExtractor;
+import org.schabi.newpipe.extractor.stream.StreamInfoField;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import javax.annotation.Nonnull;
+
+/**
+ * Test the extraction of YouTube streams when only some {@link StreamInfoField}s are selected,
+ * with a downloader which answers the requests of the extractor with minimal responses.
+ */
+class YoutubeStreamExtractorStreamInfoFieldsTest {
+    private static final String ID = "rwcfPqbAx-0";
+    private static final String URL = YoutubeStreamExtractorDefaultTest.BASE_URL + ID;
+
+    private static final String AGE_RESTRICTED_PLAYER_RESPONSE = "{\"playabilityStatus\":{"
+            + "\"status\":\"LOGIN_REQUIRED\",\"reason\":\"Sign in to confirm your age\"},"
+            + "\"videoDetails\":{\"videoId\":\"" + ID + "\"},"
+            + "\"microformat\":{\"playerMicroformatRenderer\":{}}}";
+    private static final String PLAYABLE_PLAYER_RESPONSE = "{\"playabilityStatus\":{"
+            + "\"status\":\"OK\"},\"videoDetails\":{\"videoId\":\"" + ID + "\"},"
+            + "\"streamingData\":{},\"captions\":{},"
+            + "\"microformat\":{\"playerMicroformatRenderer\":{}}}";
+
+    private final List<String> requestedUrls = new CopyOnWriteArrayList<>();
+    private String webPlayerResponse;
+
+    @BeforeEach
+    void setUp() {
+        YoutubeTestsUtils.ensureStateless();
+        NewPipe.init(new Downloader() {
+            @Override
+            public Response execute(@Nonnull final Request request) throws IOException {
+                requestedUrls.add(request.url());
+                return respond(request);
+            }
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        YoutubeTestsUtils.ensureStateless();
+    }
+
+    @Test
+    void ageLimitOfEmbeddedPlayerWithoutNextResponseTest() throws Exception {
+        webPlayerResponse = AGE_RESTRICTED_PLAYER_RESPONSE;
+        assertEquals(18, fetchWithoutNextResponse().getAgeLimit());
+    }
+
+    @Test
+    void noAgeLimitWithoutNextResponseTest() throws Exception {
+        webPlayerResponse = PLAYABLE_PLAYER_RESPONSE;
+        assertEquals(StreamExtractor.NO_AGE_LIMIT, fetchWithoutNextResponse().getAgeLimit());
+    }
+
+    @Nonnull
+    private StreamExtractor fetchWithoutNextResponse() throws Exception {
+        final StreamExtractor extractor = YouTube.getStreamExtractor(URL);
+        extractor.setStreamInfoFields(EnumSet.of(StreamInfoField.THUMBNAILS));
+        extractor.fetchPage();
+
+        assertTrue(requestedUrls.stream().noneMatch(url -> url.contains("/next")),
+                "The next response has been requested: " + requestedUrls);
+        return extractor;
+    }
+
+    @Nonnull
+    private Response respond(@Nonnull final Request request) throws IOException {
+        final String url = request.url();
+        final String body;
+        if (url.contains("/youtubei/v1/player")) {
+            final String requestBody = new String(request.dataToSend(), StandardCharsets.UTF_8);
+            // The WEB_EMBEDDED_PLAYER and TVHTML5 clients always get a playable response
+            body = requestBody.contains("\"clientName\":\"WEB\"")
+                    ? webPlayerResponse : PLAYABLE_PLAYER_RESPONSE;
+        } else if (url.contains("/youtubei/v1/visitor_id") || url.contains("/youtubei/v1/guide")) {
+            body = "{\"responseContext\":{\"visitorData\":\"CgtfbW9ja1Zpc2l0b3IoAQ%3D%3D\"}}";
+        } else if (url.endsWith("/sw.js")) {
+            body = "var a={\"INNERTUBE_CONTEXT_CLIENT_VERSION\":\"2.20241107.11.00\"};";
+        } else if (url.endsWith("/iframe_api")) {
+            body = "var scriptUrl = 'https:\\/\\/www.youtube.com\\/s\\/player\\/baafab19\\/';";
+        } else if (url.endsWith("/base.js")) {
+            body = "var a={signatureTimestamp:20033};";
+        } else {
+            throw new IOException("Unexpected request: " + url);
+        }
+        return new Response(200, "OK", null, body, url);
+    }
+}
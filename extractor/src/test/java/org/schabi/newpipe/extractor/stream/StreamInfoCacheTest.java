@@ -0,0 +1,113 @@
+package org.schabi.newpipe.extractor.stream;
+
+import org.junit.jupiter.api.Test;
+import org.schabi.newpipe.downloader.DownloaderTestImpl;
+import org.schabi.newpipe.extractor.MediaFormat;
+import org.schabi.newpipe.extractor.NewPipe;
+import org.schabi.newpipe.extractor.ServiceList;
+import org.schabi.newpipe.extractor.localization.ContentCountry;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class StreamInfoCacheTest {
+    private static final long NOW = 1_700_000_000_000L;
+    private static final Duration MAX_TIME_TO_LIVE = Duration.ofHours(1);
+
+    private static StreamInfo streamInfo(final String... audioUrls) {
+        final StreamInfo streamInfo = new StreamInfo(0, "https://example.com/watch?v=id",
+                "https://example.com/watch?v=id", StreamType.VIDEO_STREAM, "id", "name", 0);
+        final AudioStream[] audioStreams = new AudioStream[audioUrls.length];
+        for (int i = 0; i < audioUrls.length; i++) {
+            audioStreams[i] = new AudioStream.Builder()
+                    .setId(String.valueOf(i))
+                    .setContent(audioUrls[i], true)
+                    .setMediaFormat(MediaFormat.M4A)
+                    .setAverageBitrate(128)
+                    .build();
+        }
+        streamInfo.setAudioStreams(List.of(audioStreams));
+        return streamInfo;
+    }
+
+    private static StreamInfoCache cache() {
+        return new StreamInfoCache(new StreamInfoCache.InMemoryStore(10), MAX_TIME_TO_LIVE,
+                Duration.ZERO, () -> NOW);
+    }
+
+    @Test
+    void expirationTimeWithoutExpiringUrlsTest() {
+        assertEquals(NOW + MAX_TIME_TO_LIVE.toMillis(), cache().getExpirationTime(
+                streamInfo("https://example.com/audio.m4a"), NOW));
+    }
+
+    @Test
+    void expirationTimeIsBeforeEarliestUrlExpirationTest() {
+        final long earliestExpire = NOW / 1000 + 1800;
+        final StreamInfo streamInfo = streamInfo(
+                "https://rr1.googlevideo.com/videoplayback?expire=" + (earliestExpire + 600)
+                        + "&itag=140",
+                "https://rr1.googlevideo.com/videoplayback?itag=251&expire=" + earliestExpire);
+        streamInfo.setHlsUrl("https://manifest.googlevideo.com/api/manifest/hls_variant/expire/"
+                + (earliestExpire + 60) + "/id/abc");
+
+        assertEquals(earliestExpire * 1000 - Duration.ofMinutes(10).toMillis(),
+                cache().getExpirationTime(streamInfo, NOW));
+    }
+
+    @Test
+    void inMemoryStoreRemovesLeastRecentlyUsedEntriesTest() {
+        final StreamInfoCache.InMemoryStore store = new StreamInfoCache.InMemoryStore(2);
+        store.put("a", new StreamInfoCache.Entry(streamInfo(), NOW));
+        store.put("b", new StreamInfoCache.Entry(streamInfo(), NOW));
+        store.get("a");
+        store.put("c", new StreamInfoCache.Entry(streamInfo(), NOW));
+
+        assertNotNull(store.get("a"));
+        assertNull(store.get("b"));
+        assertNotNull(store.get("c"));
+    }
+
+    @Test
+    void cachedInfosAreCopiedForEachUrlTest() throws Exception {
+        NewPipe.init(DownloaderTestImpl.getInstance());
+        final StreamInfoCache.InMemoryStore store = new StreamInfoCache.InMemoryStore(10);
+        final StreamInfoCache cache = new StreamInfoCache(store, MAX_TIME_TO_LIVE,
+                Duration.ZERO, () -> NOW);
+        final StreamInfo cached = streamInfo("https://example.com/audio.m4a");
+        store.put(StreamInfoCache.getKey(ServiceList.YouTube, "dQw4w9WgXcQ"),
+                new StreamInfoCache.Entry(cached, NOW + 1));
+
+        final String urlWithTime = "https://www.youtube.com/watch?v=dQw4w9WgXcQ&t=120";
+        final StreamInfo withTime = cache.getInfo(ServiceList.YouTube, urlWithTime);
+        assertEquals(urlWithTime, withTime.getOriginalUrl());
+        assertEquals(120, withTime.getStartPosition());
+        assertEquals(cached.getAudioStreams(), withTime.getAudioStreams());
+        assertNotSame(cached.getAudioStreams(), withTime.getAudioStreams());
+
+        final String plainUrl = "https://www.youtube.com/watch?v=dQw4w9WgXcQ";
+        final StreamInfo plain = cache.getInfo(ServiceList.YouTube, plainUrl);
+        assertNotSame(withTime, plain);
+        assertEquals(plainUrl, plain.getOriginalUrl());
+        assertEquals(0, plain.getStartPosition());
+        assertEquals(0, cached.getStartPosition());
+    }
+
+    @Test
+    void keyDependsOnContentCountryTest() {
+        final String defaultKey = StreamInfoCache.getKey(ServiceList.YouTube, "id");
+        try {
+            NewPipe.setPreferredContentCountry(new ContentCountry("DE"));
+            assertNotEquals(defaultKey, StreamInfoCache.getKey(ServiceList.YouTube, "id"));
+        } finally {
+            NewPipe.setPreferredContentCountry(null);
+        }
+        assertEquals(defaultKey, StreamInfoCache.getKey(ServiceList.YouTube, "id"));
+    }
+}
@@ -0,0 +1,106 @@
+package org.schabi.newpipe.extractor.stream;
+
+import org.junit.jupiter.api.Test;
+import org.schabi.newpipe.extractor.Image;
+import org.schabi.newpipe.extractor.exceptions.ParsingException;
+import org.schabi.newpipe.extractor.localization.DateWrapper;
+
+import java.util.EnumSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class StreamInfoItemsCollectorTest {
+
+    /**
+     * An item extractor whose optional fields, except the duration, cannot be extracted.
+     */
+    private static final class DurationOnlyItemExtractor implements StreamInfoItemExtractor {
+        @Override
+        public String getName() {
+            return "name";
+        }
+
+        @Override
+        public String getUrl() {
+            return "https://example.com/video";
+        }
+
+        @Override
+        public List<Image> getThumbnails() throws ParsingException {
+            throw new ParsingException("Thumbnails should not be extracted");
+        }
+
+        @Override
+        public StreamType getStreamType() {
+            return StreamType.VIDEO_STREAM;
+        }
+
+        @Override
+        public boolean isAd() {
+            return false;
+        }
+
+        @Override
+        public long getDuration() {
+            return 42;
+        }
+
+        @Override
+        public long getViewCount() throws ParsingException {
+            throw new ParsingException("View count should not be extracted");
+        }
+
+        @Override
+        public String getUploaderName() throws ParsingException {
+            throw new ParsingException("Uploader name should not be extracted");
+        }
+
+        @Override
+        public String getUploaderUrl() throws ParsingException {
+            throw new ParsingException("Uploader URL should not be extracted");
+        }
+
+        @Override
+        public boolean isUploaderVerified() throws ParsingException {
+            throw new ParsingException("Uploader verified should not be extracted");
+        }
+
+        @Override
+        public String getTextualUploadDate() throws ParsingException {
+            throw new ParsingException("Textual upload date should not be extracted");
+        }
+
+        @Override
+        public DateWrapper getUploadDate() throws ParsingException {
+            throw new ParsingException("Upload date should not be extracted");
+        }
+    }
+
+    @Test
+    void onlySelectedFieldsAreExtractedTest() {
+        final StreamInfoItemsCollector collector =
+                new StreamInfoItemsCollector(0, EnumSet.of(StreamInfoItemField.DURATION));
+        collector.commit(new DurationOnlyItemExtractor());
+
+        assertTrue(collector.getErrors().isEmpty());
+        assertEquals(1, collector.getItems().size());
+        final StreamInfoItem item = collector.getItems().get(0);
+        assertEquals("https://example.com/video", item.getUrl());
+        assertEquals("name", item.getName());
+        assertEquals(42, item.getDuration());
+        assertNull(item.getUploadDate());
+        assertTrue(item.getThumbnails().isEmpty());
+    }
+
+    @Test
+    void allFieldsAreExtractedByDefaultTest() {
+        final StreamInfoItemsCollector collector = new StreamInfoItemsCollector(0);
+        collector.commit(new DurationOnlyItemExtractor());
+
+        assertEquals(1, collector.getItems().size());
+        assertEquals(7, collector.getErrors().size());
+    }
+}
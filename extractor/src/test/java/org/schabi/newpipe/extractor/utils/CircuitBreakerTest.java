@@ -0,0 +1,116 @@
+package org.schabi.newpipe.extractor.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CircuitBreakerTest {
+    private static final long MINUTE = Duration.ofMinutes(1).toNanos();
+    private static final long LATENCY = Duration.ofMillis(100).toNanos();
+
+    @Test
+    void opensAfterConsecutiveFailuresTest() {
+        final CircuitBreaker circuitBreaker =
+                new CircuitBreaker(3, Duration.ofMinutes(5), new AtomicLong()::get);
+
+        for (int i = 0; i < 2; i++) {
+            assertTrue(circuitBreaker.allowRequest());
+            circuitBreaker.recordFailure(LATENCY);
+        }
+        // A success resets the count of consecutive failures
+        assertTrue(circuitBreaker.allowRequest());
+        circuitBreaker.recordSuccess(LATENCY);
+
+        for (int i = 0; i < 3; i++) {
+            assertEquals(CircuitBreaker.State.CLOSED, circuitBreaker.getState());
+            assertTrue(circuitBreaker.allowRequest());
+            circuitBreaker.recordFailure(LATENCY);
+        }
+        assertEquals(CircuitBreaker.State.OPEN, circuitBreaker.getState());
+        assertFalse(circuitBreaker.allowRequest());
+        assertTrue(circuitBreaker.getSuccessRate() < 0.5);
+    }
+
+    @Test
+    void probesAfterOpenDelayTest() {
+        final AtomicLong clock = new AtomicLong();
+        final CircuitBreaker circuitBreaker =
+                new CircuitBreaker(1, Duration.ofMinutes(5), clock::get);
+
+        assertTrue(circuitBreaker.allowRequest());
+        circuitBreaker.recordFailure(LATENCY);
+        clock.set(4 * MINUTE);
+        assertFalse(circuitBreaker.allowRequest());
+
+        // Failed probe: the circuit is opened again
+        clock.set(5 * MINUTE);
+        assertEquals(CircuitBreaker.State.HALF_OPEN, circuitBreaker.getState());
+        assertTrue(circuitBreaker.allowRequest());
+        assertFalse(circuitBreaker.allowRequest(), "Only one probe should be allowed");
+        circuitBreaker.recordFailure(LATENCY);
+        assertEquals(CircuitBreaker.State.OPEN, circuitBreaker.getState());
+        assertFalse(circuitBreaker.allowRequest());
+
+        // Successful probe: the circuit is closed
+        clock.set(10 * MINUTE);
+        assertTrue(circuitBreaker.allowRequest());
+        circuitBreaker.recordSuccess(LATENCY);
+        assertEquals(CircuitBreaker.State.CLOSED, circuitBreaker.getState());
+        assertTrue(circuitBreaker.allowRequest());
+        assertTrue(circuitBreaker.allowRequest());
+    }
+
+    @Test
+    void ignoredRequestsDoNotChangeStateTest() {
+        final AtomicLong clock = new AtomicLong();
+        final CircuitBreaker circuitBreaker =
+                new CircuitBreaker(2, Duration.ofMinutes(5), clock::get);
+
+        assertTrue(circuitBreaker.allowRequest());
+        circuitBreaker.recordFailure(LATENCY);
+        for (int i = 0; i < 3; i++) {
+            assertTrue(circuitBreaker.allowRequest());
+            circuitBreaker.recordIgnored();
+        }
+        assertEquals(CircuitBreaker.State.CLOSED, circuitBreaker.getState());
+        assertEquals(0, circuitBreaker.getSuccessRate());
+
+        assertTrue(circuitBreaker.allowRequest());
+        circuitBreaker.recordFailure(LATENCY);
+        assertEquals(CircuitBreaker.State.OPEN, circuitBreaker.getState());
+
+        // An ignored probe allows another probe
+        clock.set(5 * MINUTE);
+        assertTrue(circuitBreaker.allowRequest());
+        circuitBreaker.recordIgnored();
+        assertEquals(CircuitBreaker.State.HALF_OPEN, circuitBreaker.getState());
+        assertTrue(circuitBreaker.allowRequest());
+        circuitBreaker.recordSuccess(LATENCY);
+        assertEquals(CircuitBreaker.State.CLOSED, circuitBreaker.getState());
+    }
+
+    @Test
+    void tracksLatencyAndResetsTest() {
+        final CircuitBreaker circuitBreaker =
+                new CircuitBreaker(1, Duration.ofMinutes(5), new AtomicLong()::get);
+        assertEquals(1, circuitBreaker.getSuccessRate());
+        assertEquals(Duration.ZERO, circuitBreaker.getAverageLatency());
+
+        circuitBreaker.recordSuccess(LATENCY);
+        assertEquals(Duration.ofMillis(100), circuitBreaker.getAverageLatency());
+        circuitBreaker.recordSuccess(2 * LATENCY);
+        assertEquals(Duration.ofMillis(120), circuitBreaker.getAverageLatency());
+
+        circuitBreaker.recordFailure(LATENCY);
+        assertEquals(CircuitBreaker.State.OPEN, circuitBreaker.getState());
+        circuitBreaker.reset();
+        assertEquals(CircuitBreaker.State.CLOSED, circuitBreaker.getState());
+        assertEquals(1, circuitBreaker.getSuccessRate());
+        assertTrue(circuitBreaker.allowRequest());
+    }
+}
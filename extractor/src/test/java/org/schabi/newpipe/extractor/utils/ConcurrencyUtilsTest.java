@@ -0,0 +1,66 @@
+package org.schabi.newpipe.extractor.utils;
+
+import org.junit.jupiter.api.Test;
+import org.schabi.newpipe.extractor.exceptions.ParsingException;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ConcurrencyUtilsTest {
+    @Test
+    void mapConcurrentlyKeepsInputOrderTest() throws Exception {
+        final List<CompletableFuture<Integer>> futures = ConcurrencyUtils.mapConcurrently(
+                List.of(1, 2, 3, 4, 5, 6, 7, 8), 3, input -> input * 2);
+
+        for (int i = 0; i < futures.size(); i++) {
+            assertEquals((i + 1) * 2, ConcurrencyUtils.await(futures.get(i)));
+        }
+    }
+
+    @Test
+    void mapConcurrentlyRespectsMaxParallelismTest() throws Exception {
+        final AtomicInteger running = new AtomicInteger();
+        final AtomicInteger maxRunning = new AtomicInteger();
+
+        final List<CompletableFuture<Integer>> futures = ConcurrencyUtils.mapConcurrently(
+                List.of(1, 2, 3, 4, 5, 6, 7, 8, 9, 10), 2, input -> {
+                    maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                    try {
+                        Thread.sleep(10);
+                    } catch (final InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    running.decrementAndGet();
+                    return input;
+                });
+
+        for (final CompletableFuture<Integer> future : futures) {
+            ConcurrencyUtils.await(future);
+        }
+        assertTrue(maxRunning.get() <= 2, "More than 2 inputs processed at the same time");
+    }
+
+    @Test
+    void awaitUnwrapsExceptionsTest() {
+        final List<CompletableFuture<String>> futures = ConcurrencyUtils.mapConcurrently(
+                List.of("io", "parsing"), 2, input -> {
+                    if (input.equals("io")) {
+                        throw new IOException(input);
+                    }
+                    throw new ParsingException(input);
+                });
+
+        assertThrows(IOException.class, () -> ConcurrencyUtils.await(futures.get(0)));
+        assertThrows(ParsingException.class, () -> ConcurrencyUtils.await(futures.get(1)));
+        assertThrows(IOException.class, () -> ConcurrencyUtils.await(
+                ConcurrencyUtils.supplyAsync(() -> {
+                    throw new IOException("supplyAsync");
+                })));
+    }
+}
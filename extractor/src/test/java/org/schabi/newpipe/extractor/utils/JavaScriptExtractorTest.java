@@ -23,6 +23,29 @@ class JavaScriptExtractorTest
         assertEquals("(d){var x = [/,,/,913,/(,)}/g,\"abcdef}\\\"\",];var y = 10/2/1;return x[1][y];}", result);
     }
 
+    @Test
+    void testLexerWindow() throws ParsingException {
+        // The code around the window is not valid JavaScript and must not be lexed
+        final String prefix = "}})(";
+        final String src = prefix + "if(a){return/x/g}" + "\"unterminated";
+        final int end = src.indexOf('"');
+
+        final Lexer lexer = new Lexer(src, prefix.length(), end);
+        assertEquals(Token.IF, lexer.nextToken());
+        assertEquals(prefix.length(), lexer.getTokenStart());
+        assertEquals(Token.LP, lexer.nextToken());
+        assertEquals(Token.NAME, lexer.nextToken());
+        assertEquals(Token.RP, lexer.nextToken());
+        assertEquals(Token.LC, lexer.nextToken());
+        assertEquals(Token.RETURN, lexer.nextToken());
+        assertEquals(Token.REGEXP, lexer.nextToken());
+        assertEquals("/x/g", src.substring(lexer.getTokenStart(), lexer.getTokenEnd()));
+        assertEquals(Token.RC, lexer.nextToken());
+        assertEquals(end, lexer.getTokenEnd());
+        assertEquals(Token.EOF, lexer.nextToken());
+        assertTrue(lexer.isBalanced());
+    }
+
     @Test
     void testEverythingJs() throws ParsingException, IOException {
         final File jsFile = resolveTestResource("es5.js");
@@ -0,0 +1,62 @@
+package org.schabi.newpipe.extractor.utils;
+
+import org.junit.jupiter.api.Test;
+import org.schabi.newpipe.extractor.utils.MultiPatternScanner.AnchoredPattern;
+import org.schabi.newpipe.extractor.utils.MultiPatternScanner.ScanResult;
+
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class MultiPatternScannerTest {
+    private static final AnchoredPattern FUNCTION = new AnchoredPattern(
+            Pattern.compile(";([\\w$]+)=function\\(a\\)\\{a=a\\.split"), "=function(a){", 32);
+    private static final AnchoredPattern TIMESTAMP = new AnchoredPattern(
+            Pattern.compile("signatureTimestamp:(\\d+)"), "signatureTimestamp", 0);
+    // Overlaps with the end of the function anchor
+    private static final AnchoredPattern BRACE = new AnchoredPattern(
+            Pattern.compile("\\{(\\w)="), "{", 0);
+    private static final AnchoredPattern MISSING = new AnchoredPattern(
+            Pattern.compile("missing"), "missing", 0);
+    private static final MultiPatternScanner SCANNER = new MultiPatternScanner(
+            List.of(FUNCTION, TIMESTAMP, BRACE, MISSING));
+
+    private static final String CODE = "var x={signatureTimestamp:19834};"
+            + "Ab=function(b){b=b.split(\"\")};$Cd=function(a){a=a.split(\"\")};"
+            + "Ef=function(a){a=a.split(\"\")}";
+
+    @Test
+    void findsLeftmostMatchTest() {
+        final ScanResult scan = SCANNER.scan(CODE);
+        assertEquals(CODE, scan.getText());
+
+        final Matcher function = scan.find(FUNCTION);
+        assertEquals("$Cd", function.group(1));
+        assertEquals(CODE.indexOf("$Cd") - 1, function.start());
+        assertEquals("19834", scan.find(TIMESTAMP).group(1));
+        assertEquals("b", scan.find(BRACE).group(1));
+        assertNull(scan.find(MISSING));
+    }
+
+    @Test
+    void matchesFartherThanMaxAnchorOffsetAreIgnoredTest() {
+        final AnchoredPattern shortOffset = new AnchoredPattern(
+                FUNCTION.getPattern(), FUNCTION.getAnchor(), 3);
+        final ScanResult scan = new MultiPatternScanner(List.of(shortOffset)).scan(CODE);
+        assertEquals("Ef", scan.find(shortOffset).group(1));
+    }
+
+    @Test
+    void findFirstTest() throws Parser.RegexException {
+        final ScanResult scan = SCANNER.scan(CODE);
+        assertEquals("19834", scan.findFirst(List.of(MISSING, TIMESTAMP, FUNCTION)).group(1));
+        assertThrows(Parser.RegexException.class, () -> scan.findFirst(List.of(MISSING)));
+        assertThrows(Parser.RegexException.class, () -> scan.findFirst(List.of()));
+        assertThrows(IllegalArgumentException.class, () -> scan.find(new AnchoredPattern(
+                Pattern.compile("unknown"), "unknown", 0)));
+    }
+}
@@ -0,0 +1,117 @@
+package org.schabi.newpipe.extractor.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class RefreshingCacheTest {
+    private static final long MINUTE = Duration.ofMinutes(1).toNanos();
+
+    @Test
+    void freshStaleAndExpiredValuesTest() throws Exception {
+        final AtomicLong clock = new AtomicLong();
+        final AtomicInteger loads = new AtomicInteger();
+        final RefreshingCache<String, Integer> cache = new RefreshingCache<>(
+                Duration.ofMinutes(3), Duration.ofMinutes(10), clock::get);
+
+        assertEquals(1, cache.get("key", key -> loads.incrementAndGet()));
+
+        // Fresh value: no load
+        clock.set(2 * MINUTE);
+        assertEquals(1, cache.get("key", key -> loads.incrementAndGet()));
+        assertEquals(1, loads.get());
+
+        // Stale value: returned while being refreshed in the background
+        clock.set(4 * MINUTE);
+        assertEquals(1, cache.get("key", key -> loads.incrementAndGet()));
+        for (int i = 0; i < 100 && !Integer.valueOf(2).equals(cache.getIfPresent("key")); i++) {
+            Thread.sleep(10);
+        }
+        assertEquals(2, cache.getIfPresent("key"));
+
+        // Expired value: loaded again before being returned
+        clock.set(20 * MINUTE);
+        assertNull(cache.getIfPresent("key"));
+        assertEquals(3, cache.get("key", key -> loads.incrementAndGet()));
+    }
+
+    @Test
+    void singleLoadForConcurrentCallersTest() throws Exception {
+        final RefreshingCache<String, Integer> cache = new RefreshingCache<>(
+                Duration.ofMinutes(3), Duration.ofMinutes(10));
+        final AtomicInteger loads = new AtomicInteger();
+        final CountDownLatch start = new CountDownLatch(1);
+        final List<Thread> threads = new ArrayList<>();
+        final List<Integer> results = new ArrayList<>();
+
+        for (int i = 0; i < 8; i++) {
+            final Thread thread = new Thread(() -> {
+                try {
+                    start.await();
+                    final Integer result = cache.get("key", key -> {
+                        try {
+                            Thread.sleep(50);
+                        } catch (final InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                        }
+                        return loads.incrementAndGet();
+                    });
+                    synchronized (results) {
+                        results.add(result);
+                    }
+                } catch (final Exception e) {
+                    throw new RuntimeException(e);
+                }
+            });
+            thread.start();
+            threads.add(thread);
+        }
+
+        start.countDown();
+        for (final Thread thread : threads) {
+            thread.join();
+        }
+
+        assertEquals(1, loads.get());
+        assertEquals(8, results.size());
+        results.forEach(result -> assertEquals(1, result));
+    }
+
+    @Test
+    void failedLoadIsNotCachedTest() throws Exception {
+        final RefreshingCache<String, Integer> cache = new RefreshingCache<>(
+                Duration.ofMinutes(3), Duration.ofMinutes(10));
+
+        assertThrows(IOException.class, () -> cache.get("key", key -> {
+            throw new IOException("Could not load");
+        }));
+        assertEquals(0, cache.size());
+        assertEquals(1, cache.get("key", key -> 1));
+    }
+
+    @Test
+    void leastRecentlyUsedValueIsRemovedTest() throws Exception {
+        final RefreshingCache<String, Integer> cache = new RefreshingCache<>(
+                Duration.ofMinutes(3), Duration.ofMinutes(10), 2);
+
+        cache.put("first", 1);
+        cache.put("second", 2);
+        assertEquals(1, cache.getIfPresent("first"));
+        cache.put("third", 3);
+
+        assertEquals(2, cache.size());
+        assertEquals(1, cache.getIfPresent("first"));
+        assertNull(cache.getIfPresent("second"));
+        assertEquals(3, cache.getIfPresent("third"));
+    }
+}
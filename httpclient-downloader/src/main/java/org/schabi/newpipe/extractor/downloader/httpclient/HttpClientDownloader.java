@@ -0,0 +1,386 @@
+package org.schabi.newpipe.extractor.downloader.httpclient;
+
+import org.schabi.newpipe.extractor.downloader.Downloader;
+import org.schabi.newpipe.extractor.downloader.Request;
+import org.schabi.newpipe.extractor.downloader.Response;
+import org.schabi.newpipe.extractor.exceptions.ReCaptchaException;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpHeaders;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.Charset;
+import java.nio.charset.IllegalCharsetNameException;
+import java.nio.charset.StandardCharsets;
+import java.nio.charset.UnsupportedCharsetException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.InflaterInputStream;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * A {@link Downloader} based on the {@link HttpClient} of the JDK.
+ *
+ * <p>
+ * A single {@link HttpClient} is used for all requests, so connections are pooled and reused and,
+ * when servers support it (such as YouTube ones), concurrent requests to the same host are
+ * multiplexed on a single HTTP/2 connection. Responses are requested with gzip or deflate
+ * compression, and decompressed transparently: the {@code Content-Encoding} header of decompressed
+ * responses is removed and their {@code Content-Length} header is set to the decompressed length.
+ * </p>
+ *
+ * <p>
+ * Headers of {@link Request}s, including the {@code Accept-Language} header set from their
+ * {@link Request#localization() localization}, are sent as is, replacing the default
+ * {@code User-Agent} and {@code Accept-Encoding} headers of this downloader if they are set.
+ * As with other downloaders, a {@link ReCaptchaException} is thrown on HTTP 429 responses.
+ * </p>
+ *
+ * <p>
+ * Java 12 or later is required to send requests to YouTube: the {@link HttpClient} of Java 11
+ * rejects the {@code Origin} and {@code Referer} headers of InnerTube requests, as well as the
+ * {@code Date}, {@code From}, {@code Via} and {@code Warning} headers. Requests with one of these
+ * headers fail with an {@link IOException} on Java 11.
+ * </p>
+ *
+ * <p>
+ * Instances are created with {@link #newBuilder()} and are thread-safe.
+ * </p>
+ */
+public final class HttpClientDownloader extends Downloader {
+    /**
+     * Should be the latest Firefox ESR version.
+     */
+    public static final String DEFAULT_USER_AGENT =
+            "Mozilla/5.0 (Windows NT 10.0; Win64; x64; rv:128.0) Gecko/20100101 Firefox/128.0";
+    public static final Duration DEFAULT_CONNECT_TIMEOUT = Duration.ofSeconds(10);
+    public static final Duration DEFAULT_REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+    private static final String ACCEPT_ENCODING = "gzip, deflate";
+    private static final Pattern CHARSET_PATTERN =
+            Pattern.compile("charset=\"?([^\";\\s]+)", Pattern.CASE_INSENSITIVE);
+    // Headers which cannot be set on HttpClient requests, as the client manages them itself
+    private static final Set<String> RESTRICTED_HEADERS =
+            Set.of("connection", "content-length", "expect", "host", "upgrade");
+
+    @Nonnull
+    private final HttpClient client;
+    @Nonnull
+    private final String userAgent;
+    @Nonnull
+    private final Duration requestTimeout;
+
+    private HttpClientDownloader(@Nonnull final Builder builder) {
+        final HttpClient.Builder clientBuilder = HttpClient.newBuilder()
+                .version(builder.http2 ? HttpClient.Version.HTTP_2 : HttpClient.Version.HTTP_1_1)
+                .followRedirects(HttpClient.Redirect.NORMAL)
+                .connectTimeout(builder.connectTimeout);
+        if (builder.executor != null) {
+            clientBuilder.executor(builder.executor);
+        }
+        this.client = clientBuilder.build();
+        this.userAgent = builder.userAgent;
+        this.requestTimeout = builder.requestTimeout;
+    }
+
+    /**
+     * @return a new {@link Builder} of {@link HttpClientDownloader}, with default settings
+     */
+    @Nonnull
+    public static Builder newBuilder() {
+        return new Builder();
+    }
+
+    @Override
+    public Response execute(@Nonnull final Request request)
+            throws IOException, ReCaptchaException {
+        final HttpResponse<byte[]> response;
+        try {
+            response = client.send(toHttpRequest(request),
+                    HttpResponse.BodyHandlers.ofByteArray());
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw (IOException) new InterruptedIOException("Interrupted while executing request")
+                    .initCause(e);
+        }
+        return toResponse(request, response);
+    }
+
+    /**
+     * Execute the given {@link Request} asynchronously.
+     *
+     * <p>
+     * The returned future is completed on the executor of this downloader, exceptionally with a
+     * {@link ReCaptchaException} on HTTP 429 responses or with an {@link IOException} if the
+     * request failed.
+     * </p>
+     *
+     * @param request the request to execute
+     * @return a future completed with the response to the request
+     */
+    @Nonnull
+    public CompletableFuture<Response> executeAsync(@Nonnull final Request request) {
+        final HttpRequest httpRequest;
+        try {
+            httpRequest = toHttpRequest(request);
+        } catch (final IOException | IllegalArgumentException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+
+        return client.sendAsync(httpRequest, HttpResponse.BodyHandlers.ofByteArray())
+                .thenApply(response -> {
+                    try {
+                        return toResponse(request, response);
+                    } catch (final IOException | ReCaptchaException e) {
+                        throw new CompletionException(e);
+                    }
+                });
+    }
+
+    /**
+     * Execute the given {@link Request}s concurrently and wait for all of their responses.
+     *
+     * @param requests the requests to execute
+     * @return the responses to the requests, in the same order
+     * @throws IOException         if one of the requests failed
+     * @throws ReCaptchaException  if a reCaptcha challenge was requested for one of the requests
+     */
+    @Nonnull
+    public List<Response> executeAll(@Nonnull final List<Request> requests)
+            throws IOException, ReCaptchaException {
+        final List<CompletableFuture<Response>> futures = requests.stream()
+                .map(this::executeAsync)
+                .collect(Collectors.toList());
+        final Response[] responses = new Response[futures.size()];
+        for (int i = 0; i < responses.length; i++) {
+            try {
+                responses[i] = futures.get(i).get();
+            } catch (final InterruptedException e) {
+                futures.forEach(future -> future.cancel(true));
+                Thread.currentThread().interrupt();
+                throw (IOException) new InterruptedIOException(
+                        "Interrupted while executing requests").initCause(e);
+            } catch (final ExecutionException e) {
+                futures.forEach(future -> future.cancel(true));
+                final Throwable cause = e.getCause();
+                if (cause instanceof IOException) {
+                    throw (IOException) cause;
+                } else if (cause instanceof ReCaptchaException) {
+                    throw (ReCaptchaException) cause;
+                } else if (cause instanceof RuntimeException) {
+                    throw (RuntimeException) cause;
+                }
+                throw new IOException("Could not execute request", cause);
+            }
+        }
+        return List.of(responses);
+    }
+
+    @Nonnull
+    private HttpRequest toHttpRequest(@Nonnull final Request request) throws IOException {
+        final byte[] dataToSend = request.dataToSend();
+        final HttpRequest.Builder requestBuilder = HttpRequest.newBuilder()
+                .uri(URI.create(request.url()))
+                .timeout(requestTimeout)
+                .method(request.httpMethod(), dataToSend == null
+                        ? HttpRequest.BodyPublishers.noBody()
+                        : HttpRequest.BodyPublishers.ofByteArray(dataToSend))
+                .setHeader("User-Agent", userAgent)
+                .setHeader("Accept-Encoding", ACCEPT_ENCODING);
+
+        for (final Map.Entry<String, List<String>> header : request.headers().entrySet()) {
+            final String headerName = header.getKey();
+            final List<String> headerValueList = header.getValue();
+            if (RESTRICTED_HEADERS.contains(headerName.toLowerCase(Locale.ROOT))
+                    || headerValueList.isEmpty()) {
+                continue;
+            }
+            try {
+                requestBuilder.setHeader(headerName, headerValueList.get(0));
+                for (int i = 1; i < headerValueList.size(); i++) {
+                    requestBuilder.header(headerName, headerValueList.get(i));
+                }
+            } catch (final IllegalArgumentException e) {
+                // Java 11 restricts more headers than later versions, see the class documentation
+                throw new IOException("The " + headerName + " header cannot be sent by the "
+                        + "HttpClient of this Java runtime, Java 12 or later is required", e);
+            }
+        }
+        return requestBuilder.build();
+    }
+
+    @Nonnull
+    private static Response toResponse(@Nonnull final Request request,
+                                       @Nonnull final HttpResponse<byte[]> response)
+            throws IOException, ReCaptchaException {
+        if (response.statusCode() == 429) {
+            throw new ReCaptchaException("reCaptcha Challenge requested", request.url());
+        }
+
+        final HttpHeaders headers = response.headers();
+        final byte[] body = decode(response.body(),
+                headers.firstValue("Content-Encoding").orElse(null));
+        return new Response(
+                response.statusCode(),
+                "",
+                // decode returns the same array when the body was not encoded
+                body == response.body() ? headers.map() : getDecodedHeaders(headers, body),
+                new String(body, getCharset(headers.firstValue("Content-Type").orElse(null))),
+                response.uri().toString());
+    }
+
+    @Nonnull
+    private static Map<String, List<String>> getDecodedHeaders(@Nonnull final HttpHeaders headers,
+                                                               @Nonnull final byte[] body) {
+        // Header names are case-insensitive, and lowercase in HTTP/2 responses
+        final Map<String, List<String>> decodedHeaders =
+                new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        decodedHeaders.putAll(headers.map());
+        decodedHeaders.remove("Content-Encoding");
+        decodedHeaders.put("Content-Length", List.of(String.valueOf(body.length)));
+        return decodedHeaders;
+    }
+
+    @Nonnull
+    private static byte[] decode(@Nonnull final byte[] body,
+                                 @Nullable final String contentEncoding) throws IOException {
+        if (contentEncoding == null || body.length == 0) {
+            return body;
+        }
+
+        final String encoding = contentEncoding.trim().toLowerCase(Locale.ROOT);
+        if (encoding.equals("gzip") || encoding.equals("x-gzip")) {
+            try (InputStream inputStream = new GZIPInputStream(new ByteArrayInputStream(body))) {
+                return inputStream.readAllBytes();
+            }
+        } else if (encoding.equals("deflate")) {
+            try (InputStream inputStream =
+                         new InflaterInputStream(new ByteArrayInputStream(body))) {
+                return inputStream.readAllBytes();
+            }
+        }
+        // identity, or an encoding which has been requested explicitly by the caller
+        return body;
+    }
+
+    @Nonnull
+    private static Charset getCharset(@Nullable final String contentType) {
+        if (contentType != null) {
+            final Matcher matcher = CHARSET_PATTERN.matcher(contentType);
+            if (matcher.find()) {
+                try {
+                    return Charset.forName(matcher.group(1));
+                } catch (final IllegalCharsetNameException | UnsupportedCharsetException e) {
+                    // Fall back to UTF-8
+                }
+            }
+        }
+        return StandardCharsets.UTF_8;
+    }
+
+    /**
+     * A builder of {@link HttpClientDownloader}.
+     */
+    public static final class Builder {
+        @Nonnull
+        private String userAgent = DEFAULT_USER_AGENT;
+        @Nonnull
+        private Duration connectTimeout = DEFAULT_CONNECT_TIMEOUT;
+        @Nonnull
+        private Duration requestTimeout = DEFAULT_REQUEST_TIMEOUT;
+        @Nullable
+        private Executor executor;
+        private boolean http2 = true;
+
+        private Builder() {
+        }
+
+        /**
+         * @param userAgentToSet the {@code User-Agent} sent when requests don't set one, which
+         *                       is {@link #DEFAULT_USER_AGENT} by default
+         * @return this builder
+         */
+        @Nonnull
+        public Builder userAgent(@Nonnull final String userAgentToSet) {
+            this.userAgent = Objects.requireNonNull(userAgentToSet);
+            return this;
+        }
+
+        /**
+         * @param connectTimeoutToSet the maximum time to establish a connection, which is
+         *                            {@link #DEFAULT_CONNECT_TIMEOUT} by default
+         * @return this builder
+         */
+        @Nonnull
+        public Builder connectTimeout(@Nonnull final Duration connectTimeoutToSet) {
+            this.connectTimeout = Objects.requireNonNull(connectTimeoutToSet);
+            return this;
+        }
+
+        /**
+         * @param requestTimeoutToSet the maximum time to wait for the response of a request, which
+         *                            is {@link #DEFAULT_REQUEST_TIMEOUT} by default
+         * @return this builder
+         */
+        @Nonnull
+        public Builder requestTimeout(@Nonnull final Duration requestTimeoutToSet) {
+            this.requestTimeout = Objects.requireNonNull(requestTimeoutToSet);
+            return this;
+        }
+
+        /**
+         * Set the executor running the asynchronous tasks of the {@link HttpClient}, such as the
+         * completion of {@link #executeAsync(Request)} futures.
+         *
+         * <p>
+         * On Java 21 and later, {@code Executors.newVirtualThreadPerTaskExecutor()} can be passed
+         * to use virtual threads. If no executor is set, the default one of {@link HttpClient} is
+         * used.
+         * </p>
+         *
+         * @param executorToSet the executor to use, or {@code null} to use the default one
+         * @return this builder
+         */
+        @Nonnull
+        public Builder executor(@Nullable final Executor executorToSet) {
+            this.executor = executorToSet;
+            return this;
+        }
+
+        /**
+         * @param http2ToSet whether HTTP/2 should be used with servers supporting it, which is
+         *                   the case by default, or only HTTP/1.1
+         * @return this builder
+         */
+        @Nonnull
+        public Builder http2(final boolean http2ToSet) {
+            this.http2 = http2ToSet;
+            return this;
+        }
+
+        @Nonnull
+        public HttpClientDownloader build() {
+            return new HttpClientDownloader(this);
+        }
+    }
+}
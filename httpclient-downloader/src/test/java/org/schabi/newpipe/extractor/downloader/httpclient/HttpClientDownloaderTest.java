@@ -0,0 +1,175 @@
+package org.schabi.newpipe.extractor.downloader.httpclient;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.schabi.newpipe.extractor.downloader.Request;
+import org.schabi.newpipe.extractor.downloader.Response;
+import org.schabi.newpipe.extractor.exceptions.ReCaptchaException;
+import org.schabi.newpipe.extractor.localization.Localization;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+public class HttpClientDownloaderTest {
+    private static HttpServer server;
+    private static String baseUrl;
+    private static HttpClientDownloader downloader;
+
+    @BeforeAll
+    public static void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.createContext("/gzip", exchange -> {
+            final ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+            try (OutputStream outputStream = new GZIPOutputStream(compressed)) {
+                outputStream.write("compressed body".getBytes(StandardCharsets.UTF_8));
+            }
+            exchange.getResponseHeaders().add("Content-Encoding", "gzip");
+            respond(exchange, 200, compressed.toByteArray());
+        });
+        server.createContext("/echo", exchange -> respond(exchange, 200,
+                exchange.getRequestBody().readAllBytes()));
+        server.createContext("/headers", exchange -> respond(exchange, 200, (
+                exchange.getRequestHeaders().getFirst("Accept-Language") + "|"
+                        + exchange.getRequestHeaders().getFirst("User-Agent") + "|"
+                        + exchange.getRequestHeaders().getFirst("Accept-Encoding"))
+                .getBytes(StandardCharsets.UTF_8)));
+        server.createContext("/origin", exchange -> respond(exchange, 200, (
+                exchange.getRequestHeaders().getFirst("Origin") + "|"
+                        + exchange.getRequestHeaders().getFirst("Referer"))
+                .getBytes(StandardCharsets.UTF_8)));
+        server.createContext("/latin1", exchange -> {
+            exchange.getResponseHeaders().add("Content-Type", "text/plain; charset=ISO-8859-1");
+            respond(exchange, 200, "café".getBytes(StandardCharsets.ISO_8859_1));
+        });
+        server.createContext("/redirect", exchange -> {
+            exchange.getResponseHeaders().add("Location", "/echo");
+            respond(exchange, 302, new byte[0]);
+        });
+        server.createContext("/captcha", exchange -> respond(exchange, 429, new byte[0]));
+        server.start();
+
+        baseUrl = "http://localhost:" + server.getAddress().getPort();
+        downloader = HttpClientDownloader.newBuilder().userAgent("TestAgent").build();
+    }
+
+    @AfterAll
+    public static void tearDown() {
+        server.stop(0);
+    }
+
+    private static void respond(final HttpExchange exchange,
+                                final int code,
+                                final byte[] body) throws IOException {
+        exchange.sendResponseHeaders(code, body.length == 0 ? -1 : body.length);
+        try (OutputStream outputStream = exchange.getResponseBody()) {
+            outputStream.write(body);
+        }
+    }
+
+    @Test
+    public void decodesGzipResponses() throws Exception {
+        final Response response = downloader.get(baseUrl + "/gzip");
+        assertEquals(200, response.responseCode());
+        assertEquals("compressed body", response.responseBody());
+        assertNull(response.getHeader("Content-Encoding"));
+        assertEquals(String.valueOf("compressed body".length()),
+                response.getHeader("Content-Length"));
+    }
+
+    @Test
+    public void sendsRequestBody() throws Exception {
+        final Response response = downloader.post(baseUrl + "/echo", null,
+                "{\"key\":\"value\"}".getBytes(StandardCharsets.UTF_8));
+        assertEquals("{\"key\":\"value\"}", response.responseBody());
+    }
+
+    @Test
+    public void sendsLocalizationAndDefaultHeaders() throws Exception {
+        final Response response = downloader.get(baseUrl + "/headers",
+                new Localization("de", "AT"));
+        assertEquals("de-AT, de;q=0.9|TestAgent|gzip, deflate", response.responseBody());
+    }
+
+    @Test
+    public void requestHeadersReplaceDefaultHeaders() throws Exception {
+        final Response response = downloader.execute(Request.newBuilder()
+                .get(baseUrl + "/headers")
+                .setHeader("User-Agent", "OtherAgent")
+                .setHeader("Accept-Language", "en")
+                .build());
+        assertEquals("en|OtherAgent|gzip, deflate", response.responseBody());
+    }
+
+    @Test
+    public void sendsOriginAndRefererHeaders() throws Exception {
+        // These headers are sent on InnerTube requests and are restricted on Java 11
+        final Response response = downloader.execute(Request.newBuilder()
+                .get(baseUrl + "/origin")
+                .setHeader("Origin", "https://www.youtube.com")
+                .setHeader("Referer", "https://www.youtube.com/")
+                .build());
+        assertEquals("https://www.youtube.com|https://www.youtube.com/",
+                response.responseBody());
+    }
+
+    @Test
+    public void usesResponseCharset() throws Exception {
+        assertEquals("café", downloader.get(baseUrl + "/latin1").responseBody());
+    }
+
+    @Test
+    public void followsRedirects() throws Exception {
+        final Response response = downloader.get(baseUrl + "/redirect");
+        assertEquals(200, response.responseCode());
+        assertEquals(baseUrl + "/echo", response.latestUrl());
+    }
+
+    @Test
+    public void throwsReCaptchaExceptionOnTooManyRequests() {
+        assertThrows(ReCaptchaException.class, () -> downloader.get(baseUrl + "/captcha"));
+    }
+
+    @Test
+    public void executesRequestsAsynchronously() throws Exception {
+        final Response response = downloader.executeAsync(Request.newBuilder()
+                        .get(baseUrl + "/gzip")
+                        .build())
+                .get(10, TimeUnit.SECONDS);
+        assertEquals("compressed body", response.responseBody());
+
+        final ExecutionException exception = assertThrows(ExecutionException.class,
+                () -> downloader.executeAsync(Request.newBuilder()
+                                .get(baseUrl + "/captcha")
+                                .build())
+                        .get(10, TimeUnit.SECONDS));
+        assertInstanceOf(ReCaptchaException.class, exception.getCause());
+    }
+
+    @Test
+    public void executesRequestsConcurrently() throws Exception {
+        final List<Response> responses = downloader.executeAll(List.of(
+                Request.newBuilder().get(baseUrl + "/gzip").build(),
+                Request.newBuilder().post(baseUrl + "/echo",
+                        "second".getBytes(StandardCharsets.UTF_8)).build()));
+        assertEquals(2, responses.size());
+        assertEquals("compressed body", responses.get(0).responseBody());
+        assertEquals("second", responses.get(1).responseBody());
+    }
+}
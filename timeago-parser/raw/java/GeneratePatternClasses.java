@@ -3,7 +3,7 @@ import com.grack.nanojson.JsonObject;
 import com.grack.nanojson.JsonParser;
 import com.grack.nanojson.JsonParserException;
 import org.schabi.newpipe.extractor.timeago.PatternsHolder;
-import org.schabi.newpipe.extractor.timeago.TimeAgoUnit;
+import java.time.temporal.ChronoUnit;
 
 import java.io.*;
 import java.util.*;
@@ -15,6 +15,8 @@ public class GeneratePatternClasses {
 
         final JsonObject from = JsonParser.object().from(resourceAsStream);
         final TreeMap<String, Object> map = new TreeMap<>(from);
+        final StringBuilder registryImports = new StringBuilder();
+        final StringBuilder registryEntries = new StringBuilder();
 
         for (Map.Entry<String, Object> entry : map.entrySet()) {
             final String languageCode = entry.getKey().replace('-', '_');
@@ -31,16 +33,22 @@ public class GeneratePatternClasses {
             final JsonArray years = (JsonArray) unitsList.get("years");
 
             final StringBuilder specialCasesString = new StringBuilder();
-            specialCasesConstruct(TimeAgoUnit.SECONDS, seconds, specialCasesString);
-            specialCasesConstruct(TimeAgoUnit.MINUTES, minutes, specialCasesString);
-            specialCasesConstruct(TimeAgoUnit.HOURS, hours, specialCasesString);
-            specialCasesConstruct(TimeAgoUnit.DAYS, days, specialCasesString);
-            specialCasesConstruct(TimeAgoUnit.WEEKS, weeks, specialCasesString);
-            specialCasesConstruct(TimeAgoUnit.MONTHS, months, specialCasesString);
-            specialCasesConstruct(TimeAgoUnit.YEARS, years, specialCasesString);
+            specialCasesConstruct(ChronoUnit.SECONDS, seconds, specialCasesString);
+            specialCasesConstruct(ChronoUnit.MINUTES, minutes, specialCasesString);
+            specialCasesConstruct(ChronoUnit.HOURS, hours, specialCasesString);
+            specialCasesConstruct(ChronoUnit.DAYS, days, specialCasesString);
+            specialCasesConstruct(ChronoUnit.WEEKS, weeks, specialCasesString);
+            specialCasesConstruct(ChronoUnit.MONTHS, months, specialCasesString);
+            specialCasesConstruct(ChronoUnit.YEARS, years, specialCasesString);
 
             System.out.println("Generating \"" + languageCode + "\" pattern class...");
 
+            registryImports.append("import org.schabi.newpipe.extractor.timeago.patterns.")
+                    .append(languageCode).append(";\n");
+            registryEntries.append(registryEntries.length() > 0 ? ",\n" : "")
+                    .append("            Map.entry(\"").append(languageCode).append("\", ")
+                    .append(languageCode).append("::getInstance)");
+
             try (final FileWriter fileOut = new FileWriter(
                     "timeago-parser/src/main/java/org/schabi/newpipe/extractor/timeago/patterns/" +
                             languageCode + ".java")) {
@@ -48,7 +56,7 @@ public class GeneratePatternClasses {
                         "\n" +
                         "package org.schabi.newpipe.extractor.timeago.patterns;\n\n" +
                         "import org.schabi.newpipe.extractor.timeago.PatternsHolder;\n" +
-                        (specialCasesString.length() > 0 ? "import org.schabi.newpipe.extractor.timeago.TimeAgoUnit;\n" : "") +
+                        (specialCasesString.length() > 0 ? "\nimport java.time.temporal.ChronoUnit;\n" : "") +
                         "\n" +
                         "public class " + languageCode + " extends PatternsHolder {\n" +
                         "    private static final String WORD_SEPARATOR = \"" + wordSeparator + "\";\n" +
@@ -77,9 +85,44 @@ public class GeneratePatternClasses {
                 e.printStackTrace();
             }
         }
+
+        generateRegistryClass(registryImports, registryEntries);
+    }
+
+    private static void generateRegistryClass(StringBuilder imports, StringBuilder entries) {
+        System.out.println("Generating patterns registry class...");
+
+        try (final FileWriter fileOut = new FileWriter(
+                "timeago-parser/src/main/java/org/schabi/newpipe/extractor/timeago/PatternsRegistry.java")) {
+            fileOut.write(INFO_CLASS_GENERATED + "\n" +
+                    "\n" +
+                    "package org.schabi.newpipe.extractor.timeago;\n\n" +
+                    imports +
+                    "\n" +
+                    "import java.util.Map;\n" +
+                    "import java.util.function.Supplier;\n" +
+                    "\n" +
+                    "/**\n" +
+                    " * The patterns of all supported localizations, by localization code.\n" +
+                    " *\n" +
+                    " * <p>\n" +
+                    " * The patterns of a localization are only created when they are first requested.\n" +
+                    " * </p>\n" +
+                    " */\n" +
+                    "final class PatternsRegistry {\n" +
+                    "    static final Map<String, Supplier<PatternsHolder>> PATTERNS = Map.ofEntries(\n" +
+                    entries + "\n" +
+                    "    );\n" +
+                    "\n" +
+                    "    private PatternsRegistry() {\n" +
+                    "    }\n" +
+                    "}\n");
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
     }
 
-    private static void specialCasesConstruct(TimeAgoUnit unit, JsonArray array, StringBuilder stringBuilder) {
+    private static void specialCasesConstruct(ChronoUnit unit, JsonArray array, StringBuilder stringBuilder) {
         final Iterator<Object> iterator = array.iterator();
         while (iterator.hasNext()) {
             final Object o = iterator.next();
@@ -91,7 +134,7 @@ public class GeneratePatternClasses {
                     iterator.remove();
 
                     stringBuilder.append("        ")
-                            .append("putSpecialCase(TimeAgoUnit.").append(unit.name())
+                            .append("putSpecialCase(ChronoUnit.").append(unit.name())
                             .append(", \"").append(caseText).append("\"")
                             .append(", ").append(caseAmount).append(");").append("\n");
                 }
@@ -1,31 +1,28 @@
 package org.schabi.newpipe.extractor.timeago;
 
+import java.util.function.Supplier;
+
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
-import java.lang.reflect.InvocationTargetException;
 
 public class PatternsManager {
     /**
      * Return an holder object containing all the patterns array.
      *
+     * <p>
+     * The patterns are looked up in a registry generated with the pattern classes, so no
+     * reflection is needed. Only the patterns of the requested localization are loaded.
+     * </p>
+     *
      * @return an object containing the patterns. If not existent, {@code null}.
      */
     @Nullable
     public static PatternsHolder getPatterns(@Nonnull String languageCode, @Nullable String countryCode) {
-        final String targetLocalizationClassName = languageCode +
+        final String targetLocalizationCode = languageCode +
                 (countryCode == null || countryCode.isEmpty() ? "" : "_" + countryCode);
 
-        try {
-            final Class<?> targetClass = Class.forName(
-                    "org.schabi.newpipe.extractor.timeago.patterns." + targetLocalizationClassName);
-
-            return (PatternsHolder) targetClass.getDeclaredMethod("getInstance").invoke(null);
-        } catch (ClassNotFoundException ignored) {
-            // Target localization is not supported
-        } catch (IllegalAccessException | NoSuchMethodException | InvocationTargetException e) {
-            e.printStackTrace();
-        }
-
-        return null;
+        final Supplier<PatternsHolder> patterns =
+                PatternsRegistry.PATTERNS.get(targetLocalizationCode);
+        return patterns == null ? null : patterns.get();
     }
 }
@@ -0,0 +1,184 @@
+/**/// DO NOT MODIFY THIS FILE MANUALLY
+/**/// This class was automatically generated by "GeneratePatternClasses.java",
+/**/// modify the "unique_patterns.json" and re-generate instead.
+
+package org.schabi.newpipe.extractor.timeago;
+
+import org.schabi.newpipe.extractor.timeago.patterns.af;
+import org.schabi.newpipe.extractor.timeago.patterns.am;
+import org.schabi.newpipe.extractor.timeago.patterns.ar;
+import org.schabi.newpipe.extractor.timeago.patterns.az;
+import org.schabi.newpipe.extractor.timeago.patterns.be;
+import org.schabi.newpipe.extractor.timeago.patterns.bg;
+import org.schabi.newpipe.extractor.timeago.patterns.bn;
+import org.schabi.newpipe.extractor.timeago.patterns.bs;
+import org.schabi.newpipe.extractor.timeago.patterns.ca;
+import org.schabi.newpipe.extractor.timeago.patterns.cs;
+import org.schabi.newpipe.extractor.timeago.patterns.da;
+import org.schabi.newpipe.extractor.timeago.patterns.de;
+import org.schabi.newpipe.extractor.timeago.patterns.el;
+import org.schabi.newpipe.extractor.timeago.patterns.en;
+import org.schabi.newpipe.extractor.timeago.patterns.en_GB;
+import org.schabi.newpipe.extractor.timeago.patterns.es;
+import org.schabi.newpipe.extractor.timeago.patterns.es_419;
+import org.schabi.newpipe.extractor.timeago.patterns.es_US;
+import org.schabi.newpipe.extractor.timeago.patterns.et;
+import org.schabi.newpipe.extractor.timeago.patterns.eu;
+import org.schabi.newpipe.extractor.timeago.patterns.fa;
+import org.schabi.newpipe.extractor.timeago.patterns.fi;
+import org.schabi.newpipe.extractor.timeago.patterns.fil;
+import org.schabi.newpipe.extractor.timeago.patterns.fr;
+import org.schabi.newpipe.extractor.timeago.patterns.fr_CA;
+import org.schabi.newpipe.extractor.timeago.patterns.gl;
+import org.schabi.newpipe.extractor.timeago.patterns.gu;
+import org.schabi.newpipe.extractor.timeago.patterns.hi;
+import org.schabi.newpipe.extractor.timeago.patterns.hr;
+import org.schabi.newpipe.extractor.timeago.patterns.hu;
+import org.schabi.newpipe.extractor.timeago.patterns.hy;
+import org.schabi.newpipe.extractor.timeago.patterns.id;
+import org.schabi.newpipe.extractor.timeago.patterns.is;
+import org.schabi.newpipe.extractor.timeago.patterns.it;
+import org.schabi.newpipe.extractor.timeago.patterns.iw;
+import org.schabi.newpipe.extractor.timeago.patterns.ja;
+import org.schabi.newpipe.extractor.timeago.patterns.ka;
+import org.schabi.newpipe.extractor.timeago.patterns.kk;
+import org.schabi.newpipe.extractor.timeago.patterns.km;
+import org.schabi.newpipe.extractor.timeago.patterns.kn;
+import org.schabi.newpipe.extractor.timeago.patterns.ko;
+import org.schabi.newpipe.extractor.timeago.patterns.ky;
+import org.schabi.newpipe.extractor.timeago.patterns.lo;
+import org.schabi.newpipe.extractor.timeago.patterns.lt;
+import org.schabi.newpipe.extractor.timeago.patterns.lv;
+import org.schabi.newpipe.extractor.timeago.patterns.mk;
+import org.schabi.newpipe.extractor.timeago.patterns.ml;
+import org.schabi.newpipe.extractor.timeago.patterns.mn;
+import org.schabi.newpipe.extractor.timeago.patterns.mr;
+import org.schabi.newpipe.extractor.timeago.patterns.ms;
+import org.schabi.newpipe.extractor.timeago.patterns.my;
+import org.schabi.newpipe.extractor.timeago.patterns.ne;
+import org.schabi.newpipe.extractor.timeago.patterns.nl;
+import org.schabi.newpipe.extractor.timeago.patterns.no;
+import org.schabi.newpipe.extractor.timeago.patterns.pa;
+import org.schabi.newpipe.extractor.timeago.patterns.pl;
+import org.schabi.newpipe.extractor.timeago.patterns.pt;
+import org.schabi.newpipe.extractor.timeago.patterns.pt_PT;
+import org.schabi.newpipe.extractor.timeago.patterns.ro;
+import org.schabi.newpipe.extractor.timeago.patterns.ru;
+import org.schabi.newpipe.extractor.timeago.patterns.si;
+import org.schabi.newpipe.extractor.timeago.patterns.sk;
+import org.schabi.newpipe.extractor.timeago.patterns.sl;
+import org.schabi.newpipe.extractor.timeago.patterns.sq;
+import org.schabi.newpipe.extractor.timeago.patterns.sr;
+import org.schabi.newpipe.extractor.timeago.patterns.sr_Latn;
+import org.schabi.newpipe.extractor.timeago.patterns.sv;
+import org.schabi.newpipe.extractor.timeago.patterns.sw;
+import org.schabi.newpipe.extractor.timeago.patterns.ta;
+import org.schabi.newpipe.extractor.timeago.patterns.te;
+import org.schabi.newpipe.extractor.timeago.patterns.th;
+import org.schabi.newpipe.extractor.timeago.patterns.tr;
+import org.schabi.newpipe.extractor.timeago.patterns.uk;
+import org.schabi.newpipe.extractor.timeago.patterns.ur;
+import org.schabi.newpipe.extractor.timeago.patterns.uz;
+import org.schabi.newpipe.extractor.timeago.patterns.vi;
+import org.schabi.newpipe.extractor.timeago.patterns.zh_CN;
+import org.schabi.newpipe.extractor.timeago.patterns.zh_HK;
+import org.schabi.newpipe.extractor.timeago.patterns.zh_TW;
+import org.schabi.newpipe.extractor.timeago.patterns.zu;
+
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * The patterns of all supported localizations, by localization code.
+ *
+ * <p>
+ * The patterns of a localization are only created when they are first requested.
+ * </p>
+ */
+final class PatternsRegistry {
+    static final Map<String, Supplier<PatternsHolder>> PATTERNS = Map.ofEntries(
+            Map.entry("af", af::getInstance),
+            Map.entry("am", am::getInstance),
+            Map.entry("ar", ar::getInstance),
+            Map.entry("az", az::getInstance),
+            Map.entry("be", be::getInstance),
+            Map.entry("bg", bg::getInstance),
+            Map.entry("bn", bn::getInstance),
+            Map.entry("bs", bs::getInstance),
+            Map.entry("ca", ca::getInstance),
+            Map.entry("cs", cs::getInstance),
+            Map.entry("da", da::getInstance),
+            Map.entry("de", de::getInstance),
+            Map.entry("el", el::getInstance),
+            Map.entry("en", en::getInstance),
+            Map.entry("en_GB", en_GB::getInstance),
+            Map.entry("es", es::getInstance),
+            Map.entry("es_419", es_419::getInstance),
+            Map.entry("es_US", es_US::getInstance),
+            Map.entry("et", et::getInstance),
+            Map.entry("eu", eu::getInstance),
+            Map.entry("fa", fa::getInstance),
+            Map.entry("fi", fi::getInstance),
+            Map.entry("fil", fil::getInstance),
+            Map.entry("fr", fr::getInstance),
+            Map.entry("fr_CA", fr_CA::getInstance),
+            Map.entry("gl", gl::getInstance),
+            Map.entry("gu", gu::getInstance),
+            Map.entry("hi", hi::getInstance),
+            Map.entry("hr", hr::getInstance),
+            Map.entry("hu", hu::getInstance),
+            Map.entry("hy", hy::getInstance),
+            Map.entry("id", id::getInstance),
+            Map.entry("is", is::getInstance),
+            Map.entry("it", it::getInstance),
+            Map.entry("iw", iw::getInstance),
+            Map.entry("ja", ja::getInstance),
+            Map.entry("ka", ka::getInstance),
+            Map.entry("kk", kk::getInstance),
+            Map.entry("km", km::getInstance),
+            Map.entry("kn", kn::getInstance),
+            Map.entry("ko", ko::getInstance),
+            Map.entry("ky", ky::getInstance),
+            Map.entry("lo", lo::getInstance),
+            Map.entry("lt", lt::getInstance),
+            Map.entry("lv", lv::getInstance),
+            Map.entry("mk", mk::getInstance),
+            Map.entry("ml", ml::getInstance),
+            Map.entry("mn", mn::getInstance),
+            Map.entry("mr", mr::getInstance),
+            Map.entry("ms", ms::getInstance),
+            Map.entry("my", my::getInstance),
+            Map.entry("ne", ne::getInstance),
+            Map.entry("nl", nl::getInstance),
+            Map.entry("no", no::getInstance),
+            Map.entry("pa", pa::getInstance),
+            Map.entry("pl", pl::getInstance),
+            Map.entry("pt", pt::getInstance),
+            Map.entry("pt_PT", pt_PT::getInstance),
+            Map.entry("ro", ro::getInstance),
+            Map.entry("ru", ru::getInstance),
+            Map.entry("si", si::getInstance),
+            Map.entry("sk", sk::getInstance),
+            Map.entry("sl", sl::getInstance),
+            Map.entry("sq", sq::getInstance),
+            Map.entry("sr", sr::getInstance),
+            Map.entry("sr_Latn", sr_Latn::getInstance),
+            Map.entry("sv", sv::getInstance),
+            Map.entry("sw", sw::getInstance),
+            Map.entry("ta", ta::getInstance),
+            Map.entry("te", te::getInstance),
+            Map.entry("th", th::getInstance),
+            Map.entry("tr", tr::getInstance),
+            Map.entry("uk", uk::getInstance),
+            Map.entry("ur", ur::getInstance),
+            Map.entry("uz", uz::getInstance),
+            Map.entry("vi", vi::getInstance),
+            Map.entry("zh_CN", zh_CN::getInstance),
+            Map.entry("zh_HK", zh_HK::getInstance),
+            Map.entry("zh_TW", zh_TW::getInstance),
+            Map.entry("zu", zu::getInstance)
+    );
+
+    private PatternsRegistry() {
+    }
+}